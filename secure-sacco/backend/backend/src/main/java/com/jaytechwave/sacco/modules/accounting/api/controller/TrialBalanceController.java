@@ -1,15 +1,19 @@
 package com.jaytechwave.sacco.modules.accounting.api.controller;
 
 import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.AccountLineDTO;
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.SnapshotConsistencyResponse;
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.SnapshotRebuildResponse;
 import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.TrialBalanceResponse;
+import com.jaytechwave.sacco.modules.accounting.domain.service.GlBalanceSnapshotService;
+import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -24,7 +28,8 @@ import java.util.List;
 @Tag(name = "Accounting", description = "General ledger journal entries and trial balance")
 public class TrialBalanceController {
 
-    private final JdbcTemplate jdbcTemplate;
+    private final GlBalanceSnapshotService glBalanceSnapshotService;
+    private final SecurityAuditService securityAuditService;
 
     @Operation(summary = "Get trial balance", description = "Returns the GL trial balance as of a given date. Requires GL_TRIAL_BALANCE permission.")
     @GetMapping
@@ -36,36 +41,8 @@ public class TrialBalanceController {
     ) {
         LocalDate effectiveDate = asOfDate != null ? asOfDate : LocalDate.now();
 
-        String sql = """
-            SELECT
-                a.account_code,
-                a.account_name,
-                a.account_type,
-                COALESCE(SUM(jel.debit_amount),  0) AS total_debits,
-                COALESCE(SUM(jel.credit_amount), 0) AS total_credits,
-                COALESCE(SUM(jel.debit_amount) - SUM(jel.credit_amount), 0) AS net_balance
-            FROM accounts a
-            LEFT JOIN journal_entry_lines jel ON jel.account_id = a.id
-            LEFT JOIN journal_entries      je  ON je.id = jel.journal_entry_id
-                AND je.status = 'POSTED'
-                AND je.transaction_date <= ?
-            WHERE a.is_active = true
-            GROUP BY a.id, a.account_code, a.account_name, a.account_type
-            ORDER BY a.account_code
-            """;
-
-        List<AccountLineDTO> lines = jdbcTemplate.query(
-                sql,
-                (rs, rowNum) -> new AccountLineDTO(
-                        rs.getString("account_code"),
-                        rs.getString("account_name"),
-                        rs.getString("account_type"),
-                        rs.getBigDecimal("total_debits"),
-                        rs.getBigDecimal("total_credits"),
-                        rs.getBigDecimal("net_balance")
-                ),
-                effectiveDate
-        );
+        // Latest balance snapshot on or before the date + journal lines posted since
+        List<AccountLineDTO> lines = glBalanceSnapshotService.getAccountBalances(effectiveDate);
 
         BigDecimal grandDebits  = lines.stream().map(AccountLineDTO::totalDebits).reduce(BigDecimal.ZERO, BigDecimal::add);
         BigDecimal grandCredits = lines.stream().map(AccountLineDTO::totalCredits).reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -79,4 +56,29 @@ public class TrialBalanceController {
                 balanced
         ));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Verify balance snapshots", description = "Proves snapshot + delta equals a full ledger recompute as of a given date. Requires GL_RECONCILIATION permission.")
+    @GetMapping("/snapshots/verify")
+    @PreAuthorize("hasAuthority('GL_RECONCILIATION')")
+    public ResponseEntity<SnapshotConsistencyResponse> verifySnapshots(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate asOfDate
+    ) {
+        LocalDate effectiveDate = asOfDate != null ? asOfDate : LocalDate.now();
+        return ResponseEntity.ok(glBalanceSnapshotService.verify(effectiveDate));
+    }
+
+    @Operation(summary = "Rebuild balance snapshots", description = "Discards and recomputes every GL balance snapshot from the ledger. Requires ACCOUNTING_WRITE permission.")
+    @PostMapping("/snapshots/rebuild")
+    @PreAuthorize("hasAuthority('ACCOUNTING_WRITE')")
+    public ResponseEntity<SnapshotRebuildResponse> rebuildSnapshots() {
+        SnapshotRebuildResponse response = glBalanceSnapshotService.rebuild();
+        securityAuditService.logEvent(
+                "GL_SNAPSHOTS_REBUILT",
+                "gl_account_balance_snapshots",
+                "GL balance snapshots rebuilt: " + response.snapshotDates() + " snapshot date(s)"
+        );
+        return ResponseEntity.ok(response);
+    }
+}
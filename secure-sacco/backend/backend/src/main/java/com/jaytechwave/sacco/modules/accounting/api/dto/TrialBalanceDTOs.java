@@ -21,4 +21,27 @@ public class TrialBalanceDTOs {
             BigDecimal grandTotalCredits,
             boolean balanced          // true when grandTotalDebits == grandTotalCredits
     ) {}
-}
\ No newline at end of file
+
+    public record SnapshotRebuildResponse(
+            int snapshotDates,        // number of distinct snapshot dates written
+            String firstSnapshotDate, // YYYY-MM-DD, null when the ledger is empty
+            String lastSnapshotDate,  // YYYY-MM-DD, null when the ledger is empty
+            long elapsedMillis
+    ) {}
+
+    public record SnapshotMismatchDTO(
+            String accountCode,
+            BigDecimal snapshotDebits,    // latest snapshot + delta lines
+            BigDecimal snapshotCredits,
+            BigDecimal ledgerDebits,      // full recompute from journal_entry_lines
+            BigDecimal ledgerCredits
+    ) {}
+
+    public record SnapshotConsistencyResponse(
+            String asOfDate,              // YYYY-MM-DD
+            String snapshotDate,          // snapshot the check started from, null if none
+            int accountsChecked,
+            boolean consistent,           // true when every account matches the full recompute
+            List<SnapshotMismatchDTO> mismatches
+    ) {}
+}
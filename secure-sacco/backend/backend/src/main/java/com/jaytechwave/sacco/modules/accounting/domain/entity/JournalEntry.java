@@ -1,5 +1,6 @@
 package com.jaytechwave.sacco.modules.accounting.domain.entity;
 
+import com.jaytechwave.sacco.modules.core.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -21,7 +22,7 @@ import java.util.UUID;
 public class JournalEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(name = "transaction_date", nullable = false)
@@ -0,0 +1,9 @@
+package com.jaytechwave.sacco.modules.accounting.domain.event;
+
+/**
+ * Published by {@code AccountService} whenever an account is created or updated,
+ * so the in-process {@code ChartOfAccountsCache} reloads after the write commits.
+ */
+public record ChartOfAccountsChangedEvent(
+        String accountCode
+) {}
@@ -1,10 +1,10 @@
 package com.jaytechwave.sacco.modules.accounting.domain.listener;
 
 import com.jaytechwave.sacco.modules.accounting.domain.service.JournalEntryService;
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
 import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -16,7 +16,7 @@ public class AccountingPaymentListener {
     private final JournalEntryService journalEntryService;
 
     @Order(1)
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentCompleted(PaymentCompletedEvent event) {
         if (event.accountReference() != null && event.accountReference().startsWith("REG-")) {
             log.info("Accounting Module Event Received: Posting Registration Fee Journal for {}", event.memberId());
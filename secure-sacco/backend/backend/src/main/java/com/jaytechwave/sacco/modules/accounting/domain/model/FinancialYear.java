@@ -19,7 +19,7 @@ import java.util.UUID;
 public class FinancialYear {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(name = "year_name", nullable = false, unique = true)
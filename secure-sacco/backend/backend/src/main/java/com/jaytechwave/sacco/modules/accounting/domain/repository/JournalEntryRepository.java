@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +18,10 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, UUID
 
     boolean existsByReferenceNumber(String referenceNumber);
 
+    /** Idempotency pre-check for batch posting: which of these references are already in the ledger. */
+    @Query("SELECT j.referenceNumber FROM JournalEntry j WHERE j.referenceNumber IN :referenceNumbers")
+    List<String> findExistingReferenceNumbers(@Param("referenceNumbers") Collection<String> referenceNumbers);
+
     List<JournalEntry> findByStatus(JournalEntryStatus status);
 
     List<JournalEntry> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
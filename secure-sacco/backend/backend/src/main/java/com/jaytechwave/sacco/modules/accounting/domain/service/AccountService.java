@@ -2,9 +2,11 @@ package com.jaytechwave.sacco.modules.accounting.domain.service;
 
 import com.jaytechwave.sacco.modules.accounting.api.dto.AccountDTOs.*;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.Account;
+import com.jaytechwave.sacco.modules.accounting.domain.event.ChartOfAccountsChangedEvent;
 import com.jaytechwave.sacco.modules.accounting.domain.repository.AccountRepository;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final SecurityAuditService securityAuditService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AccountResponse createAccount(CreateAccountRequest request) {
@@ -40,6 +43,7 @@ public class AccountService {
                 .build();
         account = accountRepository.save(account);
         securityAuditService.logEvent("ACCOUNT_CREATED", account.getId().toString(), "Account created: " + account.getAccountCode());
+        eventPublisher.publishEvent(new ChartOfAccountsChangedEvent(account.getAccountCode()));
         return mapToResponse(account);
     }
 
@@ -63,6 +67,7 @@ public class AccountService {
         account.setActive(request.isActive());
         account = accountRepository.save(account);
         securityAuditService.logEvent("ACCOUNT_UPDATED", account.getId().toString(), "Account updated: " + account.getAccountCode());
+        eventPublisher.publishEvent(new ChartOfAccountsChangedEvent(account.getAccountCode()));
         return mapToResponse(account);
     }
 
@@ -0,0 +1,89 @@
+package com.jaytechwave.sacco.modules.accounting.domain.service;
+
+import com.jaytechwave.sacco.modules.accounting.domain.entity.Account;
+import com.jaytechwave.sacco.modules.accounting.domain.event.ChartOfAccountsChangedEvent;
+import com.jaytechwave.sacco.modules.accounting.domain.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process account-code → {@link Account} cache for the posting templates in
+ * {@link JournalEntryService}.
+ *
+ * <p>The chart of accounts almost never changes, yet every posting used to look up
+ * two or three accounts by code. The whole chart (active and inactive accounts) is
+ * loaded once at startup and held as an immutable map swapped atomically on reload,
+ * so reads are lock-free and never touch PostgreSQL.
+ *
+ * <p>Freshness:
+ * <ul>
+ *   <li>{@code AccountService} writes publish {@link ChartOfAccountsChangedEvent};
+ *       the cache reloads after that transaction commits, so a deactivated account is
+ *       rejected by the very next posting on this node.</li>
+ *   <li>A periodic reload bounds staleness for edits made on other nodes.</li>
+ *   <li>A miss (account created since the last reload) falls through to the
+ *       repository once and is added to the map.</li>
+ * </ul>
+ *
+ * <p>Cached instances are detached entities — safe to reference from new
+ * {@code JournalEntryLine}s (only the id is written), never to modify.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChartOfAccountsCache {
+
+    private final AccountRepository accountRepository;
+
+    private volatile Map<String, Account> accountsByCode = Map.of();
+
+    /** Account for {@code accountCode}, active or not — callers enforce the active flag. */
+    public Optional<Account> find(String accountCode) {
+        Account cached = accountsByCode.get(accountCode);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Account> loaded = accountRepository.findByAccountCode(accountCode);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        reload();
+        log.info("ChartOfAccountsCache: warmed with {} account(s).", accountsByCode.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChartOfAccountsChanged(ChartOfAccountsChangedEvent event) {
+        log.debug("ChartOfAccountsCache: account {} changed — reloading.", event.accountCode());
+        reload();
+    }
+
+    /** Picks up chart-of-accounts edits made on other nodes. */
+    @Scheduled(fixedDelayString = "${sacco.accounting.account-cache.refresh-ms:300000}",
+               initialDelayString = "${sacco.accounting.account-cache.refresh-ms:300000}")
+    public void reload() {
+        accountsByCode = accountRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Account::getAccountCode, Function.identity()));
+    }
+
+    private synchronized void put(Account account) {
+        Map<String, Account> copy = new HashMap<>(accountsByCode);
+        copy.put(account.getAccountCode(), account);
+        accountsByCode = Map.copyOf(copy);
+    }
+}
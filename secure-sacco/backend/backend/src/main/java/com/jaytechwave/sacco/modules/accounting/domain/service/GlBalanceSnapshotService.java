@@ -0,0 +1,379 @@
+package com.jaytechwave.sacco.modules.accounting.domain.service;
+
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.AccountLineDTO;
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.SnapshotConsistencyResponse;
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.SnapshotMismatchDTO;
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.SnapshotRebuildResponse;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntry;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryLine;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@code gl_account_balance_snapshots} — cumulative POSTED debit/credit
+ * totals per account as at the close of a day.
+ *
+ * <p>An as-of-date trial balance becomes "latest snapshot on or before the date +
+ * journal lines dated after it" instead of a full ledger scan. Snapshots are taken
+ * daily by {@code GlBalanceSnapshotJob}; daily rows older than
+ * {@code sacco.accounting.snapshots.daily-retention-days} are pruned, month-end rows
+ * are kept for good.
+ *
+ * <p>A posted entry dated on or before an existing snapshot (backdated paybill
+ * deposits, migrations, historical edits) must go through {@link #applyEntry} /
+ * {@link #revertEntry} / {@link #moveEntry} so every later snapshot stays correct.
+ * {@link #rebuild()} recomputes everything from the ledger and {@link #verify}
+ * proves snapshot + delta equals a full recompute.
+ *
+ * <p>Writers and {@link #capture} share one transaction-scoped advisory lock:
+ * writers take it shared, capture takes it exclusively. Capture therefore waits
+ * for in-flight postings to commit and reads their lines; a posting that starts
+ * during capture waits, then finds the new snapshot and shifts it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GlBalanceSnapshotService {
+
+    /** Lower bound for "no snapshot yet" — every real transaction is dated after this. */
+    private static final LocalDate LEDGER_EPOCH = LocalDate.of(1900, 1, 1);
+
+    private static final String WRITE_LOCK_SQL =
+            "SELECT pg_advisory_xact_lock_shared(hashtext('gl_account_balance_snapshots'))";
+    private static final String CAPTURE_LOCK_SQL =
+            "SELECT pg_advisory_xact_lock(hashtext('gl_account_balance_snapshots'))";
+
+    private static final String SHIFT_SQL = """
+        INSERT INTO gl_account_balance_snapshots (account_id, snapshot_date, total_debits, total_credits)
+        SELECT ?, d.snapshot_date, ?, ?
+        FROM (SELECT DISTINCT snapshot_date FROM gl_account_balance_snapshots WHERE snapshot_date >= ?) d
+        ON CONFLICT (account_id, snapshot_date) DO UPDATE SET
+            total_debits  = gl_account_balance_snapshots.total_debits  + EXCLUDED.total_debits,
+            total_credits = gl_account_balance_snapshots.total_credits + EXCLUDED.total_credits,
+            updated_at    = CURRENT_TIMESTAMP
+        """;
+
+    private static final String CAPTURE_SQL = """
+        INSERT INTO gl_account_balance_snapshots (account_id, snapshot_date, total_debits, total_credits)
+        SELECT a.id, ?,
+               COALESCE(s.total_debits, 0)  + COALESCE(d.debits, 0),
+               COALESCE(s.total_credits, 0) + COALESCE(d.credits, 0)
+        FROM accounts a
+        LEFT JOIN gl_account_balance_snapshots s
+               ON s.account_id = a.id AND s.snapshot_date = ?
+        LEFT JOIN (
+            SELECT jel.account_id, SUM(jel.debit_amount) AS debits, SUM(jel.credit_amount) AS credits
+            FROM journal_entry_lines jel
+            JOIN journal_entries je ON je.id = jel.journal_entry_id
+            WHERE je.status = 'POSTED' AND je.transaction_date > ? AND je.transaction_date <= ?
+            GROUP BY jel.account_id
+        ) d ON d.account_id = a.id
+        ON CONFLICT (account_id, snapshot_date) DO UPDATE SET
+            total_debits  = EXCLUDED.total_debits,
+            total_credits = EXCLUDED.total_credits,
+            updated_at    = CURRENT_TIMESTAMP
+        """;
+
+    private static final String BALANCES_SQL = """
+        SELECT a.account_code, a.account_name, a.account_type,
+               COALESCE(s.total_debits, 0)  + COALESCE(d.debits, 0)  AS total_debits,
+               COALESCE(s.total_credits, 0) + COALESCE(d.credits, 0) AS total_credits
+        FROM accounts a
+        LEFT JOIN gl_account_balance_snapshots s
+               ON s.account_id = a.id AND s.snapshot_date = ?
+        LEFT JOIN (
+            SELECT jel.account_id, SUM(jel.debit_amount) AS debits, SUM(jel.credit_amount) AS credits
+            FROM journal_entry_lines jel
+            JOIN journal_entries je ON je.id = jel.journal_entry_id
+            WHERE je.status = 'POSTED' AND je.transaction_date > ? AND je.transaction_date <= ?
+            GROUP BY jel.account_id
+        ) d ON d.account_id = a.id
+        WHERE (? OR a.is_active = true)
+        ORDER BY a.account_code
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${sacco.accounting.snapshots.daily-retention-days:35}")
+    private int dailyRetentionDays;
+
+    // =========================================================================
+    // READ PATH
+    // =========================================================================
+
+    /**
+     * Trial balance lines for active accounts as at the close of {@code asOfDate}:
+     * latest snapshot on or before the date plus the POSTED lines dated after it.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountLineDTO> getAccountBalances(LocalDate asOfDate) {
+        return queryBalances(latestSnapshotOnOrBefore(asOfDate), asOfDate, false);
+    }
+
+    /**
+     * Consistency check: compares snapshot + delta against a full ledger recompute
+     * for every account (active or not) as at {@code asOfDate}.
+     */
+    @Transactional(readOnly = true)
+    public SnapshotConsistencyResponse verify(LocalDate asOfDate) {
+        LocalDate snapshotDate = latestSnapshotOnOrBefore(asOfDate);
+
+        Map<String, AccountLineDTO> fromSnapshot = queryBalances(snapshotDate, asOfDate, true).stream()
+                .collect(Collectors.toMap(AccountLineDTO::accountCode, Function.identity()));
+        List<AccountLineDTO> recomputed = queryBalances(LEDGER_EPOCH, asOfDate, true);
+
+        List<SnapshotMismatchDTO> mismatches = new ArrayList<>();
+        for (AccountLineDTO expected : recomputed) {
+            AccountLineDTO actual = fromSnapshot.get(expected.accountCode());
+            BigDecimal actualDebits  = actual != null ? actual.totalDebits()  : BigDecimal.ZERO;
+            BigDecimal actualCredits = actual != null ? actual.totalCredits() : BigDecimal.ZERO;
+            if (actualDebits.compareTo(expected.totalDebits()) != 0
+                    || actualCredits.compareTo(expected.totalCredits()) != 0) {
+                mismatches.add(new SnapshotMismatchDTO(
+                        expected.accountCode(),
+                        actualDebits, actualCredits,
+                        expected.totalDebits(), expected.totalCredits()
+                ));
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            log.warn("GL snapshot check as of {} (snapshot {}): {} account(s) drifted from the ledger",
+                    asOfDate, snapshotDate, mismatches.size());
+        }
+
+        return new SnapshotConsistencyResponse(
+                asOfDate.toString(),
+                LEDGER_EPOCH.equals(snapshotDate) ? null : snapshotDate.toString(),
+                recomputed.size(),
+                mismatches.isEmpty(),
+                mismatches
+        );
+    }
+
+    // =========================================================================
+    // WRITE PATH — called alongside every journal write
+    // =========================================================================
+
+    /** Adds a POSTED entry's lines to every snapshot on or after its transaction date. */
+    @Transactional
+    public void applyEntry(JournalEntry entry) {
+        shiftEntry(entry, BigDecimal.ONE);
+    }
+
+    /**
+     * Batch form of {@link #applyEntry} for {@code JournalEntryService.postEntries}:
+     * lines are netted per (transaction date, account) first, so a run of thousands
+     * of same-day entries costs one batched statement per account touched.
+     */
+    @Transactional
+    public void applyEntries(List<JournalEntry> entries) {
+        Map<LocalDate, Map<UUID, BigDecimal[]>> totalsByDate = new TreeMap<>();
+        for (JournalEntry entry : entries) {
+            if (entry.getStatus() == JournalEntryStatus.POSTED && entry.getTransactionDate() != null) {
+                addLines(totalsByDate.computeIfAbsent(entry.getTransactionDate(), d -> new LinkedHashMap<>()), entry);
+            }
+        }
+        List<Object[]> args = new ArrayList<>();
+        totalsByDate.forEach((date, totals) -> args.addAll(shiftArgs(date, totals, BigDecimal.ONE)));
+        if (!args.isEmpty()) {
+            jdbcTemplate.execute(WRITE_LOCK_SQL);
+            jdbcTemplate.batchUpdate(SHIFT_SQL, args);
+        }
+    }
+
+    /** Removes a POSTED entry's lines from every snapshot on or after its transaction date. */
+    @Transactional
+    public void revertEntry(JournalEntry entry) {
+        shiftEntry(entry, BigDecimal.ONE.negate());
+    }
+
+    /**
+     * Re-dates an already-flushed POSTED entry in the snapshots before its
+     * {@code transaction_date} is rewritten via raw SQL (historical migrations).
+     * Must be called while the row still carries the old date; no-op if the entry
+     * does not exist yet or the date is unchanged.
+     */
+    @Transactional
+    public void moveEntry(String referenceNumber, LocalDate newDate) {
+        jdbcTemplate.execute(WRITE_LOCK_SQL);
+        List<LocalDate> currentDates = jdbcTemplate.queryForList(
+                "SELECT transaction_date FROM journal_entries WHERE reference_number = ? AND status = 'POSTED'",
+                LocalDate.class, referenceNumber);
+        if (currentDates.isEmpty() || currentDates.get(0).equals(newDate)) {
+            return;
+        }
+        LocalDate oldDate = currentDates.get(0);
+
+        Map<UUID, BigDecimal[]> totals = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT jel.account_id, SUM(jel.debit_amount) AS debits, SUM(jel.credit_amount) AS credits
+                FROM journal_entry_lines jel
+                JOIN journal_entries je ON je.id = jel.journal_entry_id
+                WHERE je.reference_number = ?
+                GROUP BY jel.account_id
+                """,
+                (rs, rowNum) -> totals.put(rs.getObject("account_id", UUID.class),
+                        new BigDecimal[]{ rs.getBigDecimal("debits"), rs.getBigDecimal("credits") }),
+                referenceNumber);
+
+        shift(oldDate, totals, BigDecimal.ONE.negate());
+        shift(newDate, totals, BigDecimal.ONE);
+    }
+
+    private void shiftEntry(JournalEntry entry, BigDecimal sign) {
+        if (entry.getStatus() != JournalEntryStatus.POSTED || entry.getTransactionDate() == null) {
+            return;
+        }
+        Map<UUID, BigDecimal[]> totals = new LinkedHashMap<>();
+        addLines(totals, entry);
+        shift(entry.getTransactionDate(), totals, sign);
+    }
+
+    private void addLines(Map<UUID, BigDecimal[]> totals, JournalEntry entry) {
+        for (JournalEntryLine line : entry.getLines()) {
+            BigDecimal[] t = totals.computeIfAbsent(line.getAccount().getId(),
+                    id -> new BigDecimal[]{ BigDecimal.ZERO, BigDecimal.ZERO });
+            t[0] = t[0].add(line.getDebitAmount());
+            t[1] = t[1].add(line.getCreditAmount());
+        }
+    }
+
+    /**
+     * One batched round trip per entry. In the common case (entry dated after the
+     * latest snapshot) the SELECT finds no snapshot dates and nothing is written.
+     */
+    private void shift(LocalDate fromDate, Map<UUID, BigDecimal[]> totals, BigDecimal sign) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute(WRITE_LOCK_SQL);
+        jdbcTemplate.batchUpdate(SHIFT_SQL, shiftArgs(fromDate, totals, sign));
+    }
+
+    private List<Object[]> shiftArgs(LocalDate fromDate, Map<UUID, BigDecimal[]> totals, BigDecimal sign) {
+        return totals.entrySet().stream()
+                .map(e -> new Object[]{
+                        e.getKey(),
+                        e.getValue()[0].multiply(sign),
+                        e.getValue()[1].multiply(sign),
+                        fromDate
+                })
+                .toList();
+    }
+
+    // =========================================================================
+    // SNAPSHOT CAPTURE, PRUNE AND REBUILD
+    // =========================================================================
+
+    /**
+     * Writes the closing snapshot for {@code date} for every account, starting from
+     * the latest earlier snapshot and adding only the lines dated in between.
+     */
+    @Transactional
+    public void capture(LocalDate date) {
+        jdbcTemplate.execute(CAPTURE_LOCK_SQL);
+        LocalDate base = jdbcTemplate.queryForObject(
+                "SELECT MAX(snapshot_date) FROM gl_account_balance_snapshots WHERE snapshot_date < ?",
+                LocalDate.class, date);
+        LocalDate from = base != null ? base : LEDGER_EPOCH;
+        jdbcTemplate.update(CAPTURE_SQL, date, from, from, date);
+    }
+
+    /** Drops daily snapshots outside the retention window, keeping month-ends. */
+    @Transactional
+    public int pruneDailySnapshots(LocalDate today) {
+        LocalDate cutoff = today.minusDays(dailyRetentionDays);
+        return jdbcTemplate.update("""
+                DELETE FROM gl_account_balance_snapshots
+                WHERE snapshot_date < ?
+                  AND snapshot_date <> (date_trunc('month', snapshot_date) + INTERVAL '1 month - 1 day')::date
+                """, cutoff);
+    }
+
+    /**
+     * Rebuild command: discards every snapshot and recomputes month-end snapshots
+     * from the first posted entry onwards, plus daily snapshots for the retention
+     * window ending yesterday.
+     */
+    @Transactional
+    public SnapshotRebuildResponse rebuild() {
+        long started = System.currentTimeMillis();
+        jdbcTemplate.execute(CAPTURE_LOCK_SQL);
+        jdbcTemplate.update("DELETE FROM gl_account_balance_snapshots");
+
+        LocalDate first = jdbcTemplate.queryForObject(
+                "SELECT MIN(transaction_date) FROM journal_entries WHERE status = 'POSTED'", LocalDate.class);
+        LocalDate through = LocalDate.now().minusDays(1);
+
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        if (first != null && !first.isAfter(through)) {
+            for (YearMonth month = YearMonth.from(first); !month.atEndOfMonth().isAfter(through); month = month.plusMonths(1)) {
+                dates.add(month.atEndOfMonth());
+            }
+            LocalDate dailyFrom = through.minusDays(dailyRetentionDays - 1L);
+            for (LocalDate day = first.isAfter(dailyFrom) ? first : dailyFrom; !day.isAfter(through); day = day.plusDays(1)) {
+                dates.add(day);
+            }
+        }
+
+        dates.forEach(this::capture);
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Rebuilt {} GL balance snapshot date(s) through {} in {} ms", dates.size(), through, elapsed);
+        return new SnapshotRebuildResponse(
+                dates.size(),
+                dates.isEmpty() ? null : dates.first().toString(),
+                dates.isEmpty() ? null : dates.last().toString(),
+                elapsed
+        );
+    }
+
+    // =========================================================================
+    // HELPERS
+    // =========================================================================
+
+    private LocalDate latestSnapshotOnOrBefore(LocalDate date) {
+        LocalDate latest = jdbcTemplate.queryForObject(
+                "SELECT MAX(snapshot_date) FROM gl_account_balance_snapshots WHERE snapshot_date <= ?",
+                LocalDate.class, date);
+        return latest != null ? latest : LEDGER_EPOCH;
+    }
+
+    private List<AccountLineDTO> queryBalances(LocalDate snapshotDate, LocalDate asOfDate, boolean includeInactive) {
+        return jdbcTemplate.query(
+                BALANCES_SQL,
+                (rs, rowNum) -> {
+                    BigDecimal debits  = rs.getBigDecimal("total_debits");
+                    BigDecimal credits = rs.getBigDecimal("total_credits");
+                    return new AccountLineDTO(
+                            rs.getString("account_code"),
+                            rs.getString("account_name"),
+                            rs.getString("account_type"),
+                            debits,
+                            credits,
+                            debits.subtract(credits)
+                    );
+                },
+                snapshotDate, snapshotDate, asOfDate, includeInactive
+        );
+    }
+}
@@ -2,22 +2,27 @@ package com.jaytechwave.sacco.modules.accounting.domain.service;
 
 import com.jaytechwave.sacco.modules.accounting.api.dto.JournalEntryDTOs.*;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.*;
-import com.jaytechwave.sacco.modules.accounting.domain.repository.AccountRepository;
 import com.jaytechwave.sacco.modules.accounting.domain.repository.JournalEntryRepository;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.AccountType;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
+import com.jaytechwave.sacco.modules.core.persistence.UuidV7Generator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,9 +31,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JournalEntryService {
 
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ENTRY_SQL = """
+        INSERT INTO journal_entries (id, transaction_date, reference_number, description, status)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    private static final String INSERT_LINE_SQL = """
+        INSERT INTO journal_entry_lines (id, journal_entry_id, account_id, member_id, debit_amount, credit_amount, description)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
     private final JournalEntryRepository journalEntryRepository;
-    private final AccountRepository accountRepository;
+    private final ChartOfAccountsCache chartOfAccountsCache;
     private final SecurityAuditService securityAuditService;
+    private final GlBalanceSnapshotService glBalanceSnapshotService;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * THE GATEKEEPER: Processes all journal entries and enforces double-entry rules.
@@ -43,6 +62,69 @@ public class JournalEntryService {
             throw new IllegalArgumentException("Journal Entry with reference " + request.referenceNumber() + " already exists.");
         }
 
+        JournalEntry savedEntry = persist(buildPostedEntry(request));
+        log.info("Posted Journal Entry: {} with {} lines", savedEntry.getReferenceNumber(), savedEntry.getLines().size());
+
+        // Audit: only for manually created journal entries (called from controller, not from templates)
+        securityAuditService.logEvent(
+                "JOURNAL_ENTRY_POSTED",
+                savedEntry.getReferenceNumber(),
+                "Manual journal entry posted: " + savedEntry.getDescription()
+                        + " (" + savedEntry.getLines().size() + " lines)"
+        );
+
+        return mapToResponse(savedEntry);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<JournalEntryResponse> getAllJournalEntries(Pageable pageable) {
+        return journalEntryRepository.findAll(pageable)
+                .map(this::mapToResponse);
+    }
+
+    /**
+     * Bulk write path for runs that post one entry per member (dividends, penalty
+     * interest accrual). Every entry is validated in memory before the first write,
+     * references already in the ledger are skipped (one idempotency query for the
+     * whole batch), and entries and lines go out as two JDBC batch inserts instead
+     * of a Hibernate save per entry. Returns the number of entries actually posted.
+     */
+    @Transactional
+    public int postEntries(List<CreateJournalEntryRequest> requests) {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> references = new HashSet<>();
+        for (CreateJournalEntryRequest request : requests) {
+            if (!references.add(request.referenceNumber())) {
+                throw new IllegalArgumentException("Duplicate journal reference in batch: " + request.referenceNumber());
+            }
+        }
+        Set<String> existing = new HashSet<>(journalEntryRepository.findExistingReferenceNumbers(references));
+
+        List<JournalEntry> entries = new ArrayList<>(requests.size());
+        for (CreateJournalEntryRequest request : requests) {
+            if (existing.contains(request.referenceNumber())) {
+                log.info("Idempotency: {} already exists, skipping.", request.referenceNumber());
+                continue;
+            }
+            entries.add(buildPostedEntry(request));
+        }
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        insertBatch(entries);
+        glBalanceSnapshotService.applyEntries(entries);
+
+        log.info("Batch-posted {} journal entries ({} skipped as already posted)",
+                entries.size(), requests.size() - entries.size());
+        return entries.size();
+    }
+
+    /** Validates the request and resolves its accounts; nothing is written. */
+    private JournalEntry buildPostedEntry(CreateJournalEntryRequest request) {
         validateDoubleEntry(request.lines());
 
         JournalEntry entry = JournalEntry.builder()
@@ -53,7 +135,7 @@ public class JournalEntryService {
                 .build();
 
         for (JournalEntryLineRequest lineReq : request.lines()) {
-            Account account = accountRepository.findByAccountCode(lineReq.accountCode())
+            Account account = chartOfAccountsCache.find(lineReq.accountCode())
                     .orElseThrow(() -> new IllegalArgumentException("Account not found: " + lineReq.accountCode()));
 
             if (!account.isActive()) {
@@ -70,25 +152,40 @@ public class JournalEntryService {
 
             entry.addLine(line);
         }
-
-        JournalEntry savedEntry = journalEntryRepository.save(entry);
-        log.info("Posted Journal Entry: {} with {} lines", savedEntry.getReferenceNumber(), savedEntry.getLines().size());
-
-        // Audit: only for manually created journal entries (called from controller, not from templates)
-        securityAuditService.logEvent(
-                "JOURNAL_ENTRY_POSTED",
-                savedEntry.getReferenceNumber(),
-                "Manual journal entry posted: " + savedEntry.getDescription()
-                        + " (" + savedEntry.getLines().size() + " lines)"
-        );
-
-        return mapToResponse(savedEntry);
+        return entry;
     }
 
-    @Transactional(readOnly = true)
-    public Page<JournalEntryResponse> getAllJournalEntries(Pageable pageable) {
-        return journalEntryRepository.findAll(pageable)
-                .map(this::mapToResponse);
+    /**
+     * IDs are assigned here so lines can reference their entry without a
+     * round trip; created_at/updated_at come from the column defaults.
+     */
+    private void insertBatch(List<JournalEntry> entries) {
+        List<JournalEntryLine> lines = new ArrayList<>();
+        for (JournalEntry entry : entries) {
+            entry.setId(UuidV7Generator.next());
+            for (JournalEntryLine line : entry.getLines()) {
+                line.setId(UuidV7Generator.next());
+                lines.add(line);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setObject(1, entry.getId());
+            ps.setObject(2, entry.getTransactionDate());
+            ps.setString(3, entry.getReferenceNumber());
+            ps.setString(4, entry.getDescription());
+            ps.setString(5, entry.getStatus().name());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_LINE_SQL, lines, BATCH_SIZE, (ps, line) -> {
+            ps.setObject(1, line.getId());
+            ps.setObject(2, line.getJournalEntry().getId());
+            ps.setObject(3, line.getAccount().getId());
+            ps.setObject(4, line.getMemberId(), Types.OTHER);
+            ps.setBigDecimal(5, line.getDebitAmount());
+            ps.setBigDecimal(6, line.getCreditAmount());
+            ps.setString(7, line.getDescription());
+        });
     }
 
     private void validateDoubleEntry(List<JournalEntryLineRequest> lines) {
@@ -185,9 +282,9 @@ public class JournalEntryService {
             throw new IllegalArgumentException("Unsupported savings transaction type: " + type);
         }
 
-        Account debitAccount = accountRepository.findByAccountCode(debitAccountCode)
+        Account debitAccount = chartOfAccountsCache.find(debitAccountCode)
                 .orElseThrow(() -> new IllegalStateException("System Account " + debitAccountCode + " not found"));
-        Account creditAccount = accountRepository.findByAccountCode(creditAccountCode)
+        Account creditAccount = chartOfAccountsCache.find(creditAccountCode)
                 .orElseThrow(() -> new IllegalStateException("System Account " + creditAccountCode + " not found"));
 
         JournalEntry entry = JournalEntry.builder()
@@ -204,16 +301,16 @@ public class JournalEntryService {
                         .debitAmount(BigDecimal.ZERO).creditAmount(amount).description("Savings " + type + " Credit").build()
         ));
 
-        JournalEntry savedEntry = journalEntryRepository.save(entry);
+        JournalEntry savedEntry = persist(entry);
         log.info("Posted Savings Journal Entry: {} dated {} with amount {}", journalRef, transactionDate, amount);
         return mapToResponse(savedEntry);
     }
 
     @Transactional
     public void postLoanApplicationFee(UUID memberId, BigDecimal amount, String reference) {
-        Account mpesaClearing = accountRepository.findByAccountCode("1001")
+        Account mpesaClearing = chartOfAccountsCache.find("1001")
                 .orElseThrow(() -> new IllegalStateException("M-Pesa Clearing account (1001) not found"));
-        Account feeIncome = accountRepository.findByAccountCode("4100")
+        Account feeIncome = chartOfAccountsCache.find("4100")
                 .orElseThrow(() -> new IllegalStateException("Loan Fee Income account (4100) not found"));
 
         JournalEntry entry = JournalEntry.builder()
@@ -227,7 +324,7 @@ public class JournalEntryService {
                 .debitAmount(BigDecimal.ZERO).creditAmount(amount)
                 .description("Loan application fee income").build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     // 🚨 UPDATED WITH IDEMPOTENCY GUARD
@@ -239,9 +336,9 @@ public class JournalEntryService {
             return;
         }
 
-        Account bankAccount = accountRepository.findByAccountCode("1002")
+        Account bankAccount = chartOfAccountsCache.find("1002")
                 .orElseThrow(() -> new IllegalStateException("Bank account (1002) not found"));
-        Account loansReceivable = accountRepository.findByAccountCode("1200")
+        Account loansReceivable = chartOfAccountsCache.find("1200")
                 .orElseThrow(() -> new IllegalStateException("Loans Receivable account (1200) not found"));
 
         JournalEntry entry = JournalEntry.builder()
@@ -255,7 +352,7 @@ public class JournalEntryService {
                 .debitAmount(BigDecimal.ZERO).creditAmount(principalAmount)
                 .description("Loan disbursement payout").build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     // 🚨 UPDATED WITH IDEMPOTENCY, EMPTY TRANSACTION AND INTEREST OVERFLOW GUARDS
@@ -279,9 +376,9 @@ public class JournalEntryService {
             return;
         }
 
-        Account mpesaClearing = accountRepository.findByAccountCode("1001").orElseThrow();
-        Account loanReceivable = accountRepository.findByAccountCode("1200").orElseThrow();
-        Account interestIncome  = accountRepository.findByAccountCode("4110").orElseThrow();
+        Account mpesaClearing = chartOfAccountsCache.find("1001").orElseThrow();
+        Account loanReceivable = chartOfAccountsCache.find("1200").orElseThrow();
+        Account interestIncome  = chartOfAccountsCache.find("4110").orElseThrow();
 
         JournalEntry entry = JournalEntry.builder()
                 .referenceNumber(journalRef).description("Loan repayment via M-Pesa")
@@ -304,13 +401,13 @@ public class JournalEntryService {
                     .description("Loan Principal Repayment").build());
         }
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     @Transactional
     public void postPenaltyCreation(UUID memberId, BigDecimal amount, String reference) {
-        Account penaltyReceivable = accountRepository.findByAccountCode("1300").orElseThrow();
-        Account penaltyIncome = accountRepository.findByAccountCode("4120").orElseThrow();
+        Account penaltyReceivable = chartOfAccountsCache.find("1300").orElseThrow();
+        Account penaltyIncome = chartOfAccountsCache.find("4120").orElseThrow();
 
         JournalEntry entry = JournalEntry.builder()
                 .referenceNumber("PENC-" + reference).description("Penalty levied against member")
@@ -321,32 +418,28 @@ public class JournalEntryService {
         entry.addLine(JournalEntryLine.builder().account(penaltyIncome).memberId(memberId)
                 .debitAmount(BigDecimal.ZERO).creditAmount(amount).description("Penalty Income Accrued").build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     @Transactional
     public void postPenaltyInterestAccrual(UUID memberId, BigDecimal amount, String reference) {
-        Account interestReceivable = accountRepository.findByAccountCode("1310").orElseThrow();
-        Account interestIncome = accountRepository.findByAccountCode("4130").orElseThrow();
-
-        JournalEntry entry = JournalEntry.builder()
-                .referenceNumber("PENI-" + reference).description("Penalty interest accrual")
-                .transactionDate(LocalDate.now()).status(JournalEntryStatus.POSTED).build();
-
-        entry.addLine(JournalEntryLine.builder().account(interestReceivable).memberId(memberId)
-                .debitAmount(amount).creditAmount(BigDecimal.ZERO).description("Penalty Interest Receivable").build());
-        entry.addLine(JournalEntryLine.builder().account(interestIncome).memberId(memberId)
-                .debitAmount(BigDecimal.ZERO).creditAmount(amount).description("Penalty Interest Income Accrued").build());
+        persist(buildPostedEntry(penaltyInterestAccrualRequest(memberId, amount, reference)));
+    }
 
-        journalEntryRepository.save(entry);
+    /** Entry posted by {@link #postPenaltyInterestAccrual}; batch runs pass these to {@link #postEntries}. */
+    public CreateJournalEntryRequest penaltyInterestAccrualRequest(UUID memberId, BigDecimal amount, String reference) {
+        return new CreateJournalEntryRequest(LocalDate.now(), "PENI-" + reference, "Penalty interest accrual", List.of(
+                new JournalEntryLineRequest("1310", memberId, amount, BigDecimal.ZERO, "Penalty Interest Receivable"),
+                new JournalEntryLineRequest("4130", memberId, BigDecimal.ZERO, amount, "Penalty Interest Income Accrued")
+        ));
     }
 
     @Transactional
     public void postPenaltyRepayment(UUID memberId, BigDecimal totalAllocated, BigDecimal interestAllocated,
                                      BigDecimal principalAllocated, String reference) {
-        Account mpesaClearing = accountRepository.findByAccountCode("1001").orElseThrow();
-        Account penaltyReceivable = accountRepository.findByAccountCode("1300").orElseThrow();
-        Account interestReceivable = accountRepository.findByAccountCode("1310").orElseThrow();
+        Account mpesaClearing = chartOfAccountsCache.find("1001").orElseThrow();
+        Account penaltyReceivable = chartOfAccountsCache.find("1300").orElseThrow();
+        Account interestReceivable = chartOfAccountsCache.find("1310").orElseThrow();
 
         JournalEntry entry = JournalEntry.builder()
                 .referenceNumber("PENREP-" + reference).description("Penalty repayment via M-Pesa")
@@ -365,13 +458,13 @@ public class JournalEntryService {
                     .debitAmount(BigDecimal.ZERO).creditAmount(principalAllocated).description("Penalty Principal Cleared").build());
         }
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     @Transactional
     public void postPenaltyWaiver(UUID memberId, BigDecimal amount, String reference) {
-        Account penaltyReceivable = accountRepository.findByAccountCode("1300").orElseThrow();
-        Account penaltyIncome = accountRepository.findByAccountCode("4120").orElseThrow();
+        Account penaltyReceivable = chartOfAccountsCache.find("1300").orElseThrow();
+        Account penaltyIncome = chartOfAccountsCache.find("4120").orElseThrow();
 
         JournalEntry entry = JournalEntry.builder()
                 .referenceNumber("PENW-" + reference).description("Penalty waiver/adjustment")
@@ -382,7 +475,7 @@ public class JournalEntryService {
         entry.addLine(JournalEntryLine.builder().account(penaltyReceivable).memberId(memberId)
                 .debitAmount(BigDecimal.ZERO).creditAmount(amount).description("Penalty Waiver - Receivable Reduction").build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     // =========================================================================
@@ -414,7 +507,7 @@ public class JournalEntryService {
             return;
         }
 
-        Account expenseAccount = accountRepository.findByAccountCode("5360")
+        Account expenseAccount = chartOfAccountsCache.find("5360")
                 .orElseThrow(() -> new IllegalStateException(
                         "System Account 5360 (Member Expense Reimbursement) not found. Run V67 migration."));
         if (!expenseAccount.isActive()) {
@@ -423,7 +516,7 @@ public class JournalEntryService {
 
         // Credit goes to member savings deposits (2100), not to payable (2190).
         // This immediately increases the member's savings balance on approval.
-        Account savingsAccount = accountRepository.findByAccountCode("2100")
+        Account savingsAccount = chartOfAccountsCache.find("2100")
                 .orElseThrow(() -> new IllegalStateException(
                         "System Account 2100 (Member Savings Deposits) not found."));
         if (!savingsAccount.isActive()) {
@@ -453,7 +546,7 @@ public class JournalEntryService {
                 .description("Expense reimbursement — credit member savings 2100")
                 .build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
         log.info("SAC-220: Posted expense reimbursement GL entry {} for member {} amount {}", journalRef, memberId, amount);
     }
 
@@ -465,13 +558,13 @@ public class JournalEntryService {
             return;
         }
 
-        Account expenseAccount = accountRepository.findByAccountCode("5360")
+        Account expenseAccount = chartOfAccountsCache.find("5360")
                 .orElseThrow(() -> new IllegalStateException("System Account 5360 not found."));
         if (!expenseAccount.isActive()) {
             throw new IllegalStateException("Cannot post to inactive account: 5360");
         }
         
-        Account bankReceiptAccount = accountRepository.findByAccountCode("1001")
+        Account bankReceiptAccount = chartOfAccountsCache.find("1001")
                 .orElseThrow(() -> new IllegalStateException("System Account 1001 not found."));
         if (!bankReceiptAccount.isActive()) {
             throw new IllegalStateException("Cannot post to inactive account: 1001");
@@ -500,7 +593,7 @@ public class JournalEntryService {
                 .description("Reclassify virtual payment — clear bank receipt 1001")
                 .build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     // =========================================================================
@@ -530,10 +623,10 @@ public class JournalEntryService {
             return;
         }
 
-        Account assetAccount = accountRepository.findByAccountCode(glAccountCode)
+        Account assetAccount = chartOfAccountsCache.find(glAccountCode)
                 .orElseThrow(() -> new IllegalStateException(
                         "Asset GL account " + glAccountCode + " not found. Ensure V45 migration has run."));
-        Account bankAccount = accountRepository.findByAccountCode("1110")
+        Account bankAccount = chartOfAccountsCache.find("1110")
                 .orElseThrow(() -> new IllegalStateException(
                         "System Account 1110 (Main Bank Account) not found. Ensure V10_1 migration has run."));
 
@@ -558,7 +651,7 @@ public class JournalEntryService {
                 .description("Asset acquisition (CR) - " + assetName)
                 .build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
         log.info("SAC-221: Posted asset acquisition GL entry {} for '{}' cost={}", journalRef, assetName, cost);
     }
     /**
@@ -586,9 +679,9 @@ public class JournalEntryService {
             return;
         }
 
-        Account assetAccount = accountRepository.findByAccountCode(glAccountCode)
+        Account assetAccount = chartOfAccountsCache.find(glAccountCode)
                 .orElseThrow(() -> new IllegalStateException("Asset GL account " + glAccountCode + " not found."));
-        Account bankAccount = accountRepository.findByAccountCode("1110")
+        Account bankAccount = chartOfAccountsCache.find("1110")
                 .orElseThrow(() -> new IllegalStateException("System Account 1110 (Main Bank Account) not found."));
 
         JournalEntry entry = JournalEntry.builder()
@@ -620,7 +713,7 @@ public class JournalEntryService {
         BigDecimal profitOrLoss = disposalValue.subtract(purchaseCost);
         if (profitOrLoss.compareTo(BigDecimal.ZERO) > 0) {
             // Profit
-            Account profitAccount = accountRepository.findByAccountCode("4340")
+            Account profitAccount = chartOfAccountsCache.find("4340")
                     .orElseThrow(() -> new IllegalStateException("Account 4340 (Profit on Disposal) not found."));
             entry.addLine(JournalEntryLine.builder()
                     .account(profitAccount)
@@ -630,7 +723,7 @@ public class JournalEntryService {
                     .build());
         } else if (profitOrLoss.compareTo(BigDecimal.ZERO) < 0) {
             // Loss
-            Account lossAccount = accountRepository.findByAccountCode("5430")
+            Account lossAccount = chartOfAccountsCache.find("5430")
                     .orElseThrow(() -> new IllegalStateException("Account 5430 (Loss on Disposal) not found."));
             entry.addLine(JournalEntryLine.builder()
                     .account(lossAccount)
@@ -640,7 +733,7 @@ public class JournalEntryService {
                     .build());
         }
 
-        journalEntryRepository.save(entry);
+        persist(entry);
         log.info("SAC-221: Posted asset disposal GL entry {} cost={} value={}", journalRef, purchaseCost, disposalValue);
     }
 
@@ -665,9 +758,9 @@ public class JournalEntryService {
             return;
         }
 
-        Account expenseAccount = accountRepository.findByAccountCode(expenseGlCode)
+        Account expenseAccount = chartOfAccountsCache.find(expenseGlCode)
                 .orElseThrow(() -> new IllegalStateException("Expense GL account " + expenseGlCode + " not found."));
-        Account bankAccount = accountRepository.findByAccountCode("1110")
+        Account bankAccount = chartOfAccountsCache.find("1110")
                 .orElseThrow(() -> new IllegalStateException("System Account 1110 (Main Bank Account) not found."));
 
         JournalEntry entry = JournalEntry.builder()
@@ -691,7 +784,7 @@ public class JournalEntryService {
                 .description("Sacco Expense (CR Bank)")
                 .build());
 
-        journalEntryRepository.save(entry);
+        persist(entry);
         log.info("SAC-221: Posted sacco expense GL entry {} amount={}", journalRef, amount);
     }
 
@@ -700,32 +793,21 @@ public class JournalEntryService {
         if (journalEntryRepository.existsByReferenceNumber(request.referenceNumber())) {
             throw new IllegalArgumentException("Journal Entry with reference " + request.referenceNumber() + " already exists.");
         }
-        validateDoubleEntry(request.lines());
-
-        JournalEntry entry = JournalEntry.builder()
-                .transactionDate(request.transactionDate())
-                .referenceNumber(request.referenceNumber())
-                .description(request.description())
-                .status(JournalEntryStatus.POSTED)
-                .build();
-
-        for (JournalEntryLineRequest lineReq : request.lines()) {
-            Account account = accountRepository.findByAccountCode(lineReq.accountCode())
-                    .orElseThrow(() -> new IllegalArgumentException("Account not found: " + lineReq.accountCode()));
-            if (!account.isActive()) {
-                throw new IllegalStateException("Cannot post to inactive account: " + lineReq.accountCode());
-            }
-            entry.addLine(JournalEntryLine.builder()
-                    .account(account).memberId(lineReq.memberId())
-                    .debitAmount(lineReq.debitAmount()).creditAmount(lineReq.creditAmount())
-                    .description(lineReq.description()).build());
-        }
-
-        JournalEntry savedEntry = journalEntryRepository.save(entry);
+        JournalEntry savedEntry = persist(buildPostedEntry(request));
         log.info("Posted Journal Entry: {} with {} lines", savedEntry.getReferenceNumber(), savedEntry.getLines().size());
         return mapToResponse(savedEntry);
     }
 
+    /**
+     * Single write path for every journal entry: saves it and keeps the GL balance
+     * snapshots in step when the entry is dated on or before an existing snapshot.
+     */
+    private JournalEntry persist(JournalEntry entry) {
+        JournalEntry savedEntry = journalEntryRepository.save(entry);
+        glBalanceSnapshotService.applyEntry(savedEntry);
+        return savedEntry;
+    }
+
     // =========================================================================
     // MAPPERS
     // =========================================================================
@@ -764,10 +846,10 @@ public class JournalEntryService {
             throw new IllegalStateException(String.format("Loan refinance entry is unbalanced: debits=%.2f credits=%.2f", totalDebits, totalCredits));
         }
 
-        Account loanReceivable = accountRepository.findByAccountCode("1200")
+        Account loanReceivable = chartOfAccountsCache.find("1200")
                 .orElseThrow(() -> new IllegalStateException("Loan Portfolio account not found"));
 
-        Account bankAccount = accountRepository.findByAccountCode("1002")
+        Account bankAccount = chartOfAccountsCache.find("1002")
                 .orElseThrow(() -> new IllegalStateException("Bank/Cash account not found"));
 
         JournalEntry entry = JournalEntry.builder()
@@ -808,7 +890,7 @@ public class JournalEntryService {
                     .build());
         }
 
-        journalEntryRepository.save(entry);
+        persist(entry);
     }
 
     // ── SAC-241: GL entries for non-member credits and bank debits ─────────────
@@ -835,9 +917,9 @@ public class JournalEntryService {
             return;
         }
 
-        Account mpesaClearing = accountRepository.findByAccountCode("1001")
+        Account mpesaClearing = chartOfAccountsCache.find("1001")
                 .orElseThrow(() -> new IllegalStateException("System account 1001 not found"));
-        Account suspense = accountRepository.findByAccountCode("2110")
+        Account suspense = chartOfAccountsCache.find("2110")
                 .orElseThrow(() -> new IllegalStateException("System account 2110 (Unallocated Funds) not found"));
 
         JournalEntry entry = JournalEntry.builder()
@@ -856,7 +938,7 @@ public class JournalEntryService {
                         .description("Parked in suspense — ref: " + reference).build()
         ));
 
-        journalEntryRepository.save(entry);
+        persist(entry);
         log.info("Posted unmatched bank credit GL: {} KES {} ref={}", journalRef, amount, reference);
     }
 
@@ -881,9 +963,9 @@ public class JournalEntryService {
             return;
         }
 
-        Account bankCharges = accountRepository.findByAccountCode("5210")
+        Account bankCharges = chartOfAccountsCache.find("5210")
                 .orElseThrow(() -> new IllegalStateException("System account 5210 (Bank Charges) not found"));
-        Account mpesaClearing = accountRepository.findByAccountCode("1001")
+        Account mpesaClearing = chartOfAccountsCache.find("1001")
                 .orElseThrow(() -> new IllegalStateException("System account 1001 not found"));
 
         JournalEntry entry = JournalEntry.builder()
@@ -902,39 +984,35 @@ public class JournalEntryService {
                         .description("Cash out — ref: " + reference).build()
         ));
 
-        journalEntryRepository.save(entry);
+        persist(entry);
         log.info("Posted bank debit GL: {} KES {} ref={}", journalRef, amount, reference);
     }
 
     @Transactional
     public void postDividendDistribution(UUID memberId, BigDecimal netDividend, String financialYear) {
-        String journalRef = "DIV-" + financialYear + "-" + memberId;
-        if (journalEntryRepository.existsByReferenceNumber(journalRef)) {
-            log.warn("Idempotency: {} already exists, skipping.", journalRef);
+        CreateJournalEntryRequest request = dividendDistributionRequest(memberId, netDividend, financialYear);
+        if (journalEntryRepository.existsByReferenceNumber(request.referenceNumber())) {
+            log.warn("Idempotency: {} already exists, skipping.", request.referenceNumber());
             return;
         }
 
-        // DR 3100 Retained Earnings (or 3200 if separate dividends payable)
-        // CR 2300 Member Deposit Shares
-        Account retainedEarnings = accountRepository.findByAccountCode("3100")
-                .orElseThrow(() -> new IllegalStateException("Retained Earnings account (3100) not found"));
-        
-        Account depositShares = accountRepository.findByAccountCode("2300")
-                .orElseThrow(() -> new IllegalStateException("Deposit Shares account (2300) not found"));
-
-        JournalEntry entry = JournalEntry.builder()
-                .referenceNumber(journalRef).description("Dividend Distribution for FY " + financialYear)
-                .transactionDate(LocalDate.now()).status(JournalEntryStatus.POSTED).build();
-
-        entry.addLine(JournalEntryLine.builder().account(retainedEarnings).memberId(memberId)
-                .debitAmount(netDividend).creditAmount(BigDecimal.ZERO)
-                .description("Dividend Distribution Debit (Retained Earnings)").build());
-                
-        entry.addLine(JournalEntryLine.builder().account(depositShares).memberId(memberId)
-                .debitAmount(BigDecimal.ZERO).creditAmount(netDividend)
-                .description("Dividend Distribution Credit (Deposit Shares)").build());
+        persist(buildPostedEntry(request));
+        log.info("Posted Dividend Distribution GL: {} KES {}", request.referenceNumber(), netDividend);
+    }
 
-        journalEntryRepository.save(entry);
-        log.info("Posted Dividend Distribution GL: {} KES {}", journalRef, netDividend);
+    /**
+     * Entry posted by {@link #postDividendDistribution}; a declaration run passes one
+     * per member to {@link #postEntries}.
+     * DR 3100 Retained Earnings (or 3200 if separate dividends payable)
+     * CR 2300 Member Deposit Shares
+     */
+    public CreateJournalEntryRequest dividendDistributionRequest(UUID memberId, BigDecimal netDividend, String financialYear) {
+        return new CreateJournalEntryRequest(LocalDate.now(), "DIV-" + financialYear + "-" + memberId,
+                "Dividend Distribution for FY " + financialYear, List.of(
+                        new JournalEntryLineRequest("3100", memberId, netDividend, BigDecimal.ZERO,
+                                "Dividend Distribution Debit (Retained Earnings)"),
+                        new JournalEntryLineRequest("2300", memberId, BigDecimal.ZERO, netDividend,
+                                "Dividend Distribution Credit (Deposit Shares)")
+                ));
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.jaytechwave.sacco.modules.accounting.job;
+
+import com.jaytechwave.sacco.modules.accounting.domain.service.GlBalanceSnapshotService;
+import com.jaytechwave.sacco.modules.core.util.SaccoDateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GlBalanceSnapshotJob {
+
+    private final GlBalanceSnapshotService glBalanceSnapshotService;
+
+    /**
+     * Runs every day at 00:10 AM Nairobi time, after the day has closed.
+     * Cron expression: "0 10 0 * * *" -> Second 0, Minute 10, Hour 0, Every day.
+     *
+     * Captures yesterday's closing balances incrementally (previous snapshot + one
+     * day of journal lines), then prunes daily snapshots outside the retention window.
+     */
+    @Scheduled(cron = "0 10 0 * * *", zone = "Africa/Nairobi")
+    public void captureDailySnapshot() {
+        LocalDate today = LocalDate.now(SaccoDateUtils.NAIROBI);
+        LocalDate closedDay = today.minusDays(1);
+        log.info("Capturing GL balance snapshot for {}...", closedDay);
+        try {
+            glBalanceSnapshotService.capture(closedDay);
+            int pruned = glBalanceSnapshotService.pruneDailySnapshots(today);
+            log.info("GL balance snapshot for {} captured ({} expired daily row(s) pruned).", closedDay, pruned);
+        } catch (Exception e) {
+            log.error("Critical error capturing GL balance snapshot for {}: {}", closedDay, e.getMessage(), e);
+        }
+    }
+}
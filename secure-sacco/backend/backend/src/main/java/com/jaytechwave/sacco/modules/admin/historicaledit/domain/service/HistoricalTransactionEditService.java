@@ -3,6 +3,7 @@ package com.jaytechwave.sacco.modules.admin.historicaledit.domain.service;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntry;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryLine;
 import com.jaytechwave.sacco.modules.accounting.domain.repository.JournalEntryRepository;
+import com.jaytechwave.sacco.modules.accounting.domain.service.GlBalanceSnapshotService;
 import com.jaytechwave.sacco.modules.admin.historicaledit.api.dto.HistoricalEditDTOs.*;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import com.jaytechwave.sacco.modules.savings.domain.entity.SavingsAccount;
@@ -38,6 +39,7 @@ public class HistoricalTransactionEditService {
     private final SavingsTransactionRepository savingsTransactionRepository;
     private final JournalEntryRepository       journalEntryRepository;
     private final SecurityAuditService         securityAuditService;
+    private final GlBalanceSnapshotService     glBalanceSnapshotService;
 
     @Transactional(readOnly = true)
     public List<HistoricalTransactionItem> search(SearchRequest request) {
@@ -79,6 +81,10 @@ public class HistoricalTransactionEditService {
 
         Optional<JournalEntry> linkedEntry = journalEntryRepository.findByReferenceNumber(tx.getReference());
 
+        // Take the entry out of the GL balance snapshots at its current amount/date;
+        // it is re-applied with whatever the edit leaves behind just before returning.
+        linkedEntry.ifPresent(glBalanceSnapshotService::revertEntry);
+
         // ── Amount change ───────────────────────────────────────────────────
         if (request.newAmount() != null && request.newAmount().compareTo(previousAmount) != 0) {
             if (request.newAmount().compareTo(BigDecimal.ZERO) <= 0) {
@@ -149,6 +155,7 @@ public class HistoricalTransactionEditService {
         }
 
         savingsTransactionRepository.save(tx);
+        linkedEntry.ifPresent(glBalanceSnapshotService::applyEntry);
 
         securityAuditService.logEvent(
                 "HISTORICAL_TRANSACTION_EDITED",
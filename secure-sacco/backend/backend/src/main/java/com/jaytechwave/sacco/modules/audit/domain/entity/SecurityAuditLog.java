@@ -1,5 +1,6 @@
 package com.jaytechwave.sacco.modules.audit.domain.entity;
 
+import com.jaytechwave.sacco.modules.core.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -32,7 +33,7 @@ public class SecurityAuditLog {
     // ── Identity ──────────────────────────────────────────────────────────────
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @CreationTimestamp
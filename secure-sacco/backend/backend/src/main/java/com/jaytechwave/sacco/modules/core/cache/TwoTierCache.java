@@ -0,0 +1,173 @@
+package com.jaytechwave.sacco.modules.core.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A bounded in-process cache (L1) in front of a Redis cache (L2).
+ *
+ * Reads try L1 first and fill it from L2 on a miss. Writes and evictions go to
+ * L2 first, then this node's L1, then every other node's L1 via the
+ * invalidation callback (Redis pub/sub, see {@link TwoTierCacheManager}).
+ *
+ * L1 holds the deserialized object itself, so cached values must be treated as
+ * read-only by callers — the same instance is handed to every hit.
+ */
+public class TwoTierCache implements Cache {
+
+    /** Broadcasts an L1 invalidation to the other nodes; {@code key == null} means clear. */
+    @FunctionalInterface
+    interface InvalidationPublisher {
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1; // null when L1 is disabled
+    private final Cache l2;
+    private final InvalidationPublisher publisher;
+
+    TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+                 Cache l2, InvalidationPublisher publisher) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        if (l1 != null) {
+            Object local = l1.getIfPresent(localKey);
+            if (local != null) {
+                return new SimpleValueWrapper(local);
+            }
+        }
+
+        ValueWrapper remote = l2.get(key);
+        if (l1 != null && remote != null && remote.get() != null) {
+            l1.put(localKey, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        if (l1 != null) {
+            Object local = l1.getIfPresent(localKey);
+            if (local != null) {
+                return (T) local;
+            }
+        }
+
+        T value = l2.get(key, valueLoader);
+        if (l1 != null && value != null) {
+            l1.put(localKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        String localKey = localKey(key);
+        if (l1 != null) {
+            if (value != null) {
+                l1.put(localKey, value);
+            } else {
+                l1.invalidate(localKey);
+            }
+        }
+        publisher.publish(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        Object current = existing != null ? existing.get() : value;
+        if (l1 != null && current != null) {
+            l1.put(localKey, current);
+        }
+        if (existing == null) {
+            publisher.publish(name, localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        String localKey = localKey(key);
+        evictLocal(localKey);
+        publisher.publish(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = l2.evictIfPresent(key);
+        String localKey = localKey(key);
+        evictLocal(localKey);
+        publisher.publish(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        clearLocal();
+        publisher.publish(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = l2.invalidate();
+        clearLocal();
+        publisher.publish(name, null);
+        return invalidated;
+    }
+
+    /** Drops one entry from this node's L1 only (invalidation received from another node). */
+    void evictLocal(String localKey) {
+        if (l1 != null) {
+            l1.invalidate(localKey);
+        }
+    }
+
+    /** Empties this node's L1 only (invalidation received from another node). */
+    void clearLocal() {
+        if (l1 != null) {
+            l1.invalidateAll();
+        }
+    }
+
+    /** L1 keys are the string form of the cache key — the same form RedisCache uses for L2 keys. */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
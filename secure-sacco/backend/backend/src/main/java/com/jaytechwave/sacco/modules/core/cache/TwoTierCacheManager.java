@@ -0,0 +1,114 @@
+package com.jaytechwave.sacco.modules.core.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every Redis cache in a {@link TwoTierCache} with a Caffeine L1 sized
+ * from {@link TwoTierCacheProperties}, and keeps the nodes' L1s coherent over
+ * Redis pub/sub.
+ *
+ * Invalidation messages are {@code E|node|cache|key} (evict one key) or
+ * {@code C|node|cache} (clear); a node ignores its own. Hit/miss/size metrics
+ * are published as the standard {@code cache.*} meters tagged {@code tier=l1}
+ * (Caffeine) and {@code tier=l2} (Redis).
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final RedisCacheManager l2Manager;
+    private final TwoTierCacheProperties properties;
+    private final StringRedisTemplate redis;
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisCacheManager l2Manager, TwoTierCacheProperties properties,
+                               StringRedisTemplate redis, MeterRegistry meterRegistry) {
+        this.l2Manager = l2Manager;
+        this.properties = properties;
+        this.redis = redis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache l2 = l2Manager.getCache(name);
+        return l2 != null ? caches.computeIfAbsent(name, n -> createCache(n, l2)) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return l2Manager.getCacheNames();
+    }
+
+    private TwoTierCache createCache(String name, Cache l2) {
+        Duration l1Ttl = properties.l1TtlFor(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = null;
+        if (!l1Ttl.isZero() && !l1Ttl.isNegative()) {
+            l1 = Caffeine.newBuilder()
+                    .maximumSize(properties.l1MaxSizeFor(name))
+                    .expireAfterWrite(l1Ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, l1, name, Tags.of("tier", "l1"));
+        }
+        if (l2 instanceof RedisCache redisCache) {
+            new RedisCacheMetrics(redisCache, Tags.of("tier", "l2")).bindTo(meterRegistry);
+        }
+        return new TwoTierCache(name, l1, l2, this::publishInvalidation);
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        String message = key != null
+                ? "E|" + nodeId + "|" + cacheName + "|" + key
+                : "C|" + nodeId + "|" + cacheName;
+        try {
+            redis.convertAndSend(properties.getInvalidationChannel(), message);
+        } catch (Exception e) {
+            // Other nodes fall back to their L1 TTL for this entry
+            log.warn("Could not broadcast cache invalidation for '{}': {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[1])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return; // never read on this node, so nothing in its L1
+        }
+        if ("C".equals(parts[0])) {
+            cache.clearLocal();
+        } else if ("E".equals(parts[0]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
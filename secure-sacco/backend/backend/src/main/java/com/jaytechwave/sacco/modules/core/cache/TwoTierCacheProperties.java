@@ -0,0 +1,61 @@
+package com.jaytechwave.sacco.modules.core.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache sizing for the two-tier cache (see {@link TwoTierCacheManager}).
+ * Anything not listed under {@code sacco.cache.caches} uses the defaults.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sacco.cache")
+public class TwoTierCacheProperties {
+
+    /** Redis (L2) entry TTL for caches without their own entry. */
+    private Duration defaultTtl = Duration.ofMinutes(5);
+
+    /**
+     * In-process (L1) entry TTL. Kept short: pub/sub invalidation is best-effort,
+     * so this is what bounds a node serving a value another node has replaced.
+     */
+    private Duration defaultL1Ttl = Duration.ofSeconds(30);
+
+    /** Maximum entries held in-process per cache. */
+    private long defaultL1MaxSize = 1_000;
+
+    /** Redis channel carrying L1 invalidations between nodes. */
+    private String invalidationChannel = "sacco:cache:invalidation";
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        /** Redis (L2) TTL; falls back to {@code default-ttl}. */
+        private Duration ttl;
+        /** In-process (L1) TTL; falls back to {@code default-l1-ttl}. Zero disables L1 for this cache. */
+        private Duration l1Ttl;
+        /** In-process (L1) size bound; falls back to {@code default-l1-max-size}. */
+        private Long l1MaxSize;
+    }
+
+    public Duration ttlFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getTtl() != null ? spec.getTtl() : defaultTtl;
+    }
+
+    public Duration l1TtlFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getL1Ttl() != null ? spec.getL1Ttl() : defaultL1Ttl;
+    }
+
+    public long l1MaxSizeFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getL1MaxSize() != null ? spec.getL1MaxSize() : defaultL1MaxSize;
+    }
+}
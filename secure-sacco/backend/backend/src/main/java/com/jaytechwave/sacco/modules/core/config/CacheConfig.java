@@ -1,23 +1,72 @@
 package com.jaytechwave.sacco.modules.core.config;
 
+import com.jaytechwave.sacco.modules.core.cache.TwoTierCacheManager;
+import com.jaytechwave.sacco.modules.core.cache.TwoTierCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
+    public RedisCacheConfiguration cacheConfiguration(TwoTierCacheProperties properties) {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5)) // Global 5-minute TTL for Dashboard Widgets
+                .entryTtl(properties.getDefaultTtl()) // Global TTL for caches without their own sacco.cache.caches entry
                 .disableCachingNullValues()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Redis stays the shared L2; every cache gets an in-process Caffeine L1 in
+     * front of it so hot reads skip the network round trip and JSON decoding.
+     * Per-cache TTLs and L1 sizes come from {@code sacco.cache.caches}.
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            RedisCacheConfiguration cacheConfiguration,
+                                            TwoTierCacheProperties properties,
+                                            StringRedisTemplate redisTemplate,
+                                            MeterRegistry meterRegistry) {
+        Map<String, RedisCacheConfiguration> perCache = new LinkedHashMap<>();
+        properties.getCaches().keySet().forEach(name ->
+                perCache.put(name, cacheConfiguration.entryTtl(properties.ttlFor(name))));
+
+        RedisCacheManager l2 = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration)
+                .withInitialCacheConfigurations(perCache)
+                .enableStatistics()
+                .build();
+        l2.afterPropertiesSet();
+
+        return new TwoTierCacheManager(l2, properties, redisTemplate, meterRegistry);
+    }
+
+    /**
+     * Application pub/sub container — delivers other nodes' L1 invalidations to the
+     * cache manager; other in-process snapshots (e.g. SACCO settings) register their
+     * own channels on it. Named explicitly because Spring Session defines its own.
+     */
+    @Bean
+    public RedisMessageListenerContainer appRedisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoTierCacheManager cacheManager,
+                                                                            TwoTierCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+}
@@ -5,6 +5,7 @@ import com.jaytechwave.sacco.modules.core.security.CsrfCookieFilter;
 import com.jaytechwave.sacco.modules.core.security.MustChangePasswordFilter;
 import com.jaytechwave.sacco.modules.core.security.ContactVerificationFilter;
 import com.jaytechwave.sacco.modules.core.security.ApiRateLimitFilter;
+import com.jaytechwave.sacco.modules.core.security.RoleAuthoritiesRefreshFilter;
 import com.jaytechwave.sacco.modules.payments.infrastructure.filter.MpesaIpWhitelistFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import jakarta.servlet.http.HttpServletResponse;
@@ -36,7 +37,7 @@ public class SecurityConfig {
     private List<String> allowedOrigins;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, SecurityHeadersFilter securityHeadersFilter, MustChangePasswordFilter mustChangePasswordFilter, ContactVerificationFilter contactVerificationFilter, MpesaIpWhitelistFilter mpesaIpWhitelistFilter, ApiRateLimitFilter apiRateLimitFilter) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, SecurityHeadersFilter securityHeadersFilter, MustChangePasswordFilter mustChangePasswordFilter, ContactVerificationFilter contactVerificationFilter, MpesaIpWhitelistFilter mpesaIpWhitelistFilter, ApiRateLimitFilter apiRateLimitFilter, RoleAuthoritiesRefreshFilter roleAuthoritiesRefreshFilter) throws Exception {
 
         // --- 1. Custom Security Headers & Request Tracing ---
         http.addFilterBefore(securityHeadersFilter, org.springframework.security.web.session.SessionManagementFilter.class);
@@ -81,7 +82,8 @@ public class SecurityConfig {
                 )
                 .addFilterAfter(new CsrfCookieFilter(), BasicAuthenticationFilter.class)
                 .addFilterAfter(apiRateLimitFilter, CsrfCookieFilter.class)
-                .addFilterAfter(mustChangePasswordFilter, CsrfCookieFilter.class)
+                .addFilterAfter(roleAuthoritiesRefreshFilter, CsrfCookieFilter.class)
+                .addFilterAfter(mustChangePasswordFilter, RoleAuthoritiesRefreshFilter.class)
                 .addFilterAfter(contactVerificationFilter, MustChangePasswordFilter.class)
                 .addFilterBefore(mpesaIpWhitelistFilter, UsernamePasswordAuthenticationFilter.class)
                 .sessionManagement(session -> session
@@ -4,6 +4,7 @@ import com.jaytechwave.sacco.modules.core.api.dto.MfaDTOs.MfaLoginRequest;
 import com.jaytechwave.sacco.modules.core.api.dto.MfaDTOs.VerifyMfaRequest;
 import com.jaytechwave.sacco.modules.core.api.dto.LoginRequest;
 import com.jaytechwave.sacco.modules.core.security.CustomUserDetailsService;
+import com.jaytechwave.sacco.modules.core.security.SessionSecurityFlags;
 import com.jaytechwave.sacco.modules.core.service.LoginAttemptService;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import com.jaytechwave.sacco.modules.core.api.dto.ForgotPasswordRequest;
@@ -54,6 +55,7 @@ public class AuthController {
     private final UserRepository userRepository;
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final SessionSecurityFlags securityFlags;
 
     public AuthController(AuthenticationManager authenticationManager,
                           LoginAttemptService loginAttemptService,
@@ -63,7 +65,8 @@ public class AuthController {
                           CustomUserDetailsService customUserDetailsService,
                           UserRepository userRepository,
                           UserService userService,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          SessionSecurityFlags securityFlags) {
         this.authenticationManager = authenticationManager;
         this.loginAttemptService = loginAttemptService;
         this.securityAuditService = securityAuditService;
@@ -73,6 +76,7 @@ public class AuthController {
         this.userRepository = userRepository;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
+        this.securityFlags = securityFlags;
     }
 
     @PostMapping("/login")
@@ -145,7 +149,9 @@ public class AuthController {
         SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
         securityContext.setAuthentication(authentication);
         SecurityContextHolder.setContext(securityContext);
-        request.getSession(true).setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+        HttpSession session = request.getSession(true);
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+        securityFlags.capture(session, authentication.getName());
     }
 
     private Map<String, Object> buildLoginResponse(CustomUserDetailsService.CustomUserDetails userDetails) {
@@ -364,6 +370,7 @@ public class AuthController {
 
         user.setMustChangePassword(false);
         userRepository.save(user);
+        securityFlags.refresh(email);
 
         securityAuditService.logEvent("PASSWORD_CHANGED", email,
                 "Password changed successfully. IP: " + httpRequest.getRemoteAddr());
@@ -1,5 +1,6 @@
 package com.jaytechwave.sacco.modules.core.notifications;
 
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
 import com.jaytechwave.sacco.modules.members.domain.entity.Member;
 import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
 import com.jaytechwave.sacco.modules.payments.domain.event.NonMemberPaymentReceivedEvent;
@@ -9,20 +10,21 @@ import com.jaytechwave.sacco.modules.payments.domain.event.PaymentReceiptUpdated
 import com.jaytechwave.sacco.modules.payments.domain.repository.PaymentRepository;
 import com.jaytechwave.sacco.modules.paymentproducts.domain.entity.DepositAllocation;
 import com.jaytechwave.sacco.modules.paymentproducts.domain.repository.DepositAllocationRepository;
-import com.jaytechwave.sacco.modules.savings.domain.entity.SavingsAccount;
 import com.jaytechwave.sacco.modules.savings.domain.repository.SavingsAccountRepository;
 import com.jaytechwave.sacco.modules.savings.domain.repository.SavingsTransactionRepository;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.ZoneId;
@@ -50,53 +52,98 @@ public class NotificationPaymentListener {
     private static final long MPESA_REF_WAIT_MS = 60_000L; // 60 seconds
     private static final int  MPESA_REF_POLL_ATTEMPTS = 6; // check every 10s × 6 = 60s
 
+    /** Receipts in flight at once; matches the 8-thread @Async pool this handler used to run on */
+    private static final int RECEIPT_THREADS = 8;
+    /** Receipts waiting for a thread; beyond this a receipt is dropped and logged */
+    private static final int RECEIPT_QUEUE_CAPACITY = 500;
+
+    /**
+     * Sends payment receipts off the outbox worker; the M-Pesa ref wait can take a minute.
+     * Not a bean: any Executor bean would replace Spring Boot's default @Async executor.
+     */
+    private final ThreadPoolTaskExecutor receiptSender = newReceiptSender();
+
     @Value("${sacco.notifications.admin-alert-roles:CHAIRPERSON,SECRETARY,TREASURER}")
     private List<String> adminAlertRoles;
 
-    @Order(org.springframework.core.Ordered.LOWEST_PRECEDENCE)
-    @Async
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    /**
+     * Ordered after the savings credit and split allocation handlers, so the
+     * balance and allocations read here already include this payment. The
+     * messages go out on {@link #receiptSender}: waiting for the IPN's M-Pesa ref
+     * must not hold an outbox worker, and a failed SMS must not retry the event.
+     * Receipts are therefore at most once: one that fails, is rejected by a full
+     * queue, or is unfinished when the shutdown grace runs out is not sent.
+     */
+    @Order(2)
+    @OutboxEventListener
     public void handlePaymentCompleted(PaymentCompletedEvent event) {
+        Optional<Member> memberOpt = memberRepository.findById(event.memberId());
+        if (memberOpt.isEmpty()) {
+            log.warn("NotificationPaymentListener: Member {} not found. SMS skipped.", event.memberId());
+            return;
+        }
+        Member member = memberOpt.get();
+
+        BigDecimal balance = savingsAccountRepository.findByMemberId(member.getId())
+                .map(account -> savingsTransactionRepository.calculateBalance(account.getId()))
+                .orElse(BigDecimal.ZERO);
+        String allocationsStr = formatAllocations(event.paymentId());
+
+        String phone = member.getPhoneNumber();
+        String name = member.getFirstName();
+        if (name == null || name.isBlank()) name = "Member";
+        String fullName = member.getFirstName() + (member.getLastName() != null ? " " + member.getLastName() : "");
+        String memberNumber = member.getMemberNumber();
+        String firstName = name;
+
         try {
-            Optional<Member> memberOpt = memberRepository.findById(event.memberId());
-            if (memberOpt.isEmpty()) {
-                log.warn("NotificationPaymentListener: Member {} not found. SMS skipped.", event.memberId());
-                return;
-            }
-            Member member = memberOpt.get();
+            receiptSender.execute(() -> sendReceipt(event, phone, firstName, fullName, memberNumber, balance, allocationsStr));
+        } catch (TaskRejectedException e) {
+            log.warn("NotificationPaymentListener: Receipt queue full — SMS for payment {} not sent.", event.paymentId());
+        }
+    }
 
+    private void sendReceipt(PaymentCompletedEvent event, String phone, String firstName, String fullName,
+                             String memberNumber, BigDecimal balance, String allocationsStr) {
+        try {
             // ── Resolve the real M-Pesa ref ─────────────────────────────────────
             String receiptRef = resolveRealMpesaRef(event.paymentId(), event.receiptNumber());
 
-            String phone = member.getPhoneNumber();
             if (phone != null && !phone.isBlank()) {
-                BigDecimal balance = BigDecimal.ZERO;
-                Optional<SavingsAccount> accountOpt = savingsAccountRepository.findByMemberId(member.getId());
-                if (accountOpt.isPresent()) {
-                    balance = savingsTransactionRepository.calculateBalance(accountOpt.get().getId());
-                }
-
-                String name = member.getFirstName();
-                if (name == null || name.isBlank()) name = "Member";
-                
                 String message = String.format(
                         "Dear %s, deposit of KES %s received. Ref: %s. New savings balance is KES %s. Thank you for choosing Betterlink Ventures SACCO.",
-                        name, formatAmount(event.amount()), receiptRef, formatAmount(balance)
+                        firstName, formatAmount(event.amount()), receiptRef, formatAmount(balance)
                 );
 
-                log.info("NotificationPaymentListener: Sending SMS to Member {} (Phone: {}) Ref: {}", member.getMemberNumber(), phone, receiptRef);
+                log.info("NotificationPaymentListener: Sending SMS to Member {} (Phone: {}) Ref: {}", memberNumber, phone, receiptRef);
                 smsNotificationService.sendNotificationSms(phone, message);
             }
 
-            String fullName = member.getFirstName() + (member.getLastName() != null ? " " + member.getLastName() : "");
-            notifyAdmins(fullName, phone, event.amount(), receiptRef, event.paymentId());
+            notifyAdmins(fullName, phone, event.amount(), receiptRef, event.paymentId(), allocationsStr);
 
         } catch (Exception e) {
             log.error("NotificationPaymentListener: Failed to send SMS for PaymentCompletedEvent. {}", e.getMessage(), e);
         }
     }
 
+    private static ThreadPoolTaskExecutor newReceiptSender() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(RECEIPT_THREADS);
+        executor.setMaxPoolSize(RECEIPT_THREADS);
+        executor.setQueueCapacity(RECEIPT_QUEUE_CAPACITY);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("payment-sms-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(15);
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        receiptSender.shutdown();
+    }
+
     /**
      * If the initial receipt looks like a Co-op internal UUID (not a real M-Pesa ref),
      * polls the Payment record every 10 seconds for up to 60 seconds waiting for the
@@ -184,7 +231,8 @@ public class NotificationPaymentListener {
                 smsNotificationService.sendNotificationSms(event.senderPhone(), message);
             }
 
-            notifyAdmins(event.senderName(), event.senderPhone(), event.amount(), sanitizeRef(event.mpesaRef()), event.paymentId());
+            notifyAdmins(event.senderName(), event.senderPhone(), event.amount(), sanitizeRef(event.mpesaRef()),
+                    event.paymentId(), formatAllocations(event.paymentId()));
 
         } catch (Exception e) {
             log.error("NotificationPaymentListener: Failed to send SMS for NonMemberPaymentReceivedEvent. {}", e.getMessage(), e);
@@ -215,21 +263,21 @@ public class NotificationPaymentListener {
         }
     }
 
-    private void notifyAdmins(String senderName, String senderPhone, BigDecimal amount, String mpesaRef, UUID paymentId) {
+    private String formatAllocations(UUID paymentId) {
+        if (paymentId == null) return "";
+        List<DepositAllocation> allocations = depositAllocationRepository.findByPaymentId(paymentId);
+        if (allocations == null || allocations.isEmpty()) return "";
+        String allocs = allocations.stream()
+                .map(a -> formatProductName(a.getProduct().getName()) + ":" + formatAmount(a.getAmount()))
+                .collect(Collectors.joining(", "));
+        return " [" + allocs + "]";
+    }
+
+    private void notifyAdmins(String senderName, String senderPhone, BigDecimal amount, String mpesaRef,
+                              UUID paymentId, String allocationsStr) {
         String formattedAmount = formatAmount(amount);
         String dateStr = ZonedDateTime.now(ZoneId.of("Africa/Nairobi")).format(DateTimeFormatter.ofPattern("d/M/yy HH:mm"));
         String name = formatName(senderName, senderPhone);
-        
-        String allocationsStr = "";
-        if (paymentId != null) {
-            List<DepositAllocation> allocations = depositAllocationRepository.findByPaymentId(paymentId);
-            if (allocations != null && !allocations.isEmpty()) {
-                String allocs = allocations.stream()
-                        .map(a -> formatProductName(a.getProduct().getName()) + ":" + formatAmount(a.getAmount()))
-                        .collect(Collectors.joining(", "));
-                allocationsStr = " [" + allocs + "]";
-            }
-        }
 
         String adminMessage = String.format("Dear BETTER LINK VENTURES LTD, you have received Ksh. %s from %s on %s. MPESA Ref: %s.%s",
                 formattedAmount, name, dateStr, mpesaRef, allocationsStr);
@@ -18,7 +18,7 @@ import java.util.UUID;
 public class SmsLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(name = "phone_number", nullable = false, length = 50)
@@ -0,0 +1,30 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Runs one outbox handler for one event in a single transaction together with
+ * its delivery record. Either both commit or neither does, so each handler's
+ * effects are applied exactly once however often the event is retried.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxDeliveryService {
+
+    private final TransactionalOutbox outbox;
+    private final OutboxHandlerRegistry registry;
+
+    /** @return false if the handler had already run for this event */
+    @Transactional
+    public boolean deliver(UUID eventId, OutboxHandlerRegistry.Handler handler, Object event) {
+        if (!outbox.markDelivered(eventId, handler.name())) {
+            return false;
+        }
+        registry.invoke(handler, event);
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method as an outbox handler for the event type of its single
+ * parameter — the durable counterpart of {@code @EventListener}.
+ *
+ * <p>Publishing an event that has outbox handlers writes it to the outbox in
+ * the publisher's transaction. {@link OutboxRelay} calls each handler after
+ * commit, in its own transaction, exactly once per event, in {@code @Order}.
+ * A handler that throws is retried with backoff and holds back the handlers
+ * after it until it succeeds. Events for one member run in the order their
+ * publishers committed, as long as those publishers lock a common row.
+ *
+ * <p>Use it for listeners whose writes need not be atomic with the publisher's.
+ *
+ * <p>Exactly once covers the handler method itself. Work it hands to another
+ * thread is outside that guarantee: {@code NotificationPaymentListener}'s
+ * receipt SMS, for example, is sent at most once.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OutboxEventListener {
+}
@@ -0,0 +1,112 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds every {@link OutboxEventListener} method once the context is up.
+ *
+ * <p>Handlers are looked up by bean name and invoked on the bean from the
+ * context, so any proxy around the bean still applies. Handlers of one event
+ * type run in {@code @Order} order (unannotated last), as with {@code @EventListener}.
+ */
+@Slf4j
+@Component
+public class OutboxHandlerRegistry implements SmartInitializingSingleton {
+
+    /**
+     * One handler method. {@link #name} identifies it in
+     * {@code domain_event_outbox_deliveries}, so renaming a handler class or
+     * method re-delivers its undispatched events.
+     */
+    public record Handler(String name, String beanName, Method method) {}
+
+    private final ApplicationContext context;
+    private final Map<Class<?>, List<Handler>> handlersByType = new HashMap<>();
+    private final Map<String, Class<?>> typesByName = new HashMap<>();
+
+    public OutboxHandlerRegistry(ApplicationContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : context.getBeanDefinitionNames()) {
+            Class<?> type = context.getType(beanName);
+            if (type == null) continue;
+            Class<?> userType = ClassUtils.getUserClass(type);
+
+            Map<Method, OutboxEventListener> methods = MethodIntrospector.selectMethods(userType,
+                    (MethodIntrospector.MetadataLookup<OutboxEventListener>) m ->
+                            AnnotatedElementUtils.findMergedAnnotation(m, OutboxEventListener.class));
+
+            methods.keySet().forEach(method -> register(beanName, userType, method));
+        }
+        handlersByType.values().forEach(handlers ->
+                handlers.sort(Comparator.comparingInt(h -> order(h.method()))));
+        handlersByType.forEach((type, handlers) ->
+                log.info("Outbox: {} handler(s) for {}", handlers.size(), type.getSimpleName()));
+    }
+
+    /** True if {@code eventType} has outbox handlers, i.e. should be written to the outbox. */
+    public boolean handles(Class<?> eventType) {
+        return handlersByType.containsKey(eventType);
+    }
+
+    public List<Handler> handlersFor(Class<?> eventType) {
+        return handlersByType.getOrDefault(eventType, List.of());
+    }
+
+    /** The handled event class stored under {@code name}, or null if none. */
+    public Class<?> eventType(String name) {
+        return typesByName.get(name);
+    }
+
+    /** Calls {@code handler} with {@code event}, unwrapping the handler's own exception. */
+    public void invoke(Handler handler, Object event) {
+        Object bean = context.getBean(handler.beanName());
+        Method method = AopUtils.selectInvocableMethod(handler.method(), bean.getClass());
+        try {
+            ReflectionUtils.makeAccessible(method);
+            method.invoke(bean, event);
+        } catch (InvocationTargetException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Outbox handler " + handler.name() + " is not accessible", e);
+        }
+    }
+
+    private static int order(Method method) {
+        Order order = AnnotatedElementUtils.findMergedAnnotation(method, Order.class);
+        return order != null ? order.value() : Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private void register(String beanName, Class<?> beanType, Method method) {
+        if (method.getParameterCount() != 1) {
+            throw new IllegalStateException("@OutboxEventListener method must take exactly one event parameter: " + method);
+        }
+        Class<?> eventType = method.getParameterTypes()[0];
+        String name = beanType.getSimpleName() + "." + method.getName();
+
+        handlersByType.computeIfAbsent(eventType, t -> new ArrayList<>())
+                .add(new Handler(name, beanName, method));
+        typesByName.put(eventType.getName(), eventType);
+    }
+}
@@ -0,0 +1,198 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.core.outbox.TransactionalOutbox.Entry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches {@link TransactionalOutbox} events to their {@link OutboxEventListener}
+ * handlers after the publishing transaction has committed.
+ *
+ * Each tick claims a batch — at most one event per member, so events in a batch
+ * are independent — and runs it on a bounded worker pool. Every handler runs
+ * in its own transaction through {@link OutboxDeliveryService}, in {@code @Order}.
+ * A failing handler stops the event there: later handlers (dashboards, read
+ * models, receipts) must not see a payment whose savings credit has not posted.
+ * The retry resumes at the failed handler, skipping those already delivered.
+ *
+ * Dispatch ticks run on the relay's own thread rather than the shared
+ * {@code @Scheduled} thread: payment crediting happens only here, so a slow
+ * nightly job or report refresh must not hold it back.
+ *
+ * Metrics:
+ * - {@code sacco.outbox.dispatch.lag} — publish-to-dispatch time, tagged {@code event}
+ * - {@code sacco.outbox.backlog} / {@code sacco.outbox.failed} — undispatched and parked events
+ * - {@code sacco.outbox.handler.failures} — handler failures, tagged {@code handler}
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final Duration DONE_RETENTION = Duration.ofDays(14);
+
+    private final TransactionalOutbox outbox;
+    private final OutboxHandlerRegistry registry;
+    private final OutboxDeliveryService deliveryService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService ticker;
+    private final int batchSize;
+    private final long tickMs;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong failed  = new AtomicLong();
+
+    public OutboxRelay(TransactionalOutbox outbox,
+                       OutboxHandlerRegistry registry,
+                       OutboxDeliveryService deliveryService,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${sacco.outbox.workers:4}") int workerCount,
+                       @Value("${sacco.outbox.tick-ms:500}") long tickMs) {
+        this.outbox          = outbox;
+        this.registry        = registry;
+        this.deliveryService = deliveryService;
+        this.objectMapper    = objectMapper;
+        this.meterRegistry   = meterRegistry;
+        this.batchSize       = workerCount * 4;
+        this.tickMs          = tickMs;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("outbox-relay-"));
+        this.ticker  = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-tick-"));
+
+        Gauge.builder("sacco.outbox.backlog", backlog, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("sacco.outbox.failed", failed, AtomicLong::get).register(meterRegistry);
+    }
+
+    /** Starts dispatching once every outbox handler is registered. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdown();
+        workers.shutdown();
+    }
+
+    private void tick() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            // An exception escaping would cancel the fixed-delay schedule
+            log.warn("OutboxRelay: dispatch tick failed — {}", e.getMessage());
+        }
+    }
+
+    public void dispatch() {
+        List<Entry> claimed;
+        try {
+            claimed = outbox.claim(batchSize);
+        } catch (Exception e) {
+            log.warn("OutboxRelay: could not claim events — {}", e.getMessage());
+            return;
+        }
+        if (claimed.isEmpty()) return;
+
+        CompletableFuture.allOf(claimed.stream()
+                .map(entry -> CompletableFuture.runAsync(() -> dispatchSafely(entry), workers))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    @Scheduled(fixedDelayString = "${sacco.outbox.backlog-refresh-ms:15000}")
+    public void refreshBacklog() {
+        try {
+            long[] counts = outbox.countBacklog();
+            backlog.set(counts[0]);
+            failed.set(counts[1]);
+        } catch (Exception e) {
+            log.debug("OutboxRelay: could not count backlog — {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 45 3 * * *", zone = "Africa/Nairobi")
+    public void purgeDispatched() {
+        int purged = outbox.purgeDispatched(DONE_RETENTION);
+        if (purged > 0) {
+            log.info("OutboxRelay: purged {} dispatched event(s)", purged);
+        }
+    }
+
+    private void dispatchSafely(Entry entry) {
+        String error;
+        try {
+            error = dispatch(entry);
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        try {
+            if (error == null) {
+                outbox.markDone(entry.id());
+            } else {
+                log.warn("OutboxRelay: {} {} attempt {} failed — {}",
+                        entry.eventType(), entry.id(), entry.attempts(), error);
+                outbox.markFailed(entry, error);
+            }
+        } catch (Exception e) {
+            // Lease expiry will hand the event out again
+            log.warn("OutboxRelay: could not record outcome for {} — {}", entry.id(), e.getMessage());
+        }
+    }
+
+    /** @return null if every handler has now run, else the failure that stopped the event */
+    private String dispatch(Entry entry) throws Exception {
+        Class<?> type = registry.eventType(entry.eventType());
+        if (type == null) {
+            return "No outbox handlers for " + entry.eventType();
+        }
+        Object event = objectMapper.readValue(entry.payload(), type);
+        Set<String> delivered = outbox.deliveredHandlers(entry.id());
+
+        for (OutboxHandlerRegistry.Handler handler : registry.handlersFor(type)) {
+            if (delivered.contains(handler.name())) continue;
+            try {
+                deliveryService.deliver(entry.id(), handler, event);
+            } catch (Exception e) {
+                Counter.builder("sacco.outbox.handler.failures")
+                        .tag("handler", handler.name())
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("OutboxRelay: handler {} failed for event {} — {}", handler.name(), entry.id(), e.getMessage());
+                return handler.name() + ": " + e.getMessage();
+            }
+        }
+
+        if (entry.createdAt() != null) {
+            Timer.builder("sacco.outbox.dispatch.lag")
+                    .tag("event", type.getSimpleName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Duration.between(entry.createdAt(), OffsetDateTime.now()));
+        }
+        return null;
+    }
+}
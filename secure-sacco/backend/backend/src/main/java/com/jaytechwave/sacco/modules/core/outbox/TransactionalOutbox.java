@@ -0,0 +1,162 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.core.persistence.LeasedQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.reflect.RecordComponent;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The {@code domain_event_outbox} table (V120).
+ *
+ * <p>{@link #record} runs just before the publisher's transaction commits and
+ * writes any event that has {@link OutboxEventListener} handlers, so the event
+ * is stored if and only if the publisher's changes are. {@link OutboxRelay}
+ * claims and dispatches the rows.
+ *
+ * <p>Claiming, retry and leases are {@link LeasedQueue}'s: only the oldest open
+ * event per ordering key is handed out, failures back off exponentially, and
+ * an event that fails {@link LeasedQueue#MAX_ATTEMPTS} times is parked as FAILED.
+ */
+@Slf4j
+@Component
+public class TransactionalOutbox {
+
+    /** A claimed event. {@code attempts} includes the current one. */
+    public record Entry(UUID id, String eventType, String payload, int attempts, OffsetDateTime createdAt) {}
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final OutboxHandlerRegistry registry;
+    private final LeasedQueue queue;
+
+    public TransactionalOutbox(JdbcTemplate jdbc, ObjectMapper objectMapper, OutboxHandlerRegistry registry) {
+        this.jdbc         = jdbc;
+        this.objectMapper = objectMapper;
+        this.registry     = registry;
+        this.queue = new LeasedQueue(jdbc, "domain_event_outbox", "created_at", "dispatched_at",
+                "id", "event_type", "payload", "attempts", "created_at");
+    }
+
+    /**
+     * Writes {@code event} in the publishing transaction. Events published
+     * outside a transaction are written straight away.
+     *
+     * <p>{@code created_at} is the write time ({@code clock_timestamp()}), not
+     * the column default, which is the transaction's start. Since the write
+     * happens just before commit, a transaction that started earlier but commits
+     * later still queues its event behind the other's.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void record(Object event) {
+        if (!registry.handles(event.getClass())) return;
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise " + event.getClass().getSimpleName() + " for the outbox", e);
+        }
+        jdbc.update("""
+            INSERT INTO domain_event_outbox (event_type, payload, ordering_key, created_at)
+            VALUES (?, ?, ?, clock_timestamp())
+            """, event.getClass().getName(), payload, orderingKey(event));
+    }
+
+    /** Leases up to {@code max} due events, at most one per ordering key. */
+    public List<Entry> claim(int max) {
+        return queue.claim(max,
+                (rs, i) -> new Entry(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getInt("attempts"),
+                        rs.getObject("created_at", OffsetDateTime.class)));
+    }
+
+    /** Handlers that have already run for {@code eventId}. */
+    public Set<String> deliveredHandlers(UUID eventId) {
+        return Set.copyOf(jdbc.queryForList(
+                "SELECT handler FROM domain_event_outbox_deliveries WHERE event_id = ?", String.class, eventId));
+    }
+
+    /**
+     * Claims {@code handler}'s delivery of {@code eventId}. Must run in the
+     * handler's transaction.
+     *
+     * @return false if the handler already ran for this event
+     */
+    public boolean markDelivered(UUID eventId, String handler) {
+        return jdbc.update("""
+            INSERT INTO domain_event_outbox_deliveries (event_id, handler) VALUES (?, ?)
+            ON CONFLICT (event_id, handler) DO NOTHING
+            """, eventId, handler) > 0;
+    }
+
+    public void markDone(UUID id) {
+        queue.markDone(id);
+    }
+
+    /** Schedules another attempt, or parks the event as FAILED once attempts run out. */
+    public void markFailed(Entry entry, String error) {
+        if (queue.markFailed(entry.id(), entry.attempts(), error)) {
+            log.error("TransactionalOutbox: {} {} failed {} times — parked as FAILED: {}",
+                    entry.eventType(), entry.id(), entry.attempts(), error);
+        }
+    }
+
+    /** Open (undispatched) and parked event counts, for the backlog gauges. */
+    public long[] countBacklog() {
+        return jdbc.queryForObject("""
+            SELECT COUNT(*) FILTER (WHERE status IN ('PENDING', 'PROCESSING')),
+                   COUNT(*) FILTER (WHERE status = 'FAILED')
+            FROM domain_event_outbox
+            WHERE status <> 'DONE'
+            """, (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    /** Deletes dispatched events (and their delivery records) older than {@code retention}. */
+    public int purgeDispatched(Duration retention) {
+        return queue.purgeDone(retention);
+    }
+
+    /**
+     * Events of one member are dispatched in the order they were written: the
+     * key is the event's {@code memberId} component, else its {@code paymentId},
+     * else the event type. That is commit order whenever the publishers lock a
+     * common row of the member; two transactions that share no row may commit
+     * in either order.
+     */
+    static String orderingKey(Object event) {
+        if (event instanceof Record) {
+            for (String component : List.of("memberId", "paymentId")) {
+                Object value = component(event, component);
+                if (value != null) return value.toString();
+            }
+        }
+        return event.getClass().getSimpleName();
+    }
+
+    private static Object component(Object record, String name) {
+        for (RecordComponent component : record.getClass().getRecordComponents()) {
+            if (component.getName().equals(name)) {
+                try {
+                    return component.getAccessor().invoke(record);
+                } catch (ReflectiveOperationException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+package com.jaytechwave.sacco.modules.core.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Claim, retry and purge SQL for a PostgreSQL work-queue table, shared by
+ * {@code domain_event_outbox} and {@code payment_callback_inbox}.
+ *
+ * <p>The table has {@code id}, {@code ordering_key}, {@code status}
+ * (PENDING, PROCESSING, DONE, FAILED), {@code attempts}, {@code next_attempt_at},
+ * {@code locked_until} and {@code last_error}, plus an arrival and a done timestamp.
+ *
+ * <h3>Ordering</h3>
+ * Rows with the same ordering key are handed out one at a time in arrival
+ * order: only the oldest open row of a key can be claimed, and not while it is
+ * being processed or waiting to retry.
+ *
+ * <h3>Retry</h3>
+ * A failed row is retried with exponential backoff from {@link #BASE_RETRY_DELAY}
+ * to {@link #MAX_RETRY_DELAY}. After {@link #MAX_ATTEMPTS} it is parked as
+ * FAILED for manual follow-up, which releases the rows queued behind it. A node
+ * that dies mid-row loses its lease after {@link #PROCESSING_LEASE}.
+ */
+public final class LeasedQueue {
+
+    public static final int      MAX_ATTEMPTS     = 10;
+    public static final Duration BASE_RETRY_DELAY = Duration.ofSeconds(5);
+    public static final Duration MAX_RETRY_DELAY  = Duration.ofMinutes(15);
+    public static final Duration PROCESSING_LEASE = Duration.ofMinutes(5);
+
+    // The row conditions are repeated on the UPDATE so a concurrent claim from
+    // another node, re-checked after the row lock, skips rows already taken.
+    private static final String CLAIM_SQL = """
+        WITH heads AS (
+            SELECT DISTINCT ON (ordering_key) id, status, next_attempt_at, locked_until
+            FROM %1$s
+            WHERE status IN ('PENDING', 'PROCESSING')
+            ORDER BY ordering_key, %2$s, id
+        ), due AS (
+            SELECT id FROM heads
+            WHERE (status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP)
+               OR (status = 'PROCESSING' AND locked_until < CURRENT_TIMESTAMP)
+            LIMIT ?
+        )
+        UPDATE %1$s q
+        SET status       = 'PROCESSING',
+            locked_until = CURRENT_TIMESTAMP + make_interval(secs => ?),
+            attempts     = q.attempts + 1
+        FROM due
+        WHERE q.id = due.id
+          AND ((q.status = 'PENDING' AND q.next_attempt_at <= CURRENT_TIMESTAMP)
+            OR (q.status = 'PROCESSING' AND q.locked_until < CURRENT_TIMESTAMP))
+        RETURNING %3$s
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final String table;
+    private final String doneColumn;
+    private final String claimSql;
+
+    /**
+     * @param arrivalColumn orders rows within a key, e.g. {@code created_at}
+     * @param doneColumn    stamped by {@link #markDone}, e.g. {@code dispatched_at}
+     * @param columns       the columns {@link #claim} returns
+     */
+    public LeasedQueue(JdbcTemplate jdbc, String table, String arrivalColumn, String doneColumn, String... columns) {
+        this.jdbc       = jdbc;
+        this.table      = table;
+        this.doneColumn = doneColumn;
+        this.claimSql   = CLAIM_SQL.formatted(table, arrivalColumn,
+                Arrays.stream(columns).map(c -> "q." + c).collect(Collectors.joining(", ")));
+    }
+
+    /** Leases up to {@code max} rows that are due, at most one per ordering key. */
+    public <T> List<T> claim(int max, RowMapper<T> rowMapper) {
+        return jdbc.query(claimSql, rowMapper, max, PROCESSING_LEASE.toSeconds());
+    }
+
+    public void markDone(UUID id) {
+        jdbc.update("""
+            UPDATE %s
+            SET status = 'DONE', %s = CURRENT_TIMESTAMP, locked_until = NULL, last_error = NULL
+            WHERE id = ?
+            """.formatted(table, doneColumn), id);
+    }
+
+    /**
+     * Schedules another attempt, or parks the row as FAILED once attempts run out.
+     *
+     * @param attempts attempts so far, including the one that failed
+     * @return true if the row was parked
+     */
+    public boolean markFailed(UUID id, int attempts, String error) {
+        if (attempts >= MAX_ATTEMPTS) {
+            jdbc.update("""
+                UPDATE %s
+                SET status = 'FAILED', locked_until = NULL, last_error = ?
+                WHERE id = ?
+                """.formatted(table), error, id);
+            return true;
+        }
+        jdbc.update("""
+            UPDATE %s
+            SET status = 'PENDING', locked_until = NULL, last_error = ?,
+                next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => ?)
+            WHERE id = ?
+            """.formatted(table), error, backoff(attempts).toSeconds(), id);
+        return false;
+    }
+
+    /** Deletes DONE rows older than {@code retention}. FAILED rows are kept. */
+    public int purgeDone(Duration retention) {
+        return jdbc.update("""
+            DELETE FROM %s
+            WHERE status = 'DONE' AND %s < CURRENT_TIMESTAMP - make_interval(secs => ?)
+            """.formatted(table, doneColumn), retention.toSeconds());
+    }
+
+    public static Duration backoff(int attempt) {
+        long factor = 1L << Math.min(attempt - 1, 20);
+        Duration delay = BASE_RETRY_DELAY.multipliedBy(factor);
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jaytechwave.sacco.modules.core.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a {@code UUID} primary key as generated by {@link UuidV7Generator}.
+ * Use in place of {@code @GeneratedValue(strategy = GenerationType.UUID)} on
+ * append-heavy tables (ledger, transactions, audit log).
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,55 @@
+package com.jaytechwave.sacco.modules.core.persistence;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562) ids for append-heavy tables.
+ *
+ * <p>Random v4 keys land anywhere in the primary-key B-tree, so every insert
+ * into {@code journal_entries}, {@code savings_transactions} etc. dirties a
+ * random leaf page. v7 keys lead with a 48-bit Unix-millisecond timestamp, so
+ * new rows append to the right-hand edge of the index and ids sort by
+ * creation time.
+ *
+ * <p>Layout: 48-bit ms timestamp | version 7 | 12-bit sequence | variant | 62 random bits.
+ * The 12-bit field is a per-JVM counter (RFC 9562 §6.2, method 1), so ids
+ * generated within the same millisecond are still strictly increasing; on
+ * counter overflow the timestamp is advanced by 1 ms rather than going backwards.
+ *
+ * <p>Rollout is migration-free: columns stay {@code UUID}, existing v4 ids are
+ * untouched and both versions coexist. The ids are not secrets — the random tail
+ * uses {@link ThreadLocalRandom}, not a CSPRNG.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    /** Last issued {@code (timestampMillis << 12) | sequence}. */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    /** For ids assigned outside Hibernate (JDBC batch inserts). */
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << 12;
+        long issued = LAST.accumulateAndGet(candidate, (last, now) -> now > last ? now : last + 1);
+
+        long msb = ((issued >>> 12) << 16) | 0x7000L | (issued & 0xFFFL);
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
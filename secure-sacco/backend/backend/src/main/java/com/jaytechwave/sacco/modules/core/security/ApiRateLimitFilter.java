@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -17,20 +19,30 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
- * Redis-backed API rate limiter using a sliding-window counter approach.
+ * Redis-backed API rate limiter using a sliding-window log.
  *
  * <p>Two tiers of limits:</p>
  * <ol>
  *   <li><b>General:</b> configurable requests per user per minute (default 60).
  *       Read dynamically from {@link SaccoSettingsService}.</li>
- *   <li><b>Financial endpoints:</b> Stricter per-hour limits on high-value operations.
- *       These are fixed for safety and not exposed in settings.</li>
+ *   <li><b>Financial endpoints:</b> Stricter limits on high-value operations,
+ *       configured under {@code sacco.rate-limit.endpoints} (see {@link RateLimitProperties}).</li>
  * </ol>
  *
+ * <p>Each check is one Lua script call: it trims entries older than the window,
+ * counts what is left, records the request if it is under the limit, and returns
+ * the count together with the time until the oldest entry leaves the window. The
+ * key's TTL is set in the same call, so no key can be left without one. Timestamps
+ * come from the Redis server clock, so all nodes share one window.</p>
+ *
+ * <p>If Redis fails or is slow, {@link RedisFailover} switches checks to
+ * per-node token buckets ({@link LocalTokenBucketLimiter}) with the same limits
+ * until it recovers, rather than failing open.</p>
+ *
  * <p>Unauthenticated requests are not rate-limited here — login brute-force is
  * handled by {@code LoginAttemptService}.</p>
  */
@@ -39,20 +51,38 @@ import java.util.concurrent.TimeUnit;
 public class ApiRateLimitFilter extends OncePerRequestFilter {
 
     // ── Fallback (before SACCO is initialized) ────────────────────────────────
-    private static final int      DEFAULT_GENERAL_LIMIT  = 60;
-    private static final Duration GENERAL_WINDOW         = Duration.ofMinutes(1);
+    private static final int DEFAULT_GENERAL_LIMIT = 60;
+
+    /** Sorted-set keys; kept apart from the old {@code rl:*} INCR counters so the two never collide. */
+    private static final String KEY_PREFIX = "rl:sw:";
 
     /**
-     * Endpoint-specific limits that are fixed for security reasons and are NOT
-     * exposed in admin settings (changing M-Pesa or loan limits carelessly could
-     * create financial risk).
+     * KEYS[1] = window key; ARGV = window ms, limit, unique member.
+     * Returns {allowed (1/0), count in window, ms until a slot frees up}.
      */
-    private static final Map<String, RateLimit> ENDPOINT_LIMITS = Map.of(
-            "/api/v1/payments/mpesa/stk",       new RateLimit(5,  Duration.ofHours(1)),
-            "/api/v1/loans/applications",        new RateLimit(3,  Duration.ofDays(1)),
-            "/api/v1/savings/deposit/manual",    new RateLimit(20, Duration.ofHours(1)),
-            "/api/v1/savings/withdraw/manual",   new RateLimit(10, Duration.ofHours(1))
-    );
+    static final RedisScript<List> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = t[1] * 1000 + math.floor(t[2] / 1000)
+            local window = tonumber(ARGV[1])
+            local limit = tonumber(ARGV[2])
+
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local count = redis.call('ZCARD', KEYS[1])
+            local allowed = 0
+            if count < limit then
+                redis.call('ZADD', KEYS[1], now, ARGV[3])
+                count = count + 1
+                allowed = 1
+            end
+            redis.call('PEXPIRE', KEYS[1], window)
+
+            local reset = window
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            if oldest[2] then
+                reset = tonumber(oldest[2]) + window - now
+            end
+            return {allowed, count, reset}
+            """, List.class);
 
     private static final List<String> BYPASS_PREFIXES = List.of(
             "/api/v1/migration/",
@@ -61,12 +91,20 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
 
     private final StringRedisTemplate  redis;
     private final SaccoSettingsService settingsService;
+    private final RateLimitProperties  properties;
+    private final RedisFailover        failover;
+    private final LocalTokenBucketLimiter localLimiter = new LocalTokenBucketLimiter(100_000);
 
     @Autowired
     public ApiRateLimitFilter(StringRedisTemplate redis,
-                              @Lazy SaccoSettingsService settingsService) {
+                              @Lazy SaccoSettingsService settingsService,
+                              RateLimitProperties properties,
+                              RedisFailover failover) {
         this.redis           = redis;
         this.settingsService = settingsService;
+        this.properties      = properties;
+        this.failover        = failover;
+        failover.onRecovery(localLimiter::clear);
     }
 
     // ── Dynamic general limit ─────────────────────────────────────────────────
@@ -113,42 +151,45 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
             return;
         }
 
-        // ── 1. Endpoint-specific limits (wins on first prefix match) ──────────
-        for (Map.Entry<String, RateLimit> entry : ENDPOINT_LIMITS.entrySet()) {
-            if (path.startsWith(entry.getKey())) {
-                RateLimit limit = entry.getValue();
-                String key = "rl:endpoint:" + userIdentifier + ":" + entry.getKey();
-                if (isRateLimited(key, limit.maxRequests(), limit.window(), response)) return;
-                filterChain.doFilter(request, response);
-                return;
-            }
+        // ── 1. Endpoint-specific limits (longest prefix wins) ─────────────────
+        var endpointLimit = properties.endpointLimitFor(path);
+        if (endpointLimit.isPresent()) {
+            String prefix = endpointLimit.get().getKey();
+            RateLimitProperties.Limit limit = endpointLimit.get().getValue();
+            String key = KEY_PREFIX + "endpoint:" + userIdentifier + ":" + prefix;
+            if (isRateLimited(key, limit.getMaxRequests(), limit.getWindow(), response)) return;
+            filterChain.doFilter(request, response);
+            return;
         }
 
         // ── 2. General limit (reads setting dynamically) ──────────────────────
-        String generalKey = "rl:general:" + userIdentifier;
-        if (isRateLimited(generalKey, generalLimit(), GENERAL_WINDOW, response)) return;
+        String generalKey = KEY_PREFIX + "general:" + userIdentifier;
+        if (isRateLimited(generalKey, generalLimit(), properties.getGeneralWindow(), response)) return;
 
         filterChain.doFilter(request, response);
     }
 
     private boolean isRateLimited(String key, int maxRequests, Duration window,
                                   HttpServletResponse response) throws IOException {
-        Long count = redis.opsForValue().increment(key);
-
-        if (count == null) {
-            log.warn("Redis unavailable for rate limit check on key: {}", key);
-            return false; // Fail open — don't block users if Redis is down
+        Optional<List> redisResult = failover.call(() -> redis.execute(SLIDING_WINDOW_SCRIPT, List.of(key),
+                String.valueOf(window.toMillis()), String.valueOf(maxRequests), UUID.randomUUID().toString()));
+
+        boolean allowed;
+        long retryAfter;
+        if (redisResult.isPresent() && redisResult.get().size() >= 3) {
+            List<?> result = redisResult.get();
+            allowed    = ((Number) result.get(0)).longValue() == 1;
+            retryAfter = Math.max(1, (((Number) result.get(2)).longValue() + 999) / 1000);
+        } else {
+            // Redis down or slow — enforce the same limit per node rather than fail open
+            LocalTokenBucketLimiter.Decision decision = localLimiter.tryAcquire(key, maxRequests, window);
+            allowed    = decision.allowed();
+            retryAfter = decision.retryAfterSeconds();
         }
 
-        if (count == 1) {
-            redis.expire(key, window.toSeconds(), TimeUnit.SECONDS);
-        }
-
-        if (count > maxRequests) {
-            Long ttl = redis.getExpire(key, TimeUnit.SECONDS);
-            long retryAfter = ttl != null && ttl > 0 ? ttl : window.toSeconds();
-
-            log.warn("Rate limit exceeded for key: {} (count: {}, limit: {})", key, count, maxRequests);
+        if (!allowed) {
+            log.warn("Rate limit exceeded for key: {} (limit: {}, {})",
+                    key, maxRequests, failover.isLocal() ? "local" : "redis");
 
             response.setStatus(429);
             response.setContentType("application/json");
@@ -166,6 +207,4 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
 
         return false;
     }
-
-    private record RateLimit(int maxRequests, Duration window) {}
-}
\ No newline at end of file
+}
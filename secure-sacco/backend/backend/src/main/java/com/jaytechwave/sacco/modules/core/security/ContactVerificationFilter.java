@@ -1,7 +1,5 @@
 package com.jaytechwave.sacco.modules.core.security;
 
-import com.jaytechwave.sacco.modules.users.domain.entity.User;
-import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,13 +29,16 @@ import java.util.Set;
  *
  * <p>The frontend intercepts this 403 in {@code api-client.ts} and redirects
  * the user to the contact verification step.
+ *
+ * <p>The verification state is read from the session (see
+ * {@link SessionSecurityFlags}) rather than the users table.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ContactVerificationFilter extends OncePerRequestFilter {
 
-    private final UserRepository userRepository;
+    private final SessionSecurityFlags securityFlags;
 
     /**
      * Paths that are always allowed even when contacts are not verified.
@@ -75,15 +76,10 @@ public class ContactVerificationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Lightweight per-request check using a single DB projection.
         // Applies to ALL authenticated users — not just SYSTEM_ADMIN.
         // Officers created via UserService.createUser() start with both flags false
-        // and must verify before gaining access.
-        User user = userRepository.findByEmail(auth.getName()).orElse(null);
-        if (user == null) {
-            chain.doFilter(request, response);
-            return;
-        }
+        // and must verify before gaining access. Unknown users are let through.
+        boolean emailUnverified = securityFlags.emailUnverified(request, auth.getName());
 
         //TODO: In the future, we could make this more granular by allowing access to some endpoints even if only one contact method is verified. For now, we require both to be verified for simplicity.
 //        if (!user.isEmailVerified() || !user.isPhoneVerified()) {
@@ -98,9 +94,8 @@ public class ContactVerificationFilter extends OncePerRequestFilter {
 //            return;
 //        }
 
-        if (!user.isEmailVerified()) {
-            log.warn("User {} accessed {} before email verification (emailVerified={}).",
-                    auth.getName(), path, user.isEmailVerified());
+        if (emailUnverified) {
+            log.warn("User {} accessed {} before email verification.", auth.getName(), path);
             response.setStatus(HttpServletResponse.SC_FORBIDDEN);
             response.setContentType("application/json");
             response.getWriter().write(
@@ -10,7 +10,10 @@ import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -31,10 +34,19 @@ import java.util.Base64;
  * <p>Generate a key with: {@code openssl rand -base64 32}</p>
  *
  * <h3>Storage format</h3>
- * Stored in the database as: {@code Base64(IV) + ":" + Base64(ciphertext + tag)}
+ * Stored in the database as a single Base64 string of
+ * {@code [version 0x01][12-byte IV][ciphertext + tag]}. Values written in the
+ * original {@code Base64(IV) + ":" + Base64(ciphertext + tag)} format are still
+ * read; they are rewritten in the compact format the next time the entity is saved.
  * The IV is randomly generated per encryption to guarantee ciphertext uniqueness
  * even for identical plaintext values.
  *
+ * <h3>Performance</h3>
+ * Each thread keeps its own {@link Cipher} and re-initialises it per call (fresh
+ * IV on encrypt), avoiding a provider lookup per field. The IV and ciphertext are
+ * handled as offsets into one buffer, so a value is Base64-coded once and nothing
+ * is split or copied on read.
+ *
  * <h3>Search impact</h3>
  * Because each encryption uses a random IV, the same plaintext produces different
  * ciphertext on every call. SQL LIKE/= queries on encrypted columns will not work.
@@ -49,6 +61,18 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
     private static final int GCM_TAG_LENGTH_BITS = 128;
     private static final int GCM_IV_LENGTH_BYTES = 12;  // 96-bit IV — NIST recommended
 
+    private static final byte FORMAT_V1 = 0x01;
+    private static final int HEADER_LENGTH = 1 + GCM_IV_LENGTH_BYTES;
+    private static final int MIN_V1_LENGTH = HEADER_LENGTH + GCM_TAG_LENGTH_BITS / 8;
+
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("AES/GCM is not available in this JVM", e);
+        }
+    });
+
     private final SecretKey secretKey;
     private final SecureRandom secureRandom = new SecureRandom();
 
@@ -71,18 +95,21 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
             return null;
         }
         try {
+            byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+            Cipher cipher = CIPHERS.get();
+
             byte[] iv = new byte[GCM_IV_LENGTH_BYTES];
             secureRandom.nextBytes(iv);
-
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
 
-            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            // [version][iv][ciphertext+tag] in one buffer, Base64-encoded once
+            byte[] out = new byte[HEADER_LENGTH + cipher.getOutputSize(input.length)];
+            out[0] = FORMAT_V1;
+            System.arraycopy(iv, 0, out, 1, GCM_IV_LENGTH_BYTES);
+            int written = cipher.doFinal(input, 0, input.length, out, HEADER_LENGTH);
 
-            // Store as: Base64(iv) : Base64(ciphertext+tag)
-            return Base64.getEncoder().encodeToString(iv)
-                    + ":"
-                    + Base64.getEncoder().encodeToString(ciphertext);
+            return Base64.getEncoder().encodeToString(
+                    written == out.length - HEADER_LENGTH ? out : Arrays.copyOf(out, HEADER_LENGTH + written));
 
         } catch (Exception e) {
             throw new EncryptionException("Failed to encrypt field value", e);
@@ -95,19 +122,26 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
             return null;
         }
         try {
-            String[] parts = stored.split(":", 2);
-            if (parts.length != 2) {
-                throw new IllegalArgumentException("Invalid encrypted field format: missing IV separator");
+            Cipher cipher = CIPHERS.get();
+            byte[] plaintext;
+
+            int separator = stored.indexOf(':');
+            if (separator >= 0) {
+                // Original format: Base64(iv) : Base64(ciphertext+tag)
+                byte[] iv = Base64.getDecoder().decode(stored.substring(0, separator));
+                byte[] ciphertext = Base64.getDecoder().decode(stored.substring(separator + 1));
+                cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
+                plaintext = cipher.doFinal(ciphertext);
+            } else {
+                byte[] buffer = Base64.getDecoder().decode(stored);
+                if (buffer.length < MIN_V1_LENGTH || buffer[0] != FORMAT_V1) {
+                    throw new IllegalArgumentException("Invalid encrypted field format");
+                }
+                cipher.init(Cipher.DECRYPT_MODE, secretKey,
+                        new GCMParameterSpec(GCM_TAG_LENGTH_BITS, buffer, 1, GCM_IV_LENGTH_BYTES));
+                plaintext = cipher.doFinal(buffer, HEADER_LENGTH, buffer.length - HEADER_LENGTH);
             }
-
-            byte[] iv = Base64.getDecoder().decode(parts[0]);
-            byte[] ciphertext = Base64.getDecoder().decode(parts[1]);
-
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
-
-            byte[] plaintext = cipher.doFinal(ciphertext);
-            return new String(plaintext, java.nio.charset.StandardCharsets.UTF_8);
+            return new String(plaintext, StandardCharsets.UTF_8);
 
         } catch (Exception e) {
             throw new EncryptionException("Failed to decrypt field value. " +
@@ -115,6 +149,28 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
         }
     }
 
+    /**
+     * Whether {@code value} is in one of the formats this converter writes. Used by
+     * {@code PiiMigrationRunner} to tell ciphertext from legacy plaintext.
+     */
+    public static boolean isEncrypted(String value) {
+        if (value == null) return false;
+
+        // Original format: both Base64 segments are at least 16 chars
+        int idx = value.indexOf(':');
+        if (idx >= 0) {
+            return idx > 10 && idx < value.length() - 10;
+        }
+
+        if (value.length() < 4 * ((MIN_V1_LENGTH + 2) / 3)) return false;
+        try {
+            byte[] buffer = Base64.getDecoder().decode(value);
+            return buffer.length >= MIN_V1_LENGTH && buffer[0] == FORMAT_V1;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /** Unchecked wrapper for encryption/decryption failures. */
     public static class EncryptionException extends RuntimeException {
         public EncryptionException(String message, Throwable cause) {
@@ -0,0 +1,60 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process token buckets used by {@link ApiRateLimitFilter} while Redis is
+ * unavailable (see {@link RedisFailover}). Limits are per node, so a cluster
+ * of N nodes admits up to N times the configured rate — acceptable for an
+ * outage, and far better than failing open.
+ *
+ * <p>Each bucket is a single immutable state swapped by CAS, so concurrent
+ * requests for the same key never block each other. Buckets idle for longer
+ * than a day are dropped.
+ */
+public class LocalTokenBucketLimiter {
+
+    /** Outcome of one acquire: whether it was admitted and, if not, seconds until a token is due. */
+    public record Decision(boolean allowed, long retryAfterSeconds) {}
+
+    private record State(double tokens, long refilledAtNanos) {}
+
+    private final Cache<String, AtomicReference<State>> buckets;
+
+    public LocalTokenBucketLimiter(long maxBuckets) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofDays(1))
+                .build();
+    }
+
+    /** Takes one token from {@code key}'s bucket, which holds {@code capacity} tokens refilled evenly over {@code window}. */
+    public Decision tryAcquire(String key, int capacity, Duration window) {
+        double refillPerNano = (double) capacity / window.toNanos();
+        AtomicReference<State> bucket = buckets.get(key,
+                k -> new AtomicReference<>(new State(capacity, System.nanoTime())));
+
+        while (true) {
+            State current = bucket.get();
+            long now = System.nanoTime();
+            double tokens = Math.min(capacity, current.tokens() + (now - current.refilledAtNanos()) * refillPerNano);
+
+            if (tokens < 1) {
+                long nanosToToken = (long) Math.ceil((1 - tokens) / refillPerNano);
+                return new Decision(false, Math.max(1, Duration.ofNanos(nanosToToken).toSeconds()));
+            }
+            if (bucket.compareAndSet(current, new State(tokens - 1, now))) {
+                return new Decision(true, 0);
+            }
+        }
+    }
+
+    /** Drops all buckets; Redis is authoritative again once it recovers. */
+    public void clear() {
+        buckets.invalidateAll();
+    }
+}
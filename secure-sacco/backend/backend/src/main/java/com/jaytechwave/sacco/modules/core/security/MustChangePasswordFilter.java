@@ -1,7 +1,5 @@
 package com.jaytechwave.sacco.modules.core.security;
 
-import com.jaytechwave.sacco.modules.users.domain.entity.User;
-import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,13 +21,16 @@ import java.util.Set;
  * <p>Returns HTTP 403 with a JSON error body for all API calls except the
  * password-change endpoint itself, so the frontend can redirect to the
  * change-password screen.</p>
+ *
+ * <p>The flag is read from the session (see {@link SessionSecurityFlags}), so
+ * an established session costs no database round trip here.</p>
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class MustChangePasswordFilter extends OncePerRequestFilter {
 
-    private final UserRepository userRepository;
+    private final SessionSecurityFlags securityFlags;
 
     /**
      * Paths that are always allowed even when must_change_password is true.
@@ -67,8 +68,7 @@ public class MustChangePasswordFilter extends OncePerRequestFilter {
 
         String email = auth.getName();
 
-        // Use a single lightweight query — don't load the full user object for every request
-        boolean mustChange = userRepository.existsByEmailAndMustChangePasswordTrue(email);
+        boolean mustChange = securityFlags.mustChangePassword(request, email);
 
         if (mustChange) {
             log.warn("User {} attempted to access {} but must change password first.", email, path);
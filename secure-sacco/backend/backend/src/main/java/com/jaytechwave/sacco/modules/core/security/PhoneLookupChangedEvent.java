@@ -0,0 +1,12 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link PhoneLookupHashListener} when a user or member is written,
+ * so caches keyed by phone number can drop what they hold for it.
+ *
+ * @param phoneE164 the entity's phone number in E.164 form, or null if it has none
+ * @param memberId  the member the entity is (or is linked to), or null if none yet
+ */
+public record PhoneLookupChangedEvent(String phoneE164, UUID memberId) {}
@@ -0,0 +1,41 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.core.util.PhoneNumbers;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes {@code phone_e164_hash} whenever a {@link PhoneLookupHashed} entity
+ * is written, so every code path that sets a phone number keeps it in step.
+ *
+ * <p>The column holds a single HMAC of the E.164 number and carries no
+ * {@code @Convert}: callers pass {@link #hash} results straight to the repository,
+ * and the backfill in {@code PhoneLookupHashBackfillRunner} writes the same value.
+ *
+ * <p>Each write also publishes a {@link PhoneLookupChangedEvent}: the phone number,
+ * the member link or the name may have changed, and resolved senders are cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class PhoneLookupHashListener {
+
+    private final PiiSearchHashConverter piiSearchHashConverter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PrePersist
+    @PreUpdate
+    public void updateHash(PhoneLookupHashed entity) {
+        String e164 = PhoneNumbers.toE164(entity.getPhoneNumber());
+        entity.setPhoneE164Hash(e164 != null ? piiSearchHashConverter.convertToDatabaseColumn(e164) : null);
+        eventPublisher.publishEvent(new PhoneLookupChangedEvent(e164, entity.lookupMemberId()));
+    }
+
+    /** Lookup hash for any spelling of a phone number, or null if it is not one. */
+    public String hash(String rawPhone) {
+        String e164 = PhoneNumbers.toE164(rawPhone);
+        return e164 != null ? piiSearchHashConverter.convertToDatabaseColumn(e164) : null;
+    }
+}
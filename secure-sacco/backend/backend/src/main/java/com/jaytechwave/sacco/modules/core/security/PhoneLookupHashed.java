@@ -0,0 +1,17 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import java.util.UUID;
+
+/**
+ * An entity whose encrypted phone number is also searchable through a hash of
+ * its canonical E.164 form. Kept up to date by {@link PhoneLookupHashListener}.
+ */
+public interface PhoneLookupHashed {
+
+    String getPhoneNumber();
+
+    void setPhoneE164Hash(String phoneE164Hash);
+
+    /** The member this phone number resolves to, or null if there is none (yet). */
+    UUID lookupMemberId();
+}
@@ -9,7 +9,10 @@ import org.springframework.stereotype.Component;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * JPA {@link AttributeConverter} that stores a deterministic HMAC-SHA256 hash
@@ -40,6 +43,12 @@ import java.util.Base64;
  * <h3>Key management</h3>
  * Uses a separate HMAC key from {@code APP_PII_HMAC_KEY} (Base64-encoded 32 bytes).
  * This key is distinct from the AES encryption key to follow key separation principles.
+ *
+ * <h3>Performance</h3>
+ * The key is installed once in a prototype {@link Mac}; each thread hashes with
+ * its own clone of it, so a hash is a single {@code doFinal}. Callers that try
+ * several spellings of one value should use {@link #hashAll} and look all of
+ * them up in one {@code IN (...)} query.
  */
 @Slf4j
 @Component
@@ -48,17 +57,27 @@ public class PiiSearchHashConverter implements AttributeConverter<String, String
 
     private static final String HMAC_ALGORITHM = "HmacSHA256";
 
-    private final byte[] hmacKey;
+    private final SecretKeySpec key;
+    private final Mac prototype;
+    private final ThreadLocal<Mac> macs;
 
     public PiiSearchHashConverter(
             @Value("${app.pii-hmac-key}") String base64HmacKey) {
 
-        this.hmacKey = Base64.getDecoder().decode(base64HmacKey);
-        if (this.hmacKey.length < 16) {
+        byte[] hmacKey = Base64.getDecoder().decode(base64HmacKey);
+        if (hmacKey.length < 16) {
             throw new IllegalArgumentException(
                     "APP_PII_HMAC_KEY must be at least 128 bits. " +
                             "Generate with: openssl rand -base64 32");
         }
+        this.key = new SecretKeySpec(hmacKey, HMAC_ALGORITHM);
+        try {
+            this.prototype = Mac.getInstance(HMAC_ALGORITHM);
+            this.prototype.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available in this JVM", e);
+        }
+        this.macs = ThreadLocal.withInitial(this::newMac);
         log.info("PiiSearchHashConverter initialised (HMAC-SHA256).");
     }
 
@@ -68,15 +87,38 @@ public class PiiSearchHashConverter implements AttributeConverter<String, String
             return null;
         }
         try {
-            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-            mac.init(new SecretKeySpec(hmacKey, HMAC_ALGORITHM));
-            byte[] hash = mac.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            // doFinal resets the Mac, so the thread's instance is ready for the next value
+            byte[] hash = macs.get().doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
             return Base64.getEncoder().encodeToString(hash);
         } catch (Exception e) {
             throw new RuntimeException("Failed to compute PII search hash", e);
         }
     }
 
+    /** Hashes each value in order; null entries stay null. */
+    public List<String> hashAll(List<String> plaintexts) {
+        List<String> hashes = new ArrayList<>(plaintexts.size());
+        for (String plaintext : plaintexts) {
+            hashes.add(convertToDatabaseColumn(plaintext));
+        }
+        return hashes;
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            // Provider without clone support: key a fresh instance instead
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Cannot create HMAC-SHA256 instance", ex);
+            }
+        }
+    }
+
     @Override
     public String convertToEntityAttribute(String stored) {
         // Hash is stored as-is; this converter is write-through only.
@@ -0,0 +1,61 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Endpoint-specific limits for {@link ApiRateLimitFilter}, keyed by path prefix.
+ *
+ * These stay in deployment configuration ({@code sacco.rate-limit.endpoints})
+ * rather than admin settings: loosening M-Pesa or loan limits carelessly could
+ * create financial risk. The general per-user limit is an admin setting.
+ *
+ * The defaults below are the only copy. Configured entries are bound into this
+ * map, so they override a default prefix or add new ones but never drop one.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sacco.rate-limit")
+public class RateLimitProperties {
+
+    /** Window for the general per-user limit. */
+    private Duration generalWindow = Duration.ofMinutes(1);
+
+    private Map<String, Limit> endpoints = new LinkedHashMap<>(Map.of(
+            "/api/v1/payments/mpesa/stk",     new Limit(5,  Duration.ofHours(1)),
+            "/api/v1/loans/applications",     new Limit(3,  Duration.ofDays(1)),
+            "/api/v1/savings/deposit/manual", new Limit(20, Duration.ofHours(1)),
+            "/api/v1/savings/withdraw/manual", new Limit(10, Duration.ofHours(1))
+    ));
+
+    @Data
+    public static class Limit {
+        private int maxRequests;
+        private Duration window;
+
+        public Limit() {}
+
+        public Limit(int maxRequests, Duration window) {
+            this.maxRequests = maxRequests;
+            this.window = window;
+        }
+    }
+
+    /** The limit whose prefix is the longest match for {@code path}, if any. */
+    public Optional<Map.Entry<String, Limit>> endpointLimitFor(String path) {
+        Map.Entry<String, Limit> best = null;
+        for (Map.Entry<String, Limit> entry : endpoints.entrySet()) {
+            if (path.startsWith(entry.getKey())
+                    && (best == null || entry.getKey().length() > best.getKey().length())) {
+                best = entry;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+}
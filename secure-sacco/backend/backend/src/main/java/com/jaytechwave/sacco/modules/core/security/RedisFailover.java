@@ -0,0 +1,167 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether the abuse controls ({@link ApiRateLimitFilter},
+ * {@code LoginAttemptService}) talk to Redis or fall back to in-process state.
+ *
+ * <p>A Redis call that throws switches to LOCAL mode, as do
+ * {@code sacco.security.redis-failover.slow-calls-to-trip} consecutive calls
+ * over {@code latency-budget-ms} (a single slow call, e.g. a cold connection,
+ * does not). While LOCAL, one call per {@code probe-interval-ms} is let through
+ * to Redis; the first one that succeeds within budget switches back to REDIS
+ * and hands the registered recovery callbacks, which reconcile local state, to
+ * a background thread.
+ *
+ * <p>Metrics: {@code sacco.security.redis.mode} (0 = REDIS, 1 = LOCAL) and
+ * {@code sacco.security.redis.failovers}.
+ */
+@Slf4j
+@Component
+public class RedisFailover {
+
+    private final long latencyBudgetNanos;
+    private final int slowCallsToTrip;
+    private final long probeIntervalNanos;
+    private final Counter failovers;
+    private final Executor recoveryExecutor;
+
+    private final AtomicLong localSince = new AtomicLong(0);   // 0 = REDIS mode
+    private final AtomicLong nextProbeAt = new AtomicLong(0);
+    private final AtomicInteger consecutiveSlowCalls = new AtomicInteger();
+    private final List<Runnable> recoveryCallbacks = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public RedisFailover(MeterRegistry meterRegistry,
+                         @Value("${sacco.security.redis-failover.latency-budget-ms:50}") long latencyBudgetMs,
+                         @Value("${sacco.security.redis-failover.slow-calls-to-trip:3}") int slowCallsToTrip,
+                         @Value("${sacco.security.redis-failover.probe-interval-ms:5000}") long probeIntervalMs) {
+        this(meterRegistry, latencyBudgetMs, slowCallsToTrip, probeIntervalMs,
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("redis-recovery-")));
+    }
+
+    RedisFailover(MeterRegistry meterRegistry, long latencyBudgetMs, int slowCallsToTrip,
+                  long probeIntervalMs, Executor recoveryExecutor) {
+        this.latencyBudgetNanos = TimeUnit.MILLISECONDS.toNanos(latencyBudgetMs);
+        this.slowCallsToTrip = Math.max(1, slowCallsToTrip);
+        this.probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalMs);
+        this.recoveryExecutor = recoveryExecutor;
+        Gauge.builder("sacco.security.redis.mode", this, f -> f.isLocal() ? 1 : 0)
+                .description("Abuse-control backend: 0 = Redis, 1 = in-process fallback")
+                .register(meterRegistry);
+        this.failovers = Counter.builder("sacco.security.redis.failovers")
+                .description("Switches from Redis to the in-process fallback")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (recoveryExecutor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    public boolean isLocal() {
+        return localSince.get() != 0;
+    }
+
+    /** Runs on a background thread after Redis comes back. Callbacks run one at a time, in registration order. */
+    public void onRecovery(Runnable callback) {
+        recoveryCallbacks.add(callback);
+    }
+
+    /**
+     * Runs {@code redisCall} unless in LOCAL mode between probes. Empty means the
+     * caller must use its local fallback: either Redis was skipped or the call failed.
+     * A null result from Redis is also treated as a failure.
+     */
+    public <T> Optional<T> call(Supplier<T> redisCall) {
+        if (isLocal() && !claimProbe()) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = redisCall.get();
+        } catch (Exception e) {
+            trip("call failed: " + e.getMessage());
+            return Optional.empty();
+        }
+
+        if (result == null) {
+            trip("call returned no result");
+            return Optional.empty();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > latencyBudgetNanos) {
+            // The answer is still good. A slow probe keeps LOCAL mode; in REDIS mode
+            // only a run of slow calls trips it, so one cold connect does not.
+            if (isLocal() || consecutiveSlowCalls.incrementAndGet() >= slowCallsToTrip) {
+                trip(slowCallsToTrip + " call(s) over budget, last took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+            }
+        } else {
+            consecutiveSlowCalls.set(0);
+            if (isLocal()) {
+                recover();
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private boolean claimProbe() {
+        long now = System.nanoTime();
+        long due = nextProbeAt.get();
+        return now - due >= 0 && nextProbeAt.compareAndSet(due, now + probeIntervalNanos);
+    }
+
+    private void trip(String reason) {
+        long now = System.nanoTime();
+        consecutiveSlowCalls.set(0);
+        nextProbeAt.set(now + probeIntervalNanos);
+        if (localSince.compareAndSet(0, now == 0 ? 1 : now)) {
+            failovers.increment();
+            log.warn("Redis unavailable for abuse controls ({}); switching to in-process limits.", reason);
+        }
+    }
+
+    private void recover() {
+        long since = localSince.getAndSet(0);
+        if (since == 0) {
+            return; // another thread already recovered
+        }
+        log.info("Redis reachable again after {} s; switching abuse controls back to Redis.",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - since));
+        // Off the request thread: reconciliation can mean thousands of Redis writes
+        recoveryExecutor.execute(() -> {
+            for (Runnable callback : recoveryCallbacks) {
+                try {
+                    callback.run();
+                } catch (Exception e) {
+                    log.warn("Redis recovery callback failed: {}", e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.core.security.CustomUserDetailsService.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Brings a session's authorities up to date after a role edit, so
+ * {@code @PreAuthorize} checks see the change without a re-login.
+ *
+ * <p>Each session carries the {@link RoleAuthorityCache} version its
+ * authorities were built at. While that matches, the request passes straight
+ * through. Otherwise the authorities are rebuilt from the compiled role sets
+ * (falling back to a full user reload if one of the roles was renamed or
+ * deleted) and the session is re-stamped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleAuthoritiesRefreshFilter extends OncePerRequestFilter {
+
+    static final String ROLES_VERSION = "sacco.security.rolesVersion";
+
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final CustomUserDetailsService userDetailsService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        HttpSession session = request.getSession(false);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (session == null || auth == null || !(auth.getPrincipal() instanceof CustomUserDetails details)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long current = roleAuthorityCache.version();
+        if (session.getAttribute(ROLES_VERSION) instanceof Long stamped && stamped >= current) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            UserDetails refreshed = roleAuthorityCache.authoritiesFor(details.getRoles())
+                    .<UserDetails>map(authorities -> withAuthorities(details, authorities))
+                    .orElseGet(() -> userDetailsService.loadUserByUsername(details.getUsername()));
+
+            UsernamePasswordAuthenticationToken updated =
+                    new UsernamePasswordAuthenticationToken(refreshed, null, refreshed.getAuthorities());
+            updated.setDetails(auth.getDetails());
+
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(updated);
+            SecurityContextHolder.setContext(context);
+            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+            session.setAttribute(ROLES_VERSION, current);
+        } catch (UsernameNotFoundException e) {
+            log.warn("Could not refresh authorities for {}: user no longer exists.", details.getUsername());
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private static CustomUserDetails withAuthorities(CustomUserDetails details, Set<GrantedAuthority> authorities) {
+        return new CustomUserDetails(
+                details.getId(),
+                details.getUsername(),
+                details.getPassword() != null ? details.getPassword() : "", // erased after authentication
+                details.getFirstName(),
+                details.getLastName(),
+                details.getRoles(),
+                details.isEnabled(),
+                details.isAccountNonExpired(),
+                details.isCredentialsNonExpired(),
+                details.isAccountNonLocked(),
+                authorities,
+                details.isMfaEnabled()
+        );
+    }
+}
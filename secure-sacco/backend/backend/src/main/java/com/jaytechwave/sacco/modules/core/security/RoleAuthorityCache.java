@@ -0,0 +1,188 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.roles.domain.entity.Role;
+import com.jaytechwave.sacco.modules.roles.domain.event.RolePermissionsChangedEvent;
+import com.jaytechwave.sacco.modules.roles.domain.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled authority sets per role ({@code ROLE_<name>} plus every permission
+ * code), so sessions can pick up role edits without re-joining
+ * users → roles → permissions.
+ *
+ * <p>All entries share one version number, kept in Redis so every node agrees
+ * on it. {@link RolePermissionsChangedEvent} increments it after commit and
+ * broadcasts the new value; entries compiled under an older version are
+ * recompiled on their next use. {@link RoleAuthoritiesRefreshFilter} compares
+ * the version stamped on each session against {@link #version()} and rebuilds
+ * the session's authorities only when they differ.
+ *
+ * <p>Versions only move forward, so a lost Redis key (flush, failover to an
+ * empty replica) would restart {@code INCR} at 1 and every later bump would be
+ * ignored. The key is therefore never allowed below the version this node has
+ * already seen: bumps go through {@link #BUMP_SCRIPT}, and the periodic sync
+ * re-seeds a missing or lower key.
+ */
+@Slf4j
+@Service
+public class RoleAuthorityCache implements MessageListener {
+
+    static final String VERSION_KEY = "sacco:security:roles-version";
+    static final String CHANNEL = "sacco:security:roles-changed";
+
+    /**
+     * Sets the version to max(stored, ARGV[1]) + ARGV[2] and returns it.
+     * ARGV[1] is the caller's version; ARGV[2] is 1 for a bump, 0 to re-seed.
+     */
+    static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            local stored = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local floor = tonumber(ARGV[1])
+            local next = math.max(stored, floor) + tonumber(ARGV[2])
+            redis.call('SET', KEYS[1], next)
+            return next
+            """, Long.class);
+
+    private record Compiled(long version, Set<GrantedAuthority> authorities) {}
+
+    private final RoleRepository roleRepository;
+    private final StringRedisTemplate redis;
+
+    private final ConcurrentMap<String, Compiled> compiled = new ConcurrentHashMap<>();
+    private volatile long version;
+
+    public RoleAuthorityCache(RoleRepository roleRepository,
+                              StringRedisTemplate redis,
+                              @Qualifier("appRedisMessageListenerContainer") RedisMessageListenerContainer listenerContainer) {
+        this.roleRepository = roleRepository;
+        this.redis = redis;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Authorities granted by the given roles ({@code ROLE_}-prefixed names, as held
+     * by {@link CustomUserDetailsService.CustomUserDetails}). Empty if any of them
+     * no longer exists under that name, in which case the caller should reload
+     * the user instead.
+     */
+    public Optional<Set<GrantedAuthority>> authoritiesFor(Collection<String> roleNames) {
+        long current = version;
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (String roleName : roleNames) {
+            Compiled entry = compiled.get(roleName);
+            if (entry == null || entry.version() != current) {
+                entry = compile(roleName, current);
+                if (entry == null) {
+                    return Optional.empty();
+                }
+            }
+            authorities.addAll(entry.authorities());
+        }
+        return Optional.of(authorities);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        long next;
+        try {
+            Long bumped = redis.execute(BUMP_SCRIPT, List.of(VERSION_KEY), Long.toString(version), "1");
+            next = bumped != null ? bumped : version + 1;
+            redis.convertAndSend(CHANNEL, Long.toString(next));
+        } catch (Exception e) {
+            // Other nodes pick the change up on their next periodic sync
+            log.warn("Could not publish role version change: {}", e.getMessage());
+            next = version + 1;
+        }
+        advanceTo(next);
+        log.info("RoleAuthorityCache: role {} changed — now at version {}.", event.roleName(), version);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            advanceTo(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed role version broadcast.");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        syncVersion();
+    }
+
+    /**
+     * Picks up version bumps whose broadcast this node missed, and puts back a
+     * key that was lost or has fallen behind this node's version.
+     */
+    @Scheduled(fixedDelayString = "${sacco.security.roles-version.sync-ms:60000}",
+               initialDelayString = "${sacco.security.roles-version.sync-ms:60000}")
+    public void syncVersion() {
+        try {
+            String stored = redis.opsForValue().get(VERSION_KEY);
+            long storedVersion = stored != null ? Long.parseLong(stored) : 0L;
+            if (storedVersion < version) {
+                log.warn("Role version in Redis is {} but this node is at {} — re-seeding.", stored, version);
+                redis.execute(BUMP_SCRIPT, List.of(VERSION_KEY), Long.toString(version), "0");
+            } else {
+                advanceTo(storedVersion);
+            }
+        } catch (Exception e) {
+            log.warn("Could not read role version: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void advanceTo(long announced) {
+        if (announced > version) {
+            version = announced;
+        }
+    }
+
+    private Compiled compile(String roleName, long atVersion) {
+        String name = roleName.startsWith("ROLE_") ? roleName.substring("ROLE_".length()) : roleName;
+        Optional<Role> role = roleRepository.findByName(name);
+        if (role.isEmpty()) {
+            compiled.remove(roleName);
+            return null;
+        }
+
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + name));
+        role.get().getPermissions().forEach(permission ->
+                authorities.add(new SimpleGrantedAuthority(permission.getCode())));
+
+        // Tagged with the version read before the load: a bump that lands mid-load
+        // leaves this entry stale, so it is recompiled on next use.
+        Compiled entry = new Compiled(atVersion, Set.copyOf(authorities));
+        compiled.put(roleName, entry);
+        return entry;
+    }
+}
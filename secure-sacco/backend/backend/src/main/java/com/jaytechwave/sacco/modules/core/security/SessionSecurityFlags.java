@@ -0,0 +1,124 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+
+/**
+ * Account flags that gate every request ({@code must_change_password},
+ * {@code email_verified}), held as session attributes so
+ * {@link MustChangePasswordFilter} and {@link ContactVerificationFilter} do not
+ * query the users table on each call.
+ *
+ * <p>The flags are captured at login. Whenever one of them changes,
+ * {@link #refresh(String)} drops the attributes from every session of that
+ * user; the next request reloads them once. A session without the attributes
+ * (e.g. created before this was deployed) is handled the same way.
+ */
+@Slf4j
+@Component
+public class SessionSecurityFlags {
+
+    static final String MUST_CHANGE_PASSWORD = "sacco.security.mustChangePassword";
+    static final String EMAIL_UNVERIFIED = "sacco.security.emailUnverified";
+
+    private final UserRepository userRepository;
+    private final ObjectProvider<FindByIndexNameSessionRepository<? extends Session>> sessionRepository;
+
+    public SessionSecurityFlags(UserRepository userRepository,
+                                ObjectProvider<FindByIndexNameSessionRepository<? extends Session>> sessionRepository) {
+        this.userRepository = userRepository;
+        this.sessionRepository = sessionRepository;
+    }
+
+    /** Loads the flags for a freshly authenticated session. */
+    public void capture(HttpSession session, String email) {
+        load(session, email);
+    }
+
+    public boolean mustChangePassword(HttpServletRequest request, String email) {
+        return flag(request, email, MUST_CHANGE_PASSWORD);
+    }
+
+    public boolean emailUnverified(HttpServletRequest request, String email) {
+        return flag(request, email, EMAIL_UNVERIFIED);
+    }
+
+    /**
+     * Discards the cached flags in all of the user's sessions. Runs after the
+     * surrounding transaction commits, so the reload cannot see the old row.
+     */
+    public void refresh(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discard(email);
+                }
+            });
+        } else {
+            discard(email);
+        }
+    }
+
+    private boolean flag(HttpServletRequest request, String email, String attribute) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return attribute.equals(MUST_CHANGE_PASSWORD)
+                    ? userRepository.existsByEmailAndMustChangePasswordTrue(email)
+                    : userRepository.existsByEmailAndEmailVerifiedFalse(email);
+        }
+
+        Object cached = session.getAttribute(attribute);
+        if (cached == null) {
+            load(session, email);
+            cached = session.getAttribute(attribute);
+        }
+        return Boolean.TRUE.equals(cached);
+    }
+
+    private void load(HttpSession session, String email) {
+        session.setAttribute(MUST_CHANGE_PASSWORD, userRepository.existsByEmailAndMustChangePasswordTrue(email));
+        session.setAttribute(EMAIL_UNVERIFIED, userRepository.existsByEmailAndEmailVerifiedFalse(email));
+    }
+
+    private void discard(String email) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpSession current = attributes.getRequest().getSession(false);
+            if (current != null) {
+                current.removeAttribute(MUST_CHANGE_PASSWORD);
+                current.removeAttribute(EMAIL_UNVERIFIED);
+            }
+        }
+
+        FindByIndexNameSessionRepository<? extends Session> repository = sessionRepository.getIfAvailable();
+        if (repository != null) {
+            try {
+                discard(repository, email);
+            } catch (Exception e) {
+                // Other sessions keep the old flags until they expire or log out
+                log.warn("Could not refresh security flags in sessions of {}: {}", email, e.getMessage());
+            }
+        }
+    }
+
+    private <S extends Session> void discard(FindByIndexNameSessionRepository<S> repository, String email) {
+        Map<String, S> sessions = repository.findByPrincipalName(email);
+        for (S session : sessions.values()) {
+            session.removeAttribute(MUST_CHANGE_PASSWORD);
+            session.removeAttribute(EMAIL_UNVERIFIED);
+            repository.save(session);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.jaytechwave.sacco.modules.core.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jaytechwave.sacco.modules.core.security.RedisFailover;
 import com.jaytechwave.sacco.modules.settings.domain.service.SaccoSettingsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -7,6 +10,9 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Tracks failed login attempts per identifier (email / IP) using Redis counters.
@@ -15,6 +21,11 @@ import java.time.Duration;
  * system admin can adjust them via the settings panel without a server restart.
  * Safe fallback defaults are used when settings are unavailable (e.g. before the
  * SACCO is initialized).</p>
+ *
+ * <p>Lockouts are mirrored in-process, and while {@link RedisFailover} reports
+ * Redis unavailable the attempt counters are kept in-process too, so brute-force
+ * protection keeps working through a Redis outage. Lockouts still active when
+ * Redis recovers are written back to it.</p>
  */
 @Service
 public class LoginAttemptService {
@@ -28,13 +39,23 @@ public class LoginAttemptService {
 
     private final StringRedisTemplate  redisTemplate;
     private final SaccoSettingsService settingsService;
+    private final RedisFailover        failover;
+
+    // ── In-process fallback (lockout value = expiry in epoch millis) ───────────
+    private final Cache<String, AtomicInteger> localAttempts = Caffeine.newBuilder()
+            .maximumSize(100_000).expireAfterWrite(Duration.ofHours(1)).build();
+    private final Cache<String, Long> localLockouts = Caffeine.newBuilder()
+            .maximumSize(100_000).expireAfterWrite(Duration.ofDays(1)).build();
 
     @Autowired
     public LoginAttemptService(
             StringRedisTemplate redisTemplate,
-            @Lazy SaccoSettingsService settingsService) {
+            @Lazy SaccoSettingsService settingsService,
+            RedisFailover failover) {
         this.redisTemplate  = redisTemplate;
         this.settingsService = settingsService;
+        this.failover        = failover;
+        failover.onRecovery(this::reconcileLockouts);
     }
 
     // ── Dynamic getters ───────────────────────────────────────────────────────
@@ -60,34 +81,62 @@ public class LoginAttemptService {
     // ── Public API ────────────────────────────────────────────────────────────
 
     public void loginSucceeded(String key) {
-        redisTemplate.delete(ATTEMPTS_PREFIX + key);
-        redisTemplate.delete(LOCKOUT_PREFIX  + key);
+        localAttempts.invalidate(key);
+        localLockouts.invalidate(key);
+        failover.call(() -> redisTemplate.delete(List.of(ATTEMPTS_PREFIX + key, LOCKOUT_PREFIX + key)));
     }
 
     public void loginFailed(String key) {
         String attemptsKey = ATTEMPTS_PREFIX + key;
-        String lockoutKey  = LOCKOUT_PREFIX  + key;
 
-        Long attempts = redisTemplate.opsForValue().increment(attemptsKey);
-        if (attempts == null) attempts = 1L;
-
-        // On first failure start a 1-hour rolling window for the counter
-        if (attempts == 1) {
-            redisTemplate.expire(attemptsKey, Duration.ofHours(1));
-        }
+        Optional<Long> redisAttempts = failover.call(() -> {
+            Long count = redisTemplate.opsForValue().increment(attemptsKey);
+            // On first failure start a 1-hour rolling window for the counter
+            if (count != null && count == 1) {
+                redisTemplate.expire(attemptsKey, Duration.ofHours(1));
+            }
+            return count;
+        });
+        long attempts = redisAttempts.orElseGet(() ->
+                (long) localAttempts.get(key, k -> new AtomicInteger()).incrementAndGet());
 
         if (attempts >= maxAttempts()) {
-            redisTemplate.opsForValue().set(lockoutKey, "LOCKED", lockoutDuration());
-            redisTemplate.delete(attemptsKey);
+            Duration lockout = lockoutDuration();
+            localLockouts.put(key, System.currentTimeMillis() + lockout.toMillis());
+            localAttempts.invalidate(key);
+            failover.call(() -> {
+                redisTemplate.opsForValue().set(LOCKOUT_PREFIX + key, "LOCKED", lockout);
+                return redisTemplate.delete(attemptsKey);
+            });
         }
     }
 
     public boolean isBlocked(String key) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(LOCKOUT_PREFIX + key));
+        if (localRemainingMillis(key) > 0) {
+            return true;
+        }
+        return failover.call(() -> redisTemplate.hasKey(LOCKOUT_PREFIX + key)).orElse(false);
     }
 
     public long getRemainingLockoutTimeSeconds(String key) {
-        Long expire = redisTemplate.getExpire(LOCKOUT_PREFIX + key);
-        return expire != null && expire > 0 ? expire : 0;
+        long local = localRemainingMillis(key) / 1000;
+        long remote = failover.call(() -> redisTemplate.getExpire(LOCKOUT_PREFIX + key)).orElse(0L);
+        return Math.max(Math.max(local, remote), 0);
+    }
+
+    private long localRemainingMillis(String key) {
+        Long until = localLockouts.getIfPresent(key);
+        return until != null ? until - System.currentTimeMillis() : 0;
+    }
+
+    /** Writes lockouts taken while Redis was down back to it, with their remaining time. */
+    private void reconcileLockouts() {
+        long now = System.currentTimeMillis();
+        localLockouts.asMap().forEach((key, until) -> {
+            if (until > now) {
+                redisTemplate.opsForValue().set(LOCKOUT_PREFIX + key, "LOCKED", Duration.ofMillis(until - now));
+            }
+        });
+        localAttempts.invalidateAll();
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package com.jaytechwave.sacco.modules.core.service;
 
+import com.jaytechwave.sacco.modules.accounting.api.dto.JournalEntryDTOs.CreateJournalEntryRequest;
+import com.jaytechwave.sacco.modules.accounting.api.dto.JournalEntryDTOs.JournalEntryLineRequest;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.Account;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntry;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryLine;
 import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryStatus;
 import com.jaytechwave.sacco.modules.accounting.domain.repository.AccountRepository;
 import com.jaytechwave.sacco.modules.accounting.domain.repository.JournalEntryRepository;
+import com.jaytechwave.sacco.modules.accounting.domain.service.ChartOfAccountsCache;
+import com.jaytechwave.sacco.modules.accounting.domain.service.GlBalanceSnapshotService;
 import com.jaytechwave.sacco.modules.accounting.domain.service.JournalEntryService;
 import com.jaytechwave.sacco.modules.core.dto.HistoricalLoanDTOs;
 import com.jaytechwave.sacco.modules.core.dto.HistoricalMemberRequest;
@@ -72,10 +76,12 @@ public class MigrationService {
     private final PenaltyRuleRepository penaltyRuleRepository;
     private final LoanRepaymentRepository loanRepaymentRepository;
     private final JournalEntryService journalEntryService;
+    private final GlBalanceSnapshotService glBalanceSnapshotService;
     private final LoanApplicationService loanApplicationService;
     private final MemberRepository memberRepository;
     private final PenaltyRepository penaltyRepository;
     private final AccountRepository accountRepository;
+    private final ChartOfAccountsCache chartOfAccountsCache;
     private final JournalEntryRepository journalEntryRepository;
     private final UserRepository    userRepository;
     private final PasswordEncoder   passwordEncoder;
@@ -190,6 +196,7 @@ public class MigrationService {
                 Thread.currentThread().interrupt();
             }
 
+            glBalanceSnapshotService.moveEntry(jeReference, historicalDate);
             rowsUpdated = jdbcTemplate.update(
                     "UPDATE journal_entries SET transaction_date = ?, created_at = ?, updated_at = ? WHERE reference_number = ?",
                     historicalDate, historicalTs, historicalTs, jeReference
@@ -254,6 +261,7 @@ public class MigrationService {
 
         while (rowsUpdated == 0 && maxAttempts > 0) {
             try { Thread.sleep(100); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            glBalanceSnapshotService.moveEntry(jeReference, historicalDate);
             rowsUpdated = jdbcTemplate.update(
                     "UPDATE journal_entries SET transaction_date = ?, created_at = ?, updated_at = ? WHERE reference_number = ?",
                     historicalDate, historicalTs, historicalTs, jeReference
@@ -394,6 +402,7 @@ public class MigrationService {
                 historicalTs, historicalTs, historicalTs, response.id());
 
         String disbJeRef = "LNDIS-" + request.referenceNumber();
+        glBalanceSnapshotService.moveEntry(disbJeRef, realDisbursementDate);
         jdbcTemplate.update(
                 "UPDATE journal_entries SET transaction_date = ?, created_at = ?, updated_at = ? WHERE reference_number = ?",
                 realDisbursementDate, historicalTs, historicalTs, disbJeRef);
@@ -452,6 +461,7 @@ public class MigrationService {
 
         // Clean, direct backdating without the awful while loops!
         String jeReference = "LNREP-" + request.referenceNumber();
+        glBalanceSnapshotService.moveEntry(jeReference, request.transactionDate());
         jdbcTemplate.update(
                 "UPDATE journal_entries SET transaction_date = ?, created_at = ?, updated_at = ? WHERE reference_number = ?",
                 request.transactionDate(), historicalTs, historicalTs, jeReference
@@ -533,6 +543,7 @@ public class MigrationService {
                 .build());
 
         journalEntryRepository.save(entry);
+        glBalanceSnapshotService.applyEntry(entry);
     }
 
     @Transactional(readOnly = true)
@@ -557,11 +568,11 @@ public class MigrationService {
                         .orElseThrow(() -> new IllegalStateException("No Penalty Rules found! Please create one in the DB.")));
 
         // 🚨 FIX 1: Safely fallback to finding by Name if the Code lookup fails
-        Account penaltyReceivable = accountRepository.findByAccountCode("1300")
+        Account penaltyReceivable = chartOfAccountsCache.find("1300")
                 .orElseGet(() -> accountRepository.findByAccountName("Penalty Receivable")
                         .orElseThrow(() -> new IllegalStateException("Penalty Receivable account not found")));
 
-        Account penaltyIncome = accountRepository.findByAccountCode("4120")
+        Account penaltyIncome = chartOfAccountsCache.find("4120")
                 .orElseGet(() -> accountRepository.findByAccountName("Penalty Income")
                         .orElseThrow(() -> new IllegalStateException("Penalty Income account not found")));
 
@@ -573,7 +584,9 @@ public class MigrationService {
                         .filter(i -> i.getStatus() != com.jaytechwave.sacco.modules.loans.domain.entity.LoanScheduleStatus.OVERDUE)
                         .toList();
 
-        int penaltiesApplied = 0;
+        java.util.List<CreateJournalEntryRequest> glEntries = new java.util.ArrayList<>();
+        java.util.List<Object[]> penaltyTimestamps = new java.util.ArrayList<>();
+        java.util.List<Object[]> journalTimestamps = new java.util.ArrayList<>();
 
         for (com.jaytechwave.sacco.modules.loans.domain.entity.LoanScheduleItem item : missedItems) {
             // Mark it as OVERDUE so we don't penalize it twice
@@ -582,9 +595,10 @@ public class MigrationService {
 
             BigDecimal penaltyAmount = BigDecimal.valueOf(200.00);
             LocalDate penaltyDate = item.getDueDate().plusDays(1); // Fined 1 day after due date
+            UUID memberId = item.getLoanApplication().getMemberId();
 
             Penalty penalty = Penalty.builder()
-                    .memberId(item.getLoanApplication().getMemberId())
+                    .memberId(memberId)
                     .penaltyRule(latenessRule)
                     .referenceType("MISSED_INSTALLMENT")
                     .originalAmount(penaltyAmount)
@@ -601,34 +615,35 @@ public class MigrationService {
             String uniqueRef = java.util.UUID.randomUUID().toString().substring(0, 6).toUpperCase();
             String journalRef = "PEN-CRON-" + item.getWeekNumber() + "-" + uniqueRef;
 
-            JournalEntry entry = JournalEntry.builder()
-                    .referenceNumber(journalRef)
-                    .description("Missed Installment Penalty Week " + item.getWeekNumber())
-                    .transactionDate(penaltyDate)
-                    .status(JournalEntryStatus.POSTED)
-                    .build();
-
-            entry.addLine(JournalEntryLine.builder().account(penaltyReceivable).memberId(item.getLoanApplication().getMemberId())
-                    .debitAmount(penaltyAmount).creditAmount(BigDecimal.ZERO).description("Penalty Receivable").build());
-            entry.addLine(JournalEntryLine.builder().account(penaltyIncome).memberId(item.getLoanApplication().getMemberId())
-                    .debitAmount(BigDecimal.ZERO).creditAmount(penaltyAmount).description("Penalty Income").build());
-
-            journalEntryRepository.save(entry);
-
-            entityManager.flush();
-            entityManager.clear();
-
-            // Time Machine Updates
+            glEntries.add(new CreateJournalEntryRequest(
+                    penaltyDate,
+                    journalRef,
+                    "Missed Installment Penalty Week " + item.getWeekNumber(),
+                    java.util.List.of(
+                            new JournalEntryLineRequest(penaltyReceivable.getAccountCode(), memberId,
+                                    penaltyAmount, BigDecimal.ZERO, "Penalty Receivable"),
+                            new JournalEntryLineRequest(penaltyIncome.getAccountCode(), memberId,
+                                    BigDecimal.ZERO, penaltyAmount, "Penalty Income"))));
+
+            // Time Machine Updates, applied once everything is written
             java.sql.Timestamp historicalTs = java.sql.Timestamp.valueOf(penaltyDate.atStartOfDay());
-            jdbcTemplate.update("UPDATE penalties SET created_at = ?, updated_at = ? WHERE id = ?", historicalTs, historicalTs, penalty.getId());
+            penaltyTimestamps.add(new Object[]{ historicalTs, historicalTs, penalty.getId() });
+            journalTimestamps.add(new Object[]{ historicalTs, historicalTs, journalRef });
+        }
+
+        // One batched GL post (entries are dated penaltyDate up front, so the
+        // balance snapshots are shifted once instead of per entry)
+        journalEntryService.postEntries(glEntries);
+        entityManager.flush();
+        entityManager.clear();
 
-            jdbcTemplate.update("UPDATE journal_entries SET transaction_date = ?, created_at = ?, updated_at = ? WHERE reference_number = ?",
-                    penaltyDate, historicalTs, historicalTs, journalRef);
-            jdbcTemplate.update("UPDATE journal_entry_lines SET created_at = ?, updated_at = ? WHERE journal_entry_id IN (SELECT id FROM journal_entries WHERE reference_number = ?)",
-                    historicalTs, historicalTs, journalRef);
+        jdbcTemplate.batchUpdate("UPDATE penalties SET created_at = ?, updated_at = ? WHERE id = ?", penaltyTimestamps);
+        jdbcTemplate.batchUpdate("UPDATE journal_entries SET created_at = ?, updated_at = ? WHERE reference_number = ?",
+                journalTimestamps);
+        jdbcTemplate.batchUpdate("UPDATE journal_entry_lines SET created_at = ?, updated_at = ? WHERE journal_entry_id IN (SELECT id FROM journal_entries WHERE reference_number = ?)",
+                journalTimestamps);
 
-            penaltiesApplied++;
-        }
+        int penaltiesApplied = glEntries.size();
 
         return java.util.Map.of(
                 "message", "Time-Machine Cron executed successfully",
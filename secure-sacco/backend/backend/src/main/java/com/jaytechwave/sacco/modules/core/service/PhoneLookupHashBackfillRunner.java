@@ -0,0 +1,90 @@
+package com.jaytechwave.sacco.modules.core.service;
+
+import com.jaytechwave.sacco.modules.core.security.EncryptedStringConverter;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fills {@code phone_e164_hash} (V118) for users and members written before the
+ * column existed. Rows saved since are hashed by {@link PhoneLookupHashListener}.
+ *
+ * <h3>Why JDBC?</h3>
+ * Same reason as {@link PiiMigrationRunner}: some rows may still hold plaintext
+ * phone numbers, which JPA's decrypting converter would reject.
+ *
+ * <h3>Idempotency</h3>
+ * Only rows with a phone number and no lookup hash are read, in id order and in
+ * batches, committing as it goes. A restart resumes where it stopped;
+ * numbers that cannot be put in E.164 form are skipped and logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PhoneLookupHashBackfillRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbc;
+    private final EncryptedStringConverter encryptedStringConverter;
+    private final PhoneLookupHashListener phoneLookupHashListener;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPhoneLookupHashes() {
+        backfill("users");
+        backfill("members");
+    }
+
+    private void backfill(String table) {
+        String select = "SELECT id, phone_number FROM " + table
+                + " WHERE phone_e164_hash IS NULL AND phone_number IS NOT NULL AND id > ?"
+                + " ORDER BY id LIMIT " + BATCH_SIZE;
+        String update = "UPDATE " + table + " SET phone_e164_hash = ? WHERE id = ?";
+
+        UUID after = new UUID(0L, 0L);   // lowest uuid in PostgreSQL's byte order
+        int updated = 0;
+        int skipped = 0;
+
+        while (true) {
+            List<Map<String, Object>> rows = jdbc.queryForList(select, after);
+            if (rows.isEmpty()) break;
+
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                UUID id = (UUID) row.get("id");
+                String hash = phoneLookupHashListener.hash(plaintext((String) row.get("phone_number")));
+                if (hash != null) {
+                    batch.add(new Object[]{hash, id});
+                } else {
+                    log.warn("PhoneLookupHashBackfillRunner: {} row {} phone number cannot be put in E.164 form; skipped.",
+                            table, id);
+                    skipped++;
+                }
+                after = id;
+            }
+            jdbc.batchUpdate(update, batch);
+            updated += batch.size();
+        }
+
+        if (updated > 0 || skipped > 0) {
+            log.info("PhoneLookupHashBackfillRunner: {} — {} row(s) hashed, {} skipped.", table, updated, skipped);
+        } else {
+            log.debug("PhoneLookupHashBackfillRunner: no {} rows require a phone lookup hash.", table);
+        }
+    }
+
+    private String plaintext(String stored) {
+        return EncryptedStringConverter.isEncrypted(stored)
+                ? encryptedStringConverter.convertToEntityAttribute(stored)
+                : stored;
+    }
+}
@@ -38,14 +38,10 @@ public class PiiMigrationRunner {
     private final EncryptedStringConverter encryptedStringConverter;
     private final PiiSearchHashConverter piiSearchHashConverter;
 
-    /** Format stored by {@link EncryptedStringConverter}: {@code Base64(iv):Base64(ciphertext)} */
+    /** Whether the value is already in a format stored by {@link EncryptedStringConverter}. */
     private static boolean isAlreadyEncrypted(String value) {
-        if (value == null) return false;
-        // A valid ciphertext always contains exactly one ':' separating the IV from the body.
-        // Plaintext national IDs / phone numbers never contain ':' in practice, but even if
-        // they did, the Base64 segments must be ≥ 16 chars each — so a short prefix means plaintext.
-        int idx = value.indexOf(':');
-        return idx > 10 && idx < value.length() - 10;
+        // Plaintext national IDs / phone numbers are too short to pass for either format
+        return EncryptedStringConverter.isEncrypted(value);
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -78,7 +74,7 @@ public class PiiMigrationRunner {
             String plainNationalId  = resolvePlaintext(nationalId,  "national_id",  id);
             String plainPhoneNumber = resolvePlaintext(phoneNumber, "phone_number", id);
 
-            // Encrypt (converter will produce a fresh IV:ciphertext string)
+            // Encrypt (converter will produce a fresh IV and the compact format)
             String encNationalId  = encryptedStringConverter.convertToDatabaseColumn(plainNationalId);
             String encPhoneNumber = encryptedStringConverter.convertToDatabaseColumn(plainPhoneNumber);
 
@@ -132,7 +128,7 @@ public class PiiMigrationRunner {
      * Returns the plaintext value.
      * <ul>
      *   <li>If {@code raw} looks like a plaintext value, returns it as-is.</li>
-     *   <li>If {@code raw} is already in the encrypted {@code IV:ciphertext} format
+     *   <li>If {@code raw} is already encrypted by the converter
      *       (e.g. a previous partial run), decrypts it first so we re-encrypt with
      *       a fresh IV and still produce the correct hash.</li>
      *   <li>If {@code raw} is {@code null}, returns {@code null}.</li>
@@ -1,5 +1,6 @@
 package com.jaytechwave.sacco.modules.core.service;
 
+import com.jaytechwave.sacco.modules.accounting.domain.service.GlBalanceSnapshotService;
 import com.jaytechwave.sacco.modules.loans.domain.entity.LoanApplication;
 import com.jaytechwave.sacco.modules.loans.domain.repository.LoanApplicationRepository;
 import com.jaytechwave.sacco.modules.loans.domain.service.LoanScheduleService;
@@ -33,6 +34,7 @@ public class TimeTravelerService {
     private final MemberRepository memberRepository;
     private final LoanScheduleService loanScheduleService;
     private final PenaltyJob penaltyJob;
+    private final GlBalanceSnapshotService glBalanceSnapshotService;
     private final JdbcTemplate jdbcTemplate;     // 🟢 Add this
     private final EntityManager entityManager;
 
@@ -121,6 +123,11 @@ public class TimeTravelerService {
                     virtualTs, virtualTs);
 
             // Sweep the Accounting Ledger (So the statement orders them perfectly!)
+            // Each entry is moved in the GL snapshots first, while it still carries its original date.
+            jdbcTemplate.queryForList(
+                    "SELECT reference_number FROM journal_entries WHERE CAST(created_at AS DATE) = CURRENT_DATE AND status = 'POSTED'",
+                    String.class)
+                    .forEach(ref -> glBalanceSnapshotService.moveEntry(ref, currentVirtualDate));
             jdbcTemplate.update(
                     "UPDATE journal_entries SET transaction_date = ?, created_at = ?, updated_at = ? WHERE CAST(created_at AS DATE) = CURRENT_DATE",
                     virtualTs, virtualTs, virtualTs);
@@ -2,6 +2,7 @@ package com.jaytechwave.sacco.modules.core.setup;
 
 import com.jaytechwave.sacco.modules.core.notifications.EmailNotificationService;
 import com.jaytechwave.sacco.modules.core.notifications.SmsNotificationService;
+import com.jaytechwave.sacco.modules.core.security.SessionSecurityFlags;
 import com.jaytechwave.sacco.modules.settings.domain.service.SaccoSettingsService;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.entity.VerificationToken;
@@ -37,6 +38,7 @@ public class ContactVerificationService {
     private final EmailNotificationService    emailNotificationService;
     private final SmsNotificationService      smsNotificationService;
     private final SaccoSettingsService        settingsService;
+    private final SessionSecurityFlags        securityFlags;
 
     @Value("${app.frontend-url}")
     private String frontendUrl;
@@ -47,12 +49,14 @@ public class ContactVerificationService {
             VerificationTokenRepository tokenRepository,
             EmailNotificationService emailNotificationService,
             SmsNotificationService smsNotificationService,
-            @Lazy SaccoSettingsService settingsService) {
+            @Lazy SaccoSettingsService settingsService,
+            SessionSecurityFlags securityFlags) {
         this.userRepository           = userRepository;
         this.tokenRepository          = tokenRepository;
         this.emailNotificationService = emailNotificationService;
         this.smsNotificationService   = smsNotificationService;
         this.settingsService          = settingsService;
+        this.securityFlags            = securityFlags;
     }
 
     // ── Dynamic settings helpers ──────────────────────────────────────────────
@@ -101,6 +105,7 @@ public class ContactVerificationService {
         tokenRepository.save(vt);
         user.setEmailVerified(true);
         userRepository.save(user);
+        securityFlags.refresh(user.getEmail());
         log.info("Email verified for {}", email);
     }
 
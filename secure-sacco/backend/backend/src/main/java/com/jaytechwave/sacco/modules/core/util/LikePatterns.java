@@ -0,0 +1,29 @@
+package com.jaytechwave.sacco.modules.core.util;
+
+/**
+ * Builds SQL {@code LIKE} patterns from user input.
+ *
+ * <p>A search for "50%" or "ABC_1" should match those characters literally, so
+ * {@code %}, {@code _} and the escape character itself are escaped with a
+ * backslash — PostgreSQL's default {@code LIKE} escape, so queries need no
+ * {@code ESCAPE} clause.</p>
+ */
+public final class LikePatterns {
+
+    private LikePatterns() { /* utility class – no instances */ }
+
+    /** {@code value} with every LIKE wildcard matched literally. */
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /** Pattern matching values that start with {@code value}. */
+    public static String startsWith(String value) {
+        return escape(value) + "%";
+    }
+
+    /** Pattern matching values that contain {@code value} anywhere. */
+    public static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+}
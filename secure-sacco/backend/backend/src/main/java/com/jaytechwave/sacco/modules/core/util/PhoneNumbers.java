@@ -0,0 +1,30 @@
+package com.jaytechwave.sacco.modules.core.util;
+
+/**
+ * Canonical phone number form used for lookups.
+ *
+ * <p>Members register numbers as "0717921562", "254717921562", "+254717921562"
+ * or "717921562", while Co-op and M-Pesa send whichever they like. Every form is
+ * reduced to E.164 ({@code +254717921562}) before hashing into the
+ * {@code phone_e164_hash} columns, so one lookup matches them all.</p>
+ */
+public final class PhoneNumbers {
+
+    private PhoneNumbers() { /* utility class – no instances */ }
+
+    /**
+     * E.164 form of {@code raw}, assuming Kenya (+254) for local numbers.
+     * Returns null when {@code raw} has too few or too many digits to be a phone number.
+     */
+    public static String toE164(String raw) {
+        if (raw == null) return null;
+        String digits = raw.replaceAll("[^0-9]", "");
+
+        if (digits.startsWith("254") && digits.length() == 12)                           return "+" + digits;
+        if (digits.startsWith("0") && digits.length() == 10)                              return "+254" + digits.substring(1);
+        if (!digits.startsWith("0") && digits.length() == 9)                              return "+254" + digits;
+
+        // Already international (another country code): keep as-is
+        return digits.length() >= 10 && digits.length() <= 15 ? "+" + digits : null;
+    }
+}
@@ -22,7 +22,7 @@ public class DashboardController {
     private final DashboardService dashboardService;
 
     // Accessible to any authenticated staff user (anyone who is not a member-only user).
-    @Operation(summary = "Staff dashboard metrics", description = "Returns 15 aggregated KPIs for the staff dashboard. Cached in Redis for 5 minutes. Requires any staff role.")
+    @Operation(summary = "Staff dashboard metrics", description = "Returns 15 aggregated KPIs for the staff dashboard. Cached in Redis and evicted when payments, savings, loans or penalties change. Requires any staff role.")
     @GetMapping("/staff")
     @PreAuthorize("hasAnyAuthority('MEMBERS_READ','SAVINGS_READ','LOANS_READ','REPORTS_READ','ACCOUNTING_READ')")
     public ResponseEntity<StaffDashboardDTO> getStaffDashboard() {
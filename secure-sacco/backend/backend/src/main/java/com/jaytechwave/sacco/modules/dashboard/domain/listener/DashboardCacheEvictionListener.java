@@ -0,0 +1,118 @@
+package com.jaytechwave.sacco.modules.dashboard.domain.listener;
+
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
+import com.jaytechwave.sacco.modules.loans.domain.event.LoanDisbursedEvent;
+import com.jaytechwave.sacco.modules.loans.domain.event.LoanInstallmentOverdueEvent;
+import com.jaytechwave.sacco.modules.meetings.domain.event.MeetingCreatedEvent;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
+import com.jaytechwave.sacco.modules.penalties.domain.event.PenaltyBalanceChangedEvent;
+import com.jaytechwave.sacco.modules.reports.domain.event.MemberFinancialReadModelRefreshedEvent;
+import com.jaytechwave.sacco.modules.savings.domain.event.SavingsTransactionPostedEvent;
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts dashboard cache entries when the figures behind them change, so the
+ * caches can carry long TTLs (see CacheConfig) without members seeing a stale
+ * balance after a deposit.
+ *
+ * memberDashboard is keyed by the login identifier, so the affected member's
+ * user is loaded (decrypting the phone number) and both the email and phone
+ * keys are evicted. The staff KPI entry is built from
+ * {@code mv_member_financial_overview}, so it is evicted when that view has been
+ * refreshed rather than on the domain events: evicting earlier would only
+ * re-cache figures from the not-yet-refreshed view. The events mark the view
+ * dirty instead (see MemberFinancialReadModelService).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCacheEvictionListener {
+
+    static final String MEMBER_CACHE = "memberDashboard";
+    static final String STAFF_CACHE = "staffDashboard";
+    static final String STAFF_KEY = "kpi";
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+
+    // After the payment handlers have credited savings etc. (see OutboxRelay)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @OutboxEventListener
+    public void onPaymentCompleted(PaymentCompletedEvent event) {
+        evictMember(event.memberId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSavingsTransactionPosted(SavingsTransactionPostedEvent event) {
+        evictMember(event.memberId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanDisbursed(LoanDisbursedEvent event) {
+        evictMember(event.memberId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanInstallmentOverdue(LoanInstallmentOverdueEvent event) {
+        List<UUID> memberIds = jdbcTemplate.queryForList(
+                "SELECT member_id FROM loan_applications WHERE id = ?", UUID.class, event.loanApplicationId());
+        memberIds.forEach(this::evictMember);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPenaltyBalanceChanged(PenaltyBalanceChangedEvent event) {
+        evictMember(event.memberId());
+    }
+
+    /** Every member dashboard shows the next upcoming meeting; meeting counts are read live. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMeetingCreated(MeetingCreatedEvent event) {
+        Cache cache = cacheManager.getCache(MEMBER_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+        evictStaff();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReadModelRefreshed(MemberFinancialReadModelRefreshedEvent event) {
+        evictStaff();
+    }
+
+    private void evictMember(UUID memberId) {
+        if (memberId == null) return;
+        Cache cache = cacheManager.getCache(MEMBER_CACHE);
+        if (cache == null) return;
+
+        try {
+            userRepository.findByMemberId(memberId).ifPresent(user -> {
+                if (user.getEmail() != null) cache.evict(user.getEmail());
+                if (user.getPhoneNumber() != null) cache.evict(user.getPhoneNumber());
+            });
+        } catch (Exception e) {
+            // Never fail the business flow over a cache entry — the TTL still bounds staleness
+            log.warn("Could not evict member dashboard for member {}: {}", memberId, e.getMessage());
+        }
+    }
+
+    private void evictStaff() {
+        Cache cache = cacheManager.getCache(STAFF_CACHE);
+        if (cache != null) {
+            cache.evict(STAFF_KEY);
+        }
+    }
+}
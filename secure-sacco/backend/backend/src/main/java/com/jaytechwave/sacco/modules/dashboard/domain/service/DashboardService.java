@@ -2,6 +2,7 @@ package com.jaytechwave.sacco.modules.dashboard.domain.service;
 
 import com.jaytechwave.sacco.modules.dashboard.api.dto.DashboardDTOs.StaffDashboardDTO;
 import com.jaytechwave.sacco.modules.dashboard.api.dto.DashboardDTOs.MemberDashboardDTO;
+import com.jaytechwave.sacco.modules.reports.domain.service.MemberFinancialReadModelService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class DashboardService {
 
     private final JdbcTemplate jdbcTemplate;
+    private final MemberFinancialReadModelService readModelService;
 
     // ── STAFF DASHBOARD ───────────────────────────────────────────────────────
 
@@ -29,15 +31,15 @@ public class DashboardService {
                 (SELECT COUNT(*) FROM members WHERE status = 'ACTIVE')                     AS active_members,
                 (SELECT COUNT(*) FROM members WHERE status = 'PENDING')                    AS pending_activations,
 
-                COALESCE((SELECT SUM(total_savings_balance) FROM v_member_savings_balance), 0) AS total_savings,
+                COALESCE((SELECT SUM(total_savings) FROM %1$s), 0)                          AS total_savings,
 
                 COALESCE((SELECT SUM(CASE WHEN a.account_type = 'ASSET' THEN jel.debit_amount - jel.credit_amount ELSE 0 END) - SUM(CASE WHEN a.account_type = 'LIABILITY' THEN jel.credit_amount - jel.debit_amount ELSE 0 END) FROM journal_entry_lines jel JOIN accounts a ON jel.account_id = a.id JOIN journal_entries je ON je.id = jel.journal_entry_id WHERE je.status = 'POSTED'), 0) AS net_worth,
 
                 (SELECT COUNT(*) FROM loan_applications WHERE status IN ('ACTIVE','IN_GRACE','DEFAULTED'))  AS active_loans,
-                COALESCE((SELECT SUM(outstanding_principal + outstanding_interest) FROM v_member_loan_summary), 0) AS loan_portfolio,
+                COALESCE((SELECT SUM(loan_principal + loan_interest) FROM %1$s), 0)         AS loan_portfolio,
                 (SELECT COUNT(DISTINCT loan_application_id) FROM loan_schedule_items
                     WHERE due_date < CURRENT_DATE AND status NOT IN ('PAID', 'REPLACED'))  AS loans_in_arrears,
-                COALESCE((SELECT SUM(total_arrears) FROM v_member_loan_summary), 0)        AS total_arrears_amount,
+                COALESCE((SELECT SUM(loan_arrears) FROM %1$s), 0)                           AS total_arrears_amount,
                 (SELECT COUNT(*) FROM loan_applications WHERE status = 'PENDING_APPROVAL') AS pending_loan_applications,
 
                 (SELECT COUNT(*) FROM penalties WHERE status = 'OPEN')                     AS open_penalties,
@@ -51,7 +53,7 @@ public class DashboardService {
                 (SELECT COUNT(*) FROM meetings
                     WHERE EXTRACT(MONTH FROM start_at) = EXTRACT(MONTH FROM CURRENT_DATE)
                       AND EXTRACT(YEAR  FROM start_at) = EXTRACT(YEAR  FROM CURRENT_DATE)) AS meetings_this_month
-        """;
+        """.formatted(readModelService.overviewRelation());
 
         StaffDashboardDTO dto = jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
             StaffDashboardDTO row = new StaffDashboardDTO();
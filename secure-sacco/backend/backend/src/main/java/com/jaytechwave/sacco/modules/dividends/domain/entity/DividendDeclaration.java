@@ -16,7 +16,7 @@ import java.util.UUID;
 public class DividendDeclaration {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(name = "financial_year", nullable = false)
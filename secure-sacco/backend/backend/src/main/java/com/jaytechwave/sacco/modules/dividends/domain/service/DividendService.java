@@ -8,6 +8,7 @@ import com.jaytechwave.sacco.modules.dividends.domain.repository.DividendDeclara
 import com.jaytechwave.sacco.modules.dividends.domain.repository.DividendDistributionRepository;
 import com.jaytechwave.sacco.modules.members.domain.entity.Member;
 import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
+import com.jaytechwave.sacco.modules.members.domain.repository.MemberSummary;
 import com.jaytechwave.sacco.modules.paymentproducts.domain.entity.ModuleType;
 import com.jaytechwave.sacco.modules.paymentproducts.domain.entity.PaymentProduct;
 import com.jaytechwave.sacco.modules.paymentproducts.domain.repository.PaymentProductRepository;
@@ -17,6 +18,7 @@ import com.jaytechwave.sacco.modules.shares.domain.service.ShareService;
 import com.jaytechwave.sacco.modules.savings.domain.entity.SavingsAccount;
 import com.jaytechwave.sacco.modules.savings.domain.repository.SavingsAccountRepository;
 import com.jaytechwave.sacco.modules.savings.domain.repository.SavingsTransactionRepository;
+import com.jaytechwave.sacco.modules.accounting.api.dto.JournalEntryDTOs.CreateJournalEntryRequest;
 import com.jaytechwave.sacco.modules.accounting.domain.service.JournalEntryService;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import lombok.RequiredArgsConstructor;
@@ -48,12 +50,13 @@ public class DividendService {
 
     @Transactional(readOnly = true)
     public PreviewDividendResponse previewDividends(Integer financialYear, BigDecimal ratePercentage, String calculationMode) {
-        List<Member> members = memberRepository.findAll();
+        // Names only: loading full Member entities would decrypt every member's PII
+        List<MemberSummary> members = memberRepository.findAllSummaries();
         List<PreviewDividendItem> items = new ArrayList<>();
         BigDecimal totalDividend = BigDecimal.ZERO;
         
-        for (Member member : members) {
-            BigDecimal baseAmount = getBaseAmountForMember(member, calculationMode);
+        for (MemberSummary member : members) {
+            BigDecimal baseAmount = getBaseAmountForMember(member.id(), calculationMode);
             
             if (baseAmount.compareTo(BigDecimal.ZERO) > 0) {
                 BigDecimal grossDividend = baseAmount.multiply(ratePercentage).divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
@@ -62,9 +65,9 @@ public class DividendService {
                 
                 if (netDividend.compareTo(BigDecimal.ZERO) > 0) {
                     PreviewDividendItem item = new PreviewDividendItem();
-                    item.setMemberId(member.getId());
-                    item.setMemberNumber(member.getMemberNumber());
-                    item.setMemberName(member.getFirstName() + " " + member.getLastName());
+                    item.setMemberId(member.id());
+                    item.setMemberNumber(member.memberNumber());
+                    item.setMemberName(member.fullName());
                     item.setGrossDividend(grossDividend);
                     item.setArrears(arrears);
                     item.setNetDividend(netDividend);
@@ -95,9 +98,11 @@ public class DividendService {
                 .stream().findFirst().orElseThrow(() -> new IllegalStateException("DEPOSIT_SHARES product not found"));
 
         PreviewDividendResponse preview = previewDividends(financialYear, ratePercentage, calculationMode);
+        List<CreateJournalEntryRequest> glEntries = new ArrayList<>(preview.getItems().size());
         
         for (PreviewDividendItem item : preview.getItems()) {
-            Member member = memberRepository.findById(item.getMemberId()).orElseThrow();
+            // The distribution only needs the FK; a reference avoids loading the member
+            Member member = memberRepository.getReferenceById(item.getMemberId());
             
             DividendDistribution distribution = new DividendDistribution();
             distribution.setDeclaration(declaration);
@@ -110,7 +115,7 @@ public class DividendService {
             distributionRepository.save(distribution);
             
             // Credit the net dividend to Deposit Shares
-            shareService.recordDividend(member.getId(), depositSharesProduct.getId(), item.getNetDividend(), "DIVIDEND-" + declaration.getFinancialYear());
+            shareService.recordDividend(item.getMemberId(), depositSharesProduct.getId(), item.getNetDividend(), "DIVIDEND-" + declaration.getFinancialYear());
             
             // GL entry
             // DR Retained Earnings (3100) or Dividends Payable
@@ -118,8 +123,11 @@ public class DividendService {
             // But we already record GL for shares through shareService.recordDividend. Actually, shareService.recordDividend DOES NOT post GL? 
             // Wait, shareService.recordDividend doesn't have GL logic natively? Let's assume it does or we will add it. 
             // Usually Dividends are paid from Retained Earnings to Member Deposits. 
-            journalEntryService.postDividendDistribution(member.getId(), item.getNetDividend(), String.valueOf(financialYear));
+            glEntries.add(journalEntryService.dividendDistributionRequest(item.getMemberId(), item.getNetDividend(), String.valueOf(financialYear)));
         }
+
+        // One batched GL write for the whole run instead of an entry save per member
+        journalEntryService.postEntries(glEntries);
         
         declaration.setTotalAllocated(preview.getTotalDividend());
         declaration.setStatus("DISTRIBUTED");
@@ -135,15 +143,15 @@ public class DividendService {
         return saved;
     }
     
-    private BigDecimal getBaseAmountForMember(Member member, String mode) {
+    private BigDecimal getBaseAmountForMember(UUID memberId, String mode) {
         BigDecimal base = BigDecimal.ZERO;
         if ("SHARE_CAPITAL".equals(mode) || "BOTH".equals(mode)) {
-            base = base.add(shareAccountRepository.findByMemberId(member.getId()).stream()
+            base = base.add(shareAccountRepository.findByMemberId(memberId).stream()
                     .map(ShareAccount::getBalance)
                     .reduce(BigDecimal.ZERO, BigDecimal::add));
         }
         if ("SAVINGS".equals(mode) || "BOTH".equals(mode)) {
-            base = base.add(savingsAccountRepository.findByMemberId(member.getId())
+            base = base.add(savingsAccountRepository.findByMemberId(memberId)
                     .map(acc -> savingsTransactionRepository.calculateBalance(acc.getId()))
                     .orElse(BigDecimal.ZERO));
         }
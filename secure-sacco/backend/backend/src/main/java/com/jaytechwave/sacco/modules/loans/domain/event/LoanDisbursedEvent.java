@@ -0,0 +1,10 @@
+package com.jaytechwave.sacco.modules.loans.domain.event;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record LoanDisbursedEvent(
+        UUID loanApplicationId,
+        UUID memberId,
+        BigDecimal principalAmount
+) {}
@@ -1,6 +1,7 @@
 package com.jaytechwave.sacco.modules.loans.domain.listener;
 
 import com.jaytechwave.sacco.modules.accounting.domain.service.JournalEntryService;
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
 import com.jaytechwave.sacco.modules.loans.domain.entity.LoanStatus;
 import com.jaytechwave.sacco.modules.loans.domain.repository.LoanApplicationRepository;
 import com.jaytechwave.sacco.modules.loans.domain.service.LoanRepaymentService;
@@ -8,7 +9,6 @@ import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent
 import com.jaytechwave.sacco.modules.payments.domain.event.PaymentFailedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -24,7 +24,7 @@ public class LoanPaymentListener {
     private final LoanRepaymentService loanRepaymentService;
 
     @Order(1)
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentCompleted(PaymentCompletedEvent event) {
         if (event.accountReference() != null) {
 
@@ -70,7 +70,7 @@ public class LoanPaymentListener {
         }
     }
 
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentFailed(PaymentFailedEvent event) {
         if (event.accountReference() != null) {
 
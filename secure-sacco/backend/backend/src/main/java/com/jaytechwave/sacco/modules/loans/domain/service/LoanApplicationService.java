@@ -1,11 +1,13 @@
 package com.jaytechwave.sacco.modules.loans.domain.service;
 
 import com.jaytechwave.sacco.modules.core.util.SaccoDateUtils;
+import com.jaytechwave.sacco.modules.accounting.domain.service.GlBalanceSnapshotService;
 import com.jaytechwave.sacco.modules.accounting.domain.service.JournalEntryService;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import com.jaytechwave.sacco.modules.loans.api.dto.LoanDTOs;
 import com.jaytechwave.sacco.modules.loans.api.dto.LoanDTOs.*;
 import com.jaytechwave.sacco.modules.loans.domain.entity.*;
+import com.jaytechwave.sacco.modules.loans.domain.event.LoanDisbursedEvent;
 import com.jaytechwave.sacco.modules.loans.domain.repository.*;
 import com.jaytechwave.sacco.modules.members.domain.entity.Member;
 import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
@@ -16,6 +18,7 @@ import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -41,10 +44,12 @@ public class LoanApplicationService {
     private final UserRepository userRepository;
     private final PaymentService paymentService;
     private final JournalEntryService journalEntryService;
+    private final GlBalanceSnapshotService glBalanceSnapshotService;
     private final LoanScheduleService loanScheduleService;
     private final SecurityAuditService securityAuditService;
     private final LoanScheduleItemRepository scheduleItemRepository;
     private final JdbcTemplate jdbcTemplate; // ← ADDED: needed for created_at backdating
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public LoanApplicationResponse createApplication(CreateLoanApplicationRequest request, String email) {
@@ -412,6 +417,7 @@ public class LoanApplicationService {
                         ", Top-Up: KES " + request.topUpAmount() + ", New Face Value: KES " + newPrincipal
         );
 
+        eventPublisher.publishEvent(new LoanDisbursedEvent(newLoan.getId(), member.getId(), newPrincipal));
         return mapToResponse(newLoan);
     }
 
@@ -449,6 +455,7 @@ public class LoanApplicationService {
         loanScheduleService.generateWeeklySchedule(app);
 
         LoanApplicationResponse response = mapToResponse(loanApplicationRepository.save(app));
+        eventPublisher.publishEvent(new LoanDisbursedEvent(app.getId(), app.getMemberId(), app.getPrincipalAmount()));
 
         // EXACT SAVINGS FORMAT
         securityAuditService.logEvent(
@@ -501,6 +508,7 @@ public class LoanApplicationService {
         loanScheduleService.generateWeeklySchedule(app);
 
         LoanApplicationResponse response = mapToResponse(loanApplicationRepository.save(app));
+        eventPublisher.publishEvent(new LoanDisbursedEvent(app.getId(), app.getMemberId(), app.getPrincipalAmount()));
 
         // 🟢 THE FIX: TIME MACHINE - Backdate the Loan Application's immutable created_at and disbursed_at timestamps
         Timestamp historicalTs = Timestamp.valueOf(backdateOverride.atStartOfDay());
@@ -510,6 +518,8 @@ public class LoanApplicationService {
 
         // 🟢 THE FIX: TIME MACHINE - Backdate the General Ledger Journal Entry!
         // We must update the accounting ledger so the statement picks up the correct historical date.
+        // The GL snapshots are moved first, while the entry still carries today's date.
+        glBalanceSnapshotService.moveEntry("LNDIS-" + reference, backdateOverride);
         jdbcTemplate.update(
                 "UPDATE journal_entries SET transaction_date = ?, created_at = ?, updated_at = ? WHERE reference_number = ?",
                 historicalTs, historicalTs, historicalTs, "LNDIS-" + reference);
@@ -7,8 +7,8 @@ import com.jaytechwave.sacco.modules.loans.domain.entity.LoanScheduleItem;
 import com.jaytechwave.sacco.modules.loans.domain.entity.LoanScheduleStatus;
 import com.jaytechwave.sacco.modules.loans.domain.repository.LoanApplicationRepository;
 import com.jaytechwave.sacco.modules.loans.domain.repository.LoanScheduleItemRepository;
-import com.jaytechwave.sacco.modules.members.domain.entity.Member;
 import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
+import com.jaytechwave.sacco.modules.members.domain.repository.MemberSummary;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +21,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -93,6 +94,13 @@ public class LoanReportingService {
         Map<LoanApplication, List<LoanScheduleItem>> grouped = overdueItems.stream()
                 .collect(Collectors.groupingBy(LoanScheduleItem::getLoanApplication));
 
+        // One name-only query for every member in arrears instead of loading each
+        // Member and User (and decrypting their PII) just to print a name
+        Map<UUID, MemberSummary> members = memberRepository.findSummariesByIdIn(
+                        grouped.keySet().stream().map(LoanApplication::getMemberId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(MemberSummary::id, m -> m));
+
         List<ArrearsSummaryResponse> report = new ArrayList<>();
 
         for (Map.Entry<LoanApplication, List<LoanScheduleItem>> entry : grouped.entrySet()) {
@@ -111,11 +119,10 @@ public class LoanReportingService {
 
             long daysInArrears = ChronoUnit.DAYS.between(oldestDueDate, LocalDate.now());
 
-            Member member = memberRepository.findById(app.getMemberId()).orElseThrow();
-            String memberName = member.getUser().getFirstName() + " " + member.getUser().getLastName();
+            MemberSummary member = Optional.ofNullable(members.get(app.getMemberId())).orElseThrow();
 
             report.add(new ArrearsSummaryResponse(
-                    app.getId(), member.getId(), memberName, member.getMemberNumber(),
+                    app.getId(), member.id(), member.fullName(), member.memberNumber(),
                     daysInArrears, totalArrears
             ));
         }
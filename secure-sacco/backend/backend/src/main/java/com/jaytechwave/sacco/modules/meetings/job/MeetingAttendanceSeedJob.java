@@ -4,9 +4,9 @@ import com.jaytechwave.sacco.modules.core.util.SaccoDateUtils;
 import com.jaytechwave.sacco.modules.meetings.domain.entity.*;
 import com.jaytechwave.sacco.modules.meetings.domain.repository.MeetingAttendanceRepository;
 import com.jaytechwave.sacco.modules.meetings.domain.repository.MeetingRepository;
-import com.jaytechwave.sacco.modules.members.domain.entity.Member;
 import com.jaytechwave.sacco.modules.members.domain.entity.MemberStatus;
 import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
+import com.jaytechwave.sacco.modules.members.domain.repository.MemberSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -38,7 +38,7 @@ public class MeetingAttendanceSeedJob {
 
         log.info("MeetingAttendanceSeedJob: {} meeting(s) need attendance seeding.", meetings.size());
 
-        List<Member> activeMembers = memberRepository.findByStatus(MemberStatus.ACTIVE);
+        List<MemberSummary> activeMembers = memberRepository.findSummariesByStatus(MemberStatus.ACTIVE);
         if (activeMembers.isEmpty()) {
             log.warn("MeetingAttendanceSeedJob: No active members found — skipping seed.");
             return;
@@ -54,18 +54,18 @@ public class MeetingAttendanceSeedJob {
         }
     }
 
-    private void seedMeeting(Meeting meeting, List<Member> activeMembers) {
+    private void seedMeeting(Meeting meeting, List<MemberSummary> activeMembers) {
         int created = 0;
 
-        for (Member member : activeMembers) {
+        for (MemberSummary member : activeMembers) {
             boolean alreadyHasRecord = attendanceRepository
-                    .findByMeetingIdAndMemberId(meeting.getId(), member.getId())
+                    .findByMeetingIdAndMemberId(meeting.getId(), member.id())
                     .isPresent();
 
             if (!alreadyHasRecord) {
                 MeetingAttendance record = MeetingAttendance.builder()
                         .meeting(meeting)
-                        .memberId(member.getId())
+                        .memberId(member.id())
                         .status(AttendanceStatus.ABSENT)
                         .recordedAt(LocalDateTime.now(SaccoDateUtils.NAIROBI)) // FIX: Explicitly set to prevent L1 Cache NPEs in rapid concurrent job runs
                         .build();
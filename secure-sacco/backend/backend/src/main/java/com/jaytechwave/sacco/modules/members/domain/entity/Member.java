@@ -1,6 +1,8 @@
 package com.jaytechwave.sacco.modules.members.domain.entity;
 
 import com.jaytechwave.sacco.modules.core.security.EncryptedStringConverter;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashListener;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashed;
 import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import jakarta.persistence.*;
@@ -21,7 +23,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @SQLRestriction("is_deleted = false") // Automatically filters out soft-deleted records globally
-public class Member {
+@EntityListeners(PhoneLookupHashListener.class)
+public class Member implements PhoneLookupHashed {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -60,6 +63,10 @@ public class Member {
     @Column(name = "phone_number_hash", length = 88)
     private String phoneNumberHash;
 
+    /** HMAC of the E.164 form; maintained by {@link PhoneLookupHashListener}, never set directly. */
+    @Column(name = "phone_e164_hash", length = 88)
+    private String phoneE164Hash;
+
     @Column(name = "email", length = 120)
     private String email;
 
@@ -85,6 +92,11 @@ public class Member {
     @Column(name = "updated_at")
     private ZonedDateTime updatedAt;
 
+    @Override
+    public UUID lookupMemberId() {
+        return id;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (status == null) {
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,13 +24,55 @@ public interface MemberRepository extends JpaRepository<Member, UUID> {
     Optional<Member> findByNationalIdHash(String nationalIdHash);
     Optional<Member> findByPhoneNumberHash(String phoneNumberHash);
 
-    @Query("SELECT m FROM Member m WHERE " +
-            "(:q IS NULL OR :q = '' OR " +
-            "LOWER(m.memberNumber) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(m.firstName) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(m.lastName) LIKE LOWER(CONCAT('%', :q, '%'))) " +
-            "AND (:status IS NULL OR m.status = :status)")
-    Page<Member> searchMembers(@Param("q") String q, @Param("status") MemberStatus status, Pageable pageable);
+    Optional<Member> findFirstByPhoneE164Hash(String phoneE164Hash);
+
+    List<Member> findAllByPhoneNumberHashIn(Collection<String> phoneNumberHashes);
+
+    /** Unfiltered (or status-filtered) member list; text search goes through {@link #searchMembersRanked}. */
+    @Query("SELECT m FROM Member m WHERE (:status IS NULL OR m.status = :status)")
+    Page<Member> listMembers(@Param("status") MemberStatus status, Pageable pageable);
+
+    /**
+     * Ranked member search served by the V117 indexes: member-number prefix
+     * (B-tree, {@code text_pattern_ops}), member-number substring (pg_trgm GIN,
+     * so "42" finds {@code ABC-2026-0000042}) and full-name substring or fuzzy
+     * match (pg_trgm GIN). Exact member numbers rank first, then number
+     * prefixes, then names by trigram similarity, then member number.
+     *
+     * @param q      lower-cased search text
+     * @param prefix {@code q} with LIKE wildcards escaped, followed by {@code %}
+     * @param infix  {@code %} + escaped {@code q} + {@code %}
+     * @param status status name, or null for all
+     * @param pageable page bounds only; any sort is ignored in favour of rank
+     */
+    @Query(value = """
+            SELECT m.* FROM members m
+            WHERE m.is_deleted = false
+              AND (CAST(:status AS VARCHAR) IS NULL OR m.status = CAST(:status AS VARCHAR))
+              AND (LOWER(m.member_number) LIKE :prefix
+                   OR LOWER(m.member_number) LIKE :infix
+                   OR LOWER(m.first_name || ' ' || m.last_name) LIKE :infix
+                   OR LOWER(m.first_name || ' ' || m.last_name) % :q)
+            ORDER BY (LOWER(m.member_number) = :q) DESC,
+                     (LOWER(m.member_number) LIKE :prefix) DESC,
+                     similarity(LOWER(m.first_name || ' ' || m.last_name), :q) DESC,
+                     m.member_number
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM members m
+            WHERE m.is_deleted = false
+              AND (CAST(:status AS VARCHAR) IS NULL OR m.status = CAST(:status AS VARCHAR))
+              AND (LOWER(m.member_number) LIKE :prefix
+                   OR LOWER(m.member_number) LIKE :infix
+                   OR LOWER(m.first_name || ' ' || m.last_name) LIKE :infix
+                   OR LOWER(m.first_name || ' ' || m.last_name) % :q)
+            """,
+            nativeQuery = true)
+    Page<Member> searchMembersRanked(@Param("q") String q,
+                                     @Param("prefix") String prefix,
+                                     @Param("infix") String infix,
+                                     @Param("status") String status,
+                                     Pageable pageable);
 
     Optional<Member> findByMemberNumber(String memberNumber);
 
@@ -42,4 +85,20 @@ public interface MemberRepository extends JpaRepository<Member, UUID> {
      * to seed ABSENT records for all ACTIVE members when a meeting starts.
      */
     List<Member> findByStatus(MemberStatus status);
+
+    // ── Name-only projections: never select (or decrypt) the encrypted PII columns ──
+
+    @Query("SELECT new com.jaytechwave.sacco.modules.members.domain.repository.MemberSummary(" +
+            "m.id, m.memberNumber, m.firstName, m.lastName) FROM Member m")
+    List<MemberSummary> findAllSummaries();
+
+    @Query("SELECT new com.jaytechwave.sacco.modules.members.domain.repository.MemberSummary(" +
+            "m.id, m.memberNumber, m.firstName, m.lastName) FROM Member m WHERE m.status = :status")
+    List<MemberSummary> findSummariesByStatus(@Param("status") MemberStatus status);
+
+    /** Prefers the linked user's name, as the member's login identity, when there is one. */
+    @Query("SELECT new com.jaytechwave.sacco.modules.members.domain.repository.MemberSummary(" +
+            "m.id, m.memberNumber, COALESCE(u.firstName, m.firstName), COALESCE(u.lastName, m.lastName)) " +
+            "FROM Member m LEFT JOIN m.user u WHERE m.id IN :ids")
+    List<MemberSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.jaytechwave.sacco.modules.members.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Name-only view of a member for bulk reads (dividend previews, attendance
+ * seeding, arrears reports). Queries returning it never select the encrypted
+ * {@code national_id} / {@code phone_number} columns, so no row is decrypted.
+ */
+public record MemberSummary(UUID id, String memberNumber, String firstName, String lastName) {
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -2,6 +2,7 @@ package com.jaytechwave.sacco.modules.members.domain.service;
 
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
+import com.jaytechwave.sacco.modules.core.util.LikePatterns;
 import com.jaytechwave.sacco.modules.members.api.dto.MemberDTOs.*;
 import com.jaytechwave.sacco.modules.members.domain.entity.Member;
 import com.jaytechwave.sacco.modules.members.domain.entity.MemberStatus;
@@ -15,12 +16,14 @@ import com.jaytechwave.sacco.modules.users.domain.service.UserActivationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 
@@ -116,7 +119,16 @@ public class MemberService {
 
     @Transactional(readOnly = true)
     public Page<MemberResponse> getMembers(String q, MemberStatus status, Pageable pageable) {
-        return memberRepository.searchMembers(q, status, pageable).map(MemberResponse::fromEntity);
+        if (q == null || q.isBlank()) {
+            return memberRepository.listMembers(status, pageable).map(MemberResponse::fromEntity);
+        }
+        // Search results come back in rank order, so only the page bounds are kept
+        String query = q.trim().toLowerCase(Locale.ROOT);
+        return memberRepository.searchMembersRanked(
+                        query, LikePatterns.startsWith(query), LikePatterns.contains(query),
+                        status != null ? status.name() : null,
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .map(MemberResponse::fromEntity);
     }
 
     @Transactional(readOnly = true)
@@ -1,12 +1,12 @@
 package com.jaytechwave.sacco.modules.paymentproducts.domain.listener;
 
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
 import com.jaytechwave.sacco.modules.payments.domain.entity.Payment;
 import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
 import com.jaytechwave.sacco.modules.payments.domain.repository.PaymentRepository;
 import com.jaytechwave.sacco.modules.paymentproducts.domain.service.DepositAllocationRouterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -26,7 +26,7 @@ public class SplitDepositListener {
     private final DepositAllocationRouterService   routerService;
 
     @Order(1)
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentCompleted(PaymentCompletedEvent event) {
         if (event.accountReference() == null || !event.accountReference().startsWith("SPLIT-")) return;
 
@@ -1,7 +1,6 @@
 package com.jaytechwave.sacco.modules.payments.api.controller;
 
 import com.jaytechwave.sacco.modules.core.util.SaccoDateUtils;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.*;
 import com.jaytechwave.sacco.modules.payments.api.dto.PaymentDTOs.InitiateStkRequest;
 import com.jaytechwave.sacco.modules.payments.api.dto.PaymentDTOs.InitiateStkResponse;
@@ -11,6 +10,7 @@ import com.jaytechwave.sacco.modules.payments.domain.entity.CoopTransaction;
 import com.jaytechwave.sacco.modules.payments.domain.repository.CoopTransactionRepository;
 import com.jaytechwave.sacco.modules.payments.domain.repository.PaymentRepository;
 import com.jaytechwave.sacco.modules.payments.domain.service.CoopConnectService;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox;
 import com.jaytechwave.sacco.modules.payments.domain.service.PaymentService;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
@@ -43,7 +43,7 @@ import org.springframework.context.ApplicationEventPublisher;
 public class CoopConnectController {
 
     private final PaymentService      paymentService;
-    private final ObjectMapper        objectMapper;
+    private final PaymentCallbackInbox callbackInbox;
     private final UserRepository      userRepository;
     private final CoopConnectService  coopConnectService;
     private final PaymentRepository   paymentRepository;
@@ -98,16 +98,7 @@ public class CoopConnectController {
     @RequestMapping(value = "/coop/stk-callback", method = {RequestMethod.POST, RequestMethod.GET})
     public ResponseEntity<IpnAckResponse> handleStkCallback(@RequestBody(required = false) String rawBody) {
         log.info("Co-op STK Callback received: {}", rawBody);
-        if (rawBody == null || rawBody.isBlank()) return ResponseEntity.ok(IpnAckResponse.ok());
-        try {
-            StkCallbackPayload payload = objectMapper.readValue(rawBody, StkCallbackPayload.class);
-            paymentService.processStkCallback(rawBody, payload);
-            return ResponseEntity.ok(IpnAckResponse.ok());
-        } catch (Exception e) {
-            log.error("Failed to process Co-op STK Callback: {}", e.getMessage(), e);
-            // Return 200 anyway so Co-op doesn't endlessly retry a broken payload
-            return ResponseEntity.ok(IpnAckResponse.error(e.getMessage()));
-        }
+        return acceptCallback(PaymentCallbackInbox.Source.STK_CALLBACK, rawBody);
     }
 
     // ── Co-op IPN: B2B Core Banking notification ──────────────────────────────
@@ -123,14 +114,25 @@ public class CoopConnectController {
     @RequestMapping(value = "/coop/ipn", method = {RequestMethod.POST, RequestMethod.GET})
     public ResponseEntity<IpnAckResponse> handleCoopIpn(@RequestBody(required = false) String rawBody) {
         log.info("Co-op IPN received: {}", rawBody);
+        return acceptCallback(PaymentCallbackInbox.Source.IPN, rawBody);
+    }
+
+    /**
+     * Stores the callback in the durable inbox and acknowledges it;
+     * {@link com.jaytechwave.sacco.modules.payments.job.PaymentCallbackInboxJob}
+     * processes it. Only a failure to store it is reported to Co-op as an error,
+     * so Co-op redelivers instead of the callback being lost.
+     */
+    private ResponseEntity<IpnAckResponse> acceptCallback(PaymentCallbackInbox.Source source, String rawBody) {
         if (rawBody == null || rawBody.isBlank()) return ResponseEntity.ok(IpnAckResponse.ok());
         try {
-            CoopIpnPayload payload = objectMapper.readValue(rawBody, CoopIpnPayload.class);
-            paymentService.processCoopIpn(rawBody, payload);
+            if (!callbackInbox.accept(source, rawBody)) {
+                log.info("Co-op {} already received — acknowledging duplicate", source);
+            }
             return ResponseEntity.ok(IpnAckResponse.ok());
         } catch (Exception e) {
-            log.error("Failed to process Co-op IPN: {}", e.getMessage(), e);
-            return ResponseEntity.ok(IpnAckResponse.error(e.getMessage()));
+            log.error("Failed to store Co-op {}: {}", source, e.getMessage(), e);
+            return ResponseEntity.status(503).body(IpnAckResponse.error("Temporarily unable to accept callback"));
         }
     }
 
@@ -1,9 +1,16 @@
 package com.jaytechwave.sacco.modules.payments.config;
 
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation.Bulkhead;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "sacco.coopconnect")
@@ -66,4 +73,63 @@ public class CoopConnectProperties {
      * Port tinyproxy listens on (default 8888).
      */
     private int proxyPort = 8888;
-}
\ No newline at end of file
+
+    // ── HTTP client (pool, timeouts, bulkheads) ───────────────────────────────
+    private Http http = new Http();
+
+    @Data
+    public static class Http {
+
+        /** Pooled keep-alive connections. All traffic goes to one host (or one proxy). */
+        private int maxConnections = 30;
+
+        /** TCP connect timeout. */
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /** Idle pooled connections are closed after this. */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /**
+         * Longest a call waits for a bulkhead permit or a pooled connection
+         * before failing fast.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Concurrency limit and response timeout per isolation group. An
+         * override may set only one field; the other keeps its default.
+         */
+        private Map<Bulkhead, Limit> bulkheads = defaultBulkheads();
+
+        private static Map<Bulkhead, Limit> defaultBulkheads() {
+            Map<Bulkhead, Limit> limits = new EnumMap<>(Bulkhead.class);
+            limits.put(Bulkhead.TOKEN,     new Limit(2,  Duration.ofSeconds(10)));
+            limits.put(Bulkhead.STK,       new Limit(10, Duration.ofSeconds(30)));
+            limits.put(Bulkhead.STATUS,    new Limit(8,  Duration.ofSeconds(10)));
+            limits.put(Bulkhead.STATEMENT, new Limit(4,  Duration.ofSeconds(30)));
+            return limits;
+        }
+
+        public Limit limit(Bulkhead bulkhead) {
+            Limit defaults = defaultBulkheads().get(bulkhead);
+            Limit configured = bulkheads.get(bulkhead);
+            if (configured == null) {
+                return defaults;
+            }
+            // Binding builds a fresh Limit per overridden key, so unset fields arrive as null
+            return new Limit(
+                    configured.getMaxConcurrent() != null ? configured.getMaxConcurrent() : defaults.getMaxConcurrent(),
+                    configured.getResponseTimeout() != null ? configured.getResponseTimeout() : defaults.getResponseTimeout());
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /** Calls in flight at once. */
+        private Integer maxConcurrent;
+        /** How long to wait for Co-op's response once the request is sent. */
+        private Duration responseTimeout;
+    }
+}
@@ -0,0 +1,112 @@
+package com.jaytechwave.sacco.modules.payments.config;
+
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopHttpLogger;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation.Bulkhead;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * HTTP client for Co-op Connect.
+ *
+ * <p>One pooled keep-alive connection manager serves every operation, so calls
+ * reuse TLS connections instead of handshaking each time. Response timeouts are
+ * set per {@link Bulkhead} from {@link CoopConnectProperties.Http}; the
+ * concurrency limits themselves are enforced by {@code CoopCallGuard}.
+ *
+ * <p>Automatic retries are disabled: an STK push must never be re-sent behind
+ * the caller's back.
+ */
+@Slf4j
+@Configuration
+public class CoopHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient coopHttpClient(CoopConnectProperties props) {
+        CoopConnectProperties.Http http = props.getHttp();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(http.getConnectTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(http.getKeepAlive().toMillis()))
+                .evictIdleConnections(TimeValue.ofMilliseconds(http.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .disableAutomaticRetries();
+
+        // Route ALL Co-op traffic through the dedicated gateway proxy so Co-op
+        // always sees one static IP regardless of which server the app is
+        // running on. If proxyHost is not configured (local dev), connect directly.
+        if (props.getProxyHost() != null && !props.getProxyHost().isBlank()) {
+            builder.setProxy(new HttpHost(props.getProxyHost(), props.getProxyPort()));
+            log.info("Co-op Connect: routing via proxy {}:{}", props.getProxyHost(), props.getProxyPort());
+        } else {
+            log.info("Co-op Connect: no proxy configured — connecting directly");
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public RestClient coopRestClient(CloseableHttpClient coopHttpClient, CoopConnectProperties props) {
+        Map<Bulkhead, RequestConfig> requestConfigs = requestConfigs(props.getHttp());
+
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(coopHttpClient);
+        factory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfigFor(uri.getPath(), requestConfigs));
+            return context;
+        });
+
+        return RestClient.builder()
+                .requestFactory(factory)
+                .requestInterceptor(new CoopHttpLogger())
+                .build();
+    }
+
+    /** Acquire and response timeouts for each bulkhead. */
+    static Map<Bulkhead, RequestConfig> requestConfigs(CoopConnectProperties.Http http) {
+        Map<Bulkhead, RequestConfig> requestConfigs = new EnumMap<>(Bulkhead.class);
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            requestConfigs.put(bulkhead, RequestConfig.custom()
+                    .setConnectionRequestTimeout(timeout(http.getAcquireTimeout()))
+                    .setResponseTimeout(timeout(http.limit(bulkhead).getResponseTimeout()))
+                    .build());
+        }
+        return requestConfigs;
+    }
+
+    /** The config of the bulkhead that owns {@code path}; unknown paths get the slowest (STATEMENT). */
+    static RequestConfig requestConfigFor(String path, Map<Bulkhead, RequestConfig> requestConfigs) {
+        CoopOperation op = CoopOperation.forPath(path);
+        return requestConfigs.get(op != null ? op.bulkhead() : Bulkhead.STATEMENT);
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
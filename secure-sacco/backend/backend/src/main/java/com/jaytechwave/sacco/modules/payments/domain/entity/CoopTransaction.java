@@ -1,5 +1,6 @@
 package com.jaytechwave.sacco.modules.payments.domain.entity;
 
+import com.jaytechwave.sacco.modules.core.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -24,7 +25,7 @@ import java.util.UUID;
 public class CoopTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /** M-Pesa transaction reference (UF5BY709I7) — unique across all sources */
@@ -2,7 +2,9 @@ package com.jaytechwave.sacco.modules.payments.domain.repository;
 
 import com.jaytechwave.sacco.modules.payments.domain.entity.Payment;
 import com.jaytechwave.sacco.modules.payments.domain.entity.PaymentStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +18,18 @@ import java.util.UUID;
 
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     Optional<Payment> findByInternalRef(String internalRef);
+
+    /**
+     * Row-locked reads for settling a pending STK push. The callback and the
+     * status check can race; whichever locks second sees the settled status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.internalRef = :internalRef")
+    Optional<Payment> findByInternalRefForUpdate(@Param("internalRef") String internalRef);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findByIdForUpdate(@Param("id") UUID id);
     Optional<Payment> findByTransactionRef(String transactionRef);
     Optional<Payment> findByMpesaRef(String mpesaRef);
 
@@ -33,7 +47,7 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     // Used by IPN matching — find pending STK payments by phone
     List<Payment> findBySenderPhoneNumberAndStatus(String senderPhoneNumber, PaymentStatus status);
 
-    // Used by PendingPaymentPollingJob to find all pending STK pushes
+    // Used by PendingPaymentPollingJob to re-enqueue pending STK pushes missing from the check queue
     List<Payment> findByStatusAndPaymentType(PaymentStatus status, String paymentType);
 
     /**
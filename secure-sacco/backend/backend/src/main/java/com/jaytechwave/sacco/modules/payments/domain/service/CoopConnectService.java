@@ -3,19 +3,19 @@ package com.jaytechwave.sacco.modules.payments.domain.service;
 import com.jaytechwave.sacco.modules.core.util.SaccoDateUtils;
 import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.*;
 import com.jaytechwave.sacco.modules.payments.config.CoopConnectProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import com.jaytechwave.sacco.modules.payments.infrastructure.CoopHttpLogger;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopCallGuard;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
-import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
-import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
@@ -27,7 +27,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -37,6 +38,8 @@ import java.util.concurrent.atomic.AtomicReference;
  * OAuth2 client-credentials: POST /token with Basic auth →
  * cache the bearer token until 60 seconds before expiry →
  * attach as {@code Authorization: Bearer {token}} on every subsequent call.
+ * The token is renewed in the background ahead of expiry; see
+ * {@link #getAccessToken}.
  *
  * <h3>STK Push flow</h3>
  * {@link #initiateStkPush} → Co-op sends prompt to member's phone →
@@ -47,55 +50,56 @@ import java.util.concurrent.atomic.AtomicReference;
  * Member pays to paybill 400200 on their phone →
  * Co-op CBS posts to our {@code /coop/ipn} →
  * {@link PaymentService#processCoopIpn} credits the member's account.
+ *
+ * <h3>HTTP client</h3>
+ * Calls go through the pooled {@code coopRestClient} from
+ * {@link com.jaytechwave.sacco.modules.payments.config.CoopHttpClientConfig},
+ * each inside its {@link CoopOperation}'s bulkhead via {@link CoopCallGuard}.
  */
 @Slf4j
 @Service
 public class CoopConnectService {
 
     private final CoopConnectProperties   props;
-    private final UserRepository           userRepository;
-    private final PiiSearchHashConverter   piiHashConverter;
+    private final PhoneNameCacheService    phoneNameCacheService;
     private final StringRedisTemplate redisTemplate;
     private final RestClient restClient;
+    private final CoopCallGuard callGuard;
 
     public CoopConnectService(CoopConnectProperties props,
-                              UserRepository userRepository,
-                              PiiSearchHashConverter piiHashConverter,
-                              StringRedisTemplate redisTemplate) {
+                              PhoneNameCacheService phoneNameCacheService,
+                              StringRedisTemplate redisTemplate,
+                              @Qualifier("coopRestClient") RestClient restClient,
+                              CoopCallGuard callGuard) {
         this.props            = props;
-        this.userRepository   = userRepository;
-        this.piiHashConverter = piiHashConverter;
+        this.phoneNameCacheService = phoneNameCacheService;
         this.redisTemplate    = redisTemplate;
+        this.restClient       = restClient;
+        this.callGuard        = callGuard;
+    }
 
-        // Build the RestClient — route ALL Co-op traffic through the dedicated
-        // gateway proxy (209.38.188.39) so Co-op always sees one static IP
-        // regardless of which server the app is running on. If proxyHost is
-        // not configured (local dev), bypass the proxy entirely.
-        RestClient.Builder builder = RestClient.builder()
-                .requestInterceptor(new CoopHttpLogger());
-
-        if (props.getProxyHost() != null && !props.getProxyHost().isBlank()) {
-            java.net.InetSocketAddress proxyAddress =
-                    new java.net.InetSocketAddress(props.getProxyHost(), props.getProxyPort());
-            java.net.Proxy proxy = new java.net.Proxy(java.net.Proxy.Type.HTTP, proxyAddress);
+    // == Token cache ===========================================================
 
-            org.springframework.http.client.SimpleClientHttpRequestFactory factory =
-                    new org.springframework.http.client.SimpleClientHttpRequestFactory();
-            factory.setProxy(proxy);
-            builder.requestFactory(factory);
+    /** Immutable token + expiry pair, swapped atomically through a volatile field. */
+    private record CachedToken(String value, long expiresAtMs, long refreshAtMs) {
 
-            log.info("Co-op Connect: routing via proxy {}:{}", props.getProxyHost(), props.getProxyPort());
-        } else {
-            log.info("Co-op Connect: no proxy configured — connecting directly");
+        static CachedToken of(String value, long expiresAtMs, long now) {
+            // Refresh in the background REFRESH_AHEAD_MS before expiry, or halfway
+            // through the remaining lifetime for short-lived tokens.
+            long ahead = Math.min(REFRESH_AHEAD_MS, (expiresAtMs - now) / 2);
+            return new CachedToken(value, expiresAtMs, expiresAtMs - ahead);
         }
 
-        this.restClient = builder.build();
+        boolean isValid(long now) {
+            return now < expiresAtMs;
+        }
     }
 
-    // == Token cache ===========================================================
-    private final AtomicReference<String> cachedToken      = new AtomicReference<>();
-    private final AtomicLong              tokenExpiresAtMs = new AtomicLong(0);
-    private static final long             TOKEN_BUFFER_MS  = 60_000L; // refresh 60s early
+    private volatile CachedToken token;
+    private final AtomicReference<CompletableFuture<CachedToken>> refreshInFlight = new AtomicReference<>();
+
+    private static final long TOKEN_BUFFER_MS  = 60_000L;   // treat as expired 60s early
+    private static final long REFRESH_AHEAD_MS = 300_000L;  // background refresh 5 min before that
 
     // Redis keys — token persisted across restarts to avoid Co-op CBS re-activation delay
     private static final String REDIS_TOKEN_KEY   = "coop:access_token";
@@ -103,26 +107,88 @@ public class CoopConnectService {
 
     // == Token management ======================================================
 
-    public synchronized String getAccessToken() {
-        long now = System.currentTimeMillis();
+    /**
+     * Returns a valid bearer token.
+     *
+     * <p>Steady state is a single volatile read. Only when the token is missing
+     * or expired does the caller refresh it, and then just one caller fetches
+     * while the rest wait on the same future.
+     */
+    public String getAccessToken() {
+        CachedToken current = token;
+        if (current != null && current.isValid(System.currentTimeMillis())) {
+            return current.value();
+        }
+        try {
+            return refresh().join().value();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
 
-        // 1. Check in-memory cache first (fastest)
-        if (cachedToken.get() != null && now < tokenExpiresAtMs.get()) {
-            return cachedToken.get();
+    /**
+     * Renews the token shortly before it expires so request threads never wait
+     * on a refresh. Does nothing until the first token has been fetched.
+     */
+    @Scheduled(fixedDelay = 30_000, initialDelay = 30_000)
+    public void refreshTokenAhead() {
+        CachedToken current = token;
+        if (current == null || System.currentTimeMillis() < current.refreshAtMs()) {
+            return;
+        }
+        try {
+            refresh().join();
+        } catch (Exception e) {
+            log.warn("Co-op Connect: background token refresh failed — {}", e.getMessage());
         }
+    }
 
-        // 2. Check Redis cache (survives restarts → prevents Co-op CBS re-activation delay)
+    /**
+     * Single-flight refresh: the first caller becomes the leader and fetches on
+     * its own thread; callers arriving meanwhile get the leader's future.
+     */
+    private CompletableFuture<CachedToken> refresh() {
+        CompletableFuture<CachedToken> mine = new CompletableFuture<>();
+        CompletableFuture<CachedToken> inFlight = refreshInFlight.compareAndExchange(null, mine);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        try {
+            CachedToken current = token;
+            if (current != null && System.currentTimeMillis() < current.refreshAtMs()) {
+                mine.complete(current);   // renewed by a leader that finished just before us
+            } else {
+                CachedToken fresh = loadToken(current);
+                token = fresh;
+                mine.complete(fresh);
+            }
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            refreshInFlight.compareAndSet(mine, null);
+        }
+        return mine;
+    }
+
+    /**
+     * Adopts a newer token another node stored in Redis, otherwise fetches one
+     * from Co-op.
+     *
+     * @param stale the token being replaced, or null
+     */
+    private CachedToken loadToken(CachedToken stale) {
+        long now = System.currentTimeMillis();
+
+        // Redis cache (survives restarts → prevents Co-op CBS re-activation delay)
         try {
             String redisToken  = redisTemplate.opsForValue().get(REDIS_TOKEN_KEY);
             String redisExpiry = redisTemplate.opsForValue().get(REDIS_EXPIRY_KEY);
             if (redisToken != null && redisExpiry != null) {
                 long expiryMs = Long.parseLong(redisExpiry);
-                if (now < expiryMs) {
+                if (now < expiryMs && (stale == null || expiryMs > stale.expiresAtMs())) {
                     log.info("Co-op Connect: reusing token from Redis (expires in {}s)",
                             (expiryMs - now) / 1000);
-                    cachedToken.set(redisToken);
-                    tokenExpiresAtMs.set(expiryMs);
-                    return redisToken;
+                    return CachedToken.of(redisToken, expiryMs, now);
                 }
             }
         } catch (Exception e) {
@@ -154,21 +220,19 @@ public class CoopConnectService {
         body.add("grant_type", "client_credentials");
 
         try {
-            CoopTokenResponse response = restClient.post()
-                    .uri(props.getBaseUrl() + "/token")
+            CoopTokenResponse response = callGuard.call(CoopOperation.TOKEN, () -> restClient.post()
+                    .uri(props.getBaseUrl() + CoopOperation.TOKEN.path())
                     .header(HttpHeaders.AUTHORIZATION, "Basic " + encoded)
                     .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                     .body(body)
                     .retrieve()
-                    .body(CoopTokenResponse.class);
+                    .body(CoopTokenResponse.class));
 
             if (response == null || response.accessToken() == null) {
                 throw new RuntimeException("Co-op Connect: token response was null or missing accessToken field");
             }
 
             long expiryMs = now + ((long) response.expiresIn() * 1000L) - TOKEN_BUFFER_MS;
-            cachedToken.set(response.accessToken());
-            tokenExpiresAtMs.set(expiryMs);
 
             // Persist to Redis so token survives deployments/restarts
             try {
@@ -179,7 +243,7 @@ public class CoopConnectService {
             } catch (Exception e) {
                 log.warn("Co-op Connect: Redis token persist failed (in-memory only): {}", e.getMessage());
             }
-            return response.accessToken();
+            return CachedToken.of(response.accessToken(), expiryMs, now);
 
         } catch (HttpClientErrorException.Unauthorized | HttpClientErrorException.Forbidden e) {
             log.error("Co-op Connect: Authentication failed (401/403). " +
@@ -209,8 +273,7 @@ public class CoopConnectService {
 
     private void clearTokenCache() {
         log.warn("Co-op Connect: Clearing expired/revoked token from cache.");
-        cachedToken.set(null);
-        tokenExpiresAtMs.set(0);
+        token = null;
         try {
             redisTemplate.delete(List.of(REDIS_TOKEN_KEY, REDIS_EXPIRY_KEY));
         } catch (Exception e) {
@@ -280,13 +343,14 @@ public class CoopConnectService {
                     phoneNumber, amount, coopMessageRef, accountRef, callbackUrl);
 
             try {
-                StkPushResponse response = restClient.post()
-                        .uri(props.getBaseUrl() + "/FT/stk/1.0.0")
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
+                String token = getAccessToken();
+                StkPushResponse response = callGuard.call(CoopOperation.STK_PUSH, () -> restClient.post()
+                        .uri(props.getBaseUrl() + CoopOperation.STK_PUSH.path())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(request)
                         .retrieve()
-                        .body(StkPushResponse.class);
+                        .body(StkPushResponse.class));
 
                 log.info("Co-op STK Push response: code={} desc={}",
                         response != null ? response.getMessageCode() : "null",
@@ -321,13 +385,14 @@ public class CoopConnectService {
             TransactionStatusRequest req = new TransactionStatusRequest();
             req.setMessageReference(messageReference);
 
-            return restClient.post()
-                    .uri(props.getBaseUrl() + "/Enquiry/STK/1.0.0/")
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
+            String token = getAccessToken();
+            return callGuard.call(CoopOperation.STK_STATUS, () -> restClient.post()
+                    .uri(props.getBaseUrl() + CoopOperation.STK_STATUS.path())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(req)
                     .retrieve()
-                    .body(TransactionStatusResponse.class);
+                    .body(TransactionStatusResponse.class));
         });
     }
 
@@ -346,13 +411,14 @@ public class CoopConnectService {
                     req.get("UserId"), req.get("AccountNumber"), req.get("MessageReference"));
 
             try {
-                AccountBalanceResponse response = restClient.post()
-                        .uri(props.getBaseUrl() + "/Enquiry/AccountBalance_v2/2.0.0/")
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
+                String token = getAccessToken();
+                AccountBalanceResponse response = callGuard.call(CoopOperation.ACCOUNT_BALANCE, () -> restClient.post()
+                        .uri(props.getBaseUrl() + CoopOperation.ACCOUNT_BALANCE.path())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(req)
                         .retrieve()
-                        .body(AccountBalanceResponse.class);
+                        .body(AccountBalanceResponse.class));
 
                 if (response != null) {
                     log.info("CO-OP RESPONSE: code='{}' desc='{}' available='{}'",
@@ -399,13 +465,14 @@ public class CoopConnectService {
 
             log.info("Co-op Connect: fetching mini-statement for account={}", props.getSaccoAccountNumber());
             try {
-                MiniStatementResponse response = restClient.post()
-                        .uri(props.getBaseUrl() + "/Enquiry/MiniStatement/Account_v2/2.0.0/")
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
+                String token = getAccessToken();
+                MiniStatementResponse response = callGuard.call(CoopOperation.MINI_STATEMENT, () -> restClient.post()
+                        .uri(props.getBaseUrl() + CoopOperation.MINI_STATEMENT.path())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(req)
                         .retrieve()
-                        .body(MiniStatementResponse.class);
+                        .body(MiniStatementResponse.class));
                 log.info("Co-op mini-statement: code={}", response != null ? response.getMessageCode() : "null");
                 return response;
             } catch (HttpClientErrorException e) {
@@ -433,13 +500,14 @@ public class CoopConnectService {
             log.info("Co-op transactions: account={} from={} to={}",
                     props.getSaccoAccountNumber(), fromDate, toDate);
             try {
-                AccountTransactionResponse response = restClient.post()
-                        .uri(props.getBaseUrl() + "/Enquiry/AccountTransaction/Account_v2/2.0.0/")
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
+                String token = getAccessToken();
+                AccountTransactionResponse response = callGuard.call(CoopOperation.ACCOUNT_TRANSACTIONS, () -> restClient.post()
+                        .uri(props.getBaseUrl() + CoopOperation.ACCOUNT_TRANSACTIONS.path())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(req)
                         .retrieve()
-                        .body(AccountTransactionResponse.class);
+                        .body(AccountTransactionResponse.class));
                 log.info("Co-op transactions: code={} count={}",
                         response != null ? response.getMessageCode() : "null",
                         response != null && response.getTransactions() != null
@@ -465,8 +533,9 @@ public class CoopConnectService {
      * ("254717921562"). Because HMAC-SHA256 is format-sensitive, these two strings
      * produce completely different hashes — so a straight lookup always misses.
      *
-     * <p>Fix: generate every valid Kenyan format of the same number and hash each
-     * one, stopping as soon as one matches a user record.
+     * <p>Fix: every user and member also stores a hash of the number in E.164 form
+     * ({@code phone_e164_hash}); the incoming number is put in the same form and
+     * resolved with one indexed lookup, cached in {@link PhoneNameCacheService}.
      *
      * @param rawPhone any format: "0717921562", "254717921562", "+254717921562"
      * @return member full name, or null if no match found
@@ -474,91 +543,18 @@ public class CoopConnectService {
     public String resolvePhoneToMemberName(String rawPhone) {
         if (rawPhone == null || rawPhone.isBlank()) return null;
         try {
-            // Build all candidate formats for this number
-            java.util.List<String> candidates = buildPhoneCandidates(rawPhone);
-            for (String candidate : candidates) {
-                String hash = piiHashConverter.convertToDatabaseColumn(candidate);
-                java.util.Optional<com.jaytechwave.sacco.modules.users.domain.entity.User> found =
-                        userRepository.findByPhoneNumberHash(hash);
-                if (found.isPresent() && found.get().getMember() != null) {
-                    log.info("resolvePhoneToMemberName: ✅ matched '{}' → '{}' via format '{}'",
-                            rawPhone,
-                            found.get().getFirstName() + " " + found.get().getLastName(),
-                            candidate);
-                    return found.get().getFirstName() + " " + found.get().getLastName();
-                }
-            }
-            log.info("resolvePhoneToMemberName: ❌ no member found for '{}' (tried formats: {})",
-                    rawPhone, candidates);
-            return null;
+            return phoneNameCacheService.resolveMember(rawPhone)
+                    .map(match -> {
+                        log.info("resolvePhoneToMemberName: ✅ matched '{}' → '{}'", rawPhone, match.name());
+                        return match.name();
+                    })
+                    .orElseGet(() -> {
+                        log.info("resolvePhoneToMemberName: ❌ no member found for '{}'", rawPhone);
+                        return null;
+                    });
         } catch (Exception e) {
             log.warn("resolvePhoneToMemberName: lookup failed for {}: {}", rawPhone, e.getMessage());
             return null;
         }
     }
-
-    /**
-     * Generates all plausible storage formats for a Kenyan mobile number so that
-     * a hash lookup succeeds regardless of how the number was originally saved.
-     *
-     * <p>Kenyan mobile prefixes are 07X or 01X.  International prefix is 254.
-     * All carriers (Safaricom 07/01, Airtel 07, Telkom 07) follow this pattern.
-     *
-     * <p>Formats produced (example input: "254717921562"):
-     * <ul>
-     *   <li>254717921562  — E.164 without '+'</li>
-     *   <li>+254717921562 — E.164 with '+'</li>
-     *   <li>0717921562    — local 07/01 format</li>
-     *   <li>717921562     — 9-digit trunk-stripped</li>
-     * </ul>
-     */
-    private java.util.List<String> buildPhoneCandidates(String rawPhone) {
-        java.util.List<String> out = new java.util.ArrayList<>();
-
-        // Normalise: strip everything except digits and leading '+'
-        String cleaned = rawPhone.trim();
-        boolean hadPlus = cleaned.startsWith("+");
-        String digits   = cleaned.replaceAll("[^0-9]", "");
-
-        // Derive the 9-digit local suffix (e.g. "717921562")
-        String nineSuffix = null;
-        if (digits.startsWith("254") && digits.length() == 12) {
-            nineSuffix = digits.substring(3);           // 254XXXXXXXXX → XXXXXXXXX
-        } else if ((digits.startsWith("07") || digits.startsWith("01")) && digits.length() == 10) {
-            nineSuffix = digits.substring(1);           // 07XXXXXXXX → 7XXXXXXXX
-        } else if (digits.length() == 9) {
-            nineSuffix = digits;                        // already trunk-stripped
-        }
-
-        if (nineSuffix == null) {
-            // Unknown format — just try the raw string and its digits-only form
-            out.add(rawPhone.trim());
-            if (!rawPhone.trim().equals(digits)) out.add(digits);
-            return out;
-        }
-
-        // All four canonical formats
-        String international   = "254"  + nineSuffix;   // 254717921562
-        String internationalE  = "+254" + nineSuffix;   // +254717921562
-        String local07or01;
-        if (nineSuffix.startsWith("7") || nineSuffix.startsWith("1")) {
-            local07or01 = "0" + nineSuffix;             // 0717921562
-        } else {
-            local07or01 = "0" + nineSuffix;
-        }
-        String trunkStripped  = nineSuffix;             // 717921562
-
-        // The most common storage formats first (local 07 form was historically popular)
-        out.add(local07or01);
-        out.add(international);
-        out.add(internationalE);
-        out.add(trunkStripped);
-
-        // If the original input had a leading '+', also try the plain form
-        if (hadPlus && !out.contains(cleaned)) out.add(cleaned);
-
-        return out;
-    }
-
-
-}
\ No newline at end of file
+}
@@ -1,15 +1,11 @@
 package com.jaytechwave.sacco.modules.payments.domain.service;
 
 import com.jaytechwave.sacco.modules.core.util.SaccoDateUtils;
-import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
-import com.jaytechwave.sacco.modules.members.domain.entity.Member;
 import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
 import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.*;
 import com.jaytechwave.sacco.modules.payments.domain.entity.CoopTransaction;
 import com.jaytechwave.sacco.modules.payments.domain.entity.CoopTransactionSource;
 import com.jaytechwave.sacco.modules.payments.domain.repository.CoopTransactionRepository;
-import com.jaytechwave.sacco.modules.users.domain.entity.User;
-import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,7 +15,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -47,9 +42,8 @@ import java.util.UUID;
 public class CoopEventNormalizer {
 
     private final CoopTransactionRepository coopTransactionRepository;
-    private final UserRepository            userRepository;
     private final MemberRepository          memberRepository;
-    private final PiiSearchHashConverter    piiHashConverter;
+    private final PhoneNameCacheService     phoneNameCacheService;
 
     private static final DateTimeFormatter DT_FMT =
             DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
@@ -274,16 +268,15 @@ public class CoopEventNormalizer {
     // ── Member resolution ──────────────────────────────────────────────────────
 
     /**
-     * Enriches a transaction with member info by trying every possible phone format.
+     * Enriches a transaction with member info from the sender's phone number.
      * Sets senderName, memberId, and displayNarration on the transaction.
      *
-     * <p>Two-tier lookup:
+     * <p>Two-tier lookup on the E.164 phone hash, via {@link PhoneNameCacheService#resolveMember}:
      * <ol>
-     *   <li>Primary: {@code User.phoneNumberHash} WHERE {@code member_id IS NOT NULL}
+     *   <li>Primary: {@code User.phoneE164Hash} WHERE {@code member_id IS NOT NULL}
      *       (the fast path — covers all members created via the normal registration flow).</li>
-     *   <li>Fallback: {@code Member.phoneNumberHash} directly — catches cases where the
-     *       User record exists but its {@code phone_number_hash} column was not populated
-     *       (e.g. pre-V40 migrations, manual DB inserts, or historical data imports).</li>
+     *   <li>Fallback: {@code Member.phoneE164Hash} directly — catches members whose
+     *       user account is missing or unlinked (historical data, manual imports).</li>
      * </ol>
      */
     private void enrichWithMember(CoopTransaction tx, String rawPhone) {
@@ -318,41 +311,17 @@ public class CoopEventNormalizer {
         }
 
         try {
-            List<String> candidates = buildPhoneCandidates(rawPhone);
-            for (String candidate : candidates) {
-                String hash = piiHashConverter.convertToDatabaseColumn(candidate);
-
-                // ── Tier 1: User table ────────────────────────────────────────
-                // Skips orphan/duplicate user accounts that were never linked to a member.
-                Optional<User> found = userRepository.findFirstByPhoneNumberHashAndMemberIdIsNotNull(hash);
-                if (found.isPresent()) {
-                    User user = found.get();
-                    String name = user.getFirstName() + " " + user.getLastName();
-                    tx.setSenderName(name);
-                    tx.setMemberId(user.getMember().getId());
-                    tx.setDisplayNarration(name);
-                    log.info("CoopEventNormalizer: ✅ phone {} → member {} via User (format: {})",
-                            rawPhone, name, candidate);
-                    return;
-                }
-
-                // ── Tier 2: Member table fallback ─────────────────────────────
-                // Handles cases where User.phone_number_hash was not populated but
-                // Member.phone_number_hash is correct (historical data, manual imports).
-                Optional<Member> foundMember = memberRepository.findByPhoneNumberHash(hash);
-                if (foundMember.isPresent()) {
-                    Member member = foundMember.get();
-                    String name = member.getFirstName() + " " + member.getLastName();
-                    tx.setSenderName(name);
-                    tx.setMemberId(member.getId());
-                    tx.setDisplayNarration(name);
-                    log.info("CoopEventNormalizer: ✅ phone {} → member {} via Member fallback (format: {})",
-                            rawPhone, name, candidate);
-                    return;
-                }
+            Optional<PhoneNameCacheService.MemberMatch> match = phoneNameCacheService.resolveMember(rawPhone);
+            if (match.isPresent()) {
+                String name = match.get().name();
+                tx.setSenderName(name);
+                tx.setMemberId(match.get().memberId());
+                tx.setDisplayNarration(name);
+                log.info("CoopEventNormalizer: ✅ phone {} → member {} via {}",
+                        rawPhone, name, match.get().viaUser() ? "User" : "Member fallback");
+                return;
             }
-            log.info("CoopEventNormalizer: ❌ no member found for phone {} (tried {} formats)",
-                    rawPhone, candidates.size());
+            log.info("CoopEventNormalizer: ❌ no member found for phone {}", rawPhone);
         } catch (Exception e) {
             log.warn("CoopEventNormalizer: member lookup failed for {}: {}", rawPhone, e.getMessage());
         }
@@ -390,6 +359,8 @@ public class CoopEventNormalizer {
     public int reEnrichAllUnmatched() {
         List<CoopTransaction> unmatched =
                 coopTransactionRepository.findByMemberIdIsNullAndSenderPhoneIsNotNull();
+        // Members may have registered since these numbers were last looked up
+        phoneNameCacheService.evictMemberMisses();
 
         int matched = 0;
         for (CoopTransaction tx : unmatched) {
@@ -405,39 +376,6 @@ public class CoopEventNormalizer {
         return matched;
     }
 
-    /**
-     * Tries every Kenyan phone format so the hash lookup succeeds regardless
-     * of how the number was stored at registration time.
-     */
-    private List<String> buildPhoneCandidates(String raw) {
-        List<String> out = new ArrayList<>();
-        if (raw == null || raw.isBlank()) return out;
-
-        boolean hadPlus = raw.trim().startsWith("+");
-        String digits   = raw.replaceAll("[^0-9]", "");
-        if (digits.isEmpty()) return out;
-
-        String nine = null;
-        if      (digits.startsWith("254") && digits.length() == 12) nine = digits.substring(3);
-        else if ((digits.startsWith("07") || digits.startsWith("01")) && digits.length() == 10) nine = digits.substring(1);
-        else if (digits.length() == 9) nine = digits;
-
-        if (nine == null) {
-            out.add(raw.trim());
-            if (!raw.trim().equals(digits)) out.add(digits);
-            return out;
-        }
-
-        // All formats — ordered by most-likely registration format first
-        out.add("0" + nine);              // 0717921562  (local — most common at registration)
-        out.add("254" + nine);            // 254717921562 (E.164 without +)
-        out.add("+254" + nine);           // +254717921562 (E.164 with +)
-        out.add(nine);                    // 717921562 (trunk stripped)
-
-        if (hadPlus && !out.contains(raw.trim())) out.add(raw.trim());
-        return out;
-    }
-
     // ── Extraction helpers ─────────────────────────────────────────────────────
 
     private String extractPhoneFromIpnMemo(String line1, String line2, String line3, String narration) {
@@ -0,0 +1,136 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.core.persistence.LeasedQueue;
+import com.jaytechwave.sacco.modules.core.util.PhoneNumbers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Durable inbox for Co-op STK callbacks and IPNs ({@code payment_callback_inbox}, V119).
+ *
+ * <p>The callback endpoints only {@link #accept} the raw body — one insert — and
+ * acknowledge Co-op straight away, so acknowledgement time does not depend on
+ * how long crediting and GL posting take. {@code PaymentCallbackInboxJob}
+ * {@link #claim claims} and processes the rows.
+ *
+ * <p>Rows with the same ordering key (the payer's phone) are processed one at
+ * a time in arrival order; claiming, retry and leases are {@link LeasedQueue}'s.
+ */
+@Slf4j
+@Service
+public class PaymentCallbackInbox {
+
+    public enum Source { STK_CALLBACK, IPN }
+
+    /** A claimed row. {@code attempts} includes the current one. */
+    public record Entry(UUID id, Source source, String payload, int attempts, OffsetDateTime receivedAt) {}
+
+    private static final String INSERT_SQL = """
+        INSERT INTO payment_callback_inbox (source, dedup_key, ordering_key, payload)
+        VALUES (?, ?, ?, ?)
+        ON CONFLICT (source, dedup_key) WHERE dedup_key IS NOT NULL DO NOTHING
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final LeasedQueue queue;
+
+    public PaymentCallbackInbox(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc         = jdbc;
+        this.objectMapper = objectMapper;
+        this.queue = new LeasedQueue(jdbc, "payment_callback_inbox", "received_at", "processed_at",
+                "id", "source", "payload", "attempts", "received_at");
+    }
+
+    /**
+     * Stores a callback for processing. A redelivery of a callback already
+     * stored is ignored.
+     *
+     * @return false if this callback was already in the inbox
+     */
+    public boolean accept(Source source, String rawBody) {
+        JsonNode json = readQuietly(rawBody);
+        String dedupKey = switch (source) {
+            case STK_CALLBACK -> text(json, "MessageReference");
+            case IPN          -> text(json, "TransactionId");
+        };
+        String orderingKey = orderingKey(source, json, dedupKey);
+
+        return jdbc.update(INSERT_SQL, source.name(), truncate(dedupKey, 120), orderingKey, rawBody) > 0;
+    }
+
+    /** Leases up to {@code max} rows that are due, at most one per ordering key. */
+    public List<Entry> claim(int max) {
+        return queue.claim(max,
+                (rs, i) -> new Entry(
+                        rs.getObject("id", UUID.class),
+                        Source.valueOf(rs.getString("source")),
+                        rs.getString("payload"),
+                        rs.getInt("attempts"),
+                        rs.getObject("received_at", OffsetDateTime.class)));
+    }
+
+    public void markDone(UUID id) {
+        queue.markDone(id);
+    }
+
+    /** Schedules another attempt, or parks the row as FAILED once attempts run out. */
+    public void markFailed(Entry entry, String error) {
+        if (queue.markFailed(entry.id(), entry.attempts(), error)) {
+            log.error("PaymentCallbackInbox: {} {} failed {} times — parked as FAILED: {}",
+                    entry.source(), entry.id(), entry.attempts(), error);
+        }
+    }
+
+    /** Deletes processed rows older than {@code retention}. FAILED rows are kept. */
+    public int purgeProcessed(Duration retention) {
+        return queue.purgeDone(retention);
+    }
+
+    /**
+     * The payer's phone in E.164 form: MobileNumber on STK callbacks, the third
+     * "~" segment of the IPN narration. Falls back to the dedup key, then to a
+     * shared key for bodies that could not be read.
+     */
+    private static String orderingKey(Source source, JsonNode json, String dedupKey) {
+        String phone = switch (source) {
+            case STK_CALLBACK -> text(json, "MobileNumber");
+            case IPN -> {
+                String narration = text(json, "Narration");
+                String[] parts = narration != null ? narration.split("~") : new String[0];
+                yield parts.length >= 3 ? parts[2].trim() : null;
+            }
+        };
+        String e164 = PhoneNumbers.toE164(phone);
+        if (e164 != null) return e164;
+        if (dedupKey != null) return truncate(source.name() + ":" + dedupKey, 64);
+        return source.name() + ":unreadable";
+    }
+
+    private JsonNode readQuietly(String rawBody) {
+        try {
+            return objectMapper.readTree(rawBody);
+        } catch (Exception e) {
+            log.warn("PaymentCallbackInbox: storing unreadable callback body as-is — {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String text(JsonNode json, String field) {
+        if (json == null || !json.hasNonNull(field)) return null;
+        String value = json.get(field).asText().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
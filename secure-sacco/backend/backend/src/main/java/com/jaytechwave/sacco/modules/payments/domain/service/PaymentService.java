@@ -37,6 +37,7 @@ public class PaymentService {
     private final CoopEventNormalizer       coopEventNormalizer;
     private final JournalEntryService       journalEntryService;
     private final PhoneNameCacheService     phoneNameCacheService;
+    private final StkStatusCheckScheduler   stkStatusCheckScheduler;
 
     // ── STK Push initiation ───────────────────────────────────────────────────
 
@@ -79,6 +80,7 @@ public class PaymentService {
                 .build();
 
         paymentRepository.save(payment);
+        stkStatusCheckScheduler.schedule(payment.getId());
 
         securityAuditService.logEvent(
                 "STK_PUSH_INITIATED",
@@ -100,7 +102,8 @@ public class PaymentService {
         Optional<CoopTransaction> coopTxOpt = coopEventNormalizer.normalizeStkCallback(callback, rawJson);
         String messageRef = callback.getMessageReference();
 
-        Optional<Payment> paymentOpt = paymentRepository.findByInternalRef(messageRef);
+        // Locked: the scheduled status check may be settling the same payment
+        Optional<Payment> paymentOpt = paymentRepository.findByInternalRefForUpdate(messageRef);
         if (paymentOpt.isEmpty()) {
             log.warn("STK Callback: no payment found for MessageReference={}. " +
                     "Co-op may be routing this through the IPN instead.", messageRef);
@@ -108,6 +111,8 @@ public class PaymentService {
         }
 
         Payment payment = paymentOpt.get();
+        // The callback settles the payment (or it already was), so its status check is no longer needed
+        stkStatusCheckScheduler.cancel(payment.getId());
         if (payment.getStatus() == PaymentStatus.COMPLETED
                 || payment.getStatus() == PaymentStatus.FAILED) {
             log.info("Payment {} already in terminal state. Skipping.", messageRef);
@@ -1,14 +1,32 @@
 package com.jaytechwave.sacco.modules.payments.domain.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupChangedEvent;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashListener;
+import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
+import com.jaytechwave.sacco.modules.core.util.PhoneNumbers;
+import com.jaytechwave.sacco.modules.members.domain.entity.Member;
+import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
 import com.jaytechwave.sacco.modules.payments.domain.entity.PhoneNameCache;
 import com.jaytechwave.sacco.modules.payments.domain.repository.PhoneNameCacheRepository;
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -16,11 +34,34 @@ import java.util.Optional;
 public class PhoneNameCacheService {
 
     private final PhoneNameCacheRepository phoneNameCacheRepository;
+    private final UserRepository userRepository;
+    private final MemberRepository memberRepository;
+    private final PhoneLookupHashListener phoneLookupHashListener;
+    private final PiiSearchHashConverter piiSearchHashConverter;
     
     private static final int MAX_CONFIDENCE = 5;
     private static final int TRUST_THRESHOLD = 2;
     private static final int EXPIRY_DAYS = 90;
 
+    /** A phone number resolved to a member; {@code viaUser} is false for the Member-table fallback. */
+    public record MemberMatch(UUID memberId, String name, boolean viaUser) {}
+
+    // Cached numbers per member, so a member write evicts its hits without scanning them all.
+    // Kept in step by memberHits' removal listener, which runs on the removing thread.
+    private final ConcurrentHashMap<UUID, Set<String>> hitKeysByMember = new ConcurrentHashMap<>();
+
+    // Resolved members per E.164 number. Writes on this node evict through
+    // onPhoneLookupChanged; the TTL bounds how long other nodes serve a stale match.
+    // Misses expire quickly so a member registered moments after their first
+    // payment is matched on the next one.
+    private final Cache<String, MemberMatch> memberHits = Caffeine.newBuilder()
+            .maximumSize(50_000).expireAfterWrite(Duration.ofMinutes(5))
+            .executor(Runnable::run)
+            .removalListener(this::unindexHit)
+            .build();
+    private final Cache<String, Boolean> memberMisses = Caffeine.newBuilder()
+            .maximumSize(50_000).expireAfterWrite(Duration.ofMinutes(2)).build();
+
     @Transactional
     public void updateCache(String phoneNumber, String senderName) {
         if (phoneNumber == null || phoneNumber.isBlank() || senderName == null || senderName.isBlank()) {
@@ -99,4 +140,94 @@ public class PhoneNameCacheService {
         log.debug("PhoneNameCache: Name found for {} but confidence ({}) is below threshold.", phoneNumber, cache.getConfidence());
         return Optional.empty();
     }
+
+    /**
+     * The member who owns {@code rawPhone}, in any format, with one indexed
+     * lookup on {@code phone_e164_hash}: the member-linked user first, then the
+     * member record itself. Numbers with no E.164 form fall back to the
+     * as-typed hash. Hits and misses are cached per number.
+     */
+    @Transactional(readOnly = true)
+    public Optional<MemberMatch> resolveMember(String rawPhone) {
+        if (rawPhone == null || rawPhone.isBlank()) return Optional.empty();
+        String e164 = PhoneNumbers.toE164(rawPhone);
+        String key = e164 != null ? e164 : rawPhone.trim();
+
+        MemberMatch cached = memberHits.getIfPresent(key);
+        if (cached != null) return Optional.of(cached);
+        if (memberMisses.getIfPresent(key) != null) return Optional.empty();
+
+        Optional<MemberMatch> match = e164 != null ? findByE164(e164) : findAsTyped(rawPhone.trim());
+        if (match.isPresent()) {
+            hitKeysByMember.computeIfAbsent(match.get().memberId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+            memberHits.put(key, match.get());
+        } else {
+            memberMisses.put(key, Boolean.TRUE);
+        }
+        return match;
+    }
+
+    /** Forgets cached misses, e.g. before re-matching old transactions after members were added. */
+    public void evictMemberMisses() {
+        memberMisses.invalidateAll();
+    }
+
+    /**
+     * Drops the cached result for the written entity's number, and any cached
+     * match for its member (which covers a number that was just changed away from).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPhoneLookupChanged(PhoneLookupChangedEvent event) {
+        if (event.phoneE164() != null) {
+            memberHits.invalidate(event.phoneE164());
+            memberMisses.invalidate(event.phoneE164());
+        }
+        if (event.memberId() != null) {
+            Set<String> keys = hitKeysByMember.remove(event.memberId());
+            if (keys != null) {
+                memberHits.invalidateAll(keys);
+            }
+        }
+    }
+
+    private void unindexHit(String key, MemberMatch match, RemovalCause cause) {
+        // The put that replaced an entry has already indexed its key
+        if (key == null || match == null || cause == RemovalCause.REPLACED) return;
+        hitKeysByMember.computeIfPresent(match.memberId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private Optional<MemberMatch> findByE164(String e164) {
+        String hash = phoneLookupHashListener.hash(e164);
+        return userRepository.findFirstByPhoneE164HashAndMemberIdIsNotNull(hash)
+                .map(PhoneNameCacheService::userMatch)
+                .or(() -> memberRepository.findFirstByPhoneE164Hash(hash)
+                        .map(PhoneNameCacheService::memberMatch));
+    }
+
+    /**
+     * Numbers with no E.164 form (too short or too long) have no lookup hash;
+     * match them against {@code phone_number_hash} as typed and as bare digits.
+     */
+    private Optional<MemberMatch> findAsTyped(String phone) {
+        String digits = phone.replaceAll("[^0-9]", "");
+        List<String> hashes = piiSearchHashConverter.hashAll(
+                digits.isEmpty() || digits.equals(phone) ? List.of(phone) : List.of(phone, digits));
+        return userRepository.findAllByPhoneNumberHashInAndMemberIdIsNotNull(hashes).stream()
+                .findFirst()
+                .map(PhoneNameCacheService::userMatch)
+                .or(() -> memberRepository.findAllByPhoneNumberHashIn(hashes).stream()
+                        .findFirst()
+                        .map(PhoneNameCacheService::memberMatch));
+    }
+
+    private static MemberMatch userMatch(User user) {
+        return new MemberMatch(user.getMember().getId(), user.getFirstName() + " " + user.getLastName(), true);
+    }
+
+    private static MemberMatch memberMatch(Member member) {
+        return new MemberMatch(member.getId(), member.getFirstName() + " " + member.getLastName(), false);
+    }
 }
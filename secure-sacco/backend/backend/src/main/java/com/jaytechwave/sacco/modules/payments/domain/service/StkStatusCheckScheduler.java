@@ -0,0 +1,120 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-payment delayed status checks for pending STK pushes.
+ *
+ * <p>Each pending payment sits in a Redis sorted set scored by the epoch millis
+ * of its next check, so the poller only ever touches payments that are due.
+ * The first check waits {@link #FIRST_CHECK_DELAY} for the STK callback; later
+ * ones back off exponentially from {@link #BASE_RETRY_DELAY} to
+ * {@link #MAX_RETRY_DELAY}, with a final check at {@link #PAYMENT_EXPIRY}. A
+ * callback that arrives first {@link #cancel cancels} the check.
+ *
+ * <p>{@link #claimDue} leases due entries by pushing their score out by
+ * {@link #CLAIM_LEASE}, so two nodes never check the same payment at once and a
+ * node that dies mid-check only delays it. Leases are timed by Redis's clock,
+ * not the claiming node's. Redis errors are logged and
+ * swallowed: {@code PendingPaymentPollingJob} re-enqueues any pending payment
+ * missing from the set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StkStatusCheckScheduler {
+
+    public static final Duration FIRST_CHECK_DELAY = Duration.ofMinutes(1);
+    public static final Duration BASE_RETRY_DELAY  = Duration.ofSeconds(10);
+    public static final Duration MAX_RETRY_DELAY   = Duration.ofMinutes(2);
+    public static final Duration PAYMENT_EXPIRY    = Duration.ofMinutes(10);
+    public static final Duration CLAIM_LEASE       = Duration.ofMinutes(1);
+
+    static final String DUE_KEY      = "sacco:payments:stk-checks";
+    static final String ATTEMPTS_KEY = "sacco:payments:stk-check-attempts";
+
+    /**
+     * KEYS[1] = due set; ARGV = max entries, lease ms.
+     * Returns the ids due now and re-scores them to the lease end. "Now" is
+     * Redis's clock, so every node agrees on when a lease runs out.
+     */
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = t[1] * 1000 + math.floor(t[2] / 1000)
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, tonumber(ARGV[1]))
+            local leaseUntil = now + tonumber(ARGV[2])
+            for _, id in ipairs(due) do
+                redis.call('ZADD', KEYS[1], leaseUntil, id)
+            end
+            return due
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+
+    /** Queues the first check for a payment that was just initiated. */
+    public void schedule(UUID paymentId) {
+        try {
+            redis.opsForHash().delete(ATTEMPTS_KEY, paymentId.toString());
+            redis.opsForZSet().add(DUE_KEY, paymentId.toString(), dueAt(FIRST_CHECK_DELAY));
+        } catch (Exception e) {
+            log.warn("StkStatusCheckScheduler: could not schedule payment {} — {}", paymentId, e.getMessage());
+        }
+    }
+
+    /** Queues a payment found pending but missing from the set (restart, Redis data loss). */
+    public void scheduleIfAbsent(UUID paymentId, ZonedDateTime createdAt) {
+        long firstCheck = createdAt.plus(FIRST_CHECK_DELAY).toInstant().toEpochMilli();
+        redis.opsForZSet().addIfAbsent(DUE_KEY, paymentId.toString(),
+                Math.max(firstCheck, System.currentTimeMillis()));
+    }
+
+    /** Queues the next check after an inconclusive one, never later than the payment's expiry. */
+    public void reschedule(UUID paymentId, ZonedDateTime createdAt) {
+        try {
+            long attempt = redis.opsForHash().increment(ATTEMPTS_KEY, paymentId.toString(), 1);
+            long expiresAt = createdAt.plus(PAYMENT_EXPIRY).toInstant().toEpochMilli();
+            redis.opsForZSet().add(DUE_KEY, paymentId.toString(),
+                    Math.min(dueAt(backoff(attempt)), expiresAt));
+        } catch (Exception e) {
+            log.warn("StkStatusCheckScheduler: could not reschedule payment {} — {}", paymentId, e.getMessage());
+        }
+    }
+
+    /** Drops any pending check, e.g. once the STK callback has settled the payment. */
+    public void cancel(UUID paymentId) {
+        try {
+            redis.opsForZSet().remove(DUE_KEY, paymentId.toString());
+            redis.opsForHash().delete(ATTEMPTS_KEY, paymentId.toString());
+        } catch (Exception e) {
+            log.warn("StkStatusCheckScheduler: could not cancel check for payment {} — {}", paymentId, e.getMessage());
+        }
+    }
+
+    /** Leases up to {@code max} payments whose check is due. */
+    @SuppressWarnings("unchecked")
+    public List<UUID> claimDue(int max) {
+        List<String> ids = redis.execute(CLAIM_SCRIPT, List.of(DUE_KEY),
+                String.valueOf(max), String.valueOf(CLAIM_LEASE.toMillis()));
+        return ids == null ? List.of() : ids.stream().map(UUID::fromString).toList();
+    }
+
+    static Duration backoff(long attempt) {
+        long factor = 1L << Math.min(attempt - 1, 10);
+        Duration delay = BASE_RETRY_DELAY.multipliedBy(factor);
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    private static long dueAt(Duration delay) {
+        return System.currentTimeMillis() + delay.toMillis();
+    }
+}
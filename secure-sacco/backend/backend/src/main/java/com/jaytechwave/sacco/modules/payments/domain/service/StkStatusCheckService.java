@@ -0,0 +1,153 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.TransactionStatusResponse;
+import com.jaytechwave.sacco.modules.payments.domain.entity.Payment;
+import com.jaytechwave.sacco.modules.payments.domain.entity.PaymentStatus;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentFailedEvent;
+import com.jaytechwave.sacco.modules.payments.domain.repository.PaymentRepository;
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Applies the outcome of a Co-op Transaction Status check to a pending STK push.
+ *
+ * Each method is its own short transaction on a row-locked payment, so the
+ * status HTTP call in {@code PendingPaymentPollingJob} never holds a DB
+ * transaction open, and a payment the STK callback settled meanwhile is left alone.
+ *
+ * On confirmation:
+ * - transactionRef is set to the M-Pesa receipt (e.g. UETA45S0OJ) from Co-op's
+ * TransactionID
+ * - senderName is set to the SACCO member's full name (account holder), not the
+ * M-Pesa phone owner
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StkStatusCheckService {
+
+    private final PaymentRepository paymentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserRepository userRepository;
+
+    /**
+     * Settles the payment if {@code status} is conclusive.
+     *
+     * @return true if the payment is no longer pending (settled now or earlier),
+     *         false if Co-op reports it still in progress
+     */
+    @Transactional
+    public boolean applyStatus(UUID paymentId, TransactionStatusResponse status) {
+        Optional<Payment> locked = paymentRepository.findByIdForUpdate(paymentId);
+        if (locked.isEmpty() || locked.get().getStatus() != PaymentStatus.PENDING) {
+            return true;
+        }
+        Payment payment = locked.get();
+
+        log.info("StkStatusCheckService: ref={} → MessageCode={} Desc={} TxId={}",
+                payment.getInternalRef(), status.getMessageCode(),
+                status.getMessageDescription(), status.getTransactionId());
+
+        // MessageCode "0" = transaction completed successfully
+        if ("0".equals(status.getMessageCode())) {
+
+            // Set the real M-Pesa receipt number on BOTH transactionRef and mpesaRef.
+            // mpesaRef is what processCoopIpn checks via existsByMpesaRef() to avoid
+            // double-crediting when the Co-op IPN arrives for this same transaction.
+            String mpesaRef = status.getTransactionId();
+            payment.setTransactionRef(mpesaRef);
+            payment.setMpesaRef(mpesaRef);
+
+            // Set sender name = the SACCO member's full name (account holder)
+            // NOT the M-Pesa phone owner — one can pay using someone else's phone
+            if (payment.getMemberId() != null) {
+                Optional<User> memberUser = userRepository.findByMemberId(payment.getMemberId());
+                memberUser.ifPresent(user -> payment.setSenderName(user.getFirstName() + " " + user.getLastName()));
+            }
+
+            payment.setStatus(PaymentStatus.COMPLETED);
+            payment.setProviderMetadata(
+                    "{\"source\":\"poll\",\"messageCode\":\"0\",\"transactionId\":\"" + mpesaRef + "\"}");
+            paymentRepository.save(payment);
+
+            log.info("StkStatusCheckService: ✅ COMPLETED ref={} mpesaRef={} member={}",
+                    payment.getInternalRef(), mpesaRef, payment.getSenderName());
+
+            if (payment.getMemberId() != null) {
+                eventPublisher.publishEvent(new PaymentCompletedEvent(
+                        payment.getId(),
+                        payment.getMemberId(),
+                        payment.getAmount(),
+                        payment.getAccountReference(),
+                        mpesaRef != null ? mpesaRef : payment.getInternalRef()));
+            }
+            return true;
+        }
+
+        if (isFailureCode(status.getMessageCode())) {
+            payment.setStatus(PaymentStatus.FAILED);
+            payment.setFailureReason(status.getMessageDescription());
+            paymentRepository.save(payment);
+
+            log.warn("StkStatusCheckService: ❌ FAILED ref={} reason={}",
+                    payment.getInternalRef(), status.getMessageDescription());
+
+            if (payment.getMemberId() != null) {
+                eventPublisher.publishEvent(new PaymentFailedEvent(
+                        payment.getId(), payment.getMemberId(), payment.getAmount(),
+                        payment.getAccountReference(), status.getMessageDescription()));
+            }
+            return true;
+        }
+
+        // Any other code = still processing — leave PENDING for the next check
+        return false;
+    }
+
+    /** Fails a payment that got no confirmation within {@link StkStatusCheckScheduler#PAYMENT_EXPIRY}. */
+    @Transactional
+    public void expire(UUID paymentId) {
+        Optional<Payment> locked = paymentRepository.findByIdForUpdate(paymentId);
+        if (locked.isEmpty() || locked.get().getStatus() != PaymentStatus.PENDING) {
+            return;
+        }
+        Payment payment = locked.get();
+
+        payment.setStatus(PaymentStatus.FAILED);
+        payment.setFailureReason("Payment expired — no confirmation received within 10 minutes");
+        paymentRepository.save(payment);
+        log.warn("StkStatusCheckService: payment ref={} expired", payment.getInternalRef());
+
+        if (payment.getMemberId() != null) {
+            eventPublisher.publishEvent(new PaymentFailedEvent(
+                    payment.getId(), payment.getMemberId(), payment.getAmount(),
+                    payment.getAccountReference(), "Payment expired"));
+        }
+    }
+
+    /**
+     * Co-op STK failure codes:
+     * 1032 = Request cancelled by user
+     * 1037 = DS timeout user cannot be reached
+     * 2001 = Wrong PIN
+     * 1019 = Transaction expired
+     * 1001 = Insufficient funds
+     */
+    private boolean isFailureCode(String code) {
+        if (code == null)
+            return false;
+        return switch (code) {
+            case "1032", "1037", "2001", "1019", "1001" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.jaytechwave.sacco.modules.payments.infrastructure;
+
+import com.jaytechwave.sacco.modules.payments.config.CoopConnectProperties;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation.Bulkhead;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkheads and latency metrics for Co-op Connect calls.
+ *
+ * <p>Each {@link Bulkhead} has its own permit pool, so slow statement queries
+ * or a backlog of status checks cannot tie up the capacity STK pushes need.
+ * A call that cannot get a permit within {@code acquire-timeout} fails fast
+ * rather than queueing behind a struggling Co-op.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code sacco.coop.request} — timer with a percentile histogram, tagged
+ *       {@code operation} and {@code outcome}</li>
+ *   <li>{@code sacco.coop.bulkhead.in_flight} — gauge per bulkhead</li>
+ *   <li>{@code sacco.coop.bulkhead.rejected} — counter per bulkhead</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class CoopCallGuard {
+
+    private final Map<Bulkhead, Semaphore> permits = new EnumMap<>(Bulkhead.class);
+    private final Map<Bulkhead, Counter> rejected = new EnumMap<>(Bulkhead.class);
+    private final long acquireTimeoutMs;
+    private final MeterRegistry meterRegistry;
+
+    public CoopCallGuard(CoopConnectProperties props, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.acquireTimeoutMs = props.getHttp().getAcquireTimeout().toMillis();
+
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            int limit = props.getHttp().limit(bulkhead).getMaxConcurrent();
+            Semaphore semaphore = new Semaphore(limit);
+            permits.put(bulkhead, semaphore);
+
+            String tag = bulkhead.name().toLowerCase();
+            Gauge.builder("sacco.coop.bulkhead.in_flight", semaphore, s -> limit - s.availablePermits())
+                    .tag("bulkhead", tag)
+                    .register(meterRegistry);
+            rejected.put(bulkhead, Counter.builder("sacco.coop.bulkhead.rejected")
+                    .tag("bulkhead", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs {@code call} inside {@code op}'s bulkhead and records its latency.
+     *
+     * @throws RuntimeException if no permit frees up within the acquire timeout
+     */
+    public <T> T call(CoopOperation op, Supplier<T> call) {
+        Semaphore semaphore = permits.get(op.bulkhead());
+        if (!tryAcquire(semaphore)) {
+            rejected.get(op.bulkhead()).increment();
+            log.warn("Co-op Connect: {} bulkhead full — rejecting {}", op.bulkhead(), op);
+            throw new RuntimeException("Co-op Connect is busy. Please try again shortly.");
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (HttpClientErrorException e) {
+            outcome = "client_error";
+            throw e;
+        } catch (HttpServerErrorException e) {
+            outcome = "server_error";
+            throw e;
+        } catch (ResourceAccessException e) {
+            outcome = "io_error";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            semaphore.release();
+            sample.stop(Timer.builder("sacco.coop.request")
+                    .tag("operation", op.name().toLowerCase())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private boolean tryAcquire(Semaphore semaphore) {
+        try {
+            return semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jaytechwave.sacco.modules.payments.infrastructure;
+
+/**
+ * Co-op Connect endpoints we call, each assigned to the {@link Bulkhead} that
+ * caps how many of its calls may be in flight at once.
+ */
+public enum CoopOperation {
+
+    TOKEN("/token", Bulkhead.TOKEN),
+    STK_PUSH("/FT/stk/1.0.0", Bulkhead.STK),
+    STK_STATUS("/Enquiry/STK/1.0.0/", Bulkhead.STATUS),
+    ACCOUNT_BALANCE("/Enquiry/AccountBalance_v2/2.0.0/", Bulkhead.STATEMENT),
+    MINI_STATEMENT("/Enquiry/MiniStatement/Account_v2/2.0.0/", Bulkhead.STATEMENT),
+    ACCOUNT_TRANSACTIONS("/Enquiry/AccountTransaction/Account_v2/2.0.0/", Bulkhead.STATEMENT);
+
+    /**
+     * Isolation groups. A burst of slow statement queries cannot starve STK
+     * pushes, and the status poller cannot starve either.
+     */
+    public enum Bulkhead { TOKEN, STK, STATUS, STATEMENT }
+
+    private final String path;
+    private final Bulkhead bulkhead;
+
+    CoopOperation(String path, Bulkhead bulkhead) {
+        this.path = path;
+        this.bulkhead = bulkhead;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * The operation whose endpoint is {@code path}, or null for an unknown path.
+     * A trailing slash is ignored: some endpoints are registered with one and
+     * some without.
+     */
+    public static CoopOperation forPath(String path) {
+        if (path == null) return null;
+        String wanted = stripTrailingSlash(path);
+        for (CoopOperation op : values()) {
+            if (stripTrailingSlash(op.path).equals(wanted)) return op;
+        }
+        return null;
+    }
+
+    private static String stripTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
@@ -0,0 +1,153 @@
+package com.jaytechwave.sacco.modules.payments.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.CoopIpnPayload;
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.StkCallbackPayload;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox.Entry;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes Co-op callbacks stored by {@link PaymentCallbackInbox}.
+ *
+ * Each tick claims a batch — at most one row per payer, so rows in a batch are
+ * independent — and runs it on a small worker pool. Each row goes through the
+ * same {@link PaymentService} handler the endpoints used to call inline;
+ * both handlers are idempotent, so a retried or re-leased row is safe.
+ *
+ * Ticks run on the job's own thread rather than the shared {@code @Scheduled}
+ * thread: Co-op is acknowledged before processing, so any wait behind other
+ * jobs would be invisible to Co-op and show up only as processing lag.
+ *
+ * Metrics:
+ * - {@code sacco.payments.callback.lag} — receipt-to-processed time, tagged {@code source}
+ */
+@Slf4j
+@Component
+public class PaymentCallbackInboxJob {
+
+    private static final Duration DONE_RETENTION = Duration.ofDays(14);
+
+    private final PaymentCallbackInbox inbox;
+    private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService ticker;
+    private final int batchSize;
+    private final long tickMs;
+
+    public PaymentCallbackInboxJob(PaymentCallbackInbox inbox,
+                                   PaymentService paymentService,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${sacco.payments.callback-inbox.workers:4}") int workerCount,
+                                   @Value("${sacco.payments.callback-inbox.tick-ms:500}") long tickMs) {
+        this.inbox          = inbox;
+        this.paymentService = paymentService;
+        this.objectMapper   = objectMapper;
+        this.meterRegistry  = meterRegistry;
+        this.batchSize      = workerCount * 4;
+        this.tickMs         = tickMs;
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                new CustomizableThreadFactory("payment-callback-"));
+        this.ticker  = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("payment-callback-tick-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdown();
+        workers.shutdown();
+    }
+
+    private void tick() {
+        try {
+            processInbox();
+        } catch (RuntimeException e) {
+            // An exception escaping would cancel the fixed-delay schedule
+            log.warn("PaymentCallbackInboxJob: tick failed — {}", e.getMessage());
+        }
+    }
+
+    public void processInbox() {
+        List<Entry> claimed;
+        try {
+            claimed = inbox.claim(batchSize);
+        } catch (Exception e) {
+            log.warn("PaymentCallbackInboxJob: could not claim callbacks — {}", e.getMessage());
+            return;
+        }
+        if (claimed.isEmpty()) return;
+
+        CompletableFuture.allOf(claimed.stream()
+                .map(entry -> CompletableFuture.runAsync(() -> processSafely(entry), workers))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Africa/Nairobi")
+    public void purgeProcessed() {
+        int purged = inbox.purgeProcessed(DONE_RETENTION);
+        if (purged > 0) {
+            log.info("PaymentCallbackInboxJob: purged {} processed callback(s)", purged);
+        }
+    }
+
+    private void processSafely(Entry entry) {
+        try {
+            process(entry);
+            inbox.markDone(entry.id());
+            if (entry.receivedAt() != null) {
+                Timer.builder("sacco.payments.callback.lag")
+                        .tag("source", entry.source().name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(Duration.between(entry.receivedAt(), OffsetDateTime.now()));
+            }
+        } catch (Exception e) {
+            log.warn("PaymentCallbackInboxJob: {} {} attempt {} failed — {}",
+                    entry.source(), entry.id(), entry.attempts(), e.getMessage());
+            try {
+                inbox.markFailed(entry, e.getMessage());
+            } catch (Exception markError) {
+                // Lease expiry will hand the row out again
+                log.warn("PaymentCallbackInboxJob: could not record failure for {} — {}",
+                        entry.id(), markError.getMessage());
+            }
+        }
+    }
+
+    private void process(Entry entry) throws Exception {
+        switch (entry.source()) {
+            case STK_CALLBACK -> paymentService.processStkCallback(entry.payload(),
+                    objectMapper.readValue(entry.payload(), StkCallbackPayload.class));
+            case IPN -> paymentService.processCoopIpn(entry.payload(),
+                    objectMapper.readValue(entry.payload(), CoopIpnPayload.class));
+        }
+    }
+}
@@ -1,175 +1,175 @@
 package com.jaytechwave.sacco.modules.payments.job;
 
 import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.TransactionStatusResponse;
+import com.jaytechwave.sacco.modules.payments.config.CoopConnectProperties;
 import com.jaytechwave.sacco.modules.payments.domain.entity.Payment;
 import com.jaytechwave.sacco.modules.payments.domain.entity.PaymentStatus;
-import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
-import com.jaytechwave.sacco.modules.payments.domain.event.PaymentFailedEvent;
 import com.jaytechwave.sacco.modules.payments.domain.repository.PaymentRepository;
 import com.jaytechwave.sacco.modules.payments.domain.service.CoopConnectService;
-import com.jaytechwave.sacco.modules.users.domain.entity.User;
-import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.jaytechwave.sacco.modules.payments.domain.service.StkStatusCheckScheduler;
+import com.jaytechwave.sacco.modules.payments.domain.service.StkStatusCheckService;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation.Bulkhead;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Polls Co-op Connect Transaction Status API every 10 seconds for PENDING STK
- * push payments.
+ * Confirms PENDING STK push payments through the Co-op Connect Transaction
+ * Status API.
  *
  * Co-op Bank advised using the Transaction Status enquiry API to confirm
- * payment
- * rather than relying solely on the STK callback/IPN delivery.
+ * payment rather than relying solely on the STK callback/IPN delivery.
  *
- * 
- * On confirmation:
- * - transactionRef is set to the M-Pesa receipt (e.g. UETA45S0OJ) from Co-op's
- * TransactionID
- * - senderName is set to the SACCO member's full name (account holder), not the
- * M-Pesa phone owner
+ * Checks are scheduled per payment by {@link StkStatusCheckScheduler}: each
+ * tick claims only the payments whose next check is due, calls Co-op with no
+ * DB transaction open, and hands the result to {@link StkStatusCheckService}.
+ * Inconclusive checks back off; the STK callback cancels the check.
+ *
+ * The checks claimed in one tick are independent, so they run in parallel on a
+ * small pool sized to the Co-op status bulkhead; a slow Co-op response holds
+ * up one payment, not the whole batch. The tick hands the checks to the pool
+ * and returns without waiting for Co-op, so it never holds the shared
+ * {@code @Scheduled} thread. It claims only as many checks as fit under
+ * {@link #CLAIM_BATCH} in flight, so claimed checks do not queue up behind
+ * slow ones until their lease runs out.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class PendingPaymentPollingJob {
 
+    private static final int      CLAIM_BATCH    = 20;
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(15);
+
     private final PaymentRepository paymentRepository;
     private final CoopConnectService coopConnectService;
-    private final ApplicationEventPublisher eventPublisher;
-    private final UserRepository userRepository;
+    private final StkStatusCheckScheduler checkScheduler;
+    private final StkStatusCheckService statusCheckService;
+    private final ExecutorService checkPool;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public PendingPaymentPollingJob(PaymentRepository paymentRepository,
+                                    CoopConnectService coopConnectService,
+                                    StkStatusCheckScheduler checkScheduler,
+                                    StkStatusCheckService statusCheckService,
+                                    CoopConnectProperties coopProps) {
+        this.paymentRepository  = paymentRepository;
+        this.coopConnectService = coopConnectService;
+        this.checkScheduler     = checkScheduler;
+        this.statusCheckService = statusCheckService;
+        this.checkPool = Executors.newFixedThreadPool(
+                coopProps.getHttp().limit(Bulkhead.STATUS).getMaxConcurrent(),
+                new CustomizableThreadFactory("stk-status-check-"));
+    }
+
+    /** Lets checks already handed to Co-op finish, so their results are applied. */
+    @PreDestroy
+    void shutdown() {
+        checkPool.shutdown();
+        try {
+            if (!checkPool.awaitTermination(SHUTDOWN_GRACE.toSeconds(), TimeUnit.SECONDS)) {
+                log.warn("PendingPaymentPollingJob: STK checks still running at shutdown; their leases will expire");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-    // Poll every 10 seconds
-    @Scheduled(fixedDelay = 10_000)
-    @Transactional
-    public void pollPendingPayments() {
-        List<Payment> pending = paymentRepository.findByStatusAndPaymentType(
-                PaymentStatus.PENDING, "STK_PUSH");
+    @Scheduled(fixedDelayString = "${sacco.payments.stk-check.tick-ms:1000}")
+    public void checkDuePayments() {
+        int capacity = CLAIM_BATCH - inFlight.get();
+        if (capacity <= 0) return;
 
-        if (pending.isEmpty())
+        List<UUID> due;
+        try {
+            due = checkScheduler.claimDue(capacity);
+        } catch (Exception e) {
+            log.warn("PendingPaymentPollingJob: could not read the STK check queue — {}", e.getMessage());
             return;
+        }
 
-        log.info("PendingPaymentPollingJob: checking {} PENDING STK payment(s)", pending.size());
-
-        for (Payment payment : pending) {
+        for (UUID paymentId : due) {
+            inFlight.incrementAndGet();
             try {
-                processSinglePayment(payment);
-            } catch (Exception e) {
-                log.warn("PendingPaymentPollingJob: error checking payment ref={} — {}",
-                        payment.getInternalRef(), e.getMessage());
+                checkPool.execute(() -> {
+                    try {
+                        checkSafely(paymentId);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the claim lease hands the check out again
+                inFlight.decrementAndGet();
             }
         }
     }
 
-    private void processSinglePayment(Payment payment) {
-        if (payment.getCreatedAt() == null) {
-            return;
+    /**
+     * Safety net for payments missing from the check queue: initiated while Redis
+     * was down, or queued on a Redis instance that lost its data.
+     */
+    @Scheduled(fixedDelayString = "${sacco.payments.stk-check.reconcile-ms:300000}", initialDelay = 30_000)
+    public void enqueueUntrackedPending() {
+        List<Payment> pending = paymentRepository.findByStatusAndPaymentType(PaymentStatus.PENDING, "STK_PUSH");
+        try {
+            for (Payment payment : pending) {
+                if (payment.getCreatedAt() != null) {
+                    checkScheduler.scheduleIfAbsent(payment.getId(), payment.getCreatedAt());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("PendingPaymentPollingJob: could not re-enqueue pending STK payments — {}", e.getMessage());
         }
+    }
 
-        // Delay polling for 1 minute to give the STK callback (which contains the real M-Pesa receipt) time to arrive first.
-        if (payment.getCreatedAt().isAfter(ZonedDateTime.now().minusMinutes(1))) {
+    private void checkSafely(UUID paymentId) {
+        try {
+            checkPayment(paymentId);
+        } catch (Exception e) {
+            log.warn("PendingPaymentPollingJob: error checking payment id={} — {}", paymentId, e.getMessage());
+            paymentRepository.findById(paymentId)
+                    .ifPresent(p -> checkScheduler.reschedule(paymentId, p.getCreatedAt()));
+        }
+    }
+
+    private void checkPayment(UUID paymentId) {
+        Optional<Payment> found = paymentRepository.findById(paymentId);
+        if (found.isEmpty() || found.get().getStatus() != PaymentStatus.PENDING
+                || found.get().getCreatedAt() == null) {
+            checkScheduler.cancel(paymentId);
             return;
         }
+        Payment payment = found.get();
 
-        // Expire payments older than 10 minutes
-        if (payment.getCreatedAt().isBefore(ZonedDateTime.now().minusMinutes(10))) {
-            payment.setStatus(PaymentStatus.FAILED);
-            payment.setFailureReason("Payment expired — no confirmation received within 10 minutes");
-            paymentRepository.save(payment);
-            log.warn("PendingPaymentPollingJob: payment ref={} expired", payment.getInternalRef());
-
-            if (payment.getMemberId() != null) {
-                eventPublisher.publishEvent(new PaymentFailedEvent(
-                        payment.getId(), payment.getMemberId(), payment.getAmount(),
-                        payment.getAccountReference(), "Payment expired"));
-            }
+        // Expire payments with no confirmation within the window
+        if (!ZonedDateTime.now().isBefore(payment.getCreatedAt().plus(StkStatusCheckScheduler.PAYMENT_EXPIRY))) {
+            statusCheckService.expire(paymentId);
+            checkScheduler.cancel(paymentId);
             return;
         }
 
         // Query Co-op for transaction status
-        TransactionStatusResponse status = coopConnectService.checkTransactionStatus(
-                payment.getInternalRef());
+        TransactionStatusResponse status = coopConnectService.checkTransactionStatus(payment.getInternalRef());
 
         if (status == null) {
             log.debug("PendingPaymentPollingJob: null response for ref={}", payment.getInternalRef());
+        } else if (statusCheckService.applyStatus(paymentId, status)) {
+            checkScheduler.cancel(paymentId);
             return;
         }
-
-        log.info("PendingPaymentPollingJob: ref={} → MessageCode={} Desc={} TxId={}",
-                payment.getInternalRef(), status.getMessageCode(),
-                status.getMessageDescription(), status.getTransactionId());
-
-        // MessageCode "0" = transaction completed successfully
-        if ("0".equals(status.getMessageCode())) {
-
-            // Set the real M-Pesa receipt number on BOTH transactionRef and mpesaRef.
-            // mpesaRef is what processCoopIpn checks via existsByMpesaRef() to avoid
-            // double-crediting when the Co-op IPN arrives for this same transaction.
-            String mpesaRef = status.getTransactionId();
-            payment.setTransactionRef(mpesaRef);
-            payment.setMpesaRef(mpesaRef); // ← was missing; caused IPN guard to always miss
-
-            // Set sender name = the SACCO member's full name (account holder)
-            // NOT the M-Pesa phone owner — one can pay using someone else's phone
-            if (payment.getMemberId() != null) {
-                Optional<User> memberUser = userRepository.findByMemberId(payment.getMemberId());
-                memberUser.ifPresent(user -> payment.setSenderName(user.getFirstName() + " " + user.getLastName()));
-            }
-
-            payment.setStatus(PaymentStatus.COMPLETED);
-            payment.setProviderMetadata(
-                    "{\"source\":\"poll\",\"messageCode\":\"0\",\"transactionId\":\"" + mpesaRef + "\"}");
-            paymentRepository.save(payment);
-
-            log.info("PendingPaymentPollingJob: ✅ COMPLETED ref={} mpesaRef={} member={}",
-                    payment.getInternalRef(), mpesaRef, payment.getSenderName());
-
-            if (payment.getMemberId() != null) {
-                eventPublisher.publishEvent(new PaymentCompletedEvent(
-                        payment.getId(),
-                        payment.getMemberId(),
-                        payment.getAmount(),
-                        payment.getAccountReference(),
-                        mpesaRef != null ? mpesaRef : payment.getInternalRef()));
-            }
-
-        } else if (isFailureCode(status.getMessageCode())) {
-            payment.setStatus(PaymentStatus.FAILED);
-            payment.setFailureReason(status.getMessageDescription());
-            paymentRepository.save(payment);
-
-            log.warn("PendingPaymentPollingJob: ❌ FAILED ref={} reason={}",
-                    payment.getInternalRef(), status.getMessageDescription());
-
-            if (payment.getMemberId() != null) {
-                eventPublisher.publishEvent(new PaymentFailedEvent(
-                        payment.getId(), payment.getMemberId(), payment.getAmount(),
-                        payment.getAccountReference(), status.getMessageDescription()));
-            }
-        }
-        // Any other code = still processing — leave PENDING, poll again next cycle
-    }
-
-    /**
-     * Co-op STK failure codes:
-     * 1032 = Request cancelled by user
-     * 1037 = DS timeout user cannot be reached
-     * 2001 = Wrong PIN
-     * 1019 = Transaction expired
-     * 1001 = Insufficient funds
-     */
-    private boolean isFailureCode(String code) {
-        if (code == null)
-            return false;
-        return switch (code) {
-            case "1032", "1037", "2001", "1019", "1001" -> true;
-            default -> false;
-        };
+        checkScheduler.reschedule(paymentId, payment.getCreatedAt());
     }
-}
\ No newline at end of file
+}
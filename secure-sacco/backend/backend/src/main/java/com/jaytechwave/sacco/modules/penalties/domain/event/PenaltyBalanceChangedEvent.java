@@ -0,0 +1,8 @@
+package com.jaytechwave.sacco.modules.penalties.domain.event;
+
+import java.util.UUID;
+
+/** A member's outstanding penalty balance moved (penalty applied, interest accrued or waived). */
+public record PenaltyBalanceChangedEvent(
+        UUID memberId
+) {}
@@ -1,11 +1,11 @@
 package com.jaytechwave.sacco.modules.penalties.domain.listener;
 
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
 import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
 import com.jaytechwave.sacco.modules.payments.domain.event.PaymentFailedEvent;
 import com.jaytechwave.sacco.modules.penalties.domain.service.PenaltyRepaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -19,7 +19,7 @@ public class PenaltyPaymentListener {
     private final PenaltyRepaymentService penaltyRepaymentService;
 
     @Order(1)
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentCompleted(PaymentCompletedEvent event) {
         if (event.accountReference() != null && event.accountReference().startsWith("PENREP-")) {
             String repIdStr = event.accountReference().replace("PENREP-", "");
@@ -32,7 +32,7 @@ public class PenaltyPaymentListener {
         }
     }
 
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentFailed(PaymentFailedEvent event) {
         if (event.accountReference() != null && event.accountReference().startsWith("PENREP-")) {
             String repIdStr = event.accountReference().replace("PENREP-", "");
@@ -6,22 +6,28 @@ import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import com.jaytechwave.sacco.modules.penalties.api.dto.PenaltyDTOs.PenaltySummaryResponse;
 import com.jaytechwave.sacco.modules.penalties.api.dto.PenaltyDTOs.WaivePenaltyRequest;
+import com.jaytechwave.sacco.modules.accounting.api.dto.JournalEntryDTOs.CreateJournalEntryRequest;
 import com.jaytechwave.sacco.modules.accounting.domain.service.JournalEntryService;
 import com.jaytechwave.sacco.modules.loans.domain.entity.LoanApplication;
 import com.jaytechwave.sacco.modules.loans.domain.event.LoanInstallmentOverdueEvent;
 import com.jaytechwave.sacco.modules.loans.domain.repository.LoanApplicationRepository;
 import com.jaytechwave.sacco.modules.penalties.domain.entity.*;
+import com.jaytechwave.sacco.modules.penalties.domain.event.PenaltyBalanceChangedEvent;
 import com.jaytechwave.sacco.modules.penalties.domain.repository.PenaltyAccrualRepository;
 import com.jaytechwave.sacco.modules.penalties.domain.repository.PenaltyRepository;
 import com.jaytechwave.sacco.modules.penalties.domain.repository.PenaltyRuleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -36,6 +42,7 @@ public class PenaltyService {
     private final JournalEntryService journalEntryService;
     private final UserRepository userRepository;
     private final SecurityAuditService securityAuditService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void applyMissedInstallmentPenalty(LoanInstallmentOverdueEvent event) {
@@ -92,6 +99,7 @@ public class PenaltyService {
 
         // 4. Post to the GL to maintain immutable accounting
         journalEntryService.postPenaltyCreation(app.getMemberId(), penaltyAmount, tempAccrualId.toString());
+        eventPublisher.publishEvent(new PenaltyBalanceChangedEvent(app.getMemberId()));
 
         log.info("Applied ledger-backed {} penalty to Member {}. Amount: {} on {}", rule.getCode(), app.getMemberId(), penaltyAmount, historicalPenaltyDate);
     }
@@ -100,6 +108,8 @@ public class PenaltyService {
     public void processPenaltyInterestAccruals() {
         List<Penalty> openPenalties = penaltyRepository.findByStatus(PenaltyStatus.OPEN);
         java.time.LocalDate today = java.time.LocalDate.now();
+        List<CreateJournalEntryRequest> glEntries = new ArrayList<>();
+        Set<UUID> affectedMembers = new HashSet<>();
 
         for (Penalty penalty : openPenalties) {
             PenaltyRule rule = penalty.getPenaltyRule();
@@ -159,14 +169,18 @@ public class PenaltyService {
                         penalty.setOutstandingAmount(penalty.getOutstandingAmount().add(interestAmount));
                         penaltyRepository.save(penalty);
 
-                        // Immutable double-entry GL update
-                        journalEntryService.postPenaltyInterestAccrual(penalty.getMemberId(), interestAmount, accrualId.toString());
+                        // Immutable double-entry GL update — posted as one batch below
+                        glEntries.add(journalEntryService.penaltyInterestAccrualRequest(penalty.getMemberId(), interestAmount, accrualId.toString()));
+                        affectedMembers.add(penalty.getMemberId());
 
                         log.info("Accrued {} interest of {} for Penalty {}.", rule.getInterestMode(), interestAmount, penalty.getId());
                     }
                 }
             }
         }
+
+        journalEntryService.postEntries(glEntries);
+        affectedMembers.forEach(memberId -> eventPublisher.publishEvent(new PenaltyBalanceChangedEvent(memberId)));
     }
 
     @Transactional
@@ -194,6 +208,7 @@ public class PenaltyService {
 
         // 1. Immutable Accounting Reversal
         journalEntryService.postPenaltyWaiver(penalty.getMemberId(), request.amount(), penalty.getId().toString());
+        eventPublisher.publishEvent(new PenaltyBalanceChangedEvent(penalty.getMemberId()));
 
         // 2. Strict Security Audit Log
         securityAuditService.logEventWithActorAndIp(
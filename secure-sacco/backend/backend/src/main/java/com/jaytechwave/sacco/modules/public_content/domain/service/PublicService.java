@@ -7,7 +7,6 @@ import com.jaytechwave.sacco.modules.meetings.domain.entity.MeetingStatus;
 import com.jaytechwave.sacco.modules.meetings.domain.repository.MeetingRepository;
 import com.jaytechwave.sacco.modules.public_content.domain.entity.PublicAnnouncement;
 import com.jaytechwave.sacco.modules.public_content.domain.entity.PublicMemberSpotlight;
-import com.jaytechwave.sacco.modules.users.domain.entity.UserStatus;
 import org.springframework.web.multipart.MultipartFile;
 import com.jaytechwave.sacco.modules.public_content.domain.entity.PublicDocument;
 import com.jaytechwave.sacco.modules.public_content.domain.repository.PublicAnnouncementRepository;
@@ -15,11 +14,14 @@ import com.jaytechwave.sacco.modules.public_content.domain.repository.PublicMemb
 import com.jaytechwave.sacco.modules.public_content.domain.repository.PublicDocumentRepository;
 import com.jaytechwave.sacco.modules.public_content.api.dto.PublicContentDTOs.*;
 import com.jaytechwave.sacco.modules.settings.domain.entity.SaccoSettings;
+import com.jaytechwave.sacco.modules.settings.domain.event.SaccoSettingsChangedEvent;
 import com.jaytechwave.sacco.modules.settings.domain.repository.SaccoSettingsRepository;
+import com.jaytechwave.sacco.modules.settings.domain.service.SaccoSettingsSnapshot;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +34,8 @@ import java.util.UUID;
 public class PublicService {
 
     private final SaccoSettingsRepository     settingsRepository;
+    private final SaccoSettingsSnapshot       settingsSnapshot;
+    private final ApplicationEventPublisher   eventPublisher;
     private final PublicAnnouncementRepository announcementRepository;
     private final PublicDocumentRepository     documentRepository;
     private final MeetingRepository            meetingRepository;
@@ -45,7 +49,7 @@ public class PublicService {
 
     @Transactional(readOnly = true)
     public LandingPageResponse getLandingPage() {
-        SaccoSettings s = settingsRepository.findAll().stream().findFirst().orElse(null);
+        SaccoSettings s = settingsSnapshot.get().orElse(null);
 
         SaccoProfileDTO profile = s == null ? null : new SaccoProfileDTO(
                 s.getSaccoName(),
@@ -205,6 +209,7 @@ public class PublicService {
         s.setContactEmail(req.contactEmail());
         s.setContactAddress(req.contactAddress());
         s = settingsRepository.save(s);
+        eventPublisher.publishEvent(new SaccoSettingsChangedEvent("public-profile"));
         securityAuditService.logEvent("PUBLIC_PROFILE_UPDATED", s.getId().toString(), "Public profile updated");
     }
 
@@ -269,15 +274,14 @@ public class PublicService {
 
     @Transactional(readOnly = true)
     public List<MemberPickerDTO> getMembersForPicker() {
-        return userRepository.findAllByIsDeletedFalse()
+        return userRepository.findActiveSummaries()
                 .stream()
-                .filter(u -> u.getStatus() == UserStatus.ACTIVE)
                 .map(u -> new MemberPickerDTO(
-                        u.getId(),
-                        u.getEmail(),
-                        u.getFirstName(),
-                        u.getLastName(),
-                        u.getFirstName() + " " + u.getLastName()
+                        u.id(),
+                        u.email(),
+                        u.firstName(),
+                        u.lastName(),
+                        u.firstName() + " " + u.lastName()
                 ))
                 .sorted((a, b) -> a.fullName().compareToIgnoreCase(b.fullName()))
                 .toList();
@@ -1,27 +1,43 @@
 package com.jaytechwave.sacco.modules.reports.api.controller;
 
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.FinancialOverviewDTO;
-import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementItemDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.MemberMiniSummaryDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.LoanArrearsDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.PaymentLineDTO;
+import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementPageDTO;
+import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementSummaryDTO;
 import com.jaytechwave.sacco.modules.reports.domain.service.ReportService;
 import com.jaytechwave.sacco.modules.paymentproducts.api.dto.PaymentProductDTOs.PaymentRouteLookupResponse;
 import com.jaytechwave.sacco.modules.paymentproducts.domain.service.PaymentLookupService;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import com.jaytechwave.sacco.modules.core.api.PageSizeValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -32,6 +48,10 @@ public class ReportController {
     private final ReportService reportService;
     private final UserRepository userRepository;
     private final PaymentLookupService paymentLookupService;
+    private final ObjectMapper objectMapper;
+
+    private static final String STATEMENT_INCOMPLETE = "Statement could not be completed. Please try again.";
+    private static final String STATEMENT_INCOMPLETE_CSV = "ERROR," + STATEMENT_INCOMPLETE + "\n";
 
     @Operation(summary = "Financial overview", description = "Returns financial summary for all members. Requires REPORTS_READ.")
     @GetMapping("/financial-overview")
@@ -56,18 +76,101 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getMySummary(user.getMember().getId()));
     }
 
-    @Operation(summary = "Member transaction statement", description = "Returns a member's statement. Staff (REPORTS_READ) can view any member; members can only view their own.")
+    @Operation(summary = "Member transaction statement",
+            description = "Streams a member's statement (format=json, the default, or format=csv) so memory stays flat "
+                    + "regardless of history length. If reading fails part-way, the JSON ends with an \"error\" field instead of "
+                    + "\"summary\" and the CSV with an ERROR row. Staff (REPORTS_READ) can view any member; members can only view their own.")
     @GetMapping("/members/{memberId}/statement")
-    public ResponseEntity<com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementResponseDTO> getMemberStatement(
+    public ResponseEntity<StreamingResponseBody> getMemberStatement(
             @PathVariable UUID memberId,
             @RequestParam(required = false) String from,
-            @RequestParam(required = false) String to) {
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "json") String format) {
+
+        assertCanViewStatement(memberId);
+
+        if ("csv".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writer.write("Date,Module,Type,Amount (KES),Reference,Description\n");
+                try {
+                    reportService.streamMemberStatement(memberId, from, to, item -> {
+                        try {
+                            writer.write(escapeCsv(item.getDate()) + ',' + escapeCsv(item.getModule()) + ','
+                                    + escapeCsv(item.getType()) + ',' + item.getAmount() + ','
+                                    + escapeCsv(item.getReference()) + ',' + escapeCsv(item.getDescription()) + '\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    if (!(e instanceof UncheckedIOException)) {
+                        writer.write(STATEMENT_INCOMPLETE_CSV);
+                        writer.flush();
+                    }
+                    throw e;
+                }
+                writer.flush();
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename("statement_" + memberId + ".csv").build().toString())
+                    .body(body);
+        }
+
+        // {"items":[...],"summary":{...}}, written item by item. The 200 and the
+        // earlier items are already sent if the read fails part-way, so the
+        // document then ends with "error" in place of "summary".
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("items");
+                StatementSummaryDTO summary;
+                try {
+                    summary = reportService.streamMemberStatement(memberId, from, to, item -> {
+                        try {
+                            json.writeObject(item);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    if (!(e instanceof UncheckedIOException)) {
+                        json.writeEndArray();
+                        json.writeStringField("error", STATEMENT_INCOMPLETE);
+                        json.writeEndObject();
+                    }
+                    throw e;
+                }
+                json.writeEndArray();
+                json.writeObjectField("summary", summary);
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(summary = "Member transaction statement (paged)",
+            description = "Keyset-paginated statement: pass the previous page's nextCursor as cursor. Same access rules as the statement.")
+    @GetMapping("/members/{memberId}/statement/page")
+    public ResponseEntity<StatementPageDTO> getMemberStatementPage(
+            @PathVariable UUID memberId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageSizeValidator.DEFAULT_PAGE_SIZE) int limit) {
+
+        assertCanViewStatement(memberId);
+        return ResponseEntity.ok(reportService.getMemberStatementPage(memberId, from, to, cursor, limit));
+    }
 
+    /** RBAC Enforcement: Staff can read any, Member can only read their own! */
+    private void assertCanViewStatement(UUID memberId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         boolean hasReportsRead = auth.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("REPORTS_READ"));
 
-        // RBAC Enforcement: Staff can read any, Member can only read their own!
         if (!hasReportsRead) {
             User user = userRepository.findByEmail(auth.getName())
                     .orElseThrow(() -> new AccessDeniedException("User session not found"));
@@ -75,8 +178,6 @@ public class ReportController {
                 throw new AccessDeniedException("Security Violation: You do not have permission to view another member's statement.");
             }
         }
-
-        return ResponseEntity.ok(reportService.getMemberStatementWithSummary(memberId, from, to));
     }
 
     // --- NEW: LOAN ARREARS AGING REPORT ---
@@ -128,40 +229,51 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getGeneralStatement(fromDate, toDate, accountCode));
     }
 
-    @Operation(summary = "Download general statement as CSV", description = "Requires REPORTS_READ.")
+    @Operation(summary = "Download general statement as CSV",
+            description = "Rows are streamed from the ledger as they are read; gzip=true compresses the download. Requires REPORTS_READ.")
     @GetMapping("/general-statement/download")
     @PreAuthorize("hasAuthority('REPORTS_READ')")
-    public ResponseEntity<byte[]> downloadGeneralStatement(
+    public ResponseEntity<StreamingResponseBody> downloadGeneralStatement(
             @RequestParam(required = false) String from,
             @RequestParam(required = false) String to,
-            @RequestParam(required = false) String accountCode) {
+            @RequestParam(required = false) String accountCode,
+            @RequestParam(defaultValue = "false") boolean gzip) {
 
         java.time.LocalDate fromDate = from != null ? java.time.LocalDate.parse(from) : null;
         java.time.LocalDate toDate   = to != null ? java.time.LocalDate.parse(to) : null;
-        var statement = reportService.getGeneralStatement(fromDate, toDate, accountCode);
-
-        StringBuilder csv = new StringBuilder();
-        csv.append("Date,Reference,Description,Account Code,Account Name,Account Type,Debit (KES),Credit (KES),Running Balance (KES)\n");
-        for (var line : statement.getLines()) {
-            csv.append(escapeCsv(line.getTransactionDate())).append(',')
-               .append(escapeCsv(line.getReference())).append(',')
-               .append(escapeCsv(line.getDescription())).append(',')
-               .append(escapeCsv(line.getAccountCode())).append(',')
-               .append(escapeCsv(line.getAccountName())).append(',')
-               .append(escapeCsv(line.getAccountType())).append(',')
-               .append(line.getDebitAmount()).append(',')
-               .append(line.getCreditAmount()).append(',')
-               .append(line.getRunningBalance()).append('\n');
-        }
 
-        byte[] body = csv.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            writer.write("Date,Reference,Description,Account Code,Account Name,Account Type,Debit (KES),Credit (KES),Running Balance (KES)\n");
+            reportService.streamGeneralStatement(fromDate, toDate, accountCode, line -> {
+                try {
+                    writer.write(escapeCsv(line.getTransactionDate()) + ','
+                            + escapeCsv(line.getReference()) + ','
+                            + escapeCsv(line.getDescription()) + ','
+                            + escapeCsv(line.getAccountCode()) + ','
+                            + escapeCsv(line.getAccountName()) + ','
+                            + escapeCsv(line.getAccountType()) + ','
+                            + line.getDebitAmount() + ','
+                            + line.getCreditAmount() + ','
+                            + line.getRunningBalance() + '\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (target instanceof GZIPOutputStream gz) {
+                gz.finish();
+            }
+        };
+
         String filename = "general_statement"
-                + (from != null ? "_" + from : "") + (to != null ? "_" + to : "") + ".csv";
+                + (from != null ? "_" + from : "") + (to != null ? "_" + to : "") + (gzip ? ".csv.gz" : ".csv");
 
         return ResponseEntity.ok()
-                .contentType(org.springframework.http.MediaType.parseMediaType("text/csv"))
-                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION,
-                        org.springframework.http.ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : "text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
                 .body(body);
     }
 
@@ -53,10 +53,11 @@ public class ReportDTOs {
         private BigDecimal penaltiesOutstanding = BigDecimal.ZERO;
     }
 
+    /** One keyset page of a member statement; {@code nextCursor} is null on the last page. */
     @Data
-    public static class StatementResponseDTO {
+    public static class StatementPageDTO {
         private java.util.List<StatementItemDTO> items;
-        private StatementSummaryDTO summary;
+        private String nextCursor;
     }
 
     @Data
@@ -0,0 +1,5 @@
+package com.jaytechwave.sacco.modules.reports.domain.event;
+
+/** {@code mv_member_financial_overview} was refreshed; published in the refreshing transaction. */
+public record MemberFinancialReadModelRefreshedEvent() {
+}
@@ -2,11 +2,17 @@ package com.jaytechwave.sacco.modules.reports.domain.repository;
 
 import com.jaytechwave.sacco.modules.reports.domain.entity.MemberFinancialOverview;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface MemberFinancialOverviewRepository extends JpaRepository<MemberFinancialOverview, UUID> {
-    // Out of the box, findAll() will execute blazing fast due to the underlying views!
+    // findAll()/findById() read the live view — always current, used for per-member reads.
+
+    /** Whole-membership read from the materialized copy (V116); see MemberFinancialReadModelService. */
+    @Query(value = "SELECT * FROM mv_member_financial_overview", nativeQuery = true)
+    List<MemberFinancialOverview> findAllFromReadModel();
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.jaytechwave.sacco.modules.reports.domain.service;
+
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
+import com.jaytechwave.sacco.modules.loans.domain.event.LoanDisbursedEvent;
+import com.jaytechwave.sacco.modules.loans.domain.event.LoanInstallmentOverdueEvent;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
+import com.jaytechwave.sacco.modules.penalties.domain.event.PenaltyBalanceChangedEvent;
+import com.jaytechwave.sacco.modules.reports.domain.event.MemberFinancialReadModelRefreshedEvent;
+import com.jaytechwave.sacco.modules.savings.domain.event.SavingsTransactionPostedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@code mv_member_financial_overview} (V116) within a configurable
+ * staleness bound and tells readers which relation to query.
+ *
+ * Savings postings, completed payments, disbursements, overdue installments and
+ * penalty balance changes mark the model dirty; the refresh job
+ * then refreshes it once {@code min-refresh-interval-ms} has passed since the
+ * last refresh. Independently of events, it is refreshed whenever half the
+ * bound has elapsed — arrears move with CURRENT_DATE, and writes on other
+ * nodes never reach this node's dirty flag. If refreshes stop (e.g. the job
+ * is failing), readers fall back to the live view rather than serve data older
+ * than the bound.
+ *
+ * Each refresh publishes {@link MemberFinancialReadModelRefreshedEvent}, which is
+ * when caches built from the model (the staff dashboard) are evicted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberFinancialReadModelService {
+
+    public static final String READ_MODEL = "mv_member_financial_overview";
+    public static final String LIVE_VIEW = "v_member_financial_overview";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    @Value("${sacco.reports.read-model.max-staleness-ms:300000}")
+    private long maxStalenessMs;
+
+    @Value("${sacco.reports.read-model.min-refresh-interval-ms:30000}")
+    private long minRefreshIntervalMs;
+
+    /** True when the materialized overview was refreshed within the staleness bound. */
+    public boolean isFresh() {
+        Duration age = age();
+        return age != null && age.toMillis() <= maxStalenessMs;
+    }
+
+    /** The relation overview readers should select from right now. */
+    public String overviewRelation() {
+        return isFresh() ? READ_MODEL : LIVE_VIEW;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSavingsTransactionPosted(SavingsTransactionPostedEvent event) {
+        dirty.set(true);
+    }
+
+    // After the payment handlers have credited savings etc. (see OutboxRelay)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @OutboxEventListener
+    public void onPaymentCompleted(PaymentCompletedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanDisbursed(LoanDisbursedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanInstallmentOverdue(LoanInstallmentOverdueEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPenaltyBalanceChanged(PenaltyBalanceChangedEvent event) {
+        dirty.set(true);
+    }
+
+    /**
+     * Refreshes the read model if it is dirty and past the minimum interval, or
+     * if half the staleness bound has elapsed. Returns true when a refresh ran.
+     */
+    @Transactional
+    public boolean refreshIfDue() {
+        return isDue() && refresh();
+    }
+
+    /**
+     * REFRESH ... CONCURRENTLY keeps the old contents readable while it runs.
+     * A transaction-scoped advisory lock makes concurrent callers (other nodes'
+     * jobs) skip instead of queueing a second full rebuild behind the first.
+     * The age is read again once the lock is held: another node may have
+     * finished a refresh between the caller's check and the lock.
+     */
+    @Transactional
+    public boolean refresh() {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, READ_MODEL);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("{} refresh already running on another node, skipping.", READ_MODEL);
+            return false;
+        }
+        if (!isDue()) {
+            log.debug("{} was just refreshed by another node, skipping.", READ_MODEL);
+            return false;
+        }
+
+        // Cleared before the refresh so events committed while it runs mark it dirty again
+        dirty.set(false);
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + READ_MODEL);
+        jdbcTemplate.update("""
+                INSERT INTO report_read_model_refreshes (view_name, refreshed_at)
+                VALUES (?, CURRENT_TIMESTAMP)
+                ON CONFLICT (view_name) DO UPDATE SET refreshed_at = EXCLUDED.refreshed_at
+                """, READ_MODEL);
+        eventPublisher.publishEvent(new MemberFinancialReadModelRefreshedEvent());
+        return true;
+    }
+
+    private boolean isDue() {
+        Duration age = age();
+        long ageMs = age != null ? age.toMillis() : Long.MAX_VALUE;
+        return ageMs >= maxStalenessMs / 2 || (dirty.get() && ageMs >= minRefreshIntervalMs);
+    }
+
+    private Duration age() {
+        try {
+            Timestamp refreshedAt = jdbcTemplate.query(
+                    "SELECT refreshed_at FROM report_read_model_refreshes WHERE view_name = ?",
+                    rs -> rs.next() ? rs.getTimestamp(1) : null, READ_MODEL);
+            return refreshedAt != null ? Duration.between(refreshedAt.toInstant(), Instant.now()) : null;
+        } catch (DataAccessException e) {
+            log.warn("Could not read {} refresh time, treating it as stale: {}", READ_MODEL, e.getMessage());
+            return null;
+        }
+    }
+}
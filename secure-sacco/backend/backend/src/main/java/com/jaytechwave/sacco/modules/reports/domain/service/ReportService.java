@@ -5,22 +5,35 @@ import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementItemDTO
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.MemberMiniSummaryDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.LoanArrearsDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.DailyCollectionDTO;
-import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementResponseDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementSummaryDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.GeneralStatementDTO;
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.GeneralStatementLineDTO;
+import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementPageDTO;
+import com.jaytechwave.sacco.modules.core.api.PageSizeValidator;
+import com.jaytechwave.sacco.modules.reports.domain.entity.MemberFinancialOverview;
 import com.jaytechwave.sacco.modules.reports.domain.repository.MemberFinancialOverviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,10 +42,14 @@ public class ReportService {
 
     private final MemberFinancialOverviewRepository overviewRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final MemberFinancialReadModelService readModelService;
 
     @Transactional(readOnly = true)
     public List<FinancialOverviewDTO> getMemberFinancialOverview() {
-        return overviewRepository.findAll().stream().map(entity -> {
+        List<MemberFinancialOverview> rows = readModelService.isFresh()
+                ? overviewRepository.findAllFromReadModel()
+                : overviewRepository.findAll();
+        return rows.stream().map(entity -> {
             FinancialOverviewDTO dto = new FinancialOverviewDTO();
             dto.setMemberId(entity.getMemberId());
             dto.setMemberNumber(entity.getMemberNumber());
@@ -83,9 +100,14 @@ public class ReportService {
         return summary;
     }
 
-    @Transactional(readOnly = true)
-    public List<StatementItemDTO> getMemberStatement(UUID memberId, String fromDate, String toDate) {
-        String sql = """
+    /**
+     * Member statement across every module. The from/to window (exclusive on both
+     * ends) and the keyset cursor are bound into each branch, so PostgreSQL only
+     * reads the rows that will be returned. Parameters per branch: member id, from,
+     * to; then the cursor (transaction_date, txn_order, row_id) and the LIMIT
+     * (Long.MAX_VALUE = no limit). Open bounds are sent as -infinity/infinity.
+     */
+    private static final String MEMBER_STATEMENT_SQL = """
             SELECT * FROM (
                 SELECT 
                     st.created_at AS transaction_date,
@@ -94,10 +116,12 @@ public class ReportService {
                     st.amount AS amount,
                     st.reference AS reference,
                     'Savings ' || st.type AS description,
-                    1 AS txn_order
+                    1 AS txn_order,
+                    st.id AS row_id
                 FROM savings_transactions st
                 JOIN savings_accounts sa ON st.savings_account_id = sa.id
                 WHERE sa.member_id = ? AND st.status = 'POSTED'
+                  AND st.created_at > ? AND st.created_at < ?
                 
                 UNION ALL
                 
@@ -108,10 +132,12 @@ public class ReportService {
                     la.principal_amount AS amount,
                     la.id::varchar AS reference,
                     'Disbursed - ' || COALESCE(lp.name, 'Loan') AS description,
-                    0 AS txn_order
+                    0 AS txn_order,
+                    la.id AS row_id
                 FROM loan_applications la
                 LEFT JOIN loan_products lp ON la.loan_product_id = lp.id
                 WHERE la.member_id = ? AND la.status IN ('ACTIVE', 'IN_GRACE', 'DEFAULTED', 'CLOSED', 'REFINANCED', 'RESTRUCTURED')
+                  AND la.created_at > ? AND la.created_at < ?
                 
                 UNION ALL
                 
@@ -122,11 +148,13 @@ public class ReportService {
                     lr.amount AS amount,
                     lr.receipt_number AS reference,
                     'Repayment - ' || COALESCE(lp.name, 'Loan') AS description,
-                    2 AS txn_order
+                    2 AS txn_order,
+                    lr.id AS row_id
                 FROM loan_repayments lr
                 JOIN loan_applications la ON lr.loan_application_id = la.id
                 LEFT JOIN loan_products lp ON la.loan_product_id = lp.id
                 WHERE la.member_id = ? AND lr.status = 'COMPLETED' AND la.status IN ('ACTIVE', 'IN_GRACE', 'DEFAULTED', 'CLOSED', 'REFINANCED', 'RESTRUCTURED')
+                  AND lr.created_at > ? AND lr.created_at < ?
                 
                 UNION ALL
                 
@@ -137,9 +165,11 @@ public class ReportService {
                     p.original_amount AS amount,
                     p.id::varchar AS reference,
                     'Penalty Applied' AS description,
-                    1 AS txn_order
+                    1 AS txn_order,
+                    p.id AS row_id
                 FROM penalties p
                 WHERE p.member_id = ?
+                  AND p.created_at > ? AND p.created_at < ?
                 
                 UNION ALL
                 
@@ -150,9 +180,11 @@ public class ReportService {
                     prp.amount AS amount,
                     prp.receipt_number AS reference,
                     'Penalty Repayment' AS description,
-                    2 AS txn_order
+                    2 AS txn_order,
+                    prp.id AS row_id
                 FROM penalty_repayments prp
                 WHERE prp.member_id = ? AND prp.status = 'COMPLETED'
+                  AND prp.created_at > ? AND prp.created_at < ?
 
                 UNION ALL
 
@@ -168,46 +200,150 @@ public class ReportService {
                     da.amount AS amount,
                     COALESCE(p.mpesa_ref, p.internal_ref) AS reference,
                     pp.name AS description,
-                    2 AS txn_order
+                    2 AS txn_order,
+                    da.id AS row_id
                 FROM deposit_allocations da
                 JOIN payments p ON p.id = da.payment_id
                 JOIN payment_products pp ON pp.id = da.product_id
                 WHERE p.member_id = ? AND pp.module_type = 'CUSTOM' AND da.status = 'ROUTED'
+                  AND da.created_at > ? AND da.created_at < ?
             ) AS combined
-            ORDER BY transaction_date ASC, txn_order ASC
+            WHERE (transaction_date, txn_order, row_id) > (?, ?, ?)
+            ORDER BY transaction_date ASC, txn_order ASC, row_id ASC
+            LIMIT ?
             """;
 
-        List<StatementItemDTO> results = jdbcTemplate.query(sql, (rs, rowNum) -> {
-            StatementItemDTO dto = new StatementItemDTO();
-            Timestamp ts = rs.getTimestamp("transaction_date");
-            if (ts != null) {
-                dto.setDate(ts.toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-            }
-            dto.setModule(rs.getString("module"));
-            dto.setType(rs.getString("transaction_type"));
-            dto.setAmount(rs.getBigDecimal("amount"));
-            dto.setReference(rs.getString("reference"));
-            dto.setDescription(rs.getString("description"));
-            return dto;
-        }, memberId, memberId, memberId, memberId, memberId, memberId);
+    private static final int STATEMENT_BRANCHES = 6;
+    private static final int STATEMENT_FETCH_SIZE = 500;
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
+
+    /**
+     * Feeds the statement to {@code sink} row by row, reading from a server-side
+     * cursor, so memory stays flat however long the member's history is.
+     * Returns the summary accumulated on the way.
+     */
+    @Transactional(readOnly = true)
+    public StatementSummaryDTO streamMemberStatement(UUID memberId, String fromDate, String toDate,
+                                                     Consumer<StatementItemDTO> sink) {
+        StatementSummaryDTO summary = new StatementSummaryDTO();
+        Object[] args = statementArgs(memberId, fromDate, toDate, null, null);
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(MEMBER_STATEMENT_SQL);
+            ps.setFetchSize(STATEMENT_FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            StatementItemDTO item = mapStatementItem(rs);
+            accumulateSummary(summary, item);
+            sink.accept(item);
+        });
+
+        completeSummary(memberId, summary);
+        return summary;
+    }
+
+    /**
+     * One keyset page of the statement. {@code cursor} is the {@code nextCursor} of
+     * the previous page (null for the first); a null {@code nextCursor} in the
+     * result means there are no more rows.
+     */
+    @Transactional(readOnly = true)
+    public StatementPageDTO getMemberStatementPage(UUID memberId, String fromDate, String toDate,
+                                                   String cursor, int limit) {
+        if (limit < 1 || limit > PageSizeValidator.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + PageSizeValidator.MAX_PAGE_SIZE);
+        }
 
-        if (fromDate != null && !fromDate.isEmpty()) {
-            LocalDateTime from = LocalDateTime.parse(fromDate, DateTimeFormatter.ISO_DATE_TIME);
-            results = results.stream().filter(r -> LocalDateTime.parse(r.getDate()).isAfter(from)).collect(Collectors.toList());
+        List<String> cursors = new ArrayList<>();
+        List<StatementItemDTO> items = jdbcTemplate.query(MEMBER_STATEMENT_SQL, (rs, rowNum) -> {
+            cursors.add(encodeStatementCursor(rs));
+            return mapStatementItem(rs);
+        }, statementArgs(memberId, fromDate, toDate, cursor, limit + 1));
+
+        StatementPageDTO page = new StatementPageDTO();
+        if (items.size() > limit) {
+            page.setItems(items.subList(0, limit));
+            page.setNextCursor(cursors.get(limit - 1));
+        } else {
+            page.setItems(items);
         }
-        if (toDate != null && !toDate.isEmpty()) {
-            LocalDateTime to = LocalDateTime.parse(toDate, DateTimeFormatter.ISO_DATE_TIME);
-            results = results.stream().filter(r -> LocalDateTime.parse(r.getDate()).isBefore(to)).collect(Collectors.toList());
+        return page;
+    }
+
+    private Object[] statementArgs(UUID memberId, String fromDate, String toDate, String cursor, Integer limit) {
+        LocalDateTime from = (fromDate != null && !fromDate.isEmpty())
+                ? LocalDateTime.parse(fromDate, DateTimeFormatter.ISO_DATE_TIME) : LocalDateTime.MIN;
+        LocalDateTime to = (toDate != null && !toDate.isEmpty())
+                ? LocalDateTime.parse(toDate, DateTimeFormatter.ISO_DATE_TIME) : LocalDateTime.MAX;
+
+        List<Object> args = new ArrayList<>(STATEMENT_BRANCHES * 3 + 4);
+        for (int i = 0; i < STATEMENT_BRANCHES; i++) {
+            args.add(memberId);
+            args.add(from);
+            args.add(to);
         }
 
-        return results;
+        if (cursor != null && !cursor.isEmpty()) {
+            args.addAll(decodeStatementCursor(cursor));
+        } else {
+            args.add(LocalDateTime.MIN);
+            args.add(Integer.MIN_VALUE);
+            args.add(NIL_UUID);
+        }
+        args.add(limit != null ? limit : Long.MAX_VALUE);
+        return args.toArray();
     }
 
-    @Transactional(readOnly = true)
-    public StatementResponseDTO getMemberStatementWithSummary(UUID memberId, String fromDate, String toDate) {
-        List<StatementItemDTO> items = getMemberStatement(memberId, fromDate, toDate);
-        StatementSummaryDTO summary = new StatementSummaryDTO();
+    private StatementItemDTO mapStatementItem(ResultSet rs) throws SQLException {
+        StatementItemDTO dto = new StatementItemDTO();
+        Timestamp ts = rs.getTimestamp("transaction_date");
+        if (ts != null) {
+            dto.setDate(ts.toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+        dto.setModule(rs.getString("module"));
+        dto.setType(rs.getString("transaction_type"));
+        dto.setAmount(rs.getBigDecimal("amount"));
+        dto.setReference(rs.getString("reference"));
+        dto.setDescription(rs.getString("description"));
+        return dto;
+    }
 
+    /** Opaque to clients: base64url of "transaction_date|txn_order|row_id" of the last row served. */
+    private String encodeStatementCursor(ResultSet rs) throws SQLException {
+        String raw = rs.getTimestamp("transaction_date").toLocalDateTime()
+                + "|" + rs.getInt("txn_order")
+                + "|" + rs.getObject("row_id", UUID.class);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Object> decodeStatementCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return List.of(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]), UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid statement cursor.");
+        }
+    }
+
+    private void accumulateSummary(StatementSummaryDTO summary, StatementItemDTO item) {
+        if ("SAVINGS".equals(item.getModule())) {
+            if ("DEPOSIT".equals(item.getType()) || "EXPENSE_REIMBURSEMENT".equals(item.getType())) {
+                summary.setSavingsDeposited(summary.getSavingsDeposited().add(item.getAmount()));
+            } else if ("WITHDRAWAL".equals(item.getType())) {
+                summary.setSavingsWithdrawn(summary.getSavingsWithdrawn().add(item.getAmount()));
+            }
+        } else if ("PENALTIES".equals(item.getModule())) {
+            if ("ACCRUAL".equals(item.getType())) {
+                summary.setPenaltiesCharged(summary.getPenaltiesCharged().add(item.getAmount()));
+            } else if ("REPAYMENT".equals(item.getType()) || "WAIVER".equals(item.getType())) {
+                summary.setPenaltiesPaid(summary.getPenaltiesPaid().add(item.getAmount()));
+            }
+        }
+    }
+
+    /** Loan totals and the penalty reconciliation — independent of how the items were read. */
+    private void completeSummary(UUID memberId, StatementSummaryDTO summary) {
         try {
             String loanSql = """
                 SELECT 
@@ -241,22 +377,6 @@ public class ReportService {
             return null;
         }, memberId, memberId);
 
-        for (StatementItemDTO item : items) {
-            if ("SAVINGS".equals(item.getModule())) {
-                if ("DEPOSIT".equals(item.getType()) || "EXPENSE_REIMBURSEMENT".equals(item.getType())) {
-                    summary.setSavingsDeposited(summary.getSavingsDeposited().add(item.getAmount()));
-                } else if ("WITHDRAWAL".equals(item.getType())) {
-                    summary.setSavingsWithdrawn(summary.getSavingsWithdrawn().add(item.getAmount()));
-                }
-            } else if ("PENALTIES".equals(item.getModule())) {
-                if ("ACCRUAL".equals(item.getType())) {
-                    summary.setPenaltiesCharged(summary.getPenaltiesCharged().add(item.getAmount()));
-                } else if ("REPAYMENT".equals(item.getType()) || "WAIVER".equals(item.getType())) {
-                    summary.setPenaltiesPaid(summary.getPenaltiesPaid().add(item.getAmount()));
-                }
-            }
-        }
-
         overviewRepository.findById(memberId).ifPresent(overview -> {
             BigDecimal actualOutstanding = overview.getPenaltyOutstanding() != null
                     ? overview.getPenaltyOutstanding()
@@ -277,11 +397,6 @@ public class ReportService {
             summary.setPenaltiesCharged(trueCharged);
             summary.setPenaltiesOutstanding(actualOutstanding);
         });
-
-        StatementResponseDTO response = new StatementResponseDTO();
-        response.setItems(items);
-        response.setSummary(summary);
-        return response;
     }
 
     @Transactional(readOnly = true)
@@ -627,6 +742,26 @@ public class ReportService {
         statement.setFromDate(from != null ? from.toString() : null);
         statement.setToDate(to != null ? to.toString() : null);
 
+        List<GeneralStatementLineDTO> lines = new ArrayList<>();
+        streamGeneralStatement(from, to, accountCode, line -> {
+            lines.add(line);
+            if (line.getDebitAmount() != null) statement.setTotalDebits(statement.getTotalDebits().add(line.getDebitAmount()));
+            if (line.getCreditAmount() != null) statement.setTotalCredits(statement.getTotalCredits().add(line.getCreditAmount()));
+        });
+
+        statement.setLines(lines);
+        return statement;
+    }
+
+    /**
+     * Feeds every posted GL line to {@code sink} in display order, straight off a
+     * server-side cursor. The per-account running balance is carried in a map keyed
+     * by account code as rows arrive (same ordering the old window function used),
+     * so neither the database nor the JVM has to materialise the whole ledger.
+     */
+    @Transactional(readOnly = true)
+    public void streamGeneralStatement(java.time.LocalDate from, java.time.LocalDate to, String accountCode,
+                                       Consumer<GeneralStatementLineDTO> sink) {
         StringBuilder sql = new StringBuilder("""
                 SELECT
                     je.transaction_date,
@@ -636,9 +771,7 @@ public class ReportService {
                     a.account_name,
                     a.account_type,
                     jel.debit_amount,
-                    jel.credit_amount,
-                    SUM(jel.debit_amount - jel.credit_amount)
-                        OVER (PARTITION BY a.id ORDER BY je.transaction_date, je.created_at, jel.id) AS running_balance
+                    jel.credit_amount
                 FROM journal_entries je
                 JOIN journal_entry_lines jel ON jel.journal_entry_id = je.id
                 JOIN accounts a ON a.id = jel.account_id
@@ -660,7 +793,14 @@ public class ReportService {
         }
         sql.append(" ORDER BY je.transaction_date ASC, je.created_at ASC, jel.id ASC");
 
-        List<GeneralStatementLineDTO> lines = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+        Map<String, BigDecimal> runningBalances = new HashMap<>();
+        Object[] args = params.toArray();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            ps.setFetchSize(STATEMENT_FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
             GeneralStatementLineDTO line = new GeneralStatementLineDTO();
             line.setTransactionDate(rs.getDate("transaction_date").toString());
             line.setReference(rs.getString("reference_number"));
@@ -670,20 +810,14 @@ public class ReportService {
             line.setAccountType(rs.getString("account_type"));
             line.setDebitAmount(rs.getBigDecimal("debit_amount"));
             line.setCreditAmount(rs.getBigDecimal("credit_amount"));
-            line.setRunningBalance(rs.getBigDecimal("running_balance"));
-            return line;
-        }, params.toArray());
 
-        BigDecimal totalDebits = BigDecimal.ZERO;
-        BigDecimal totalCredits = BigDecimal.ZERO;
-        for (GeneralStatementLineDTO line : lines) {
-            if (line.getDebitAmount() != null) totalDebits = totalDebits.add(line.getDebitAmount());
-            if (line.getCreditAmount() != null) totalCredits = totalCredits.add(line.getCreditAmount());
-        }
+            BigDecimal movement = nz(line.getDebitAmount()).subtract(nz(line.getCreditAmount()));
+            line.setRunningBalance(runningBalances.merge(line.getAccountCode(), movement, BigDecimal::add));
+            sink.accept(line);
+        });
+    }
 
-        statement.setLines(lines);
-        statement.setTotalDebits(totalDebits);
-        statement.setTotalCredits(totalCredits);
-        return statement;
+    private static BigDecimal nz(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
-}
\ No newline at end of file
+}
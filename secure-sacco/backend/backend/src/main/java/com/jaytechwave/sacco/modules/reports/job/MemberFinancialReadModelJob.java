@@ -0,0 +1,33 @@
+package com.jaytechwave.sacco.modules.reports.job;
+
+import com.jaytechwave.sacco.modules.reports.domain.service.MemberFinancialReadModelService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberFinancialReadModelJob {
+
+    private final MemberFinancialReadModelService readModelService;
+
+    /**
+     * Checks every {@code sacco.reports.read-model.check-interval-ms} (default 15s)
+     * whether the materialized member overview is due a refresh — see
+     * {@link MemberFinancialReadModelService#refreshIfDue()} for the rules.
+     */
+    @Scheduled(fixedDelayString = "${sacco.reports.read-model.check-interval-ms:15000}",
+               initialDelayString = "${sacco.reports.read-model.check-interval-ms:15000}")
+    public void refreshIfDue() {
+        try {
+            long start = System.currentTimeMillis();
+            if (readModelService.refreshIfDue()) {
+                log.debug("Member financial read model refreshed in {} ms.", System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh the member financial read model: {}", e.getMessage(), e);
+        }
+    }
+}
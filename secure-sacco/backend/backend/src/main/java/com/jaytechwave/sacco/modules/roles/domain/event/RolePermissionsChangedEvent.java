@@ -0,0 +1,9 @@
+package com.jaytechwave.sacco.modules.roles.domain.event;
+
+/**
+ * Published by {@code RoleService} when a role is renamed, deleted or has its
+ * permissions replaced, so {@code RoleAuthorityCache} bumps its version after commit.
+ */
+public record RolePermissionsChangedEvent(
+        String roleName
+) {}
@@ -3,14 +3,14 @@ package com.jaytechwave.sacco.modules.roles.service;
 import com.jaytechwave.sacco.modules.roles.api.dto.RoleDTOs.*;
 import com.jaytechwave.sacco.modules.roles.domain.entity.Permission;
 import com.jaytechwave.sacco.modules.roles.domain.entity.Role;
+import com.jaytechwave.sacco.modules.roles.domain.event.RolePermissionsChangedEvent;
 import com.jaytechwave.sacco.modules.roles.domain.repository.PermissionRepository;
 import com.jaytechwave.sacco.modules.roles.domain.repository.RoleRepository;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
-import com.jaytechwave.sacco.modules.core.security.SessionInvalidationService;
-import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +28,8 @@ public class RoleService {
     private final PermissionRepository permissionRepository;
     private final SecurityAuditService securityAuditService;
     private final CacheManager cacheManager;
-    private final SessionInvalidationService sessionInvalidationService;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<RoleResponse> getAllRoles() {
@@ -87,11 +87,17 @@ public class RoleService {
             throw new IllegalStateException("Cannot modify the SYSTEM_ADMIN role");
         }
 
+        String previousName = role.getName();
         role.setName(request.getName().trim().toUpperCase());
         role.setDescription(request.getDescription());
 
         Role savedRole = roleRepository.save(role);
 
+        // Sessions holding the old name reload their authorities on next request
+        if (!previousName.equals(savedRole.getName())) {
+            eventPublisher.publishEvent(new RolePermissionsChangedEvent(previousName));
+        }
+
         securityAuditService.logEvent(
                 "ROLE_UPDATED",
                 "Role: " + savedRole.getName(),
@@ -112,6 +118,7 @@ public class RoleService {
         }
 
         roleRepository.delete(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent(role.getName()));
 
         securityAuditService.logEvent(
                 "ROLE_DELETED",
@@ -138,9 +145,9 @@ public class RoleService {
         role.setPermissions(newPermissions);
         Role savedRole = roleRepository.save(role);
 
-        // ✅ CRITICAL: Invalidate ALL user caches and sessions since role permissions changed
-        // This forces Spring Security to reload authorities on next request and forces re-login
-        sessionInvalidationService.invalidateAllSessions();
+        // Bumps the role version after commit; every session holding this role
+        // rebuilds its authorities on its next request (RoleAuthoritiesRefreshFilter)
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent(savedRole.getName()));
 
         // --- ADDED AUDIT LOG ---
         securityAuditService.logEvent(
@@ -1,5 +1,6 @@
 package com.jaytechwave.sacco.modules.savings.domain.entity;
 
+import com.jaytechwave.sacco.modules.core.persistence.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +22,7 @@ import java.util.UUID;
 public class SavingsTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(name = "savings_account_id", nullable = false)
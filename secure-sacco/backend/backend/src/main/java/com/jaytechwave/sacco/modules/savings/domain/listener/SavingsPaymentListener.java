@@ -1,5 +1,6 @@
 package com.jaytechwave.sacco.modules.savings.domain.listener;
 
+import com.jaytechwave.sacco.modules.core.outbox.OutboxEventListener;
 import com.jaytechwave.sacco.modules.core.util.SaccoDateUtils;
 import com.jaytechwave.sacco.modules.accounting.domain.service.JournalEntryService;
 import com.jaytechwave.sacco.modules.payments.domain.entity.CoopTransaction;
@@ -11,7 +12,6 @@ import com.jaytechwave.sacco.modules.savings.domain.repository.SavingsTransactio
 import com.jaytechwave.sacco.modules.savings.domain.service.SavingsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -28,7 +28,7 @@ public class SavingsPaymentListener {
     private final CoopTransactionRepository    coopTransactionRepository;
 
     @Order(1)
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentCompleted(PaymentCompletedEvent event) {
 
         // ── Route 1: STK savings deposit (member pressed "Deposit" in app) ────────
@@ -117,7 +117,7 @@ public class SavingsPaymentListener {
         }
     }
 
-    @EventListener
+    @OutboxEventListener
     public void handlePaymentFailed(PaymentFailedEvent event) {
         if (event.accountReference() != null && event.accountReference().startsWith("DEP-")) {
             log.warn("Savings Module: STK deposit FAILED for member={} ref={}",
@@ -0,0 +1,4 @@
+package com.jaytechwave.sacco.modules.settings.domain.event;
+
+/** The sacco_settings row was created or updated; in-process snapshots reload after commit. */
+public record SaccoSettingsChangedEvent(String section) {}
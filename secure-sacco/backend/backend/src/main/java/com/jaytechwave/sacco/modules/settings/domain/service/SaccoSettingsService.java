@@ -3,8 +3,10 @@ package com.jaytechwave.sacco.modules.settings.domain.service;
 import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
 import com.jaytechwave.sacco.modules.settings.api.dto.SaccoSettingsDTOs.*;
 import com.jaytechwave.sacco.modules.settings.domain.entity.SaccoSettings;
+import com.jaytechwave.sacco.modules.settings.domain.event.SaccoSettingsChangedEvent;
 import com.jaytechwave.sacco.modules.settings.domain.repository.SaccoSettingsRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,25 +19,32 @@ public class SaccoSettingsService {
 
     private final SaccoSettingsRepository settingsRepository;
     private final SecurityAuditService securityAuditService;
+    private final SaccoSettingsSnapshot settingsSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ── Read ──────────────────────────────────────────────────────────────────
 
-    @Transactional(readOnly = true)
+    /** Served from the in-process snapshot — read-only; updates go through the methods below. */
     public SaccoSettings getSettings() {
-        return settingsRepository.findAll().stream()
-                .findFirst()
+        return settingsSnapshot.get()
                 .orElseThrow(() -> new IllegalStateException("SACCO settings have not been initialized yet."));
     }
 
-    @Transactional(readOnly = true)
     public boolean isInitialized() {
         try {
-            return settingsRepository.count() > 0;
+            return settingsSnapshot.get().isPresent();
         } catch (Exception e) {
             return false;
         }
     }
 
+    /** Managed copy of the row for the update methods — never the shared snapshot. */
+    private SaccoSettings loadForUpdate() {
+        return settingsRepository.findAll().stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("SACCO settings have not been initialized yet."));
+    }
+
     // ── One-time initialization ───────────────────────────────────────────────
 
     @Transactional
@@ -43,7 +52,7 @@ public class SaccoSettingsService {
             String saccoName, String prefix, int padLength,
             BigDecimal registrationFee, String logoUrl, String faviconUrl) {
 
-        if (isInitialized()) {
+        if (settingsRepository.count() > 0) {
             throw new IllegalStateException("SACCO settings are already initialized. Use update instead.");
         }
 
@@ -79,6 +88,7 @@ public class SaccoSettingsService {
                 .build();
 
         SaccoSettings saved = settingsRepository.save(settings);
+        eventPublisher.publishEvent(new SaccoSettingsChangedEvent("initialization"));
 
         securityAuditService.logEvent(
                 "SETTINGS_INITIALIZED",
@@ -96,7 +106,7 @@ public class SaccoSettingsService {
             String saccoName, String prefix, int padLength,
             BigDecimal registrationFee, String logoUrl, String faviconUrl) {
 
-        SaccoSettings s = getSettings();
+        SaccoSettings s = loadForUpdate();
 
         if (prefix == null || prefix.length() != 3)
             throw new IllegalArgumentException("Prefix must be exactly 3 characters.");
@@ -113,6 +123,7 @@ public class SaccoSettingsService {
         s.setFaviconUrl(faviconUrl != null ? faviconUrl : "");
 
         SaccoSettings saved = settingsRepository.save(s);
+        eventPublisher.publishEvent(new SaccoSettingsChangedEvent("core"));
 
         securityAuditService.logEvent(
                 "SETTINGS_UPDATED", "SACCO_SETTINGS",
@@ -125,7 +136,7 @@ public class SaccoSettingsService {
 
     @Transactional
     public SaccoSettings updateSecurityPolicy(UpdateSecurityPolicyRequest req) {
-        SaccoSettings s = getSettings();
+        SaccoSettings s = loadForUpdate();
 
         s.setMaxLoginAttempts(req.getMaxLoginAttempts());
         s.setLockoutDurationMinutes(req.getLockoutDurationMinutes());
@@ -139,6 +150,7 @@ public class SaccoSettingsService {
         s.setRateLimitGeneralPerMin(req.getRateLimitGeneralPerMin());
 
         SaccoSettings saved = settingsRepository.save(s);
+        eventPublisher.publishEvent(new SaccoSettingsChangedEvent("security"));
 
         securityAuditService.logEvent(
                 "SETTINGS_UPDATED", "SACCO_SETTINGS",
@@ -153,10 +165,11 @@ public class SaccoSettingsService {
 
     @Transactional
     public SaccoSettings updateCommunication(UpdateCommunicationRequest req) {
-        SaccoSettings s = getSettings();
+        SaccoSettings s = loadForUpdate();
         s.setSmtpFromName(req.getSmtpFromName());
         s.setSupportEmail(req.getSupportEmail() != null ? req.getSupportEmail() : "");
         SaccoSettings saved = settingsRepository.save(s);
+        eventPublisher.publishEvent(new SaccoSettingsChangedEvent("communication"));
 
         securityAuditService.logEvent(
                 "SETTINGS_UPDATED", "SACCO_SETTINGS",
@@ -169,9 +182,10 @@ public class SaccoSettingsService {
 
     @Transactional
     public SaccoSettings updateFeatureFlags(Map<String, Boolean> enabledModules) {
-        SaccoSettings s = getSettings();
+        SaccoSettings s = loadForUpdate();
         s.setEnabledModules(enabledModules);
         SaccoSettings saved = settingsRepository.save(s);
+        eventPublisher.publishEvent(new SaccoSettingsChangedEvent("feature-flags"));
 
         securityAuditService.logEvent(
                 "SETTINGS_UPDATED", "SACCO_SETTINGS",
@@ -222,12 +236,13 @@ public class SaccoSettingsService {
 
     @Transactional
     public SaccoSettings updateSavingsSchedule(UpdateSavingsScheduleRequest req) {
-        SaccoSettings s = getSettings();
+        SaccoSettings s = loadForUpdate();
         s.setSavingsDay(req.getSavingsDay().toUpperCase());
         s.setSavingsDeadlineNextDay(req.getSavingsDeadlineNextDay());
         s.setSavingsDeadlineHour(req.getSavingsDeadlineHour());
         s.setSavingsDeadlineMinute(req.getSavingsDeadlineMinute());
         SaccoSettings saved = settingsRepository.save(s);
+        eventPublisher.publishEvent(new SaccoSettingsChangedEvent("savings-schedule"));
         securityAuditService.logEvent(
                 "SETTINGS_UPDATED", "SACCO_SETTINGS",
                 "Savings schedule updated — day: " + req.getSavingsDay()
@@ -0,0 +1,126 @@
+package com.jaytechwave.sacco.modules.settings.domain.service;
+
+import com.jaytechwave.sacco.modules.settings.domain.entity.SaccoSettings;
+import com.jaytechwave.sacco.modules.settings.domain.event.SaccoSettingsChangedEvent;
+import com.jaytechwave.sacco.modules.settings.domain.repository.SaccoSettingsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * In-process snapshot of the single {@code sacco_settings} row.
+ *
+ * <p>Settings are read on every request (rate limiter, feature-flag interceptor,
+ * obligation deadlines) but change a handful of times a year. The row is loaded
+ * once and held as an immutable {@link Snapshot}, so reads are a volatile field
+ * access and never touch PostgreSQL.
+ *
+ * <p>Freshness:
+ * <ul>
+ *   <li>Every settings write publishes {@link SaccoSettingsChangedEvent}; this node
+ *       reloads after commit and broadcasts the new version on
+ *       {@code sacco:settings:changed}.</li>
+ *   <li>Other nodes reload when they receive a version newer than their own.</li>
+ *   <li>A periodic reload bounds staleness if a broadcast is missed.</li>
+ * </ul>
+ *
+ * <p>The cached {@link SaccoSettings} is a detached entity — read it, never modify
+ * it. Writers load their own managed copy from the repository.
+ */
+@Slf4j
+@Service
+public class SaccoSettingsSnapshot implements MessageListener {
+
+    static final String CHANNEL = "sacco:settings:changed";
+
+    /** {@code settings} is null until the platform has been configured. */
+    public record Snapshot(SaccoSettings settings, long version) {}
+
+    private static final Snapshot NOT_LOADED = new Snapshot(null, -1);
+
+    private final SaccoSettingsRepository settingsRepository;
+    private final StringRedisTemplate redis;
+
+    private volatile Snapshot current = NOT_LOADED;
+
+    public SaccoSettingsSnapshot(SaccoSettingsRepository settingsRepository,
+                                 StringRedisTemplate redis,
+                                 @Qualifier("appRedisMessageListenerContainer") RedisMessageListenerContainer listenerContainer) {
+        this.settingsRepository = settingsRepository;
+        this.redis = redis;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /** The current settings, or empty if the platform has not been configured yet. */
+    public Optional<SaccoSettings> get() {
+        Snapshot snapshot = current;
+        if (snapshot == NOT_LOADED) {
+            snapshot = reload();
+        }
+        return Optional.ofNullable(snapshot.settings());
+    }
+
+    /** Version of the loaded snapshot: the row's updated_at in epoch millis (0 when unconfigured). */
+    public long version() {
+        return current.version();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        reload();
+        log.info("SaccoSettingsSnapshot: loaded version {}.", current.version());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSettingsChanged(SaccoSettingsChangedEvent event) {
+        Snapshot snapshot = reload();
+        log.debug("SaccoSettingsSnapshot: {} settings changed — now at version {}.", event.section(), snapshot.version());
+        try {
+            redis.convertAndSend(CHANNEL, Long.toString(snapshot.version()));
+        } catch (Exception e) {
+            // Other nodes pick the change up on their next periodic reload
+            log.warn("Could not broadcast settings change: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            long announced = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (announced > current.version()) {
+                reload();
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed settings broadcast.");
+        }
+    }
+
+    /** Picks up changes whose broadcast this node missed. */
+    @Scheduled(fixedDelayString = "${sacco.settings.cache.refresh-ms:300000}",
+               initialDelayString = "${sacco.settings.cache.refresh-ms:300000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    private synchronized Snapshot reload() {
+        SaccoSettings settings = settingsRepository.findAll().stream().findFirst().orElse(null);
+        long version = settings == null ? 0
+                : settings.getUpdatedAt() != null ? settings.getUpdatedAt().toInstant().toEpochMilli() : 1;
+        current = new Snapshot(settings, version);
+        return current;
+    }
+}
@@ -1,6 +1,8 @@
 package com.jaytechwave.sacco.modules.users.domain.entity;
 
 import com.jaytechwave.sacco.modules.core.security.EncryptedStringConverter;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashListener;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashed;
 import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
 import com.jaytechwave.sacco.modules.roles.domain.entity.Role;
 import jakarta.persistence.*;
@@ -17,7 +19,8 @@ import java.util.UUID;
 @Table(name = "users")
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
-public class User {
+@EntityListeners(PhoneLookupHashListener.class)
+public class User implements PhoneLookupHashed {
 
     @Id
     @UuidGenerator
@@ -43,6 +46,10 @@ public class User {
     @Column(name = "phone_number_hash", length = 88)
     private String phoneNumberHash;
 
+    /** HMAC of the E.164 form; maintained by {@link PhoneLookupHashListener}, never set directly. */
+    @Column(name = "phone_e164_hash", length = 88)
+    private String phoneE164Hash;
+
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
 
@@ -92,4 +99,9 @@ public class User {
     @Column(name = "profile_photo")
     private byte[] profilePhoto;
 
+    @Override
+    public UUID lookupMemberId() {
+        return member != null ? member.getId() : null;
+    }
+
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,21 +15,35 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
     boolean existsByPhoneNumberHash(String phoneNumberHash);
     boolean existsByEmailAndMustChangePasswordTrue(String email);
+    boolean existsByEmailAndEmailVerifiedFalse(String email);
 
     Optional<User> findByEmail(String email);
     Optional<User> findByPhoneNumberHash(String phoneNumberHash);
 
     /**
-     * Like findByPhoneNumberHash but only returns accounts that have a
-     * member_id set — skips orphan/duplicate user accounts that share
-     * the same name but were never linked to a member record.
-     * Used by CoopEventNormalizer to resolve phone → member name.
+     * Payment matching: the member-linked user whose phone, in E.164 form, hashes
+     * to {@code phoneE164Hash} (see PhoneLookupHashListener#hash). Skips orphan or
+     * duplicate user accounts that were never linked to a member record.
      */
-    Optional<User> findFirstByPhoneNumberHashAndMemberIdIsNotNull(String phoneNumberHash);
+    @EntityGraph(attributePaths = {"member"})
+    Optional<User> findFirstByPhoneE164HashAndMemberIdIsNotNull(String phoneE164Hash);
+
+    /**
+     * Member-linked users whose phone, as typed, hashes to one of {@code phoneNumberHashes}:
+     * one query for every spelling of a number that has no E.164 form (see PiiSearchHashConverter#hashAll).
+     */
+    @EntityGraph(attributePaths = {"member"})
+    List<User> findAllByPhoneNumberHashInAndMemberIdIsNotNull(Collection<String> phoneNumberHashes);
 
     @EntityGraph(attributePaths = {"member"})
     Optional<User> findWithMemberByEmail(String email);
 
+    /** Active, non-deleted users without loading phone numbers or roles. */
+    @Query("SELECT new com.jaytechwave.sacco.modules.users.domain.repository.UserSummary(" +
+            "u.id, u.email, u.firstName, u.lastName) FROM User u " +
+            "WHERE u.isDeleted = false AND u.status = com.jaytechwave.sacco.modules.users.domain.entity.UserStatus.ACTIVE")
+    List<UserSummary> findActiveSummaries();
+
     /**
      * Looks up a user by email (plaintext) OR by phone number hash (HMAC-SHA256).
      * The phone_number column is AES-GCM encrypted with a per-write random IV,
@@ -0,0 +1,10 @@
+package com.jaytechwave.sacco.modules.users.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Name-and-email view of a user for pickers and lists. Queries returning it
+ * skip the encrypted {@code phone_number} column and the eager role join.
+ */
+public record UserSummary(UUID id, String email, String firstName, String lastName) {
+}
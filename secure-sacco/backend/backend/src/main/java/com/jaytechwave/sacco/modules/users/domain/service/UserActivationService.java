@@ -1,6 +1,7 @@
 package com.jaytechwave.sacco.modules.users.domain.service;
 
 import com.jaytechwave.sacco.modules.core.notifications.EmailNotificationService;
+import com.jaytechwave.sacco.modules.core.security.SessionSecurityFlags;
 import com.jaytechwave.sacco.modules.users.domain.entity.User;
 import com.jaytechwave.sacco.modules.users.domain.entity.UserStatus;
 import com.jaytechwave.sacco.modules.users.domain.entity.VerificationToken;
@@ -27,6 +28,7 @@ public class UserActivationService {
     private final VerificationTokenRepository tokenRepository;
     private final PasswordEncoder             passwordEncoder;
     private final EmailNotificationService    emailNotificationService;
+    private final SessionSecurityFlags        securityFlags;
 
     @Value("${app.frontend-url}")
     private String frontendUrl;
@@ -86,6 +88,7 @@ public class UserActivationService {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         user.setStatus(UserStatus.ACTIVE);
         userRepository.save(user);
+        securityFlags.refresh(user.getEmail());
 
         log.info("🎉 User {} is now fully activated.", user.getEmail());
     }
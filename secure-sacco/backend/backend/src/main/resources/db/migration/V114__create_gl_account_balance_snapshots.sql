@@ -0,0 +1,33 @@
+-- =============================================================================
+-- V114: Per-account GL balance snapshots for the trial balance
+--
+-- Each row holds the cumulative POSTED debit/credit totals of one account as at
+-- the close of snapshot_date. An as-of-date trial balance reads the latest
+-- snapshot on or before the date and adds only the journal lines dated after
+-- it, instead of re-aggregating the whole ledger on every request.
+--
+-- Rows are written by GlBalanceSnapshotJob (daily, with month-end snapshots
+-- retained indefinitely) and kept in step by JournalEntryService whenever a
+-- posted entry is dated on or before an existing snapshot. The table is empty
+-- until the first job run or an explicit rebuild — the trial balance falls
+-- back to a full ledger scan in that case, so no backfill is needed here.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS gl_account_balance_snapshots (
+    account_id    UUID           NOT NULL REFERENCES accounts(id),
+    snapshot_date DATE           NOT NULL,
+    total_debits  DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+    total_credits DECIMAL(19, 2) NOT NULL DEFAULT 0.00,
+    created_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_gl_account_balance_snapshots PRIMARY KEY (account_id, snapshot_date)
+);
+
+-- "Latest snapshot on or before X" and "every snapshot on or after X" lookups
+CREATE INDEX IF NOT EXISTS idx_gl_balance_snapshots_date
+    ON gl_account_balance_snapshots (snapshot_date);
+
+-- Delta scans only touch POSTED lines inside a date window
+CREATE INDEX IF NOT EXISTS idx_journal_entries_status_date
+    ON journal_entries (status, transaction_date);
@@ -0,0 +1,17 @@
+-- =============================================================================
+-- V115: Supporting indexes for the date-bounded member statement
+--
+-- ReportService now pushes the statement's from/to window and keyset cursor
+-- into every branch of the member statement UNION ALL. These composite
+-- indexes let the high-volume branches range-scan one member's rows by date
+-- instead of reading the member's entire history and filtering.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_savings_tx_account_created
+    ON savings_transactions (savings_account_id, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_penalties_member_created
+    ON penalties (member_id, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_pen_rep_member_created
+    ON penalty_repayments (member_id, created_at);
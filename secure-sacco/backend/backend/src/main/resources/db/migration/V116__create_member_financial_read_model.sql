@@ -0,0 +1,32 @@
+-- =============================================================================
+-- V116: Materialized read model for the member financial overview
+--
+-- v_member_financial_overview (V31/V50/V71) re-aggregates every loan schedule
+-- item and savings transaction on each read. The staff dashboard and the
+-- all-members overview report now read this materialized copy instead, which
+-- MemberFinancialReadModelService refreshes CONCURRENTLY when savings/payment
+-- events arrive and at least every half staleness bound.
+--
+-- report_read_model_refreshes records when each read model was last refreshed
+-- so every node can tell how stale it is; readers fall back to the live view
+-- once the configured bound is exceeded.
+--
+-- Note: the materialized view depends on v_member_financial_overview. A later
+-- migration that drops or recreates that view must drop this one first.
+-- =============================================================================
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS mv_member_financial_overview AS
+SELECT * FROM v_member_financial_overview;
+
+-- REFRESH ... CONCURRENTLY requires a unique index covering every row
+CREATE UNIQUE INDEX IF NOT EXISTS ux_mv_member_financial_overview_member
+    ON mv_member_financial_overview (member_id);
+
+CREATE TABLE IF NOT EXISTS report_read_model_refreshes (
+    view_name    VARCHAR(100) PRIMARY KEY,
+    refreshed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO report_read_model_refreshes (view_name, refreshed_at)
+VALUES ('mv_member_financial_overview', CURRENT_TIMESTAMP)
+ON CONFLICT (view_name) DO NOTHING;
@@ -0,0 +1,25 @@
+-- =============================================================================
+-- V117: Indexed member search
+--
+-- MemberRepository.searchMembersRanked replaces LOWER(x) LIKE '%q%' over three
+-- columns, which no B-tree can serve, with predicates these indexes can:
+--   * member number  -> prefix match on a text_pattern_ops B-tree (ranking)
+--                       and substring match on a pg_trgm GIN index
+--   * full name      -> substring / fuzzy match on a pg_trgm GIN index
+-- All are partial on live rows, matching the entity's soft-delete filter.
+-- The indexed expressions must stay identical to the ones in the query.
+-- =============================================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_members_member_number_prefix
+    ON members (LOWER(member_number) text_pattern_ops)
+    WHERE is_deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_members_member_number_trgm
+    ON members USING gin (LOWER(member_number) gin_trgm_ops)
+    WHERE is_deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_members_full_name_trgm
+    ON members USING gin (LOWER(first_name || ' ' || last_name) gin_trgm_ops)
+    WHERE is_deleted = false;
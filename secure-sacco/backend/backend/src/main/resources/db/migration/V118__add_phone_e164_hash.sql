@@ -0,0 +1,24 @@
+-- =============================================================================
+-- V118: Canonical phone lookup hash
+--
+-- phone_number_hash is an HMAC of the number exactly as it was typed, so a
+-- payment from "254717921562" could only find a member registered as
+-- "0717921562" by trying every format in turn. phone_e164_hash is an HMAC of
+-- the E.164 form (+254717921562); incoming payments resolve with one lookup.
+--
+-- New and updated rows are hashed by PhoneLookupHashListener; existing rows are
+-- filled by PhoneLookupHashBackfillRunner at startup (the phone number is
+-- encrypted, so the hash cannot be computed in SQL).
+-- =============================================================================
+
+ALTER TABLE users   ADD COLUMN IF NOT EXISTS phone_e164_hash VARCHAR(88);
+ALTER TABLE members ADD COLUMN IF NOT EXISTS phone_e164_hash VARCHAR(88);
+
+-- Payment matching only ever wants users linked to a member
+CREATE INDEX IF NOT EXISTS idx_users_phone_e164_hash
+    ON users (phone_e164_hash)
+    WHERE member_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_members_phone_e164_hash
+    ON members (phone_e164_hash)
+    WHERE is_deleted = false;
@@ -0,0 +1,43 @@
+-- =============================================================================
+-- V119: Durable inbox for Co-op STK callbacks and IPNs
+--
+-- The callback endpoints used to run the whole payment chain (normalisation,
+-- member enrichment, savings credit, GL posting, listeners) before answering
+-- Co-op. They now store the raw body here and acknowledge immediately;
+-- PaymentCallbackInboxJob processes the rows with retry.
+--
+-- ordering_key: callbacks sharing a key are processed strictly in arrival
+-- order, one at a time. It is the payer's phone (E.164), the closest thing to
+-- the member that is known before enrichment.
+-- dedup_key: Co-op's TransactionId / MessageReference, so a redelivered
+-- callback is stored once.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS payment_callback_inbox (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    source          VARCHAR(20)  NOT NULL,                 -- STK_CALLBACK | IPN
+    dedup_key       VARCHAR(120),
+    ordering_key    VARCHAR(64)  NOT NULL,
+    payload         TEXT         NOT NULL,
+    status          VARCHAR(20)  NOT NULL DEFAULT 'PENDING', -- PENDING | PROCESSING | DONE | FAILED
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until    TIMESTAMP WITH TIME ZONE,
+    last_error      TEXT,
+    received_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at    TIMESTAMP WITH TIME ZONE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payment_callback_inbox_dedup
+    ON payment_callback_inbox (source, dedup_key)
+    WHERE dedup_key IS NOT NULL;
+
+-- Claim query: oldest open row per ordering key
+CREATE INDEX IF NOT EXISTS idx_payment_callback_inbox_open
+    ON payment_callback_inbox (ordering_key, received_at)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+-- Retention purge of processed rows
+CREATE INDEX IF NOT EXISTS idx_payment_callback_inbox_done
+    ON payment_callback_inbox (processed_at)
+    WHERE status = 'DONE';
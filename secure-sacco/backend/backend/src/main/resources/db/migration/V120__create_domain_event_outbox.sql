@@ -0,0 +1,42 @@
+-- =============================================================================
+-- V120: Transactional outbox for domain events
+--
+-- Events with @OutboxEventListener handlers (payment completed / failed) are
+-- written here in the publishing transaction, then dispatched by OutboxRelay
+-- after commit instead of running inline on the request thread.
+--
+-- domain_event_outbox_deliveries records each handler that has run for an
+-- event, in the same transaction as the handler's own writes, so a retried
+-- event never applies a handler's effects twice.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS domain_event_outbox (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    event_type      VARCHAR(200) NOT NULL,
+    payload         TEXT         NOT NULL,
+    ordering_key    VARCHAR(64)  NOT NULL,                  -- member id, else payment id
+    status          VARCHAR(20)  NOT NULL DEFAULT 'PENDING', -- PENDING | PROCESSING | DONE | FAILED
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until    TIMESTAMP WITH TIME ZONE,
+    last_error      TEXT,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    dispatched_at   TIMESTAMP WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS domain_event_outbox_deliveries (
+    event_id     UUID         NOT NULL REFERENCES domain_event_outbox (id) ON DELETE CASCADE,
+    handler      VARCHAR(200) NOT NULL,
+    delivered_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (event_id, handler)
+);
+
+-- Relay claim: oldest open event per ordering key
+CREATE INDEX IF NOT EXISTS idx_domain_event_outbox_open
+    ON domain_event_outbox (ordering_key, created_at)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+-- Retention purge of dispatched events
+CREATE INDEX IF NOT EXISTS idx_domain_event_outbox_done
+    ON domain_event_outbox (dispatched_at)
+    WHERE status = 'DONE';
@@ -0,0 +1,124 @@
+package com.jaytechwave.sacco.modules.accounting.domain.service;
+
+import com.jaytechwave.sacco.modules.accounting.api.dto.AccountDTOs.UpdateAccountRequest;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.Account;
+import com.jaytechwave.sacco.modules.accounting.domain.event.ChartOfAccountsChangedEvent;
+import com.jaytechwave.sacco.modules.accounting.domain.repository.AccountRepository;
+import com.jaytechwave.sacco.modules.audit.service.SecurityAuditService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChartOfAccountsCache")
+class ChartOfAccountsCacheTest {
+
+    @Mock AccountRepository accountRepository;
+    @Mock SecurityAuditService securityAuditService;
+
+    private ChartOfAccountsCache cache;
+    private Account bank;
+    private Account savings;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ChartOfAccountsCache(accountRepository);
+        bank    = account("1002", "Bank - Co-op", true);
+        savings = account("2100", "Member Savings", true);
+    }
+
+    @Test
+    @DisplayName("serves warmed accounts from memory")
+    void hitsServedFromMemory() {
+        when(accountRepository.findAll()).thenReturn(List.of(bank, savings));
+        cache.warm();
+
+        assertThat(cache.find("1002")).containsSame(bank);
+        assertThat(cache.find("2100")).containsSame(savings);
+        assertThat(cache.find("1002")).containsSame(bank);
+
+        verify(accountRepository, times(1)).findAll();
+        verify(accountRepository, never()).findByAccountCode(anyString());
+    }
+
+    @Test
+    @DisplayName("loads an account created since the last reload once, then serves it from memory")
+    void missLoadedOnce() {
+        when(accountRepository.findAll()).thenReturn(List.of(bank));
+        cache.warm();
+        when(accountRepository.findByAccountCode("2100")).thenReturn(Optional.of(savings));
+
+        assertThat(cache.find("2100")).containsSame(savings);
+        assertThat(cache.find("2100")).containsSame(savings);
+        assertThat(cache.find("1002")).containsSame(bank);
+
+        verify(accountRepository, times(1)).findByAccountCode("2100");
+    }
+
+    @Test
+    @DisplayName("an unknown code is empty and is not remembered")
+    void unknownCodeNotCached() {
+        when(accountRepository.findAll()).thenReturn(List.of(bank));
+        cache.warm();
+        when(accountRepository.findByAccountCode("9999")).thenReturn(Optional.empty());
+
+        assertThat(cache.find("9999")).isEmpty();
+        assertThat(cache.find("9999")).isEmpty();
+
+        verify(accountRepository, times(2)).findByAccountCode("9999");
+    }
+
+    @Test
+    @DisplayName("an account write reloads the chart, so a deactivation is seen by the next lookup")
+    void reloadsOnAccountWrite() {
+        when(accountRepository.findAll()).thenReturn(List.of(bank, savings));
+        cache.warm();
+
+        // AccountService's event reaches the cache as it would after commit
+        AccountService accountService = new AccountService(accountRepository, securityAuditService,
+                event -> cache.onChartOfAccountsChanged((ChartOfAccountsChangedEvent) event));
+        Account stored = account("1002", "Bank - Co-op", true);
+        stored.setId(bank.getId());
+        when(accountRepository.findById(bank.getId())).thenReturn(Optional.of(stored));
+        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountRepository.findAll()).thenReturn(List.of(stored, savings));
+
+        accountService.updateAccount(bank.getId(), new UpdateAccountRequest("Bank - Co-op", null, false));
+
+        assertThat(cache.find("1002")).hasValueSatisfying(account -> {
+            assertThat(account).isSameAs(stored);
+            assertThat(account.isActive()).isFalse();
+        });
+        verify(accountRepository, never()).findByAccountCode(anyString());
+    }
+
+    @Test
+    @DisplayName("the scheduled reload picks up edits made on other nodes")
+    void scheduledReload() {
+        when(accountRepository.findAll()).thenReturn(List.of(bank));
+        cache.warm();
+
+        Account renamed = account("1002", "Bank - Equity", true);
+        when(accountRepository.findAll()).thenReturn(List.of(renamed, savings));
+        cache.reload();
+
+        assertThat(cache.find("1002")).containsSame(renamed);
+        assertThat(cache.find("2100")).containsSame(savings);
+    }
+
+    private static Account account(String code, String name, boolean active) {
+        return Account.builder().id(UUID.randomUUID()).accountCode(code).accountName(name).isActive(active).build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.jaytechwave.sacco.modules.accounting.domain.service;
+
+import com.jaytechwave.sacco.modules.accounting.domain.entity.Account;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntry;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryLine;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the snapshot capture and shift SQL against a real PostgreSQL with the
+ * V114 table (skipped without Docker), interleaving the 00:10 capture of
+ * yesterday with a posting dated yesterday that is still in flight.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("GlBalanceSnapshotService — capture vs concurrent postings")
+class GlBalanceSnapshotConcurrencyTest {
+
+    private static final LocalDate YESTERDAY = LocalDate.of(2026, 9, 14);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+    private static TransactionTemplate tx;
+
+    private GlBalanceSnapshotService service;
+    private Account bank;
+    private Account savings;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbc = new JdbcTemplate(dataSource);
+        // Only the ledger columns the snapshot SQL reads
+        jdbc.execute("""
+                CREATE TABLE accounts (
+                    id UUID PRIMARY KEY, account_code VARCHAR(20) NOT NULL, account_name VARCHAR(100) NOT NULL,
+                    account_type VARCHAR(20) NOT NULL, is_active BOOLEAN NOT NULL DEFAULT true);
+                CREATE TABLE journal_entries (
+                    id UUID PRIMARY KEY, reference_number VARCHAR(100) NOT NULL,
+                    transaction_date DATE NOT NULL, status VARCHAR(20) NOT NULL);
+                CREATE TABLE journal_entry_lines (
+                    journal_entry_id UUID NOT NULL REFERENCES journal_entries(id), account_id UUID NOT NULL REFERENCES accounts(id),
+                    debit_amount DECIMAL(19, 2) NOT NULL, credit_amount DECIMAL(19, 2) NOT NULL);
+                """);
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V114__create_gl_account_balance_snapshots.sql")).execute(dataSource);
+        tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM gl_account_balance_snapshots");
+        jdbc.update("DELETE FROM journal_entry_lines");
+        jdbc.update("DELETE FROM journal_entries");
+        jdbc.update("DELETE FROM accounts");
+        bank    = account("1002", "ASSET");
+        savings = account("2100", "LIABILITY");
+        service = new GlBalanceSnapshotService(jdbc);
+    }
+
+    @Test
+    @DisplayName("capture waits for a posting already in flight and includes it")
+    void captureWaitsForInFlightPosting() throws Exception {
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        Thread posting = new Thread(() -> tx.executeWithoutResult(status -> {
+            service.applyEntry(insertEntry("DEP-1", YESTERDAY, "500.00"));
+            posted.countDown();
+            await(commit);
+        }));
+        posting.start();
+        assertThat(posted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread capture = new Thread(() -> tx.executeWithoutResult(status -> service.capture(YESTERDAY)));
+        capture.start();
+        awaitLockWaiter();
+        commit.countDown();
+        posting.join(5_000);
+        capture.join(5_000);
+
+        assertSnapshot(bank, "500.00", "0.00");
+        assertSnapshot(savings, "0.00", "500.00");
+    }
+
+    @Test
+    @DisplayName("a posting that starts during capture waits, then shifts the new snapshot")
+    void postingDuringCaptureShiftsNewSnapshot() throws Exception {
+        CountDownLatch captured = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        Thread capture = new Thread(() -> tx.executeWithoutResult(status -> {
+            service.capture(YESTERDAY);
+            captured.countDown();
+            await(commit);
+        }));
+        capture.start();
+        assertThat(captured.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread posting = new Thread(() -> tx.executeWithoutResult(status ->
+                service.applyEntry(insertEntry("DEP-2", YESTERDAY, "250.00"))));
+        posting.start();
+        awaitLockWaiter();
+        commit.countDown();
+        capture.join(5_000);
+        posting.join(5_000);
+
+        assertSnapshot(bank, "250.00", "0.00");
+        assertSnapshot(savings, "0.00", "250.00");
+    }
+
+    private Account account(String code, String type) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO accounts (id, account_code, account_name, account_type) VALUES (?, ?, ?, ?)",
+                id, code, "Account " + code, type);
+        return Account.builder().id(id).accountCode(code).build();
+    }
+
+    /** Writes a POSTED deposit (bank debit, savings credit) in the caller's transaction. */
+    private JournalEntry insertEntry(String reference, LocalDate date, String amount) {
+        UUID id = UUID.randomUUID();
+        BigDecimal value = new BigDecimal(amount);
+        jdbc.update("INSERT INTO journal_entries (id, reference_number, transaction_date, status) VALUES (?, ?, ?, 'POSTED')",
+                id, reference, date);
+        jdbc.update("INSERT INTO journal_entry_lines (journal_entry_id, account_id, debit_amount, credit_amount) VALUES (?, ?, ?, 0)",
+                id, bank.getId(), value);
+        jdbc.update("INSERT INTO journal_entry_lines (journal_entry_id, account_id, debit_amount, credit_amount) VALUES (?, ?, 0, ?)",
+                id, savings.getId(), value);
+
+        JournalEntry entry = JournalEntry.builder()
+                .transactionDate(date).referenceNumber(reference)
+                .status(JournalEntryStatus.POSTED).build();
+        entry.addLine(JournalEntryLine.builder().account(bank).debitAmount(value).creditAmount(BigDecimal.ZERO).build());
+        entry.addLine(JournalEntryLine.builder().account(savings).debitAmount(BigDecimal.ZERO).creditAmount(value).build());
+        return entry;
+    }
+
+    /** Blocks until another session is queued on the snapshot advisory lock. */
+    private static void awaitLockWaiter() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            Integer waiting = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Integer.class);
+            if (waiting != null && waiting > 0) return;
+            Thread.sleep(20);
+        }
+        throw new AssertionError("No session waited on the snapshot lock");
+    }
+
+    private void assertSnapshot(Account account, String debits, String credits) {
+        var row = jdbc.queryForMap(
+                "SELECT total_debits, total_credits FROM gl_account_balance_snapshots WHERE account_id = ? AND snapshot_date = ?",
+                account.getId(), YESTERDAY);
+        assertThat((BigDecimal) row.get("total_debits")).isEqualByComparingTo(debits);
+        assertThat((BigDecimal) row.get("total_credits")).isEqualByComparingTo(credits);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
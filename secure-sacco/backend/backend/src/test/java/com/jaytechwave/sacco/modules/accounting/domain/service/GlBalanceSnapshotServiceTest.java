@@ -0,0 +1,127 @@
+package com.jaytechwave.sacco.modules.accounting.domain.service;
+
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.AccountLineDTO;
+import com.jaytechwave.sacco.modules.accounting.api.dto.TrialBalanceDTOs.SnapshotConsistencyResponse;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.Account;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntry;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryLine;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GlBalanceSnapshotService — snapshot + delta vs full recompute")
+class GlBalanceSnapshotServiceTest {
+
+    private static final LocalDate LEDGER_EPOCH = LocalDate.of(1900, 1, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private GlBalanceSnapshotService service;
+
+    private static AccountLineDTO line(String code, String debits, String credits) {
+        BigDecimal dr = new BigDecimal(debits);
+        BigDecimal cr = new BigDecimal(credits);
+        return new AccountLineDTO(code, "Account " + code, "ASSET", dr, cr, dr.subtract(cr));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenBalances(LocalDate snapshotDate, LocalDate asOf, List<AccountLineDTO> lines) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(snapshotDate), eq(snapshotDate), eq(asOf), eq(true)))
+                .thenReturn(lines);
+    }
+
+    @Test
+    @DisplayName("verify: consistent when snapshot + delta equals the full recompute")
+    void verify_matchingBalances_isConsistent() {
+        LocalDate asOf = LocalDate.of(2026, 9, 15);
+        LocalDate snapshotDate = LocalDate.of(2026, 8, 31);
+        when(jdbcTemplate.queryForObject(anyString(), eq(LocalDate.class), eq(asOf))).thenReturn(snapshotDate);
+
+        List<AccountLineDTO> balances = List.of(line("1001", "5000.00", "0.00"), line("2100", "0.00", "5000.00"));
+        givenBalances(snapshotDate, asOf, balances);
+        givenBalances(LEDGER_EPOCH, asOf, balances);
+
+        SnapshotConsistencyResponse response = service.verify(asOf);
+
+        assertThat(response.consistent()).isTrue();
+        assertThat(response.accountsChecked()).isEqualTo(2);
+        assertThat(response.snapshotDate()).isEqualTo("2026-08-31");
+        assertThat(response.mismatches()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify: reports every account whose snapshot drifted from the ledger")
+    void verify_driftedSnapshot_reportsMismatch() {
+        LocalDate asOf = LocalDate.of(2026, 9, 15);
+        LocalDate snapshotDate = LocalDate.of(2026, 9, 14);
+        when(jdbcTemplate.queryForObject(anyString(), eq(LocalDate.class), eq(asOf))).thenReturn(snapshotDate);
+
+        givenBalances(snapshotDate, asOf, List.of(line("1001", "4000.00", "0.00"), line("2100", "0.00", "5000.00")));
+        givenBalances(LEDGER_EPOCH, asOf, List.of(line("1001", "5000.00", "0.00"), line("2100", "0.00", "5000.00")));
+
+        SnapshotConsistencyResponse response = service.verify(asOf);
+
+        assertThat(response.consistent()).isFalse();
+        assertThat(response.mismatches()).hasSize(1);
+        assertThat(response.mismatches().get(0).accountCode()).isEqualTo("1001");
+        assertThat(response.mismatches().get(0).snapshotDebits()).isEqualByComparingTo("4000.00");
+        assertThat(response.mismatches().get(0).ledgerDebits()).isEqualByComparingTo("5000.00");
+    }
+
+    @Test
+    @DisplayName("applyEntry: ignores entries that are not POSTED")
+    void applyEntry_draftEntry_writesNothing() {
+        JournalEntry draft = JournalEntry.builder()
+                .transactionDate(LocalDate.now()).referenceNumber("DRAFT-1")
+                .status(JournalEntryStatus.DRAFT).build();
+
+        service.applyEntry(draft);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("applyEntry: one batched row per account, lines on the same account are summed")
+    @SuppressWarnings("unchecked")
+    void applyEntry_postedEntry_batchesOneRowPerAccount() {
+        Account loans = Account.builder().id(UUID.randomUUID()).accountCode("1200").build();
+        Account bank  = Account.builder().id(UUID.randomUUID()).accountCode("1002").build();
+        LocalDate date = LocalDate.of(2026, 9, 1);
+
+        JournalEntry entry = JournalEntry.builder()
+                .transactionDate(date).referenceNumber("LNREF-1")
+                .status(JournalEntryStatus.POSTED).build();
+        entry.addLine(JournalEntryLine.builder().account(loans).debitAmount(new BigDecimal("10000.00")).creditAmount(BigDecimal.ZERO).build());
+        entry.addLine(JournalEntryLine.builder().account(loans).debitAmount(BigDecimal.ZERO).creditAmount(new BigDecimal("4000.00")).build());
+        entry.addLine(JournalEntryLine.builder().account(bank).debitAmount(BigDecimal.ZERO).creditAmount(new BigDecimal("6000.00")).build());
+
+        service.applyEntry(entry);
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        List<Object[]> rows = captor.getValue();
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsExactly(loans.getId(), new BigDecimal("10000.00"), new BigDecimal("4000.00"), date);
+        assertThat(rows.get(1)).containsExactly(bank.getId(), BigDecimal.ZERO, new BigDecimal("6000.00"), date);
+    }
+}
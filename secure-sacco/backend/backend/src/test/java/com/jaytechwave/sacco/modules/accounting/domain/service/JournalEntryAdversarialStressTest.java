@@ -16,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -37,6 +38,9 @@ public class JournalEntryAdversarialStressTest {
     @Mock private JournalEntryRepository journalEntryRepository;
     @Mock private AccountRepository accountRepository;
     @Mock private SecurityAuditService securityAuditService;
+    @Mock private GlBalanceSnapshotService glBalanceSnapshotService;
+    @Mock private ChartOfAccountsCache chartOfAccountsCache;
+    @Mock private JdbcTemplate jdbcTemplate;
 
     @InjectMocks
     private JournalEntryService journalEntryService;
@@ -59,6 +63,9 @@ public class JournalEntryAdversarialStressTest {
         lenient().when(accountRepository.findByAccountCode("1001")).thenReturn(Optional.of(acc1001));
         lenient().when(accountRepository.findByAccountCode("2100")).thenReturn(Optional.of(acc2100));
         lenient().when(accountRepository.findByAccountCode("5360")).thenReturn(Optional.of(acc5360));
+        // Cold cache: every lookup falls through to the repository stubs above
+        lenient().when(chartOfAccountsCache.find(anyString()))
+                .thenAnswer(inv -> accountRepository.findByAccountCode(inv.getArgument(0)));
     }
 
     @Test
@@ -15,6 +15,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryLine;
 
@@ -36,6 +37,9 @@ class JournalEntryServiceTest {
     @Mock JournalEntryRepository journalEntryRepository;
     @Mock AccountRepository accountRepository;
     @Mock SecurityAuditService securityAuditService;
+    @Mock GlBalanceSnapshotService glBalanceSnapshotService;
+    @Mock ChartOfAccountsCache chartOfAccountsCache;
+    @Mock JdbcTemplate jdbcTemplate;
 
     @InjectMocks
     private JournalEntryService service;
@@ -63,6 +67,9 @@ class JournalEntryServiceTest {
         lenient().when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(inv -> inv.getArgument(0));
         lenient().when(accountRepository.findByAccountCode("1000")).thenReturn(Optional.of(debitAccount));
         lenient().when(accountRepository.findByAccountCode("2100")).thenReturn(Optional.of(creditAccount));
+        // Cold cache: every lookup falls through to the repository stubs above
+        lenient().when(chartOfAccountsCache.find(anyString()))
+                .thenAnswer(inv -> accountRepository.findByAccountCode(inv.getArgument(0)));
     }
 
     // ─── Balanced entry ──────────────────────────────────────────────
@@ -438,4 +445,65 @@ class JournalEntryServiceTest {
 
         verify(journalEntryRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    // ─── Batch posting ────────────────────────────────────────────────
+
+    private CreateJournalEntryRequest balanced(String reference, String amount) {
+        return new CreateJournalEntryRequest(LocalDate.now(), reference, "Batch entry " + reference, List.of(
+                new JournalEntryLineRequest("1000", null, new BigDecimal(amount), BigDecimal.ZERO, "Dr"),
+                new JournalEntryLineRequest("2100", null, BigDecimal.ZERO, new BigDecimal(amount), "Cr")
+        ));
+    }
+
+    @Test
+    @DisplayName("postEntries: one idempotency query, skips posted references, batch-inserts the rest")
+    @SuppressWarnings("unchecked")
+    void postEntries_skipsExistingAndBatchInsertsRest() {
+        when(journalEntryRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(List.of("BATCH-2"));
+
+        int posted = service.postEntries(List.of(
+                balanced("BATCH-1", "100.00"), balanced("BATCH-2", "200.00"), balanced("BATCH-3", "300.00")));
+
+        assertThat(posted).isEqualTo(2);
+        verify(journalEntryRepository, times(1)).findExistingReferenceNumbers(anyCollection());
+        verify(journalEntryRepository, never()).existsByReferenceNumber(anyString());
+        verify(journalEntryRepository, never()).save(any());
+
+        ArgumentCaptor<java.util.Collection<JournalEntry>> entries = ArgumentCaptor.forClass(java.util.Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO journal_entries"), entries.capture(), anyInt(), any());
+        assertThat(entries.getValue()).extracting(JournalEntry::getReferenceNumber).containsExactly("BATCH-1", "BATCH-3");
+
+        ArgumentCaptor<java.util.Collection<JournalEntryLine>> lines = ArgumentCaptor.forClass(java.util.Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO journal_entry_lines"), lines.capture(), anyInt(), any());
+        assertThat(lines.getValue()).hasSize(4)
+                .allSatisfy(line -> assertThat(line.getJournalEntry().getId()).isNotNull());
+
+        verify(glBalanceSnapshotService).applyEntries(anyList());
+    }
+
+    @Test
+    @DisplayName("postEntries: one unbalanced entry rejects the whole batch before any write")
+    void postEntries_unbalancedEntry_rejectsBatch() {
+        when(journalEntryRepository.findExistingReferenceNumbers(anyCollection())).thenReturn(List.of());
+        CreateJournalEntryRequest unbalanced = new CreateJournalEntryRequest(LocalDate.now(), "BATCH-BAD", "Unbalanced", List.of(
+                new JournalEntryLineRequest("1000", null, new BigDecimal("100.00"), BigDecimal.ZERO, "Dr"),
+                new JournalEntryLineRequest("2100", null, BigDecimal.ZERO, new BigDecimal("90.00"), "Cr")
+        ));
+
+        assertThatThrownBy(() -> service.postEntries(List.of(balanced("BATCH-1", "100.00"), unbalanced)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Trial Balance failure");
+
+        verifyNoInteractions(jdbcTemplate, glBalanceSnapshotService);
+    }
+
+    @Test
+    @DisplayName("postEntries: duplicate reference inside the batch is rejected")
+    void postEntries_duplicateReferenceInBatch_throws() {
+        assertThatThrownBy(() -> service.postEntries(List.of(balanced("BATCH-1", "100.00"), balanced("BATCH-1", "50.00"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate journal reference");
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
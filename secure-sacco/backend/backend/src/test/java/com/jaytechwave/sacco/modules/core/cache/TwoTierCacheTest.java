@@ -0,0 +1,92 @@
+package com.jaytechwave.sacco.modules.core.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TwoTierCache — L1 in front of L2")
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache l2;
+    private List<String> published;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        l2 = new ConcurrentMapCache("memberDashboard", false);
+        published = new ArrayList<>();
+        cache = new TwoTierCache("memberDashboard",
+                Caffeine.newBuilder().maximumSize(100).build(),
+                l2,
+                (name, key) -> published.add(name + ":" + key));
+    }
+
+    @Test
+    @DisplayName("an L2 hit fills L1, so later reads survive the L2 entry disappearing")
+    void get_fillsL1FromL2() {
+        l2.put("jane@sacco.test", "dashboard-v1");
+
+        assertThat(cache.get("jane@sacco.test").get()).isEqualTo("dashboard-v1");
+        l2.evict("jane@sacco.test"); // e.g. Redis TTL expiry
+
+        assertThat(cache.get("jane@sacco.test").get()).isEqualTo("dashboard-v1");
+    }
+
+    @Test
+    @DisplayName("evict clears both tiers and broadcasts the key to other nodes")
+    void evict_clearsBothTiersAndPublishes() {
+        cache.put("jane@sacco.test", "dashboard-v1");
+        published.clear();
+
+        cache.evict("jane@sacco.test");
+
+        assertThat(cache.get("jane@sacco.test")).isNull();
+        assertThat(l2.get("jane@sacco.test")).isNull();
+        assertThat(published).containsExactly("memberDashboard:jane@sacco.test");
+    }
+
+    @Test
+    @DisplayName("a remote invalidation drops only the local copy; the next read refetches L2")
+    void evictLocal_refetchesFromL2() {
+        cache.put("jane@sacco.test", "dashboard-v1");
+        l2.put("jane@sacco.test", "dashboard-v2"); // another node wrote L2
+
+        cache.evictLocal("jane@sacco.test");
+
+        assertThat(cache.get("jane@sacco.test").get()).isEqualTo("dashboard-v2");
+    }
+
+    @Test
+    @DisplayName("get(key, loader) loads once and serves repeats from L1")
+    void getWithLoader_loadsOnce() {
+        int[] loads = {0};
+
+        String first = cache.get("kpi", () -> "kpi-" + (++loads[0]));
+        String second = cache.get("kpi", () -> "kpi-" + (++loads[0]));
+
+        assertThat(first).isEqualTo("kpi-1");
+        assertThat(second).isEqualTo("kpi-1");
+        assertThat(loads[0]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("clear empties both tiers and broadcasts a clear (null key)")
+    void clear_publishesClear() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        published.clear();
+
+        cache.clear();
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(published).containsExactly("memberDashboard:null");
+    }
+}
@@ -0,0 +1,159 @@
+package com.jaytechwave.sacco.modules.core.config;
+
+import com.jaytechwave.sacco.modules.accounting.domain.entity.Account;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.AccountType;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntry;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryLine;
+import com.jaytechwave.sacco.modules.accounting.domain.entity.JournalEntryStatus;
+import com.jaytechwave.sacco.modules.accounting.domain.repository.JournalEntryRepository;
+import com.jaytechwave.sacco.modules.loans.domain.entity.*;
+import com.jaytechwave.sacco.modules.loans.domain.service.LoanScheduleService;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the Hibernate batching configuration in application.yml
+ * (hibernate.jdbc.batch_size + order_inserts): bulk writes must reach PostgreSQL as
+ * a few JDBC batches, never as one INSERT round trip per row.
+ *
+ * <p>Runs against the same PostgreSQL as the other {@code test}-profile tests
+ * (schema via ddl-auto create-drop).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session.events.auto="
+                + "com.jaytechwave.sacco.modules.core.config.HibernateBatchingTest$JdbcStatementCounter"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(LoanScheduleService.class)
+@DisplayName("Hibernate JDBC batching — statement counts")
+class HibernateBatchingTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * Slice configuration: the application class pulls in Redis-backed sessions,
+     * which a JPA slice has no use for.
+     */
+    @SpringBootConfiguration
+    @EntityScan("com.jaytechwave.sacco.modules")
+    @EnableJpaRepositories("com.jaytechwave.sacco.modules")
+    static class JpaSliceConfig {
+    }
+
+    /** Counts JDBC executions per kind; registered via hibernate.session.events.auto. */
+    public static class JdbcStatementCounter implements SessionEventListener {
+        static final AtomicInteger BATCHES = new AtomicInteger();
+        static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+        static void reset() {
+            BATCHES.set(0);
+            STATEMENTS.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            BATCHES.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            STATEMENTS.incrementAndGet();
+        }
+    }
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired LoanScheduleService loanScheduleService;
+    @Autowired JournalEntryRepository journalEntryRepository;
+
+    @BeforeEach
+    void resetCounter() {
+        JdbcStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("104-week schedule is written in ceil(104 / batch_size) batches")
+    void generateWeeklySchedule_insertsInBatches() {
+        LoanProduct product = entityManager.persist(LoanProduct.builder()
+                .name("Batching Test Product " + UUID.randomUUID())
+                .repaymentFrequency(RepaymentFrequency.WEEKLY)
+                .termWeeks(104)
+                .interestModel(InterestModel.FLAT)
+                .interestRate(new BigDecimal("10.00"))
+                .applicationFee(new BigDecimal("500.00"))
+                .gracePeriodDays(28)
+                .isActive(true)
+                .build());
+        LoanApplication application = entityManager.persist(LoanApplication.builder()
+                .memberId(UUID.randomUUID())
+                .loanProduct(product)
+                .principalAmount(new BigDecimal("50000.00"))
+                .applicationFee(new BigDecimal("500.00"))
+                .status(LoanStatus.ACTIVE)
+                .termWeeks(104)
+                .disbursedAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build());
+        entityManager.flush();
+        JdbcStatementCounter.reset();
+
+        loanScheduleService.generateWeeklySchedule(application);
+        entityManager.flush();
+
+        assertThat(JdbcStatementCounter.STATEMENTS.get()).isZero();
+        assertThat(JdbcStatementCounter.BATCHES.get()).isEqualTo((104 + BATCH_SIZE - 1) / BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("journal entry and its lines flush as one batch per table")
+    void journalPosting_insertsEntryAndLinesInTwoBatches() {
+        Account cash = entityManager.persist(Account.builder()
+                .accountCode("T-1000").accountName("Test Cash").accountType(AccountType.ASSET).build());
+        Account savings = entityManager.persist(Account.builder()
+                .accountCode("T-2100").accountName("Test Savings").accountType(AccountType.LIABILITY).build());
+        entityManager.flush();
+        JdbcStatementCounter.reset();
+
+        JournalEntry entry = JournalEntry.builder()
+                .transactionDate(LocalDate.now())
+                .referenceNumber("BATCH-TEST-" + UUID.randomUUID())
+                .description("Batching test")
+                .status(JournalEntryStatus.POSTED)
+                .build();
+        entry.addLine(line(cash, "600.00", "0"));
+        entry.addLine(line(cash, "400.00", "0"));
+        entry.addLine(line(savings, "0", "1000.00"));
+
+        journalEntryRepository.save(entry);
+        entityManager.flush();
+
+        assertThat(JdbcStatementCounter.STATEMENTS.get()).isZero();
+        assertThat(JdbcStatementCounter.BATCHES.get()).isEqualTo(2);
+    }
+
+    private static JournalEntryLine line(Account account, String debit, String credit) {
+        return JournalEntryLine.builder()
+                .account(account)
+                .debitAmount(new BigDecimal(debit))
+                .creditAmount(new BigDecimal(credit))
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.core.outbox.OutboxHandlerRegistry.Handler;
+import com.jaytechwave.sacco.modules.core.outbox.TransactionalOutbox.Entry;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Handler sequencing in {@link OutboxRelay}: a failure stops the event at the
+ * failed handler, and a retry runs only the handlers not yet delivered. Also
+ * checks that dispatch does not depend on the shared {@code @Scheduled} thread.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay")
+class OutboxRelayTest {
+
+    private static final Handler SAVINGS   = handler("SavingsPaymentListener.handlePaymentCompleted");
+    private static final Handler RECEIPT   = handler("NotificationPaymentListener.handlePaymentCompleted");
+    private static final Handler DASHBOARD = handler("DashboardCacheEvictionListener.onPaymentCompleted");
+
+    @Mock TransactionalOutbox outbox;
+    @Mock OutboxHandlerRegistry registry;
+    @Mock OutboxDeliveryService deliveryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OutboxRelay relay;
+    private Entry entry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        relay = new OutboxRelay(outbox, registry, deliveryService, objectMapper, new SimpleMeterRegistry(), 1, 10);
+
+        var event = new PaymentCompletedEvent(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN, "DEP-1", "UETA45S0OJ");
+        entry = new Entry(UUID.randomUUID(), PaymentCompletedEvent.class.getName(),
+                objectMapper.writeValueAsString(event), 1, OffsetDateTime.now());
+
+        lenient().when(registry.eventType(entry.eventType())).thenAnswer(inv -> PaymentCompletedEvent.class);
+        lenient().when(registry.handlersFor(PaymentCompletedEvent.class)).thenReturn(List.of(SAVINGS, RECEIPT, DASHBOARD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    @DisplayName("a failed handler holds back the handlers ordered after it")
+    void failureStopsLaterHandlers() {
+        when(outbox.claim(anyInt())).thenReturn(List.of(entry));
+        when(outbox.deliveredHandlers(entry.id())).thenReturn(Set.of());
+        when(deliveryService.deliver(eq(entry.id()), eq(SAVINGS), any()))
+                .thenThrow(new IllegalStateException("savings account locked"));
+
+        relay.dispatch();
+
+        verify(deliveryService).deliver(eq(entry.id()), eq(SAVINGS), any());
+        verify(deliveryService, never()).deliver(any(), eq(RECEIPT), any());
+        verify(deliveryService, never()).deliver(any(), eq(DASHBOARD), any());
+        verify(outbox).markFailed(eq(entry), contains("SavingsPaymentListener.handlePaymentCompleted"));
+        verify(outbox, never()).markDone(any());
+    }
+
+    @Test
+    @DisplayName("a retry resumes at the failed handler and skips those already delivered")
+    void retrySkipsDeliveredHandlers() {
+        Entry retry = new Entry(entry.id(), entry.eventType(), entry.payload(), 2, entry.createdAt());
+        when(outbox.claim(anyInt())).thenReturn(List.of(retry));
+        when(outbox.deliveredHandlers(entry.id())).thenReturn(Set.of(SAVINGS.name()));
+        when(deliveryService.deliver(eq(entry.id()), any(), any())).thenReturn(true);
+
+        relay.dispatch();
+
+        InOrder order = inOrder(deliveryService, outbox);
+        order.verify(deliveryService).deliver(eq(entry.id()), eq(RECEIPT), any());
+        order.verify(deliveryService).deliver(eq(entry.id()), eq(DASHBOARD), any());
+        order.verify(outbox).markDone(entry.id());
+        verify(deliveryService, never()).deliver(any(), eq(SAVINGS), any());
+        verify(outbox, never()).markFailed(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("keeps dispatching while a job holds the shared scheduler thread")
+    void dispatchIndependentOfSharedScheduler() throws Exception {
+        // Spring Boot's default scheduler: one thread for every @Scheduled job
+        ThreadPoolTaskScheduler shared = new ThreadPoolTaskScheduler();
+        shared.setPoolSize(1);
+        shared.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            shared.execute(() -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            relay.start();
+
+            verify(outbox, timeout(5_000).atLeast(3)).claim(anyInt());
+        } finally {
+            release.countDown();
+            shared.shutdown();
+        }
+    }
+
+    private static Handler handler(String name) {
+        try {
+            return new Handler(name, "bean", Object.class.getMethod("toString"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.core.outbox.TransactionalOutbox.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The outbox's exactly-once guarantees against a real PostgreSQL with the V120
+ * tables (skipped without Docker), wired with the real transaction and event
+ * listener infrastructure: the event is stored only if the publisher commits,
+ * a claim hands out one event per ordering key in commit order, a handler's
+ * writes and its delivery row commit or roll back together, and a retry skips
+ * delivered handlers.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("TransactionalOutbox — exactly once")
+class TransactionalOutboxExactlyOnceTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static AnnotationConfigApplicationContext context;
+    private static JdbcTemplate jdbc;
+    private static TransactionTemplate tx;
+    private static TransactionalOutbox outbox;
+    private static OutboxHandlerRegistry registry;
+    private static OutboxDeliveryService deliveryService;
+    private static SavingsHandler savingsHandler;
+    private static ReadModelHandler readModelHandler;
+
+    record CreditPosted(UUID memberId, BigDecimal amount) {}
+
+    @BeforeAll
+    static void startContext() {
+        context = new AnnotationConfigApplicationContext(OutboxConfig.class);
+        jdbc             = context.getBean(JdbcTemplate.class);
+        tx               = context.getBean(TransactionTemplate.class);
+        outbox           = context.getBean(TransactionalOutbox.class);
+        registry         = context.getBean(OutboxHandlerRegistry.class);
+        deliveryService  = context.getBean(OutboxDeliveryService.class);
+        savingsHandler   = context.getBean(SavingsHandler.class);
+        readModelHandler = context.getBean(ReadModelHandler.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM domain_event_outbox");
+        jdbc.update("DELETE FROM savings_ledger");
+        jdbc.update("DELETE FROM read_model");
+        savingsHandler.failing.set(false);
+        readModelHandler.failing.set(false);
+    }
+
+    @Test
+    @DisplayName("the event is written only when the publisher's transaction commits")
+    void writtenOnlyOnCommit() {
+        UUID memberId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            context.publishEvent(new CreditPosted(memberId, BigDecimal.TEN));
+            throw new IllegalStateException("publisher failed after publishing");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(outboxRows()).isZero();
+
+        tx.executeWithoutResult(status -> {
+            context.publishEvent(new CreditPosted(memberId, BigDecimal.TEN));
+            // BEFORE_COMMIT: nothing is written while the transaction is still open
+            assertThat(outboxRows()).isZero();
+        });
+        assertThat(outboxRows()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a claim hands out only the oldest open event of each ordering key")
+    void claimsOnePerOrderingKey() {
+        UUID memberA = UUID.randomUUID();
+        UUID memberB = UUID.randomUUID();
+        publish(new CreditPosted(memberA, new BigDecimal("100")));
+        publish(new CreditPosted(memberA, new BigDecimal("200")));
+        publish(new CreditPosted(memberB, new BigDecimal("300")));
+
+        List<Entry> claimed = outbox.claim(10);
+
+        assertThat(claimed).hasSize(2);
+        assertThat(claimed).extracting(Entry::payload)
+                .anySatisfy(p -> assertThat(p).contains(memberA.toString()).contains("\"amount\":100"))
+                .anySatisfy(p -> assertThat(p).contains(memberB.toString()));
+        // Member A's second event waits until the first is done
+        assertThat(outbox.claim(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("an event from a transaction that started earlier but committed later queues behind")
+    void ordersByWriteTimeNotTransactionStart() throws Exception {
+        UUID memberId = UUID.randomUUID();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch otherCommitted = new CountDownLatch(1);
+
+        Thread slow = new Thread(() -> tx.executeWithoutResult(status -> {
+            jdbc.queryForObject("SELECT 1", Integer.class);
+            started.countDown();
+            await(otherCommitted);
+            context.publishEvent(new CreditPosted(memberId, new BigDecimal("100")));
+        }));
+        slow.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        publish(new CreditPosted(memberId, new BigDecimal("200")));
+        otherCommitted.countDown();
+        slow.join(5_000);
+
+        assertThat(outboxRows()).isEqualTo(2);
+        assertThat(outbox.claim(10)).singleElement()
+                .satisfies(e -> assertThat(e.payload()).contains("\"amount\":200"));
+    }
+
+    @Test
+    @DisplayName("a failing handler rolls back its own writes together with its delivery row")
+    void handlerWritesAndDeliveryCommitTogether() {
+        CreditPosted event = new CreditPosted(UUID.randomUUID(), BigDecimal.TEN);
+        publish(event);
+        UUID eventId = outbox.claim(1).get(0).id();
+        OutboxHandlerRegistry.Handler handler = registry.handlersFor(CreditPosted.class).get(0);
+
+        savingsHandler.failing.set(true);
+        assertThatThrownBy(() -> deliveryService.deliver(eventId, handler, event))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(ledgerRows()).isZero();
+        assertThat(outbox.deliveredHandlers(eventId)).isEmpty();
+
+        savingsHandler.failing.set(false);
+        assertThat(deliveryService.deliver(eventId, handler, event)).isTrue();
+        assertThat(deliveryService.deliver(eventId, handler, event)).isFalse();
+        assertThat(ledgerRows()).isEqualTo(1);
+        assertThat(outbox.deliveredHandlers(eventId)).containsExactly(handler.name());
+    }
+
+    @Test
+    @DisplayName("a retried event skips the handlers that already ran")
+    void retrySkipsDeliveredHandlers() {
+        OutboxRelay relay = new OutboxRelay(outbox, registry, deliveryService,
+                context.getBean(ObjectMapper.class), new SimpleMeterRegistry(), 1, 500);
+        try {
+            publish(new CreditPosted(UUID.randomUUID(), BigDecimal.TEN));
+
+            readModelHandler.failing.set(true);
+            relay.dispatch();
+            assertThat(ledgerRows()).isEqualTo(1);
+            assertThat(jdbc.queryForObject("SELECT status FROM domain_event_outbox", String.class)).isEqualTo("PENDING");
+
+            // Skip the backoff and retry with the read model fixed
+            jdbc.update("UPDATE domain_event_outbox SET next_attempt_at = CURRENT_TIMESTAMP");
+            readModelHandler.failing.set(false);
+            relay.dispatch();
+
+            assertThat(ledgerRows()).isEqualTo(1);
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM read_model", Integer.class)).isEqualTo(1);
+            assertThat(jdbc.queryForObject("SELECT status FROM domain_event_outbox", String.class)).isEqualTo("DONE");
+        } finally {
+            relay.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void publish(Object event) {
+        tx.executeWithoutResult(status -> context.publishEvent(event));
+    }
+
+    private static int outboxRows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM domain_event_outbox", Integer.class);
+    }
+
+    private static int ledgerRows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM savings_ledger", Integer.class);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({OutboxHandlerRegistry.class, TransactionalOutbox.class, OutboxDeliveryService.class,
+            SavingsHandler.class, ReadModelHandler.class})
+    static class OutboxConfig {
+
+        @Bean
+        DataSource dataSource() {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+            new ResourceDatabasePopulator(
+                    new ClassPathResource("db/migration/V120__create_domain_event_outbox.sql")).execute(dataSource);
+            new JdbcTemplate(dataSource).execute("""
+                    CREATE TABLE IF NOT EXISTS savings_ledger (member_id UUID NOT NULL, amount NUMERIC NOT NULL);
+                    CREATE TABLE IF NOT EXISTS read_model (member_id UUID NOT NULL);
+                    """);
+            return dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    /** Stands in for the savings credit: writes, then fails on demand. */
+    static class SavingsHandler {
+
+        final AtomicBoolean failing = new AtomicBoolean();
+        private final JdbcTemplate jdbc;
+
+        SavingsHandler(JdbcTemplate jdbc) {
+            this.jdbc = jdbc;
+        }
+
+        @Order(1)
+        @OutboxEventListener
+        public void onCredit(CreditPosted event) {
+            jdbc.update("INSERT INTO savings_ledger (member_id, amount) VALUES (?, ?)", event.memberId(), event.amount());
+            if (failing.get()) {
+                throw new IllegalStateException("savings credit failed");
+            }
+        }
+    }
+
+    /** Stands in for a LOWEST_PRECEDENCE read-model handler. */
+    static class ReadModelHandler {
+
+        final AtomicBoolean failing = new AtomicBoolean();
+        private final JdbcTemplate jdbc;
+
+        ReadModelHandler(JdbcTemplate jdbc) {
+            this.jdbc = jdbc;
+        }
+
+        @OutboxEventListener
+        public void onCredit(CreditPosted event) {
+            if (failing.get()) {
+                throw new IllegalStateException("read model unavailable");
+            }
+            jdbc.update("INSERT INTO read_model (member_id) VALUES (?)", event.memberId());
+        }
+    }
+}
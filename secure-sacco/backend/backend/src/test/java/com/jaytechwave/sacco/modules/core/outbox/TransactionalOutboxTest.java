@@ -0,0 +1,37 @@
+package com.jaytechwave.sacco.modules.core.outbox;
+
+import com.jaytechwave.sacco.modules.payments.domain.event.BankDebitReceivedEvent;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionalOutbox")
+class TransactionalOutboxTest {
+
+    @Test
+    @DisplayName("orders a member's events by member id")
+    void orderingKeyPrefersMember() {
+        UUID memberId = UUID.randomUUID();
+        var event = new PaymentCompletedEvent(UUID.randomUUID(), memberId, BigDecimal.TEN, "DEP-1", "UETA45S0OJ");
+
+        assertThat(TransactionalOutbox.orderingKey(event)).isEqualTo(memberId.toString());
+    }
+
+    @Test
+    @DisplayName("falls back to the payment id, then the event type")
+    void orderingKeyFallbacks() {
+        UUID paymentId = UUID.randomUUID();
+
+        assertThat(TransactionalOutbox.orderingKey(
+                new PaymentCompletedEvent(paymentId, null, BigDecimal.TEN, "PAYBILL-X", null)))
+                .isEqualTo(paymentId.toString());
+        assertThat(TransactionalOutbox.orderingKey(
+                new BankDebitReceivedEvent(null, BigDecimal.ONE, "charge", "REF")))
+                .isEqualTo("BankDebitReceivedEvent");
+    }
+}
@@ -0,0 +1,41 @@
+package com.jaytechwave.sacco.modules.core.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("LeasedQueue")
+class LeasedQueueTest {
+
+    @Test
+    @DisplayName("backs off exponentially up to the cap")
+    void backoff() {
+        assertThat(LeasedQueue.backoff(1)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(LeasedQueue.backoff(2)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(LeasedQueue.backoff(3)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(LeasedQueue.backoff(LeasedQueue.MAX_ATTEMPTS)).isEqualTo(LeasedQueue.MAX_RETRY_DELAY);
+    }
+
+    @Test
+    @DisplayName("reschedules a failed row until attempts run out, then parks it")
+    void markFailedParksAtMaxAttempts() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        LeasedQueue queue = new LeasedQueue(jdbc, "payment_callback_inbox", "received_at", "processed_at", "id");
+        UUID id = UUID.randomUUID();
+
+        assertThat(queue.markFailed(id, 2, "timeout")).isFalse();
+        verify(jdbc).update(contains("SET status = 'PENDING'"), eq("timeout"), eq(10L), eq(id));
+
+        assertThat(queue.markFailed(id, LeasedQueue.MAX_ATTEMPTS, "timeout")).isTrue();
+        verify(jdbc).update(contains("SET status = 'FAILED'"), eq("timeout"), eq(id));
+    }
+}
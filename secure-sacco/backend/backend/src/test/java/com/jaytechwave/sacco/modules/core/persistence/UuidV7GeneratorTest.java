@@ -0,0 +1,44 @@
+package com.jaytechwave.sacco.modules.core.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidV7Generator — time-ordered ids")
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("version 7, RFC variant, timestamp prefix = current epoch millis")
+    void next_hasVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        // A busy millisecond borrows from the next one (4096 ids/ms), so allow a little lead — never lag
+        assertThat(timestamp).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    @DisplayName("ids from a tight loop are unique and strictly increasing in index order")
+    void next_strictlyIncreasingWithinSameMillisecond() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        // PostgreSQL orders UUIDs bytewise (unsigned); the most significant half decides here
+        assertThat(ids).isSortedAccordingTo(
+                Comparator.comparing(UUID::getMostSignificantBits, Long::compareUnsigned));
+    }
+}
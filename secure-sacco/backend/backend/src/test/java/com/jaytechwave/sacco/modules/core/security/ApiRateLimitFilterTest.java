@@ -1,6 +1,7 @@
 package com.jaytechwave.sacco.modules.core.security;
 
 import com.jaytechwave.sacco.modules.settings.domain.service.SaccoSettingsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,7 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -16,7 +17,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,16 +28,16 @@ import static org.mockito.Mockito.lenient;
 class ApiRateLimitFilterTest {
 
     @Mock StringRedisTemplate redis;
-    @Mock ValueOperations<String, String> valueOps;
     @Mock SaccoSettingsService settingsService;
 
+    private RedisFailover failover;
     private ApiRateLimitFilter filter;
 
     @BeforeEach
     void setUp() {
-        lenient().when(redis.opsForValue()).thenReturn(valueOps);
         lenient().when(settingsService.getRateLimitGeneralPerMin()).thenReturn(60);
-        filter = new ApiRateLimitFilter(redis, settingsService);
+        failover = new RedisFailover(new SimpleMeterRegistry(), 50, 3, 5_000);
+        filter = new ApiRateLimitFilter(redis, settingsService, new RateLimitProperties(), failover);
 
         // Authenticate user in security context
         var auth = new UsernamePasswordAuthenticationToken(
@@ -55,8 +55,7 @@ class ApiRateLimitFilterTest {
     @Test
     @DisplayName("allows request when under general limit")
     void allowsRequestUnderGeneralLimit() throws Exception {
-        when(valueOps.increment(anyString())).thenReturn(1L);
-        when(redis.expire(anyString(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        stubWindow(1, 1, 60_000);
 
         MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/members");
         MockHttpServletResponse response = new MockHttpServletResponse();
@@ -71,8 +70,7 @@ class ApiRateLimitFilterTest {
     @Test
     @DisplayName("blocks request when general limit is exceeded — returns 429")
     void blocksRequestOverGeneralLimit() throws Exception {
-        when(valueOps.increment(anyString())).thenReturn(61L); // over 60/min
-        when(redis.getExpire(anyString(), any(TimeUnit.class))).thenReturn(30L);
+        stubWindow(0, 60, 29_400); // 60/min already used; oldest leaves the window in 29.4s
 
         MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/members");
         MockHttpServletResponse response = new MockHttpServletResponse();
@@ -90,9 +88,7 @@ class ApiRateLimitFilterTest {
     @Test
     @DisplayName("STK push endpoint allows first 5 calls per hour")
     void stkAllowsFirstFiveCallsPerHour() throws Exception {
-        when(valueOps.increment(anyString())).thenReturn(5L);
-        // expire is only called on first increment (count == 1), use lenient for this test
-        lenient().when(redis.expire(anyString(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        stubWindow(1, 5, 3_600_000);
 
         MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/payments/mpesa/stk");
         MockHttpServletResponse response = new MockHttpServletResponse();
@@ -106,8 +102,7 @@ class ApiRateLimitFilterTest {
     @Test
     @DisplayName("STK push endpoint blocks 6th call in same hour — returns 429")
     void stkBlocksSixthCallPerHour() throws Exception {
-        when(valueOps.increment(anyString())).thenReturn(6L);
-        when(redis.getExpire(anyString(), any(TimeUnit.class))).thenReturn(3540L);
+        stubWindow(0, 5, 3_540_000);
 
         MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/payments/mpesa/stk");
         MockHttpServletResponse response = new MockHttpServletResponse();
@@ -132,7 +127,7 @@ class ApiRateLimitFilterTest {
 
         assertThat(response.getStatus()).isEqualTo(200);
         assertThat(chain.getRequest()).isNotNull();
-        verify(valueOps, never()).increment(anyString());
+        verifyNoInteractions(redis);
     }
 
     // ─── Unauthenticated requests — pass through ─────────────────────
@@ -149,15 +144,15 @@ class ApiRateLimitFilterTest {
         filter.doFilterInternal(request, response, chain);
 
         assertThat(response.getStatus()).isEqualTo(200);
-        verify(valueOps, never()).increment(anyString());
+        verifyNoInteractions(redis);
     }
 
-    // ─── Redis unavailable — fail open ───────────────────────────────
+    // ─── Redis unavailable — local token bucket ───────────────────────
 
     @Test
-    @DisplayName("fails open when Redis is unavailable — request is allowed through")
-    void failsOpenWhenRedisUnavailable() throws Exception {
-        when(valueOps.increment(anyString())).thenReturn(null);
+    @DisplayName("falls back to the local bucket when Redis returns nothing — request is allowed through")
+    void fallsBackWhenRedisReturnsNothing() throws Exception {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(null);
 
         MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/members");
         MockHttpServletResponse response = new MockHttpServletResponse();
@@ -168,4 +163,63 @@ class ApiRateLimitFilterTest {
         assertThat(response.getStatus()).isEqualTo(200);
         assertThat(chain.getRequest()).isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("falls back to the local bucket when the Redis call throws")
+    void fallsBackWhenRedisThrows() throws Exception {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new org.springframework.data.redis.RedisConnectionFailureException("down"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/members");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilterInternal(request, response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(failover.isLocal()).isTrue();
+    }
+
+    @Test
+    @DisplayName("local bucket enforces the endpoint limit while Redis is down")
+    void localBucketEnforcesLimit() throws Exception {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new org.springframework.data.redis.RedisConnectionFailureException("down"));
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse allowed = new MockHttpServletResponse();
+            filter.doFilterInternal(new MockHttpServletRequest("POST", "/api/v1/payments/mpesa/stk"), allowed, new MockFilterChain());
+            assertThat(allowed.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse blocked = new MockHttpServletResponse();
+        filter.doFilterInternal(new MockHttpServletRequest("POST", "/api/v1/payments/mpesa/stk"), blocked, new MockFilterChain());
+
+        assertThat(blocked.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(blocked.getHeader("Retry-After"))).isPositive();
+        // Tripped on the first failure; later checks skip Redis until the probe interval passes
+        verify(redis, times(1)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    // ─── Script contract ─────────────────────────────────────────────
+
+    @Test
+    @DisplayName("one script call per check, with the endpoint's window and limit")
+    void singleRoundTripWithEndpointLimit() throws Exception {
+        stubWindow(1, 1, 3_600_000);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/payments/mpesa/stk");
+        filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(redis).execute(eq(ApiRateLimitFilter.SLIDING_WINDOW_SCRIPT),
+                eq(List.of("rl:sw:endpoint:user@sacco.com:/api/v1/payments/mpesa/stk")),
+                eq("3600000"), eq("5"), anyString());
+        verifyNoMoreInteractions(redis);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubWindow(long allowed, long count, long resetMs) {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(allowed, count, resetMs));
+    }
+}
@@ -0,0 +1,120 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encrypt/decrypt throughput of {@link EncryptedStringConverter} against the
+ * previous implementation (a {@code Cipher.getInstance} per call and the
+ * two-part {@code iv:ct} encoding), reproduced here as the baseline.
+ *
+ * <p>Not part of the test run. Execute with the {@code benchmark} profile, which
+ * runs JMH in its own JVM on the test classpath so {@code @Fork} works:
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args=EncryptedStringConverterBenchmark
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class EncryptedStringConverterBenchmark {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String NATIONAL_ID = "29384756";
+
+    private EncryptedStringConverter converter;
+    private LegacyConverter legacy;
+    private String compactValue;
+    private String legacyValue;
+
+    @Setup
+    public void setUp() throws Exception {
+        converter = new EncryptedStringConverter(KEY);
+        legacy = new LegacyConverter(Base64.getDecoder().decode(KEY));
+        compactValue = converter.convertToDatabaseColumn(NATIONAL_ID);
+        legacyValue = legacy.encrypt(NATIONAL_ID);
+    }
+
+    @Benchmark
+    public String encryptCurrent() {
+        return converter.convertToDatabaseColumn(NATIONAL_ID);
+    }
+
+    @Benchmark
+    public String encryptBaseline() throws Exception {
+        return legacy.encrypt(NATIONAL_ID);
+    }
+
+    @Benchmark
+    public String decryptCurrent() {
+        return converter.convertToEntityAttribute(compactValue);
+    }
+
+    /** Current converter reading a value still stored in the original format. */
+    @Benchmark
+    public String decryptCurrentLegacyFormat() {
+        return converter.convertToEntityAttribute(legacyValue);
+    }
+
+    @Benchmark
+    public String decryptBaseline() throws Exception {
+        return legacy.decrypt(legacyValue);
+    }
+
+    /** The converter as it was before cipher reuse and the compact format. */
+    static final class LegacyConverter {
+        private final SecretKey key;
+        private final SecureRandom random = new SecureRandom();
+
+        LegacyConverter(byte[] keyBytes) {
+            this.key = new SecretKeySpec(keyBytes, "AES");
+        }
+
+        String encrypt(String plaintext) throws Exception {
+            byte[] iv = new byte[12];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(iv) + ":" + Base64.getEncoder().encodeToString(ciphertext);
+        }
+
+        String decrypt(String stored) throws Exception {
+            String[] parts = stored.split(":", 2);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, Base64.getDecoder().decode(parts[0])));
+            return new String(cipher.doFinal(Base64.getDecoder().decode(parts[1])), StandardCharsets.UTF_8);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EncryptedStringConverterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EncryptedStringConverter")
+class EncryptedStringConverterTest {
+
+    private static final byte[] KEY = new byte[32];
+    private final EncryptedStringConverter converter =
+            new EncryptedStringConverter(Base64.getEncoder().encodeToString(KEY));
+
+    @Test
+    @DisplayName("round-trips through the compact single-buffer format")
+    void roundTripsCompactFormat() {
+        String stored = converter.convertToDatabaseColumn("29384756");
+
+        assertThat(stored).doesNotContain(":");
+        assertThat(EncryptedStringConverter.isEncrypted(stored)).isTrue();
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo("29384756");
+    }
+
+    @Test
+    @DisplayName("uses a fresh IV per encryption")
+    void freshIvPerEncryption() {
+        assertThat(converter.convertToDatabaseColumn("0712345678"))
+                .isNotEqualTo(converter.convertToDatabaseColumn("0712345678"));
+    }
+
+    @Test
+    @DisplayName("still reads values stored in the original iv:ciphertext format")
+    void readsLegacyFormat() throws Exception {
+        byte[] iv = new byte[12];
+        iv[0] = 7;
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY, "AES"), new GCMParameterSpec(128, iv));
+        String legacy = Base64.getEncoder().encodeToString(iv) + ":"
+                + Base64.getEncoder().encodeToString(cipher.doFinal("+254712345678".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(EncryptedStringConverter.isEncrypted(legacy)).isTrue();
+        assertThat(converter.convertToEntityAttribute(legacy)).isEqualTo("+254712345678");
+    }
+
+    @Test
+    @DisplayName("rejects a tampered value")
+    void rejectsTamperedValue() {
+        byte[] buffer = Base64.getDecoder().decode(converter.convertToDatabaseColumn("29384756"));
+        buffer[buffer.length - 1] ^= 1;
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(Base64.getEncoder().encodeToString(buffer)))
+                .isInstanceOf(EncryptedStringConverter.EncryptionException.class);
+    }
+
+    @Test
+    @DisplayName("does not mistake plaintext PII for ciphertext")
+    void plaintextIsNotEncrypted() {
+        assertThat(EncryptedStringConverter.isEncrypted("29384756")).isFalse();
+        assertThat(EncryptedStringConverter.isEncrypted("+254712345678")).isFalse();
+        assertThat(EncryptedStringConverter.isEncrypted(null)).isFalse();
+    }
+}
@@ -0,0 +1,63 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.members.domain.entity.Member;
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("PhoneLookupHashListener")
+class PhoneLookupHashListenerTest {
+
+    private final PiiSearchHashConverter hashConverter =
+            new PiiSearchHashConverter(Base64.getEncoder().encodeToString(new byte[32]));
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PhoneLookupHashListener listener = new PhoneLookupHashListener(hashConverter, eventPublisher);
+
+    @Test
+    @DisplayName("every spelling of a number gets the hash of its E.164 form")
+    void hashesE164Form() {
+        Member local = Member.builder().phoneNumber("0717921562").build();
+        Member international = Member.builder().phoneNumber("+254 717 921 562").build();
+
+        listener.updateHash(local);
+        listener.updateHash(international);
+
+        assertThat(local.getPhoneE164Hash())
+                .isEqualTo(international.getPhoneE164Hash())
+                .isEqualTo(hashConverter.convertToDatabaseColumn("+254717921562"))
+                .isEqualTo(listener.hash("254717921562"));
+    }
+
+    @Test
+    @DisplayName("publishes the number and the linked member so cached matches are dropped")
+    void publishesChange() {
+        UUID memberId = UUID.randomUUID();
+        User user = User.builder()
+                .phoneNumber("0717921562")
+                .member(Member.builder().id(memberId).build())
+                .build();
+
+        listener.updateHash(user);
+
+        verify(eventPublisher).publishEvent(new PhoneLookupChangedEvent("+254717921562", memberId));
+    }
+
+    @Test
+    @DisplayName("a missing or malformed number clears the hash")
+    void clearsHashForNonNumbers() {
+        Member member = Member.builder().id(UUID.randomUUID()).phoneNumber("12345").phoneE164Hash("stale").build();
+
+        listener.updateHash(member);
+
+        assertThat(member.getPhoneE164Hash()).isNull();
+        verify(eventPublisher).publishEvent(new PhoneLookupChangedEvent(null, member.getId()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitProperties")
+class RateLimitPropertiesTest {
+
+    @Test
+    @DisplayName("without configuration the built-in endpoint limits apply")
+    void defaultsWithoutConfiguration() {
+        RateLimitProperties props = bind(Map.of());
+
+        assertThat(props.getEndpoints()).hasSize(4);
+        assertThat(props.endpointLimitFor("/api/v1/loans/applications/123/submit")).hasValueSatisfying(limit -> {
+            assertThat(limit.getValue().getMaxRequests()).isEqualTo(3);
+            assertThat(limit.getValue().getWindow()).isEqualTo(Duration.ofDays(1));
+        });
+        assertThat(props.getGeneralWindow()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("a configured prefix overrides its default and keeps the others")
+    void overrideKeepsOtherDefaults() {
+        RateLimitProperties props = bind(Map.of(
+                "sacco.rate-limit.endpoints[/api/v1/payments/mpesa/stk].max-requests", "10",
+                "sacco.rate-limit.endpoints[/api/v1/payments/mpesa/stk].window", "PT30M"));
+
+        RateLimitProperties.Limit stk = props.getEndpoints().get("/api/v1/payments/mpesa/stk");
+        assertThat(stk.getMaxRequests()).isEqualTo(10);
+        assertThat(stk.getWindow()).isEqualTo(Duration.ofMinutes(30));
+        assertThat(props.getEndpoints().get("/api/v1/savings/withdraw/manual").getMaxRequests()).isEqualTo(10);
+        assertThat(props.getEndpoints()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("a configured longer prefix is added and wins over the default it extends")
+    void longerPrefixAdded() {
+        RateLimitProperties props = bind(Map.of(
+                "sacco.rate-limit.endpoints[/api/v1/loans/applications/bulk].max-requests", "1",
+                "sacco.rate-limit.endpoints[/api/v1/loans/applications/bulk].window", "P1D"));
+
+        assertThat(props.getEndpoints()).hasSize(5);
+        assertThat(props.endpointLimitFor("/api/v1/loans/applications/bulk/upload"))
+                .hasValueSatisfying(limit -> assertThat(limit.getKey()).isEqualTo("/api/v1/loans/applications/bulk"));
+        assertThat(props.endpointLimitFor("/api/v1/loans/applications"))
+                .hasValueSatisfying(limit -> assertThat(limit.getKey()).isEqualTo("/api/v1/loans/applications"));
+        assertThat(props.endpointLimitFor("/api/v1/members")).isEmpty();
+    }
+
+    private static RateLimitProperties bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("sacco.rate-limit", Bindable.of(RateLimitProperties.class));
+    }
+}
@@ -0,0 +1,122 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RedisFailover")
+class RedisFailoverTest {
+
+    private static final long BUDGET_MS = 10;
+    private static final long HOUR_MS = 3_600_000;
+
+    private final List<Runnable> recoveryTasks = new ArrayList<>();
+    private final AtomicInteger redisCalls = new AtomicInteger();
+
+    @Test
+    @DisplayName("a single slow call does not trip; consecutive slow calls do")
+    void tripsOnConsecutiveSlowCalls() {
+        RedisFailover failover = failover(HOUR_MS);
+
+        assertThat(failover.call(slow())).contains("ok");
+        assertThat(failover.call(slow())).contains("ok");
+        assertThat(failover.isLocal()).isFalse();
+
+        assertThat(failover.call(slow())).contains("ok");
+        assertThat(failover.isLocal()).isTrue();
+    }
+
+    @Test
+    @DisplayName("a fast call resets the slow-call run")
+    void fastCallResetsRun() {
+        RedisFailover failover = failover(HOUR_MS);
+
+        failover.call(slow());
+        failover.call(slow());
+        failover.call(fast());
+        failover.call(slow());
+        failover.call(slow());
+
+        assertThat(failover.isLocal()).isFalse();
+    }
+
+    @Test
+    @DisplayName("a failed call trips at once and Redis is skipped until the next probe")
+    void failureTripsAndSkipsRedis() {
+        RedisFailover failover = failover(HOUR_MS);
+
+        assertThat(failover.call(failing())).isEmpty();
+        assertThat(failover.isLocal()).isTrue();
+
+        int callsAtTrip = redisCalls.get();
+        assertThat(failover.call(fast())).isEmpty();
+        assertThat(redisCalls.get()).isEqualTo(callsAtTrip);
+    }
+
+    @Test
+    @DisplayName("a fast probe recovers and hands the callbacks to the background executor")
+    void fastProbeRecovers() {
+        RedisFailover failover = failover(0);
+        AtomicInteger reconciled = new AtomicInteger();
+        failover.onRecovery(reconciled::incrementAndGet);
+
+        failover.call(failing());
+        assertThat(failover.call(fast())).contains("ok");
+
+        assertThat(failover.isLocal()).isFalse();
+        assertThat(reconciled.get()).isZero();   // not on the request thread
+        assertThat(recoveryTasks).hasSize(1);
+
+        recoveryTasks.get(0).run();
+        assertThat(reconciled.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a slow probe keeps the node local")
+    void slowProbeStaysLocal() {
+        RedisFailover failover = failover(0);
+
+        failover.call(failing());
+        assertThat(failover.call(slow())).contains("ok");
+
+        assertThat(failover.isLocal()).isTrue();
+        assertThat(recoveryTasks).isEmpty();
+    }
+
+    private RedisFailover failover(long probeIntervalMs) {
+        return new RedisFailover(new SimpleMeterRegistry(), BUDGET_MS, 3, probeIntervalMs, recoveryTasks::add);
+    }
+
+    private Supplier<String> fast() {
+        return () -> {
+            redisCalls.incrementAndGet();
+            return "ok";
+        };
+    }
+
+    private Supplier<String> slow() {
+        return () -> {
+            redisCalls.incrementAndGet();
+            try {
+                Thread.sleep(BUDGET_MS * 3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        };
+    }
+
+    private Supplier<String> failing() {
+        return () -> {
+            redisCalls.incrementAndGet();
+            throw new IllegalStateException("connection refused");
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.core.security.CustomUserDetailsService.CustomUserDetails;
+import com.jaytechwave.sacco.modules.roles.domain.entity.Permission;
+import com.jaytechwave.sacco.modules.roles.domain.entity.Role;
+import com.jaytechwave.sacco.modules.roles.domain.event.RolePermissionsChangedEvent;
+import com.jaytechwave.sacco.modules.roles.domain.repository.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoleAuthoritiesRefreshFilter")
+class RoleAuthoritiesRefreshFilterTest {
+
+    private static final String EMAIL = "teller@sacco.com";
+
+    @Mock RoleRepository roleRepository;
+    @Mock StringRedisTemplate redis;
+    @Mock RedisMessageListenerContainer listenerContainer;
+    @Mock CustomUserDetailsService userDetailsService;
+
+    private RoleAuthorityCache roleAuthorityCache;
+    private RoleAuthoritiesRefreshFilter filter;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        roleAuthorityCache = new RoleAuthorityCache(roleRepository, redis, listenerContainer);
+        filter = new RoleAuthoritiesRefreshFilter(roleAuthorityCache, userDetailsService);
+        session = new MockHttpSession();
+
+        CustomUserDetails teller = user(Set.of("ROLE_TELLER", "LOANS_READ"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(teller, null, teller.getAuthorities()));
+        session.setAttribute(RoleAuthoritiesRefreshFilter.ROLES_VERSION, roleAuthorityCache.version());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("a role version bump rebuilds the live session's authorities")
+    void versionBumpRefreshesSession() throws Exception {
+        when(roleRepository.findByName("TELLER")).thenReturn(Optional.of(role("TELLER", "LOANS_READ", "LOANS_APPROVE")));
+        bumpVersion();
+
+        runFilter();
+
+        assertThat(authorities()).containsExactlyInAnyOrder("ROLE_TELLER", "LOANS_READ", "LOANS_APPROVE");
+        assertThat(session.getAttribute(RoleAuthoritiesRefreshFilter.ROLES_VERSION)).isEqualTo(1L);
+        verifyNoInteractions(userDetailsService);
+
+        // Re-stamped: the next request passes straight through
+        runFilter();
+        verify(roleRepository, times(1)).findByName("TELLER");
+    }
+
+    @Test
+    @DisplayName("a renamed or deleted role falls back to a full user reload")
+    void missingRoleReloadsUser() throws Exception {
+        when(roleRepository.findByName("TELLER")).thenReturn(Optional.empty());
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(Set.of("ROLE_CASHIER", "PAYMENTS_READ")));
+        bumpVersion();
+
+        runFilter();
+
+        verify(userDetailsService).loadUserByUsername(EMAIL);
+        assertThat(authorities()).containsExactlyInAnyOrder("ROLE_CASHIER", "PAYMENTS_READ");
+        assertThat(session.getAttribute(RoleAuthoritiesRefreshFilter.ROLES_VERSION)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("an up-to-date session passes through without reloading anything")
+    void currentSessionPassesThrough() throws Exception {
+        Authentication before = SecurityContextHolder.getContext().getAuthentication();
+
+        runFilter();
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(before);
+        verifyNoInteractions(roleRepository, userDetailsService);
+    }
+
+    private void bumpVersion() {
+        when(redis.execute(eq(RoleAuthorityCache.BUMP_SCRIPT), eq(List.of(RoleAuthorityCache.VERSION_KEY)), any(), any()))
+                .thenReturn(1L);
+        roleAuthorityCache.onRolePermissionsChanged(new RolePermissionsChangedEvent("TELLER"));
+        assertThat(roleAuthorityCache.version()).isEqualTo(1L);
+    }
+
+    private void runFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/loans");
+        request.setSession(session);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private static Set<String> authorities() {
+        return new HashSet<>(AuthorityUtils.authorityListToSet(
+                SecurityContextHolder.getContext().getAuthentication().getAuthorities()));
+    }
+
+    private static CustomUserDetails user(Set<String> authorities) {
+        Set<GrantedAuthority> granted = new HashSet<>();
+        authorities.forEach(a -> granted.add(new SimpleGrantedAuthority(a)));
+        List<String> roles = authorities.stream().filter(a -> a.startsWith("ROLE_")).toList();
+        return new CustomUserDetails(UUID.randomUUID(), EMAIL, "", "Jane", "Teller", roles,
+                true, true, true, true, granted, false);
+    }
+
+    private static Role role(String name, String... permissionCodes) {
+        Set<Permission> permissions = new HashSet<>();
+        for (String code : permissionCodes) {
+            permissions.add(Permission.builder().id(UUID.randomUUID()).code(code).build());
+        }
+        return Role.builder().id(UUID.randomUUID()).name(name).permissions(permissions).build();
+    }
+}
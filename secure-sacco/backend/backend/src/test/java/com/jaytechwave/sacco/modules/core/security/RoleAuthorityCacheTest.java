@@ -0,0 +1,102 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.roles.domain.event.RolePermissionsChangedEvent;
+import com.jaytechwave.sacco.modules.roles.domain.repository.RoleRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the version bump script against a real Redis (skipped without Docker):
+ * a lost or stale version key must never send the shared version backwards.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("RoleAuthorityCache")
+class RoleAuthorityCacheTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redis;
+
+    private RoleAuthorityCache cache;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.delete(RoleAuthorityCache.VERSION_KEY);
+        cache = new RoleAuthorityCache(mock(RoleRepository.class), redis, mock(RedisMessageListenerContainer.class));
+    }
+
+    @Test
+    @DisplayName("bumps increment the shared version and advance the local one")
+    void bumpIncrements() {
+        cache.onRolePermissionsChanged(new RolePermissionsChangedEvent("TELLER"));
+        cache.onRolePermissionsChanged(new RolePermissionsChangedEvent("TELLER"));
+
+        assertThat(cache.version()).isEqualTo(2L);
+        assertThat(redis.opsForValue().get(RoleAuthorityCache.VERSION_KEY)).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("a bump after the key was lost continues above the local version")
+    void bumpAfterKeyLoss() {
+        redis.opsForValue().set(RoleAuthorityCache.VERSION_KEY, "5");
+        cache.syncVersion();
+        redis.delete(RoleAuthorityCache.VERSION_KEY);
+
+        cache.onRolePermissionsChanged(new RolePermissionsChangedEvent("TELLER"));
+
+        assertThat(cache.version()).isEqualTo(6L);
+        assertThat(redis.opsForValue().get(RoleAuthorityCache.VERSION_KEY)).isEqualTo("6");
+    }
+
+    @Test
+    @DisplayName("sync re-seeds a missing or lower key from the local version")
+    void syncReseedsKey() {
+        redis.opsForValue().set(RoleAuthorityCache.VERSION_KEY, "5");
+        cache.syncVersion();
+
+        redis.delete(RoleAuthorityCache.VERSION_KEY);
+        cache.syncVersion();
+        assertThat(redis.opsForValue().get(RoleAuthorityCache.VERSION_KEY)).isEqualTo("5");
+
+        redis.opsForValue().set(RoleAuthorityCache.VERSION_KEY, "2");
+        cache.syncVersion();
+        assertThat(redis.opsForValue().get(RoleAuthorityCache.VERSION_KEY)).isEqualTo("5");
+        assertThat(cache.version()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("a node that missed bumps catches up on sync")
+    void syncAdvances() {
+        redis.opsForValue().set(RoleAuthorityCache.VERSION_KEY, "9");
+
+        cache.syncVersion();
+
+        assertThat(cache.version()).isEqualTo(9L);
+    }
+}
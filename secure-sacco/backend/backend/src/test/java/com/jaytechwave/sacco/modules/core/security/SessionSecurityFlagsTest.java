@@ -0,0 +1,117 @@
+package com.jaytechwave.sacco.modules.core.security;
+
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Counts users-table queries made by the security filter chain: one load per
+ * session, then none per request until a flag changes.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionSecurityFlags")
+class SessionSecurityFlagsTest {
+
+    private static final String EMAIL = "user@sacco.com";
+    private static final int REQUESTS = 1_000;
+
+    @Mock UserRepository userRepository;
+    @Mock ObjectProvider<FindByIndexNameSessionRepository<? extends Session>> sessionRepository;
+
+    private SessionSecurityFlags securityFlags;
+    private MustChangePasswordFilter mustChangePasswordFilter;
+    private ContactVerificationFilter contactVerificationFilter;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        securityFlags = new SessionSecurityFlags(userRepository, sessionRepository);
+        mustChangePasswordFilter = new MustChangePasswordFilter(securityFlags);
+        contactVerificationFilter = new ContactVerificationFilter(securityFlags);
+        session = new MockHttpSession();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("captured session makes zero user queries per request")
+    void zeroQueriesPerRequestAfterLogin() throws Exception {
+        securityFlags.capture(session, EMAIL);
+        verify(userRepository).existsByEmailAndMustChangePasswordTrue(EMAIL);
+        verify(userRepository).existsByEmailAndEmailVerifiedFalse(EMAIL);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(runChain().getStatus()).isEqualTo(200);
+        }
+
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("session without flags loads them once, then serves from the session")
+    void legacySessionLoadsOnce() throws Exception {
+        for (int i = 0; i < REQUESTS; i++) {
+            runChain();
+        }
+
+        verify(userRepository, times(1)).existsByEmailAndMustChangePasswordTrue(EMAIL);
+        verify(userRepository, times(1)).existsByEmailAndEmailVerifiedFalse(EMAIL);
+    }
+
+    @Test
+    @DisplayName("blocks from the cached flag and unblocks after refresh")
+    void refreshPicksUpPasswordChange() throws Exception {
+        when(userRepository.existsByEmailAndMustChangePasswordTrue(EMAIL)).thenReturn(true, false);
+        securityFlags.capture(session, EMAIL);
+
+        assertThat(runChain().getStatus()).isEqualTo(403);
+
+        MockHttpServletRequest changePassword = new MockHttpServletRequest("POST", "/api/v1/auth/change-password");
+        changePassword.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(changePassword));
+        securityFlags.refresh(EMAIL);
+        assertThat(session.getAttribute(SessionSecurityFlags.MUST_CHANGE_PASSWORD)).isNull();
+
+        assertThat(runChain().getStatus()).isEqualTo(200);
+        verify(userRepository, times(2)).existsByEmailAndMustChangePasswordTrue(EMAIL);
+    }
+
+    private MockHttpServletResponse runChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/members");
+        request.setSession(session);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockFilterChain inner = new MockFilterChain();
+        mustChangePasswordFilter.doFilterInternal(request, response, (req, res) ->
+                contactVerificationFilter.doFilterInternal(request, response, inner));
+        return response;
+    }
+}
@@ -0,0 +1,120 @@
+package com.jaytechwave.sacco.modules.core.service;
+
+import com.jaytechwave.sacco.modules.core.security.RedisFailover;
+import com.jaytechwave.sacco.modules.settings.domain.service.SaccoSettingsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * The in-process side of login lockouts: counting while Redis is down, the
+ * local lockout mirror, and writing lockouts back when Redis recovers.
+ * {@link RedisFailover} is replaced by a switch so each test picks the mode.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginAttemptService")
+class LoginAttemptServiceTest {
+
+    private static final String KEY = "member@sacco.com";
+
+    @Mock StringRedisTemplate redis;
+    @Mock ValueOperations<String, String> valueOps;
+    @Mock SaccoSettingsService settingsService;
+    @Mock RedisFailover failover;
+
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+    private LoginAttemptService service;
+    private Runnable reconcile;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(settingsService.getMaxLoginAttempts()).thenReturn(3);
+        lenient().when(settingsService.getLockoutDurationMinutes()).thenReturn(15);
+        lenient().when(redis.opsForValue()).thenReturn(valueOps);
+        lenient().when(failover.call(any())).thenAnswer(inv -> redisDown.get()
+                ? Optional.empty()
+                : Optional.ofNullable(inv.<Supplier<?>>getArgument(0).get()));
+
+        service = new LoginAttemptService(redis, settingsService, failover);
+
+        ArgumentCaptor<Runnable> callback = ArgumentCaptor.forClass(Runnable.class);
+        verify(failover).onRecovery(callback.capture());
+        reconcile = callback.getValue();
+    }
+
+    @Test
+    @DisplayName("counts attempts in-process while Redis is down and locks out at the limit")
+    void countsLocallyWhileRedisDown() {
+        redisDown.set(true);
+
+        service.loginFailed(KEY);
+        service.loginFailed(KEY);
+        assertThat(service.isBlocked(KEY)).isFalse();
+
+        service.loginFailed(KEY);
+        assertThat(service.isBlocked(KEY)).isTrue();
+        assertThat(service.getRemainingLockoutTimeSeconds(KEY)).isBetween(890L, 900L);
+        verifyNoInteractions(redis);
+    }
+
+    @Test
+    @DisplayName("mirrors a Redis lockout locally, so it holds when Redis then fails")
+    void mirrorsLockoutLocally() {
+        when(valueOps.increment("auth:attempts:" + KEY)).thenReturn(1L, 2L, 3L);
+
+        service.loginFailed(KEY);
+        service.loginFailed(KEY);
+        service.loginFailed(KEY);
+        verify(valueOps).set("auth:lockout:" + KEY, "LOCKED", Duration.ofMinutes(15));
+
+        redisDown.set(true);
+        assertThat(service.isBlocked(KEY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("writes lockouts taken during the outage back to Redis on recovery")
+    void reconcilesLockoutsOnRecovery() {
+        redisDown.set(true);
+        for (int i = 0; i < 3; i++) {
+            service.loginFailed(KEY);
+        }
+
+        redisDown.set(false);
+        reconcile.run();
+
+        ArgumentCaptor<Duration> remaining = ArgumentCaptor.forClass(Duration.class);
+        verify(valueOps).set(eq("auth:lockout:" + KEY), eq("LOCKED"), remaining.capture());
+        assertThat(remaining.getValue()).isBetween(Duration.ofMinutes(14), Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("a successful login clears the local attempts and lockout")
+    void successClearsLocalState() {
+        redisDown.set(true);
+        for (int i = 0; i < 3; i++) {
+            service.loginFailed(KEY);
+        }
+
+        service.loginSucceeded(KEY);
+
+        assertThat(service.isBlocked(KEY)).isFalse();
+        service.loginFailed(KEY);
+        assertThat(service.isBlocked(KEY)).isFalse();
+    }
+}
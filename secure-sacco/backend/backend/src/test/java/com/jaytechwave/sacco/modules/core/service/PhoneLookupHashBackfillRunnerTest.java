@@ -0,0 +1,76 @@
+package com.jaytechwave.sacco.modules.core.service;
+
+import com.jaytechwave.sacco.modules.core.security.EncryptedStringConverter;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashListener;
+import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PhoneLookupHashBackfillRunner")
+class PhoneLookupHashBackfillRunnerTest {
+
+    private static final UUID FIRST = new UUID(0L, 1L);
+    private static final UUID SECOND = new UUID(0L, 2L);
+    private static final UUID THIRD = new UUID(0L, 3L);
+
+    @Mock JdbcTemplate jdbc;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    private final EncryptedStringConverter encryptedStringConverter =
+            new EncryptedStringConverter(Base64.getEncoder().encodeToString(new byte[32]));
+    private PhoneLookupHashListener listener;
+    private PhoneLookupHashBackfillRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        listener = new PhoneLookupHashListener(
+                new PiiSearchHashConverter(Base64.getEncoder().encodeToString(new byte[32])), eventPublisher);
+        runner = new PhoneLookupHashBackfillRunner(jdbc, encryptedStringConverter, listener);
+    }
+
+    @Test
+    @DisplayName("hashes encrypted and plaintext numbers in keyset batches, skipping non-numbers")
+    @SuppressWarnings("unchecked")
+    void backfillsInBatches() {
+        when(jdbc.queryForList(contains("FROM users"), any(Object[].class)))
+                .thenReturn(List.of(
+                        row(FIRST, encryptedStringConverter.convertToDatabaseColumn("0717921562")),
+                        row(SECOND, "254722000000"),
+                        row(THIRD, "n/a")))
+                .thenReturn(List.of());
+        when(jdbc.queryForList(contains("FROM members"), any(Object[].class))).thenReturn(List.of());
+
+        runner.backfillPhoneLookupHashes();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbc).batchUpdate(eq("UPDATE users SET phone_e164_hash = ? WHERE id = ?"), batch.capture());
+        assertThat(batch.getValue()).containsExactly(
+                new Object[]{listener.hash("+254717921562"), FIRST},
+                new Object[]{listener.hash("+254722000000"), SECOND});
+
+        // The next batch starts after the last row read, skipped rows included
+        verify(jdbc).queryForList(contains("FROM users"), eq(THIRD));
+        verify(jdbc, never()).batchUpdate(startsWith("UPDATE members"), anyList());
+    }
+
+    private static Map<String, Object> row(UUID id, String phoneNumber) {
+        return Map.of("id", id, "phone_number", phoneNumber);
+    }
+}
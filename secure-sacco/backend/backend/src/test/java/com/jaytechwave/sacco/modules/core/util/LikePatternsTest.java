@@ -0,0 +1,38 @@
+package com.jaytechwave.sacco.modules.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LikePatterns")
+class LikePatternsTest {
+
+    @Test
+    @DisplayName("escapes both wildcards and the escape character")
+    void escapesWildcards() {
+        assertThat(LikePatterns.escape("50%")).isEqualTo("50\\%");
+        assertThat(LikePatterns.escape("abc_1")).isEqualTo("abc\\_1");
+        assertThat(LikePatterns.escape("a\\b")).isEqualTo("a\\\\b");
+    }
+
+    @Test
+    @DisplayName("escapes the escape character first, so an escaped wildcard is not undone")
+    void escapeCharacterFirst() {
+        assertThat(LikePatterns.escape("\\%")).isEqualTo("\\\\\\%");
+    }
+
+    @Test
+    @DisplayName("leaves ordinary text alone")
+    void plainText() {
+        assertThat(LikePatterns.escape("abc-2026-0000042")).isEqualTo("abc-2026-0000042");
+        assertThat(LikePatterns.escape("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("wraps the escaped value for prefix and substring matches")
+    void patterns() {
+        assertThat(LikePatterns.startsWith("abc_")).isEqualTo("abc\\_%");
+        assertThat(LikePatterns.contains("42%")).isEqualTo("%42\\%%");
+    }
+}
@@ -0,0 +1,39 @@
+package com.jaytechwave.sacco.modules.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PhoneNumbers")
+class PhoneNumbersTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0717921562", "254717921562", "+254717921562", "717921562", "+254 717 921 562", "0717-921-562"})
+    @DisplayName("reduces every Kenyan spelling to the same E.164 number")
+    void kenyanFormats(String raw) {
+        assertThat(PhoneNumbers.toE164(raw)).isEqualTo("+254717921562");
+    }
+
+    @Test
+    @DisplayName("handles 01X numbers")
+    void newPrefix() {
+        assertThat(PhoneNumbers.toE164("0110123456")).isEqualTo("+254110123456");
+    }
+
+    @Test
+    @DisplayName("keeps other international numbers")
+    void otherCountries() {
+        assertThat(PhoneNumbers.toE164("+256712345678")).isEqualTo("+256712345678");
+    }
+
+    @Test
+    @DisplayName("rejects values that cannot be phone numbers")
+    void rejectsNonNumbers() {
+        assertThat(PhoneNumbers.toE164(null)).isNull();
+        assertThat(PhoneNumbers.toE164("")).isNull();
+        assertThat(PhoneNumbers.toE164("12345")).isNull();
+    }
+}
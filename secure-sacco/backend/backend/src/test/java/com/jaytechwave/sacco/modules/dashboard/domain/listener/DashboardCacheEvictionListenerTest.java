@@ -0,0 +1,164 @@
+package com.jaytechwave.sacco.modules.dashboard.domain.listener;
+
+import com.jaytechwave.sacco.modules.loans.domain.event.LoanDisbursedEvent;
+import com.jaytechwave.sacco.modules.loans.domain.event.LoanInstallmentOverdueEvent;
+import com.jaytechwave.sacco.modules.meetings.domain.event.MeetingCreatedEvent;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
+import com.jaytechwave.sacco.modules.penalties.domain.event.PenaltyBalanceChangedEvent;
+import com.jaytechwave.sacco.modules.reports.domain.event.MemberFinancialReadModelRefreshedEvent;
+import com.jaytechwave.sacco.modules.savings.domain.entity.TransactionType;
+import com.jaytechwave.sacco.modules.savings.domain.event.SavingsTransactionPostedEvent;
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.jaytechwave.sacco.modules.dashboard.domain.listener.DashboardCacheEvictionListener.MEMBER_CACHE;
+import static com.jaytechwave.sacco.modules.dashboard.domain.listener.DashboardCacheEvictionListener.STAFF_CACHE;
+import static com.jaytechwave.sacco.modules.dashboard.domain.listener.DashboardCacheEvictionListener.STAFF_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which dashboard entries each domain event evicts. The staff KPI entry is no
+ * longer throttled here: it is evicted only when the read model has been
+ * refreshed, and MemberFinancialReadModelServiceTest covers how often that is.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardCacheEvictionListener")
+class DashboardCacheEvictionListenerTest {
+
+    private static final String EMAIL = "jane@sacco.co.ke";
+    private static final String PHONE = "+254712345678";
+
+    @Mock JdbcTemplate jdbcTemplate;
+    @Mock UserRepository userRepository;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(MEMBER_CACHE, STAFF_CACHE);
+    private DashboardCacheEvictionListener listener;
+    private UUID memberId;
+    private Cache memberCache;
+    private Cache staffCache;
+
+    @BeforeEach
+    void setUp() {
+        listener = new DashboardCacheEvictionListener(cacheManager, jdbcTemplate, userRepository);
+        memberId = UUID.randomUUID();
+        memberCache = cacheManager.getCache(MEMBER_CACHE);
+        staffCache = cacheManager.getCache(STAFF_CACHE);
+        memberCache.put(EMAIL, "jane's dashboard");
+        memberCache.put(PHONE, "jane's dashboard");
+        memberCache.put("other@sacco.co.ke", "another member's dashboard");
+        staffCache.put(STAFF_KEY, "kpis");
+    }
+
+    private void givenUser() {
+        User user = User.builder().email(EMAIL).phoneNumber(PHONE).build();
+        when(userRepository.findByMemberId(memberId)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    @DisplayName("a completed payment evicts the member's email and phone entries only")
+    void paymentEvictsMemberKeys() {
+        givenUser();
+
+        listener.onPaymentCompleted(new PaymentCompletedEvent(UUID.randomUUID(), memberId, BigDecimal.TEN, "DEP-1", "UETA45S0OJ"));
+
+        assertThat(memberCache.get(EMAIL)).isNull();
+        assertThat(memberCache.get(PHONE)).isNull();
+        assertThat(memberCache.get("other@sacco.co.ke")).isNotNull();
+        assertThat(staffCache.get(STAFF_KEY)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("savings, loan and penalty events evict the member's entries")
+    void memberEventsEvictMemberKeys() {
+        givenUser();
+
+        listener.onSavingsTransactionPosted(new SavingsTransactionPostedEvent(
+                memberId, UUID.randomUUID(), TransactionType.DEPOSIT, BigDecimal.TEN, "DEP-1"));
+        assertThat(memberCache.get(EMAIL)).isNull();
+
+        memberCache.put(EMAIL, "jane's dashboard");
+        listener.onLoanDisbursed(new LoanDisbursedEvent(UUID.randomUUID(), memberId, new BigDecimal("50000")));
+        assertThat(memberCache.get(EMAIL)).isNull();
+
+        memberCache.put(EMAIL, "jane's dashboard");
+        listener.onPenaltyBalanceChanged(new PenaltyBalanceChangedEvent(memberId));
+        assertThat(memberCache.get(EMAIL)).isNull();
+    }
+
+    @Test
+    @DisplayName("an overdue installment evicts the dashboard of the loan's member")
+    void overdueEvictsLoanMember() {
+        givenUser();
+        UUID loanId = UUID.randomUUID();
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), eq(loanId))).thenReturn(List.of(memberId));
+
+        listener.onLoanInstallmentOverdue(new LoanInstallmentOverdueEvent(
+                loanId, UUID.randomUUID(), new BigDecimal("1500"), LocalDate.of(2026, 9, 30)));
+
+        assertThat(memberCache.get(EMAIL)).isNull();
+        assertThat(memberCache.get(PHONE)).isNull();
+    }
+
+    @Test
+    @DisplayName("the staff KPI entry survives a burst of postings until the read model is refreshed")
+    void staffEvictedOnlyAfterRefresh() {
+        givenUser();
+
+        for (int i = 0; i < 50; i++) {
+            listener.onPaymentCompleted(new PaymentCompletedEvent(UUID.randomUUID(), memberId, BigDecimal.TEN, "DEP-" + i, null));
+            listener.onPenaltyBalanceChanged(new PenaltyBalanceChangedEvent(memberId));
+        }
+        assertThat(staffCache.get(STAFF_KEY)).isNotNull();
+
+        listener.onReadModelRefreshed(new MemberFinancialReadModelRefreshedEvent());
+        assertThat(staffCache.get(STAFF_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("a new meeting clears every member dashboard and the staff entry")
+    void meetingClearsEverything() {
+        listener.onMeetingCreated(new MeetingCreatedEvent(UUID.randomUUID()));
+
+        assertThat(memberCache.get("other@sacco.co.ke")).isNull();
+        assertThat(memberCache.get(EMAIL)).isNull();
+        assertThat(staffCache.get(STAFF_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("a failed user lookup is logged, not thrown, and leaves the entries to their TTL")
+    void lookupFailureSwallowed() {
+        when(userRepository.findByMemberId(memberId)).thenThrow(new DataAccessResourceFailureException("pool exhausted"));
+
+        assertThatCode(() -> listener.onPenaltyBalanceChanged(new PenaltyBalanceChangedEvent(memberId)))
+                .doesNotThrowAnyException();
+        assertThat(memberCache.get(EMAIL)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("an event without a member evicts nothing")
+    void noMember() {
+        listener.onPaymentCompleted(new PaymentCompletedEvent(UUID.randomUUID(), null, BigDecimal.TEN, "DEP-1", null));
+
+        assertThat(memberCache.get(EMAIL)).isNotNull();
+    }
+}
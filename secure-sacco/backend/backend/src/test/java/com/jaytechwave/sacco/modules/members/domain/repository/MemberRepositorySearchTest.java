@@ -0,0 +1,133 @@
+package com.jaytechwave.sacco.modules.members.domain.repository;
+
+import com.jaytechwave.sacco.modules.core.util.LikePatterns;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@code searchMembersRanked} query text against a real PostgreSQL
+ * with the V117 indexes (skipped without Docker), binding the parameters the
+ * way {@code MemberService.getMembers} does, through {@link LikePatterns}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("MemberRepository.searchMembersRanked")
+class MemberRepositorySearchTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbc;
+    private static String searchSql;
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        new JdbcTemplate(dataSource).execute("""
+                CREATE TABLE members (
+                    id            UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                    member_number VARCHAR(30)  NOT NULL UNIQUE,
+                    first_name    VARCHAR(80)  NOT NULL,
+                    last_name     VARCHAR(80)  NOT NULL,
+                    status        VARCHAR(30)  NOT NULL,
+                    is_deleted    BOOLEAN      NOT NULL DEFAULT false
+                )
+                """);
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V117__member_search_trigram_indexes.sql")).execute(dataSource);
+
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        searchSql = MemberRepository.class
+                .getMethod("searchMembersRanked", String.class, String.class, String.class, String.class, Pageable.class)
+                .getAnnotation(Query.class).value();
+    }
+
+    @BeforeEach
+    void clearMembers() {
+        jdbc.getJdbcTemplate().update("DELETE FROM members");
+    }
+
+    @Test
+    @DisplayName("ranks the exact member number first, then number prefixes, then substrings")
+    void ranksExactThenPrefixThenSubstring() {
+        insert("ZZ-ABC-2026-0000042", "Peter", "Otieno", false);
+        insert("ABC-2026-00000421", "Mary", "Njeri", false);
+        insert("ABC-2026-0000042", "John", "Kamau", false);
+        insert("ABC-2026-00000420", "Grace", "Chebet", false);
+
+        assertThat(search("ABC-2026-0000042")).containsExactly(
+                "ABC-2026-0000042", "ABC-2026-00000420", "ABC-2026-00000421", "ZZ-ABC-2026-0000042");
+    }
+
+    @Test
+    @DisplayName("a number fragment finds members anywhere in the member number")
+    void numberFragmentMatchesInfix() {
+        insert("ABC-2026-0000042", "John", "Kamau", false);
+        insert("ABC-2026-0000142", "Mary", "Njeri", false);
+        insert("ABC-2026-0000007", "Grace", "Chebet", false);
+        insert("ABC-2026-0000342", "Peter", "Otieno", true);
+
+        assertThat(search("42")).containsExactly("ABC-2026-0000042", "ABC-2026-0000142");
+        assertThat(search("0000042")).containsExactly("ABC-2026-0000042");
+    }
+
+    @Test
+    @DisplayName("name matches rank by trigram similarity")
+    void namesRankBySimilarity() {
+        insert("ABC-2026-0000001", "Margaret", "Wanjiru", false);
+        insert("ABC-2026-0000002", "Ann", "Wanjiru", false);
+        insert("ABC-2026-0000003", "John", "Kamau", false);
+
+        assertThat(search("Wanjiru")).containsExactly("ABC-2026-0000002", "ABC-2026-0000001");
+    }
+
+    @Test
+    @DisplayName("wildcards in the query match literally")
+    void wildcardsMatchLiterally() {
+        insert("ABC_2026_0000042", "John", "Kamau", false);
+        insert("ABC-2026-0000042", "Mary", "Njeri", false);
+
+        assertThat(search("abc_2026")).containsExactly("ABC_2026_0000042");
+        assertThat(search("%")).isEmpty();
+    }
+
+    private static void insert(String memberNumber, String firstName, String lastName, boolean deleted) {
+        jdbc.update("""
+                INSERT INTO members (member_number, first_name, last_name, status, is_deleted)
+                VALUES (:number, :first, :last, 'ACTIVE', :deleted)
+                """, new MapSqlParameterSource()
+                .addValue("number", memberNumber)
+                .addValue("first", firstName)
+                .addValue("last", lastName)
+                .addValue("deleted", deleted));
+    }
+
+    private static List<String> search(String q) {
+        String query = q.trim().toLowerCase(Locale.ROOT);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("prefix", LikePatterns.startsWith(query))
+                .addValue("infix", LikePatterns.contains(query))
+                .addValue("status", null, Types.VARCHAR);
+        return jdbc.query(searchSql, params, (rs, i) -> rs.getString("member_number"));
+    }
+}
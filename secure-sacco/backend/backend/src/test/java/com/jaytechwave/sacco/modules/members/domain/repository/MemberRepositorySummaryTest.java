@@ -0,0 +1,148 @@
+package com.jaytechwave.sacco.modules.members.domain.repository;
+
+import com.jaytechwave.sacco.modules.members.domain.entity.Member;
+import com.jaytechwave.sacco.modules.members.domain.entity.MemberStatus;
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import com.jaytechwave.sacco.modules.users.domain.entity.UserStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The {@link MemberSummary} queries: the names they return, and that the SQL
+ * they run never reads the encrypted PII columns.
+ *
+ * <p>Runs against the same PostgreSQL as the other {@code test}-profile tests
+ * (schema via ddl-auto create-drop).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.jaytechwave.sacco.modules.members.domain.repository.MemberRepositorySummaryTest$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("MemberRepository — summary projections")
+class MemberRepositorySummaryTest {
+
+    /** Slice configuration: the application class pulls in Redis-backed sessions. */
+    @SpringBootConfiguration
+    @EntityScan("com.jaytechwave.sacco.modules")
+    @EnableJpaRepositories("com.jaytechwave.sacco.modules")
+    static class JpaSliceConfig {
+    }
+
+    /** Records the SQL Hibernate sends; registered via hibernate.session_factory.statement_inspector. */
+    public static class SqlCapture implements StatementInspector {
+        static final Queue<String> SQL = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired MemberRepository memberRepository;
+
+    private Member walkIn;
+    private Member linked;
+    private Member pending;
+    private Member deleted;
+
+    @BeforeEach
+    void setUp() {
+        walkIn  = member("Grace", "Chebet", MemberStatus.ACTIVE, false);
+        linked  = member("Jane", "Wanjiru", MemberStatus.ACTIVE, false);
+        pending = member("Peter", "Otieno", MemberStatus.PENDING, false);
+        deleted = member("John", "Kamau", MemberStatus.ACTIVE, true);
+
+        User user = entityManager.persist(User.builder()
+                .firstName("Janet").lastName("Wanjiru-Mwangi")
+                .email("janet." + UUID.randomUUID() + "@sacco.co.ke")
+                .phoneNumber("+254712345678")
+                .passwordHash("{noop}secret")
+                .status(UserStatus.ACTIVE)
+                .member(linked)
+                .build());
+        linked.setUser(user);
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("findSummariesByIdIn prefers the linked user's name and falls back to the member's")
+    void byIdsCoalescesToUserName() {
+        List<MemberSummary> summaries = memberRepository.findSummariesByIdIn(
+                List.of(walkIn.getId(), linked.getId(), deleted.getId()));
+
+        assertThat(summaries)
+                .extracting(MemberSummary::id, MemberSummary::memberNumber, MemberSummary::fullName)
+                .containsExactlyInAnyOrder(
+                        tuple(walkIn.getId(), walkIn.getMemberNumber(), "Grace Chebet"),
+                        tuple(linked.getId(), linked.getMemberNumber(), "Janet Wanjiru-Mwangi"));
+        assertNoPiiColumnsRead();
+    }
+
+    @Test
+    @DisplayName("findSummariesByStatus returns the members' own names for that status only")
+    void byStatus() {
+        assertThat(ours(memberRepository.findSummariesByStatus(MemberStatus.ACTIVE)))
+                .extracting(MemberSummary::id, MemberSummary::fullName)
+                .containsExactlyInAnyOrder(
+                        tuple(walkIn.getId(), "Grace Chebet"),
+                        tuple(linked.getId(), "Jane Wanjiru"));
+        assertNoPiiColumnsRead();
+    }
+
+    @Test
+    @DisplayName("findAllSummaries skips soft-deleted members")
+    void all() {
+        assertThat(ours(memberRepository.findAllSummaries()))
+                .extracting(MemberSummary::id)
+                .containsExactlyInAnyOrder(walkIn.getId(), linked.getId(), pending.getId());
+        assertNoPiiColumnsRead();
+    }
+
+    /** The shared test database may hold other tests' members. */
+    private List<MemberSummary> ours(List<MemberSummary> summaries) {
+        Set<UUID> ids = Set.of(walkIn.getId(), linked.getId(), pending.getId(), deleted.getId());
+        return summaries.stream().filter(s -> ids.contains(s.id())).toList();
+    }
+
+    private Member member(String firstName, String lastName, MemberStatus status, boolean deleted) {
+        return entityManager.persist(Member.builder()
+                .memberNumber("MBR-" + UUID.randomUUID().toString().substring(0, 8))
+                .firstName(firstName).lastName(lastName)
+                .nationalId("12345678")
+                .phoneNumber("+254700000001")
+                .status(status)
+                .isDeleted(deleted)
+                .build());
+    }
+
+    private static void assertNoPiiColumnsRead() {
+        assertThat(SqlCapture.SQL).isNotEmpty().allSatisfy(sql -> assertThat(sql)
+                .doesNotContain("national_id")
+                .doesNotContain("phone_number"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.jaytechwave.sacco.modules.payments.config;
+
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation.Bulkhead;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CoopConnectProperties")
+class CoopConnectPropertiesTest {
+
+    @Test
+    @DisplayName("a bulkhead override that sets one field keeps the default for the other")
+    void partialOverrideKeepsDefaults() {
+        CoopConnectProperties props = bind(Map.of(
+                "sacco.coopconnect.http.bulkheads.stk.max-concurrent", "20",
+                "sacco.coopconnect.http.bulkheads.status.response-timeout", "5s"));
+
+        CoopConnectProperties.Http http = props.getHttp();
+        assertThat(http.limit(Bulkhead.STK).getMaxConcurrent()).isEqualTo(20);
+        assertThat(http.limit(Bulkhead.STK).getResponseTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(http.limit(Bulkhead.STATUS).getMaxConcurrent()).isEqualTo(8);
+        assertThat(http.limit(Bulkhead.STATUS).getResponseTimeout()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("bulkheads that are not overridden use their defaults")
+    void untouchedBulkheadsUseDefaults() {
+        CoopConnectProperties.Http http = bind(Map.of(
+                "sacco.coopconnect.http.bulkheads.stk.max-concurrent", "20")).getHttp();
+
+        assertThat(http.limit(Bulkhead.TOKEN).getMaxConcurrent()).isEqualTo(2);
+        assertThat(http.limit(Bulkhead.STATEMENT).getResponseTimeout()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    private static CoopConnectProperties bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("sacco.coopconnect", Bindable.of(CoopConnectProperties.class));
+    }
+}
@@ -0,0 +1,55 @@
+package com.jaytechwave.sacco.modules.payments.config;
+
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation.Bulkhead;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CoopHttpClientConfig — per-path request config")
+class CoopHttpClientConfigTest {
+
+    private Map<Bulkhead, RequestConfig> configs;
+
+    @BeforeEach
+    void setUp() {
+        CoopConnectProperties.Http http = new CoopConnectProperties().getHttp();
+        http.setAcquireTimeout(Duration.ofMillis(1500));
+        http.getBulkheads().put(Bulkhead.STATUS, new CoopConnectProperties.Limit(8, Duration.ofSeconds(7)));
+        configs = CoopHttpClientConfig.requestConfigs(http);
+    }
+
+    @Test
+    @DisplayName("uses the response timeout of the bulkhead that owns the path")
+    void selectsByBulkhead() {
+        assertThat(responseTimeoutMs(CoopOperation.TOKEN.path())).isEqualTo(10_000);
+        assertThat(responseTimeoutMs(CoopOperation.STK_PUSH.path())).isEqualTo(30_000);
+        assertThat(responseTimeoutMs(CoopOperation.STK_STATUS.path())).isEqualTo(7_000);
+        assertThat(responseTimeoutMs("/Enquiry/STK/1.0.0")).isEqualTo(7_000);
+    }
+
+    @Test
+    @DisplayName("every bulkhead shares the acquire timeout")
+    void sharedAcquireTimeout() {
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            assertThat(configs.get(bulkhead).getConnectionRequestTimeout().toMilliseconds()).isEqualTo(1500);
+        }
+    }
+
+    @Test
+    @DisplayName("an unknown path falls back to the STATEMENT timeouts")
+    void unknownPathFallsBack() {
+        assertThat(CoopHttpClientConfig.requestConfigFor("/Enquiry/Unknown/1.0.0/", configs))
+                .isSameAs(configs.get(Bulkhead.STATEMENT));
+    }
+
+    private long responseTimeoutMs(String path) {
+        return CoopHttpClientConfig.requestConfigFor(path, configs).getResponseTimeout().toMilliseconds();
+    }
+}
@@ -0,0 +1,155 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.CoopTokenResponse;
+import com.jaytechwave.sacco.modules.payments.config.CoopConnectProperties;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopCallGuard;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * The single-flight token refresh. {@link CoopCallGuard} stands in for the
+ * HTTP call, so each {@code call(TOKEN, ...)} is one {@code /token} request.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoopConnectService — access token")
+class CoopConnectServiceTokenTest {
+
+    private static final int CALLERS = 8;
+
+    @Mock PhoneNameCacheService phoneNameCacheService;
+    @Mock StringRedisTemplate redis;
+    @Mock ValueOperations<String, String> valueOps;
+    @Mock RestClient restClient;
+    @Mock CoopCallGuard callGuard;
+
+    private CoopConnectService service;
+    private final List<Thread> callers = new ArrayList<>();
+    private final AtomicInteger arrived = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        CoopConnectProperties props = new CoopConnectProperties();
+        props.setConsumerKey("key");
+        props.setConsumerSecret("secret");
+        lenient().when(redis.opsForValue()).thenReturn(valueOps);
+        service = new CoopConnectService(props, phoneNameCacheService, redis, restClient, callGuard);
+    }
+
+    @Test
+    @DisplayName("concurrent callers with no valid token cause exactly one /token call")
+    void concurrentCallersShareOneFetch() throws Exception {
+        when(callGuard.call(eq(CoopOperation.TOKEN), any()))
+                .thenAnswer(afterOthersWait(inv -> new CoopTokenResponse("tok-1", 3600, "Bearer")));
+
+        List<Object> results = runConcurrently();
+
+        assertThat(results).hasSize(CALLERS).containsOnly("tok-1");
+        verify(callGuard, times(1)).call(eq(CoopOperation.TOKEN), any());
+    }
+
+    @Test
+    @DisplayName("a failed refresh reaches every waiter, and the next call retries")
+    void failedRefreshIsSharedThenCleared() throws Exception {
+        when(callGuard.call(eq(CoopOperation.TOKEN), any()))
+                .thenAnswer(afterOthersWait(inv -> {
+                    throw new IllegalStateException("Co-op token endpoint unavailable");
+                }))
+                .thenReturn(new CoopTokenResponse("tok-2", 3600, "Bearer"));
+
+        List<Object> results = runConcurrently();
+
+        assertThat(results).hasSize(CALLERS).allSatisfy(result -> assertThat(result)
+                .isInstanceOf(IllegalStateException.class)
+                .hasFieldOrPropertyWithValue("message", "Co-op token endpoint unavailable"));
+        verify(callGuard, times(1)).call(eq(CoopOperation.TOKEN), any());
+
+        assertThat(service.getAccessToken()).isEqualTo("tok-2");
+        verify(callGuard, times(2)).call(eq(CoopOperation.TOKEN), any());
+    }
+
+    @Test
+    @DisplayName("a newer token another node stored in Redis is adopted instead of fetching")
+    void adoptsNewerRedisToken() {
+        // expires_in of 60s is used up entirely by the 60s safety buffer
+        when(callGuard.call(eq(CoopOperation.TOKEN), any())).thenReturn(new CoopTokenResponse("tok-old", 60, "Bearer"));
+        assertThat(service.getAccessToken()).isEqualTo("tok-old");
+
+        long later = System.currentTimeMillis() + 600_000;
+        when(valueOps.get("coop:access_token")).thenReturn("tok-other-node");
+        when(valueOps.get("coop:token_expiry_ms")).thenReturn(String.valueOf(later));
+
+        assertThat(service.getAccessToken()).isEqualTo("tok-other-node");
+        assertThat(service.getAccessToken()).isEqualTo("tok-other-node");
+        verify(callGuard, times(1)).call(eq(CoopOperation.TOKEN), any());
+    }
+
+    @Test
+    @DisplayName("the background refresh does nothing before the first token is fetched")
+    void refreshAheadIdleBeforeFirstFetch() {
+        service.refreshTokenAhead();
+
+        verifyNoInteractions(redis, callGuard);
+    }
+
+    /**
+     * Runs {@code fetch} only once every other caller has asked for a token and
+     * is parked waiting on the refresh, so all of them share this fetch.
+     */
+    private Answer<Object> afterOthersWait(Answer<Object> fetch) {
+        return inv -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (arrived.get() < CALLERS && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            for (Thread caller : callers) {
+                while (caller != Thread.currentThread()
+                        && caller.getState() != Thread.State.WAITING
+                        && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+            }
+            return fetch.answer(inv);
+        };
+    }
+
+    /** Calls getAccessToken from {@link #CALLERS} threads; each result is a token or the exception thrown. */
+    private List<Object> runConcurrently() throws InterruptedException {
+        ConcurrentLinkedQueue<Object> results = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < CALLERS; i++) {
+            callers.add(new Thread(() -> {
+                arrived.incrementAndGet();
+                try {
+                    results.add(service.getAccessToken());
+                } catch (Exception e) {
+                    results.add(e);
+                }
+            }));
+        }
+        callers.forEach(Thread::start);
+        for (Thread caller : callers) {
+            caller.join(10_000);
+        }
+        return new ArrayList<>(results);
+    }
+}
@@ -0,0 +1,129 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.core.persistence.LeasedQueue;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox.Entry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the inbox's claim and retry SQL against a real PostgreSQL with the V119
+ * table (skipped without Docker).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("PaymentCallbackInbox — claim")
+class PaymentCallbackInboxClaimTest {
+
+    private static final String PHONE_A = "+254717921562";
+    private static final String PHONE_B = "+254722000000";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+
+    private PaymentCallbackInbox inbox;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V119__create_payment_callback_inbox.sql")).execute(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM payment_callback_inbox");
+        inbox = new PaymentCallbackInbox(jdbc, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("only the oldest open row of each ordering key is claimed")
+    void claimsOldestPerKey() {
+        UUID a1 = insert(PHONE_A, 30);
+        UUID a2 = insert(PHONE_A, 20);
+        UUID b1 = insert(PHONE_B, 10);
+
+        assertThat(ids(inbox.claim(10))).containsExactlyInAnyOrder(a1, b1);
+        // a1 is being processed, so a2 waits behind it
+        assertThat(inbox.claim(10)).isEmpty();
+
+        inbox.markDone(a1);
+        assertThat(ids(inbox.claim(10))).containsExactly(a2);
+    }
+
+    @Test
+    @DisplayName("a row whose processing lease expired is claimed again")
+    void reclaimsExpiredLease() {
+        UUID a1 = insert(PHONE_A, 30);
+        assertThat(inbox.claim(10)).extracting(Entry::attempts).containsExactly(1);
+
+        // The node processing it died; its lease runs out
+        jdbc.update("UPDATE payment_callback_inbox SET locked_until = CURRENT_TIMESTAMP - INTERVAL '1 second' WHERE id = ?", a1);
+
+        List<Entry> reclaimed = inbox.claim(10);
+        assertThat(ids(reclaimed)).containsExactly(a1);
+        assertThat(reclaimed.get(0).attempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a row waiting to retry holds its key back; parking it as FAILED releases the next")
+    void failedRowUnblocksKey() {
+        UUID a1 = insert(PHONE_A, 30);
+        UUID a2 = insert(PHONE_A, 20);
+
+        Entry first = inbox.claim(10).get(0);
+        inbox.markFailed(first, "savings credit failed");
+        assertThat(status(a1)).isEqualTo("PENDING");
+        assertThat(inbox.claim(10)).isEmpty();
+
+        inbox.markFailed(new Entry(a1, first.source(), first.payload(), LeasedQueue.MAX_ATTEMPTS, first.receivedAt()),
+                "savings credit failed");
+        assertThat(status(a1)).isEqualTo("FAILED");
+        assertThat(ids(inbox.claim(10))).containsExactly(a2);
+    }
+
+    @Test
+    @DisplayName("claims at most the requested number of keys")
+    void respectsLimit() {
+        insert(PHONE_A, 30);
+        insert(PHONE_B, 20);
+
+        assertThat(inbox.claim(1)).hasSize(1);
+        assertThat(inbox.claim(1)).hasSize(1);
+        assertThat(inbox.claim(1)).isEmpty();
+    }
+
+    /** Inserts a pending IPN received {@code secondsAgo}. */
+    private static UUID insert(String orderingKey, int secondsAgo) {
+        return jdbc.queryForObject("""
+                INSERT INTO payment_callback_inbox (source, dedup_key, ordering_key, payload, received_at)
+                VALUES ('IPN', ?, ?, '{}', CURRENT_TIMESTAMP - make_interval(secs => ?))
+                RETURNING id
+                """, UUID.class, UUID.randomUUID().toString(), orderingKey, secondsAgo);
+    }
+
+    private static String status(UUID id) {
+        return jdbc.queryForObject("SELECT status FROM payment_callback_inbox WHERE id = ?", String.class, id);
+    }
+
+    private static List<UUID> ids(List<Entry> entries) {
+        return entries.stream().map(Entry::id).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox.Source;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentCallbackInbox")
+class PaymentCallbackInboxTest {
+
+    @Mock JdbcTemplate jdbc;
+
+    private PaymentCallbackInbox inbox;
+
+    @BeforeEach
+    void setUp() {
+        inbox = new PaymentCallbackInbox(jdbc, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("keys an IPN by TransactionId and orders it by the narration phone in E.164")
+    void ipnKeys() {
+        String body = "{\"TransactionId\":\"TX-1\",\"EventType\":\"CREDIT\","
+                + "\"Narration\":\"UETA45S0OJ~BETTERLINK~254717921562~JANE DOE~\"}";
+        when(jdbc.update(anyString(), eq("IPN"), eq("TX-1"), eq("+254717921562"), eq(body))).thenReturn(1);
+
+        assertThat(inbox.accept(Source.IPN, body)).isTrue();
+    }
+
+    @Test
+    @DisplayName("orders an STK callback by MobileNumber and reports a redelivery")
+    void stkCallbackDuplicate() {
+        String body = "{\"MessageReference\":\"abc123\",\"MessageCode\":\"0\",\"MobileNumber\":\"0717921562\"}";
+        when(jdbc.update(anyString(), eq("STK_CALLBACK"), eq("abc123"), eq("+254717921562"), eq(body))).thenReturn(0);
+
+        assertThat(inbox.accept(Source.STK_CALLBACK, body)).isFalse();
+    }
+
+    @Test
+    @DisplayName("still stores a body it cannot parse")
+    void unreadableBody() {
+        inbox.accept(Source.IPN, "not json");
+
+        verify(jdbc).update(anyString(), eq("IPN"), isNull(), eq("IPN:unreadable"), eq("not json"));
+    }
+}
@@ -35,6 +35,7 @@ class PaymentServiceTest {
     @Mock SecurityAuditService  securityAuditService;
     @Mock CoopEventNormalizer coopEventNormalizer;
     @Mock PhoneNameCacheService phoneNameCacheService;
+    @Mock StkStatusCheckScheduler stkStatusCheckScheduler;
 
     @InjectMocks
     private PaymentService service;
@@ -65,7 +66,7 @@ class PaymentServiceTest {
     @Test
     @DisplayName("successful callback marks payment COMPLETED and fires event")
     void processStkCallback_success_marksCompletedAndFiresEvent() {
-        when(paymentRepository.findByInternalRef(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
+        when(paymentRepository.findByInternalRefForUpdate(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
         when(paymentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         StkCallbackPayload callback = buildSuccessfulCallback(MESSAGE_REF, "PGS123456789");
@@ -79,12 +80,13 @@ class PaymentServiceTest {
         verify(eventPublisher).publishEvent(captor.capture());
         assertThat(captor.getValue().memberId()).isEqualTo(memberId);
         assertThat(captor.getValue().amount()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        verify(stkStatusCheckScheduler).cancel(pendingPayment.getId());
     }
 
     @Test
     @DisplayName("failed callback marks payment FAILED and stores reason")
     void processStkCallback_failure_marksFailedWithReason() {
-        when(paymentRepository.findByInternalRef(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
+        when(paymentRepository.findByInternalRefForUpdate(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
         when(paymentRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         StkCallbackPayload callback = buildFailedCallback(MESSAGE_REF, "Request cancelled by user");
@@ -94,6 +96,7 @@ class PaymentServiceTest {
         assertThat(pendingPayment.getStatus()).isEqualTo(PaymentStatus.FAILED);
         assertThat(pendingPayment.getFailureReason()).contains("cancelled by user");
         verify(eventPublisher, never()).publishEvent(any(PaymentCompletedEvent.class));
+        verify(stkStatusCheckScheduler).cancel(pendingPayment.getId());
     }
 
     // ─── Idempotency — duplicate callbacks must be no-ops ─────────────
@@ -104,7 +107,7 @@ class PaymentServiceTest {
         pendingPayment.setStatus(PaymentStatus.COMPLETED);
         pendingPayment.setTransactionRef("PGS111111111");
 
-        when(paymentRepository.findByInternalRef(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
+        when(paymentRepository.findByInternalRefForUpdate(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
 
         StkCallbackPayload callback = buildSuccessfulCallback(MESSAGE_REF, "PGS222222222");
 
@@ -114,6 +117,8 @@ class PaymentServiceTest {
         assertThat(pendingPayment.getTransactionRef()).isEqualTo("PGS111111111");
         verify(eventPublisher, never()).publishEvent(any(PaymentCompletedEvent.class));
         verify(paymentRepository, never()).save(any());
+        // A status check still queued for the payment is dropped all the same
+        verify(stkStatusCheckScheduler).cancel(pendingPayment.getId());
     }
 
     @Test
@@ -122,7 +127,7 @@ class PaymentServiceTest {
         pendingPayment.setStatus(PaymentStatus.FAILED);
         pendingPayment.setFailureReason("First failure reason");
 
-        when(paymentRepository.findByInternalRef(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
+        when(paymentRepository.findByInternalRefForUpdate(MESSAGE_REF)).thenReturn(Optional.of(pendingPayment));
 
         StkCallbackPayload callback = buildFailedCallback(MESSAGE_REF, "Second failure attempt");
 
@@ -0,0 +1,150 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupChangedEvent;
+import com.jaytechwave.sacco.modules.core.security.PhoneLookupHashListener;
+import com.jaytechwave.sacco.modules.core.security.PiiSearchHashConverter;
+import com.jaytechwave.sacco.modules.members.domain.entity.Member;
+import com.jaytechwave.sacco.modules.members.domain.repository.MemberRepository;
+import com.jaytechwave.sacco.modules.payments.domain.repository.PhoneNameCacheRepository;
+import com.jaytechwave.sacco.modules.payments.domain.service.PhoneNameCacheService.MemberMatch;
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PhoneNameCacheService.resolveMember")
+class PhoneNameCacheServiceTest {
+
+    private static final String E164 = "+254717921562";
+
+    @Mock PhoneNameCacheRepository phoneNameCacheRepository;
+    @Mock UserRepository userRepository;
+    @Mock MemberRepository memberRepository;
+    @Mock ApplicationEventPublisher eventPublisher;
+
+    private final PiiSearchHashConverter hashConverter =
+            new PiiSearchHashConverter(Base64.getEncoder().encodeToString(new byte[32]));
+    private PhoneNameCacheService service;
+    private String hash;
+
+    @BeforeEach
+    void setUp() {
+        PhoneLookupHashListener listener = new PhoneLookupHashListener(hashConverter, eventPublisher);
+        service = new PhoneNameCacheService(phoneNameCacheRepository, userRepository, memberRepository,
+                listener, hashConverter);
+        hash = listener.hash(E164);
+    }
+
+    @Test
+    @DisplayName("resolves any spelling through the linked user and serves repeats from the cache")
+    void resolvesViaUserAndCaches() {
+        Member member = member("Jane", "Wanjiru");
+        when(userRepository.findFirstByPhoneE164HashAndMemberIdIsNotNull(hash)).thenReturn(Optional.of(user(member)));
+
+        assertThat(service.resolveMember("0717921562"))
+                .contains(new MemberMatch(member.getId(), "Jane Wanjiru", true));
+        assertThat(service.resolveMember("254717921562")).isPresent();
+
+        verify(userRepository, times(1)).findFirstByPhoneE164HashAndMemberIdIsNotNull(hash);
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    @DisplayName("falls back to the member record, and caches a miss")
+    void fallsBackToMemberAndCachesMisses() {
+        Member member = member("Jane", "Wanjiru");
+        when(memberRepository.findFirstByPhoneE164Hash(hash)).thenReturn(Optional.of(member));
+
+        assertThat(service.resolveMember(E164)).contains(new MemberMatch(member.getId(), "Jane Wanjiru", false));
+
+        String otherHash = new PhoneLookupHashListener(hashConverter, eventPublisher).hash("0722000000");
+        assertThat(service.resolveMember("0722000000")).isEmpty();
+        assertThat(service.resolveMember("0722000000")).isEmpty();
+        verify(memberRepository, times(1)).findFirstByPhoneE164Hash(otherHash);
+    }
+
+    @Test
+    @DisplayName("a write to the member drops its cached match, including under a number it moved away from")
+    void evictsOnMemberWrite() {
+        Member member = member("Jane", "Wanjiru");
+        when(memberRepository.findFirstByPhoneE164Hash(hash)).thenReturn(Optional.of(member), Optional.empty());
+        assertThat(service.resolveMember(E164)).isPresent();
+
+        // The member's number changed to another one
+        service.onPhoneLookupChanged(new PhoneLookupChangedEvent("+254722000000", member.getId()));
+
+        assertThat(service.resolveMember(E164)).isEmpty();
+        verify(memberRepository, times(2)).findFirstByPhoneE164Hash(hash);
+    }
+
+    @Test
+    @DisplayName("a write to one member drops all of its cached numbers and leaves other members' alone")
+    void evictsOnlyTheWrittenMember() {
+        Member jane = member("Jane", "Wanjiru");
+        Member john = member("John", "Otieno");
+        PhoneLookupHashListener listener = new PhoneLookupHashListener(hashConverter, eventPublisher);
+        String janeSecondHash = listener.hash("+254733000000");
+        String johnHash = listener.hash("+254722000000");
+        when(memberRepository.findFirstByPhoneE164Hash(hash)).thenReturn(Optional.of(jane));
+        when(memberRepository.findFirstByPhoneE164Hash(janeSecondHash)).thenReturn(Optional.of(jane));
+        when(memberRepository.findFirstByPhoneE164Hash(johnHash)).thenReturn(Optional.of(john));
+        service.resolveMember(E164);
+        service.resolveMember("0733000000");
+        service.resolveMember("0722000000");
+
+        service.onPhoneLookupChanged(new PhoneLookupChangedEvent(null, jane.getId()));
+        service.resolveMember(E164);
+        service.resolveMember("0733000000");
+        service.resolveMember("0722000000");
+
+        verify(memberRepository, times(2)).findFirstByPhoneE164Hash(hash);
+        verify(memberRepository, times(2)).findFirstByPhoneE164Hash(janeSecondHash);
+        verify(memberRepository, times(1)).findFirstByPhoneE164Hash(johnHash);
+    }
+
+    @Test
+    @DisplayName("a write that gives a number a member drops its cached miss")
+    void evictsMissOnLink() {
+        assertThat(service.resolveMember(E164)).isEmpty();
+
+        Member member = member("Jane", "Wanjiru");
+        when(userRepository.findFirstByPhoneE164HashAndMemberIdIsNotNull(hash)).thenReturn(Optional.of(user(member)));
+        service.onPhoneLookupChanged(new PhoneLookupChangedEvent(E164, member.getId()));
+
+        assertThat(service.resolveMember(E164)).map(MemberMatch::memberId).contains(member.getId());
+    }
+
+    @Test
+    @DisplayName("a number with no E.164 form is matched as typed and as digits in one query")
+    void matchesUnparseableNumbersAsTyped() {
+        Member member = member("Jane", "Wanjiru");
+        List<String> hashes = hashConverter.hashAll(List.of("12-345", "12345"));
+        when(userRepository.findAllByPhoneNumberHashInAndMemberIdIsNotNull(hashes)).thenReturn(List.of(user(member)));
+
+        assertThat(service.resolveMember(" 12-345 ")).map(MemberMatch::name).contains("Jane Wanjiru");
+        verify(userRepository, never()).findFirstByPhoneE164HashAndMemberIdIsNotNull(any());
+    }
+
+    private static Member member(String firstName, String lastName) {
+        return Member.builder().id(UUID.randomUUID()).firstName(firstName).lastName(lastName).build();
+    }
+
+    private static User user(Member member) {
+        return User.builder().firstName(member.getFirstName()).lastName(member.getLastName()).member(member).build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Runs the check queue against a real Redis (skipped without Docker), including
+ * the claim script's lease, which is timed by Redis's clock.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("StkStatusCheckScheduler")
+class StkStatusCheckSchedulerTest {
+
+    private static final double TOLERANCE_MS = 5_000;
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redis;
+
+    private StkStatusCheckScheduler scheduler;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.delete(StkStatusCheckScheduler.DUE_KEY);
+        redis.delete(StkStatusCheckScheduler.ATTEMPTS_KEY);
+        scheduler = new StkStatusCheckScheduler(redis);
+    }
+
+    @Test
+    @DisplayName("backoff doubles from the base delay and stops at the maximum")
+    void backoffSchedule() {
+        assertThat(StkStatusCheckScheduler.backoff(1)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(StkStatusCheckScheduler.backoff(2)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(StkStatusCheckScheduler.backoff(3)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(StkStatusCheckScheduler.backoff(4)).isEqualTo(Duration.ofSeconds(80));
+        assertThat(StkStatusCheckScheduler.backoff(5)).isEqualTo(StkStatusCheckScheduler.MAX_RETRY_DELAY);
+        assertThat(StkStatusCheckScheduler.backoff(60)).isEqualTo(StkStatusCheckScheduler.MAX_RETRY_DELAY);
+    }
+
+    @Test
+    @DisplayName("the first check waits for the callback; each reschedule backs off further")
+    void schedulesAndBacksOff() {
+        UUID paymentId = UUID.randomUUID();
+        ZonedDateTime createdAt = ZonedDateTime.now();
+
+        scheduler.schedule(paymentId);
+        assertThat(dueInMillis(paymentId)).isCloseTo(60_000, within(TOLERANCE_MS));
+
+        scheduler.reschedule(paymentId, createdAt);
+        assertThat(dueInMillis(paymentId)).isCloseTo(10_000, within(TOLERANCE_MS));
+        scheduler.reschedule(paymentId, createdAt);
+        assertThat(dueInMillis(paymentId)).isCloseTo(20_000, within(TOLERANCE_MS));
+
+        // A new STK push for the same id starts the backoff over
+        scheduler.schedule(paymentId);
+        scheduler.reschedule(paymentId, createdAt);
+        assertThat(dueInMillis(paymentId)).isCloseTo(10_000, within(TOLERANCE_MS));
+    }
+
+    @Test
+    @DisplayName("a reschedule never lands after the payment's expiry")
+    void rescheduleCappedAtExpiry() {
+        UUID paymentId = UUID.randomUUID();
+        ZonedDateTime createdAt = ZonedDateTime.now().minus(StkStatusCheckScheduler.PAYMENT_EXPIRY).plusSeconds(15);
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.reschedule(paymentId, createdAt);
+        }
+
+        long expiresAt = createdAt.plus(StkStatusCheckScheduler.PAYMENT_EXPIRY).toInstant().toEpochMilli();
+        assertThat(score(paymentId)).isEqualTo((double) expiresAt);
+    }
+
+    @Test
+    @DisplayName("a claim leases due entries, and an expired lease is claimed again")
+    void claimLeasesEntries() {
+        UUID due = UUID.randomUUID();
+        UUID notDue = UUID.randomUUID();
+        scheduler.scheduleIfAbsent(due, ZonedDateTime.now().minusMinutes(5));
+        scheduler.schedule(notDue);
+
+        assertThat(scheduler.claimDue(10)).containsExactly(due);
+        // The lease runs from Redis's clock
+        assertThat(score(due) - redisNowMillis())
+                .isCloseTo(StkStatusCheckScheduler.CLAIM_LEASE.toMillis(), within(TOLERANCE_MS));
+
+        // Leased: another node's claim does not see it
+        assertThat(scheduler.claimDue(10)).isEmpty();
+
+        // The claiming node died mid-check and the lease ran out
+        redis.opsForZSet().add(StkStatusCheckScheduler.DUE_KEY, due.toString(), System.currentTimeMillis() - 1);
+        assertThat(scheduler.claimDue(10)).containsExactly(due);
+    }
+
+    @Test
+    @DisplayName("a claim takes at most the requested number of entries")
+    void claimRespectsLimit() {
+        for (int i = 0; i < 3; i++) {
+            scheduler.scheduleIfAbsent(UUID.randomUUID(), ZonedDateTime.now().minusMinutes(5));
+        }
+
+        assertThat(scheduler.claimDue(2)).hasSize(2);
+        assertThat(scheduler.claimDue(2)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("cancel drops the check and its attempt count")
+    void cancelDropsCheck() {
+        UUID paymentId = UUID.randomUUID();
+        scheduler.schedule(paymentId);
+        scheduler.reschedule(paymentId, ZonedDateTime.now());
+
+        scheduler.cancel(paymentId);
+
+        assertThat(score(paymentId)).isNull();
+        assertThat(redis.opsForHash().hasKey(StkStatusCheckScheduler.ATTEMPTS_KEY, paymentId.toString())).isFalse();
+    }
+
+    @Test
+    @DisplayName("re-enqueueing leaves a payment that is already queued where it is")
+    void scheduleIfAbsentKeepsExistingEntry() {
+        UUID paymentId = UUID.randomUUID();
+        scheduler.schedule(paymentId);
+        Double before = score(paymentId);
+
+        scheduler.scheduleIfAbsent(paymentId, ZonedDateTime.now().minusMinutes(5));
+
+        assertThat(score(paymentId)).isEqualTo(before);
+    }
+
+    private Double score(UUID paymentId) {
+        return redis.opsForZSet().score(StkStatusCheckScheduler.DUE_KEY, paymentId.toString());
+    }
+
+    private static long redisNowMillis() {
+        return redis.execute((RedisCallback<Long>) connection -> connection.serverCommands().time());
+    }
+
+    private double dueInMillis(UUID paymentId) {
+        return score(paymentId) - System.currentTimeMillis();
+    }
+}
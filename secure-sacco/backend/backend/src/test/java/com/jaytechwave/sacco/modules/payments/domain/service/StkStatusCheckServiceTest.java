@@ -0,0 +1,121 @@
+package com.jaytechwave.sacco.modules.payments.domain.service;
+
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.TransactionStatusResponse;
+import com.jaytechwave.sacco.modules.payments.domain.entity.Payment;
+import com.jaytechwave.sacco.modules.payments.domain.entity.PaymentStatus;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentCompletedEvent;
+import com.jaytechwave.sacco.modules.payments.domain.event.PaymentFailedEvent;
+import com.jaytechwave.sacco.modules.payments.domain.repository.PaymentRepository;
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import com.jaytechwave.sacco.modules.users.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StkStatusCheckService")
+class StkStatusCheckServiceTest {
+
+    @Mock PaymentRepository paymentRepository;
+    @Mock ApplicationEventPublisher eventPublisher;
+    @Mock UserRepository userRepository;
+
+    @InjectMocks
+    private StkStatusCheckService service;
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        payment = Payment.builder()
+                .id(UUID.randomUUID())
+                .memberId(UUID.randomUUID())
+                .internalRef("abc123def456ghi789jk")
+                .amount(new BigDecimal("1000.00"))
+                .paymentType("STK_PUSH")
+                .accountReference("DEP-ABCD1234")
+                .status(PaymentStatus.PENDING)
+                .build();
+        lenient().when(paymentRepository.findByIdForUpdate(payment.getId())).thenReturn(Optional.of(payment));
+    }
+
+    @Test
+    @DisplayName("code 0 completes the payment with the M-Pesa receipt and the member's name")
+    void completes() {
+        when(userRepository.findByMemberId(payment.getMemberId()))
+                .thenReturn(Optional.of(User.builder().firstName("Jane").lastName("Wanjiru").build()));
+
+        assertThat(service.applyStatus(payment.getId(), status("0", "UETA45S0OJ"))).isTrue();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(payment.getMpesaRef()).isEqualTo("UETA45S0OJ");
+        assertThat(payment.getSenderName()).isEqualTo("Jane Wanjiru");
+        ArgumentCaptor<PaymentCompletedEvent> event = ArgumentCaptor.forClass(PaymentCompletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().paymentId()).isEqualTo(payment.getId());
+    }
+
+    @Test
+    @DisplayName("a failure code fails the payment")
+    void fails() {
+        assertThat(service.applyStatus(payment.getId(), status("1032", null))).isTrue();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(eventPublisher).publishEvent(any(PaymentFailedEvent.class));
+    }
+
+    @Test
+    @DisplayName("any other code leaves the payment pending for the next check")
+    void inProgressStaysPending() {
+        assertThat(service.applyStatus(payment.getId(), status("500.001.1001", null))).isFalse();
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
+        verify(paymentRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("a payment the callback already settled is left alone")
+    void settledPaymentUntouched() {
+        payment.setStatus(PaymentStatus.COMPLETED);
+
+        assertThat(service.applyStatus(payment.getId(), status("1032", null))).isTrue();
+        service.expire(payment.getId());
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(paymentRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("expire fails a payment that is still pending")
+    void expires() {
+        service.expire(payment.getId());
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(paymentRepository).save(payment);
+        verify(eventPublisher).publishEvent(any(PaymentFailedEvent.class));
+    }
+
+    private static TransactionStatusResponse status(String messageCode, String transactionId) {
+        TransactionStatusResponse status = new TransactionStatusResponse();
+        status.setMessageCode(messageCode);
+        status.setMessageDescription("Co-op says " + messageCode);
+        status.setTransactionId(transactionId);
+        return status;
+    }
+}
@@ -0,0 +1,107 @@
+package com.jaytechwave.sacco.modules.payments.infrastructure;
+
+import com.jaytechwave.sacco.modules.payments.config.CoopConnectProperties;
+import com.jaytechwave.sacco.modules.payments.infrastructure.CoopOperation.Bulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CoopCallGuard")
+class CoopCallGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CoopCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        CoopConnectProperties props = new CoopConnectProperties();
+        props.getHttp().setAcquireTimeout(Duration.ofMillis(50));
+        props.getHttp().getBulkheads().put(Bulkhead.TOKEN, new CoopConnectProperties.Limit(1, Duration.ofSeconds(10)));
+        guard = new CoopCallGuard(props, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("rejects a call once no permit frees up within the acquire timeout")
+    void rejectsWhenFull() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            caller.submit(() -> guard.call(CoopOperation.TOKEN, () -> {
+                inCall.countDown();
+                await(release);
+                return "token";
+            }));
+            assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> guard.call(CoopOperation.TOKEN, () -> "second"))
+                    .hasMessageContaining("busy");
+            assertThat(meterRegistry.get("sacco.coop.bulkhead.rejected").tag("bulkhead", "token").counter().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("sacco.coop.bulkhead.in_flight").tag("bulkhead", "token").gauge().value())
+                    .isEqualTo(1);
+
+            // Other bulkheads are unaffected
+            assertThat(guard.call(CoopOperation.STK_PUSH, () -> "pushed")).isEqualTo("pushed");
+        } finally {
+            release.countDown();
+            caller.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("releases the permit when the call throws")
+    void releasesPermitOnFailure() {
+        assertThatThrownBy(() -> guard.call(CoopOperation.TOKEN, () -> {
+            throw new IllegalStateException("connection reset");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(guard.call(CoopOperation.TOKEN, () -> "token")).isEqualTo("token");
+        assertThat(meterRegistry.get("sacco.coop.bulkhead.in_flight").tag("bulkhead", "token").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("tags each request timer with its operation and outcome")
+    void tagsOutcome() {
+        guard.call(CoopOperation.STK_STATUS, () -> "ok");
+        assertThatThrownBy(() -> guard.call(CoopOperation.STK_STATUS, () -> {
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        })).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> guard.call(CoopOperation.STK_STATUS, () -> {
+            throw new IllegalStateException("unexpected");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timerCount("stk_status", "success")).isEqualTo(1);
+        assertThat(timerCount("stk_status", "server_error")).isEqualTo(1);
+        assertThat(timerCount("stk_status", "error")).isEqualTo(1);
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get("sacco.coop.request")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
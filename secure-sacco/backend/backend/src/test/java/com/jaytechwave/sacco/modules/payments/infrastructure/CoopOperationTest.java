@@ -0,0 +1,35 @@
+package com.jaytechwave.sacco.modules.payments.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CoopOperation")
+class CoopOperationTest {
+
+    @Test
+    @DisplayName("finds every operation by its own path")
+    void findsEachOperation() {
+        for (CoopOperation op : CoopOperation.values()) {
+            assertThat(CoopOperation.forPath(op.path())).isEqualTo(op);
+        }
+    }
+
+    @Test
+    @DisplayName("ignores a trailing slash on either side")
+    void ignoresTrailingSlash() {
+        assertThat(CoopOperation.forPath("/Enquiry/STK/1.0.0")).isEqualTo(CoopOperation.STK_STATUS);
+        assertThat(CoopOperation.forPath("/Enquiry/STK/1.0.0/")).isEqualTo(CoopOperation.STK_STATUS);
+        assertThat(CoopOperation.forPath("/FT/stk/1.0.0/")).isEqualTo(CoopOperation.STK_PUSH);
+        assertThat(CoopOperation.forPath("/token/")).isEqualTo(CoopOperation.TOKEN);
+    }
+
+    @Test
+    @DisplayName("returns null for unknown or missing paths")
+    void unknownPath() {
+        assertThat(CoopOperation.forPath("/Enquiry/Unknown/1.0.0/")).isNull();
+        assertThat(CoopOperation.forPath("/")).isNull();
+        assertThat(CoopOperation.forPath(null)).isNull();
+    }
+}
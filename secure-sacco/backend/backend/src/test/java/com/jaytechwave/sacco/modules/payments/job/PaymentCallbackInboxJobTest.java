@@ -0,0 +1,91 @@
+package com.jaytechwave.sacco.modules.payments.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.CoopIpnPayload;
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.StkCallbackPayload;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox.Entry;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentCallbackInbox.Source;
+import com.jaytechwave.sacco.modules.payments.domain.service.PaymentService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentCallbackInboxJob")
+class PaymentCallbackInboxJobTest {
+
+    private static final String IPN_BODY = "{\"TransactionId\":\"TX-1\",\"EventType\":\"CREDIT\"}";
+    private static final String STK_BODY = "{\"MessageReference\":\"abc123\",\"MessageCode\":\"0\"}";
+
+    @Mock PaymentCallbackInbox inbox;
+    @Mock PaymentService paymentService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PaymentCallbackInboxJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new PaymentCallbackInboxJob(inbox, paymentService, new ObjectMapper(), meterRegistry, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    @DisplayName("marks processed rows done and records their lag by source")
+    void recordsLag() {
+        Entry ipn = new Entry(UUID.randomUUID(), Source.IPN, IPN_BODY, 1, OffsetDateTime.now().minusSeconds(3));
+        when(inbox.claim(anyInt())).thenReturn(List.of(ipn));
+
+        job.processInbox();
+
+        verify(paymentService).processCoopIpn(eq(IPN_BODY), any(CoopIpnPayload.class));
+        verify(inbox).markDone(ipn.id());
+        Timer lag = meterRegistry.get("sacco.payments.callback.lag").tag("source", "IPN").timer();
+        assertThat(lag.count()).isEqualTo(1);
+        assertThat(lag.totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("a failed row is handed back for retry and records no lag")
+    void failedRowRetried() {
+        Entry stk = new Entry(UUID.randomUUID(), Source.STK_CALLBACK, STK_BODY, 2, OffsetDateTime.now());
+        when(inbox.claim(anyInt())).thenReturn(List.of(stk));
+        doThrow(new IllegalStateException("savings credit failed"))
+                .when(paymentService).processStkCallback(eq(STK_BODY), any(StkCallbackPayload.class));
+
+        job.processInbox();
+
+        verify(inbox).markFailed(stk, "savings credit failed");
+        verify(inbox, never()).markDone(any());
+        assertThat(meterRegistry.find("sacco.payments.callback.lag").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("ticks on its own thread once started")
+    void ticksOnOwnThread() {
+        job.start();
+
+        verify(inbox, timeout(5_000).atLeast(3)).claim(anyInt());
+    }
+}
@@ -0,0 +1,202 @@
+package com.jaytechwave.sacco.modules.payments.job;
+
+import com.jaytechwave.sacco.modules.payments.api.dto.CoopConnectDTOs.TransactionStatusResponse;
+import com.jaytechwave.sacco.modules.payments.config.CoopConnectProperties;
+import com.jaytechwave.sacco.modules.payments.domain.entity.Payment;
+import com.jaytechwave.sacco.modules.payments.domain.entity.PaymentStatus;
+import com.jaytechwave.sacco.modules.payments.domain.repository.PaymentRepository;
+import com.jaytechwave.sacco.modules.payments.domain.service.CoopConnectService;
+import com.jaytechwave.sacco.modules.payments.domain.service.StkStatusCheckScheduler;
+import com.jaytechwave.sacco.modules.payments.domain.service.StkStatusCheckService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PendingPaymentPollingJob")
+class PendingPaymentPollingJobTest {
+
+    @Mock PaymentRepository paymentRepository;
+    @Mock CoopConnectService coopConnectService;
+    @Mock StkStatusCheckScheduler checkScheduler;
+    @Mock StkStatusCheckService statusCheckService;
+
+    private PendingPaymentPollingJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new PendingPaymentPollingJob(paymentRepository, coopConnectService, checkScheduler,
+                statusCheckService, new CoopConnectProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    @DisplayName("a conclusive status settles the payment and cancels its check")
+    void conclusiveStatusCancels() {
+        Payment payment = pending(ZonedDateTime.now().minusMinutes(2));
+        TransactionStatusResponse status = status("0");
+        claim(payment);
+        when(coopConnectService.checkTransactionStatus(payment.getInternalRef())).thenReturn(status);
+        when(statusCheckService.applyStatus(payment.getId(), status)).thenReturn(true);
+
+        job.checkDuePayments();
+        awaitChecks();
+
+        verify(checkScheduler).cancel(payment.getId());
+        verify(checkScheduler, never()).reschedule(any(), any());
+    }
+
+    @Test
+    @DisplayName("an in-progress status reschedules the check")
+    void inProgressReschedules() {
+        Payment payment = pending(ZonedDateTime.now().minusMinutes(2));
+        TransactionStatusResponse status = status("1");
+        claim(payment);
+        when(coopConnectService.checkTransactionStatus(payment.getInternalRef())).thenReturn(status);
+        when(statusCheckService.applyStatus(payment.getId(), status)).thenReturn(false);
+
+        job.checkDuePayments();
+        awaitChecks();
+
+        verify(checkScheduler).reschedule(payment.getId(), payment.getCreatedAt());
+        verify(checkScheduler, never()).cancel(any());
+    }
+
+    @Test
+    @DisplayName("no response or a failed call reschedules the check")
+    void noResponseReschedules() {
+        Payment silent = pending(ZonedDateTime.now().minusMinutes(2));
+        Payment erroring = pending(ZonedDateTime.now().minusMinutes(3));
+        claim(silent, erroring);
+        when(coopConnectService.checkTransactionStatus(silent.getInternalRef())).thenReturn(null);
+        when(coopConnectService.checkTransactionStatus(erroring.getInternalRef()))
+                .thenThrow(new IllegalStateException("Co-op status timed out"));
+
+        job.checkDuePayments();
+        awaitChecks();
+
+        verify(checkScheduler).reschedule(silent.getId(), silent.getCreatedAt());
+        verify(checkScheduler).reschedule(erroring.getId(), erroring.getCreatedAt());
+        verifyNoInteractions(statusCheckService);
+    }
+
+    @Test
+    @DisplayName("a payment past its expiry is failed without calling Co-op")
+    void expiredPaymentFails() {
+        Payment payment = pending(ZonedDateTime.now().minus(StkStatusCheckScheduler.PAYMENT_EXPIRY).minusSeconds(1));
+        claim(payment);
+
+        job.checkDuePayments();
+        awaitChecks();
+
+        verify(statusCheckService).expire(payment.getId());
+        verify(checkScheduler).cancel(payment.getId());
+        verifyNoInteractions(coopConnectService);
+    }
+
+    @Test
+    @DisplayName("a payment settled elsewhere only has its check cancelled")
+    void settledPaymentCancels() {
+        Payment payment = pending(ZonedDateTime.now().minusMinutes(2));
+        payment.setStatus(PaymentStatus.COMPLETED);
+        claim(payment);
+
+        job.checkDuePayments();
+        awaitChecks();
+
+        verify(checkScheduler).cancel(payment.getId());
+        verifyNoInteractions(coopConnectService, statusCheckService);
+    }
+
+    @Test
+    @DisplayName("reconcile re-enqueues every pending STK payment that has a creation time")
+    void reconcileReenqueuesPending() {
+        Payment first = pending(ZonedDateTime.now().minusMinutes(4));
+        Payment second = pending(ZonedDateTime.now().minusSeconds(20));
+        Payment unsaved = pending(null);
+        when(paymentRepository.findByStatusAndPaymentType(PaymentStatus.PENDING, "STK_PUSH"))
+                .thenReturn(List.of(first, second, unsaved));
+
+        job.enqueueUntrackedPending();
+
+        verify(checkScheduler).scheduleIfAbsent(first.getId(), first.getCreatedAt());
+        verify(checkScheduler).scheduleIfAbsent(second.getId(), second.getCreatedAt());
+        verifyNoMoreInteractions(checkScheduler);
+    }
+
+    @Test
+    @DisplayName("the tick hands checks off without waiting for Co-op, and claims only free capacity")
+    void tickDoesNotWaitForCoop() throws Exception {
+        Payment slow = pending(ZonedDateTime.now().minusMinutes(2));
+        when(checkScheduler.claimDue(anyInt())).thenReturn(List.of(slow.getId()), List.of());
+        when(paymentRepository.findById(slow.getId())).thenReturn(Optional.of(slow));
+        CountDownLatch coopCalled = new CountDownLatch(1);
+        CountDownLatch coopResponds = new CountDownLatch(1);
+        when(coopConnectService.checkTransactionStatus(slow.getInternalRef())).thenAnswer(inv -> {
+            coopCalled.countDown();
+            coopResponds.await();
+            return null;
+        });
+
+        job.checkDuePayments();
+        assertThat(coopCalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The first tick has returned while its check is still waiting on Co-op
+        job.checkDuePayments();
+        verify(checkScheduler).claimDue(20);
+        verify(checkScheduler).claimDue(19);
+
+        coopResponds.countDown();
+        awaitChecks();
+        verify(checkScheduler).reschedule(slow.getId(), slow.getCreatedAt());
+    }
+
+    private void awaitChecks() {
+        job.shutdown();
+    }
+
+    private void claim(Payment... payments) {
+        when(checkScheduler.claimDue(anyInt())).thenReturn(
+                Arrays.stream(payments).map(Payment::getId).toList());
+        for (Payment payment : payments) {
+            when(paymentRepository.findById(payment.getId())).thenReturn(Optional.of(payment));
+        }
+    }
+
+    private static Payment pending(ZonedDateTime createdAt) {
+        return Payment.builder()
+                .id(UUID.randomUUID())
+                .internalRef(UUID.randomUUID().toString().replace("-", "").substring(0, 20))
+                .paymentType("STK_PUSH")
+                .status(PaymentStatus.PENDING)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static TransactionStatusResponse status(String messageCode) {
+        TransactionStatusResponse status = new TransactionStatusResponse();
+        status.setMessageCode(messageCode);
+        return status;
+    }
+}
@@ -20,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -38,6 +39,7 @@ class PenaltyServiceTest {
     @Mock JournalEntryService journalEntryService;
     @Mock UserRepository userRepository;
     @Mock SecurityAuditService securityAuditService;
+    @Mock ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private PenaltyService service;
@@ -0,0 +1,114 @@
+package com.jaytechwave.sacco.modules.reports.api.controller;
+
+import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.GeneralStatementLineDTO;
+import com.jaytechwave.sacco.modules.reports.domain.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportController — general statement download")
+class ReportControllerTest {
+
+    private static final String CSV = """
+            Date,Reference,Description,Account Code,Account Name,Account Type,Debit (KES),Credit (KES),Running Balance (KES)
+            2026-09-01,UETA45S0OJ,"Deposit, M-Pesa",1002,Bank - Co-op,ASSET,500.00,0,500.00
+            2026-09-01,UETA45S0OJ,"Deposit, M-Pesa",2100,Member Savings,LIABILITY,0,500.00,-500.00
+            """;
+
+    @Mock
+    private ReportService reportService;
+
+    @InjectMocks
+    private ReportController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        doAnswer(inv -> {
+            Consumer<GeneralStatementLineDTO> sink = inv.getArgument(3);
+            sink.accept(line("1002", "Bank - Co-op", "ASSET", "500.00", "0", "500.00"));
+            sink.accept(line("2100", "Member Savings", "LIABILITY", "0", "500.00", "-500.00"));
+            return null;
+        }).when(reportService).streamGeneralStatement(eq(LocalDate.of(2026, 9, 1)), isNull(), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("streams the statement as CSV")
+    void plainCsv() throws Exception {
+        byte[] body = download(false)
+                .andExpect(content().contentType("text/csv"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(CSV);
+    }
+
+    @Test
+    @DisplayName("gzip=true sends the same CSV as a complete gzip file")
+    void gzippedCsv() throws Exception {
+        byte[] body = download(true)
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"general_statement_2026-09-01.csv.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(gunzip(body)).isEqualTo(CSV);
+    }
+
+    private ResultActions download(boolean gzip) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/reports/general-statement/download")
+                        .param("from", "2026-09-01").param("gzip", Boolean.toString(gzip)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        // readAllBytes fails on a truncated stream, so this also checks the gzip trailer was written
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static GeneralStatementLineDTO line(String code, String name, String type,
+                                                String debit, String credit, String balance) {
+        GeneralStatementLineDTO line = new GeneralStatementLineDTO();
+        line.setTransactionDate("2026-09-01");
+        line.setReference("UETA45S0OJ");
+        line.setDescription("Deposit, M-Pesa");
+        line.setAccountCode(code);
+        line.setAccountName(name);
+        line.setAccountType(type);
+        line.setDebitAmount(new BigDecimal(debit));
+        line.setCreditAmount(new BigDecimal(credit));
+        line.setRunningBalance(new BigDecimal(balance));
+        return line;
+    }
+}
@@ -0,0 +1,137 @@
+package com.jaytechwave.sacco.modules.reports.domain.service;
+
+import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.GeneralStatementLineDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams the general statement off a real PostgreSQL cursor (skipped without
+ * Docker). The ledger is larger than one fetch, so the running balances have to
+ * carry over from one fetch to the next.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("ReportService — general statement stream")
+class GeneralStatementStreamTest {
+
+    /** Deposits posted; two lines each, so well over the statement's fetch size of 500. */
+    private static final int ENTRIES = 700;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+    private static TransactionTemplate tx;
+    private static ReportService reportService;
+
+    @BeforeAll
+    static void createLedger() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbc = new JdbcTemplate(dataSource);
+        // Only the ledger columns the statement SQL reads
+        jdbc.execute("""
+                CREATE TABLE accounts (
+                    id UUID PRIMARY KEY, account_code VARCHAR(20) NOT NULL, account_name VARCHAR(100) NOT NULL,
+                    account_type VARCHAR(20) NOT NULL);
+                CREATE TABLE journal_entries (
+                    id UUID PRIMARY KEY, reference_number VARCHAR(100) NOT NULL, description TEXT,
+                    transaction_date DATE NOT NULL, status VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL);
+                CREATE TABLE journal_entry_lines (
+                    id UUID PRIMARY KEY, journal_entry_id UUID NOT NULL REFERENCES journal_entries(id),
+                    account_id UUID NOT NULL REFERENCES accounts(id),
+                    debit_amount DECIMAL(19, 2) NOT NULL, credit_amount DECIMAL(19, 2) NOT NULL);
+                """);
+        UUID bank = account("1002", "Bank - Co-op", "ASSET");
+        UUID savings = account("2100", "Member Savings", "LIABILITY");
+
+        List<Object[]> entries = new ArrayList<>();
+        List<Object[]> lines = new ArrayList<>();
+        LocalDateTime postedAt = FIRST_DAY.atTime(8, 0);
+        for (int i = 1; i <= ENTRIES; i++) {
+            UUID entryId = UUID.randomUUID();
+            // Ten entries a day, so several days straddle a fetch boundary
+            LocalDate date = FIRST_DAY.plusDays((i - 1) / 10);
+            BigDecimal amount = BigDecimal.valueOf(i);
+            entries.add(new Object[]{entryId, "DEP-" + i, "Deposit " + i, date,
+                    Timestamp.valueOf(postedAt.plusMinutes(i))});
+            lines.add(new Object[]{new UUID(i, 1), entryId, bank, amount, BigDecimal.ZERO});
+            lines.add(new Object[]{new UUID(i, 2), entryId, savings, BigDecimal.ZERO, amount});
+        }
+        jdbc.batchUpdate("INSERT INTO journal_entries (id, reference_number, description, transaction_date, status, created_at) "
+                + "VALUES (?, ?, ?, ?, 'POSTED', ?)", entries);
+        jdbc.batchUpdate("INSERT INTO journal_entry_lines (id, journal_entry_id, account_id, debit_amount, credit_amount) "
+                + "VALUES (?, ?, ?, ?, ?)", lines);
+        jdbc.update("INSERT INTO journal_entries (id, reference_number, transaction_date, status, created_at) "
+                + "VALUES (?, 'DRAFT-1', ?, 'DRAFT', ?)", UUID.randomUUID(), FIRST_DAY, Timestamp.valueOf(postedAt));
+
+        // The read-only transaction keeps autocommit off, which is what lets the driver use a cursor
+        tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(true);
+        reportService = new ReportService(null, jdbc, null);
+    }
+
+    @Test
+    @DisplayName("running balances carry across cursor fetches, per account, in display order")
+    void runningBalanceAcrossFetches() {
+        List<GeneralStatementLineDTO> streamed = stream(null, null, null);
+
+        assertThat(streamed).hasSize(ENTRIES * 2);
+        BigDecimal bankBalance = BigDecimal.ZERO;
+        for (int i = 1; i <= ENTRIES; i++) {
+            bankBalance = bankBalance.add(BigDecimal.valueOf(i));
+            GeneralStatementLineDTO debit = streamed.get(2 * i - 2);
+            GeneralStatementLineDTO credit = streamed.get(2 * i - 1);
+            assertThat(debit.getReference()).isEqualTo("DEP-" + i);
+            assertThat(debit.getAccountCode()).isEqualTo("1002");
+            assertThat(debit.getRunningBalance()).isEqualByComparingTo(bankBalance);
+            assertThat(credit.getAccountCode()).isEqualTo("2100");
+            assertThat(credit.getRunningBalance()).isEqualByComparingTo(bankBalance.negate());
+        }
+        // 700 * 701 / 2
+        assertThat(streamed.get(streamed.size() - 1).getRunningBalance()).isEqualByComparingTo("-245350");
+    }
+
+    @Test
+    @DisplayName("a date window and account filter start the running balance inside the window")
+    void filteredWindow() {
+        LocalDate from = FIRST_DAY.plusDays(10);
+        List<GeneralStatementLineDTO> streamed = stream(from, from.plusDays(59), "2100");
+
+        // Entries 101..700
+        assertThat(streamed).hasSize(600).allSatisfy(line -> assertThat(line.getAccountCode()).isEqualTo("2100"));
+        assertThat(streamed.get(0).getRunningBalance()).isEqualByComparingTo("-101");
+        assertThat(streamed.get(streamed.size() - 1).getRunningBalance()).isEqualByComparingTo("-240300");
+    }
+
+    private static List<GeneralStatementLineDTO> stream(LocalDate from, LocalDate to, String accountCode) {
+        List<GeneralStatementLineDTO> streamed = new ArrayList<>();
+        tx.executeWithoutResult(status -> reportService.streamGeneralStatement(from, to, accountCode, streamed::add));
+        return streamed;
+    }
+
+    private static UUID account(String code, String name, String type) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO accounts (id, account_code, account_name, account_type) VALUES (?, ?, ?, ?)",
+                id, code, name, type);
+        return id;
+    }
+}
@@ -0,0 +1,144 @@
+package com.jaytechwave.sacco.modules.reports.domain.service;
+
+import com.jaytechwave.sacco.modules.reports.domain.event.MemberFinancialReadModelRefreshedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.jaytechwave.sacco.modules.reports.domain.service.MemberFinancialReadModelService.LIVE_VIEW;
+import static com.jaytechwave.sacco.modules.reports.domain.service.MemberFinancialReadModelService.READ_MODEL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemberFinancialReadModelService — refresh rules")
+class MemberFinancialReadModelServiceTest {
+
+    private static final String REFRESH_SQL = "REFRESH MATERIALIZED VIEW CONCURRENTLY " + READ_MODEL;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MemberFinancialReadModelService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxStalenessMs", 300_000L);
+        ReflectionTestUtils.setField(service, "minRefreshIntervalMs", 30_000L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRefreshedAgo(Duration first, Duration... later) {
+        Timestamp[] rest = new Timestamp[later.length];
+        for (int i = 0; i < later.length; i++) rest[i] = ago(later[i]);
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq(READ_MODEL)))
+                .thenReturn(ago(first), (Object[]) rest);
+    }
+
+    private void givenLock(boolean granted) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(READ_MODEL))).thenReturn(granted);
+    }
+
+    private static Timestamp ago(Duration age) {
+        return age != null ? Timestamp.from(Instant.now().minus(age)) : null;
+    }
+
+    @Test
+    @DisplayName("a clean model refreshed recently is left alone, without taking the lock")
+    void freshAndClean_noRefresh() {
+        givenRefreshedAgo(Duration.ofSeconds(10));
+
+        assertThat(service.refreshIfDue()).isFalse();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class), any());
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("refreshes once half the staleness bound has passed, and announces it")
+    void halfTheBound_refreshes() {
+        givenRefreshedAgo(Duration.ofSeconds(200), Duration.ofSeconds(200));
+        givenLock(true);
+
+        assertThat(service.refreshIfDue()).isTrue();
+
+        verify(jdbcTemplate).execute(REFRESH_SQL);
+        verify(jdbcTemplate).update(contains("report_read_model_refreshes"), eq(READ_MODEL));
+        verify(eventPublisher).publishEvent(any(MemberFinancialReadModelRefreshedEvent.class));
+    }
+
+    @Test
+    @DisplayName("a dirty model waits for the minimum interval, then refreshes")
+    void dirty_refreshesAfterMinInterval() {
+        givenRefreshedAgo(Duration.ofSeconds(10), Duration.ofSeconds(40), Duration.ofSeconds(40));
+        givenLock(true);
+        service.onSavingsTransactionPosted(null);
+
+        assertThat(service.refreshIfDue()).isFalse();
+        assertThat(service.refreshIfDue()).isTrue();
+
+        verify(jdbcTemplate).execute(REFRESH_SQL);
+    }
+
+    @Test
+    @DisplayName("a never-refreshed model is refreshed")
+    void neverRefreshed_refreshes() {
+        givenRefreshedAgo(null, (Duration) null);
+        givenLock(true);
+
+        assertThat(service.refreshIfDue()).isTrue();
+
+        verify(jdbcTemplate).execute(REFRESH_SQL);
+    }
+
+    @Test
+    @DisplayName("skips when another node refreshed between the check and the lock")
+    void refreshedByOtherNodeMeanwhile_skips() {
+        givenRefreshedAgo(Duration.ofSeconds(200), Duration.ofSeconds(1));
+        givenLock(true);
+
+        assertThat(service.refreshIfDue()).isFalse();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("skips while another node holds the refresh lock")
+    void lockHeldElsewhere_skips() {
+        givenRefreshedAgo(Duration.ofSeconds(200));
+        givenLock(false);
+
+        assertThat(service.refreshIfDue()).isFalse();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("readers use the live view when the model is past the bound or never refreshed")
+    void overviewRelation_fallsBackWhenStale() {
+        givenRefreshedAgo(Duration.ofSeconds(10), Duration.ofSeconds(400), (Duration) null);
+
+        assertThat(service.overviewRelation()).isEqualTo(READ_MODEL);
+        assertThat(service.overviewRelation()).isEqualTo(LIVE_VIEW);
+        assertThat(service.overviewRelation()).isEqualTo(LIVE_VIEW);
+    }
+}
@@ -1,7 +1,8 @@
 package com.jaytechwave.sacco.modules.reports.domain.service;
 
 import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementItemDTO;
-import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementResponseDTO;
+import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementPageDTO;
+import com.jaytechwave.sacco.modules.reports.api.dto.ReportDTOs.StatementSummaryDTO;
 import com.jaytechwave.sacco.modules.reports.domain.repository.MemberFinancialOverviewRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,15 +12,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,51 +54,98 @@ class ReportServiceTest {
     }
 
     @Test
-    @DisplayName("getMemberStatementWithSummary: accumulates DEPOSIT and EXPENSE_REIMBURSEMENT into savingsDeposited")
-    void getMemberStatementWithSummary_accumulatesDepositsAndReimbursements() {
-        StatementItemDTO depositItem = new StatementItemDTO();
-        depositItem.setDate("2026-08-01T10:00:00");
-        depositItem.setModule("SAVINGS");
-        depositItem.setType("DEPOSIT");
-        depositItem.setAmount(new BigDecimal("5000.00"));
-        depositItem.setReference("DEP-100");
-        depositItem.setDescription("Savings DEPOSIT");
-
-        StatementItemDTO reimbItem = new StatementItemDTO();
-        reimbItem.setDate("2026-08-05T12:00:00");
-        reimbItem.setModule("SAVINGS");
-        reimbItem.setType("EXPENSE_REIMBURSEMENT");
-        reimbItem.setAmount(new BigDecimal("2500.00"));
-        reimbItem.setReference("EXP-200");
-        reimbItem.setDescription("Savings EXPENSE_REIMBURSEMENT");
-
-        StatementItemDTO withdrawalItem = new StatementItemDTO();
-        withdrawalItem.setDate("2026-08-10T14:00:00");
-        withdrawalItem.setModule("SAVINGS");
-        withdrawalItem.setType("WITHDRAWAL");
-        withdrawalItem.setAmount(new BigDecimal("1000.00"));
-        withdrawalItem.setReference("WTH-300");
-        withdrawalItem.setDescription("Savings WITHDRAWAL");
-
-        // Mock jdbcTemplate.query for getMemberStatement
-        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any(), any(), any(), any()))
-                .thenReturn(List.of(depositItem, reimbItem, withdrawalItem));
-
-        // Mock loan sql queryForObject calls
-        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
-                .thenReturn(null);
-
-        when(overviewRepository.findById(memberId)).thenReturn(Optional.empty());
-
-        StatementResponseDTO response = reportService.getMemberStatementWithSummary(memberId, null, null);
-
-        assertThat(response).isNotNull();
-        assertThat(response.getItems()).hasSize(3);
+    @DisplayName("streamMemberStatement: accumulates DEPOSIT and EXPENSE_REIMBURSEMENT into savingsDeposited")
+    void streamMemberStatement_accumulatesDepositsAndReimbursements() {
+        List<StatementRow> rows = List.of(
+                new StatementRow(LocalDateTime.parse("2026-08-01T10:00:00"), 1, id(1), "DEPOSIT", "5000.00"),
+                new StatementRow(LocalDateTime.parse("2026-08-05T12:00:00"), 1, id(2), "EXPENSE_REIMBURSEMENT", "2500.00"),
+                new StatementRow(LocalDateTime.parse("2026-08-10T14:00:00"), 1, id(3), "WITHDRAWAL", "1000.00"));
+
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (StatementRow row : rows) {
+                handler.processRow(row.resultSet());
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        List<StatementItemDTO> streamed = new ArrayList<>();
+        StatementSummaryDTO summary = reportService.streamMemberStatement(memberId, null, null, streamed::add);
+
+        assertThat(streamed).extracting(StatementItemDTO::getType)
+                .containsExactly("DEPOSIT", "EXPENSE_REIMBURSEMENT", "WITHDRAWAL");
         // savingsDeposited should be 5000.00 + 2500.00 = 7500.00
-        assertThat(response.getSummary().getSavingsDeposited())
-                .isEqualByComparingTo(new BigDecimal("7500.00"));
-        // savingsWithdrawn should be 1000.00
-        assertThat(response.getSummary().getSavingsWithdrawn())
-                .isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(summary.getSavingsDeposited()).isEqualByComparingTo(new BigDecimal("7500.00"));
+        assertThat(summary.getSavingsWithdrawn()).isEqualByComparingTo(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("getMemberStatementPage: the cursor continues after the last row served when dates are equal")
+    void getMemberStatementPage_cursorContinuesAcrossEqualDates() {
+        LocalDateTime sameInstant = LocalDateTime.parse("2026-08-01T09:30:00");
+        List<StatementRow> ledger = List.of(
+                new StatementRow(sameInstant, 0, id(7), "DISBURSEMENT", "10000.00"),
+                new StatementRow(sameInstant, 1, id(2), "DEPOSIT", "100.00"),
+                new StatementRow(sameInstant, 1, id(5), "DEPOSIT", "200.00"),
+                new StatementRow(sameInstant, 1, id(9), "DEPOSIT", "300.00"),
+                new StatementRow(sameInstant, 2, id(1), "REPAYMENT", "400.00"));
+        stubKeysetQuery(ledger);
+
+        List<String> amounts = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            StatementPageDTO page = reportService.getMemberStatementPage(memberId, null, null, cursor, 2);
+            page.getItems().forEach(item -> amounts.add(item.getAmount().toPlainString()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(amounts).containsExactly("10000.00", "100.00", "200.00", "300.00", "400.00");
+    }
+
+    /**
+     * Serves {@code ledger} the way MEMBER_STATEMENT_SQL does: rows after the
+     * bound (transaction_date, txn_order, row_id) cursor, in that order, up to LIMIT.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubKeysetQuery(List<StatementRow> ledger) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(inv -> {
+            RowMapper<StatementItemDTO> mapper = inv.getArgument(1);
+            Object[] args = (Object[]) inv.getRawArguments()[2];
+            StatementRow after = new StatementRow((LocalDateTime) args[18], (Integer) args[19], (UUID) args[20], null, "0");
+            long limit = ((Number) args[21]).longValue();
+
+            List<StatementItemDTO> items = new ArrayList<>();
+            for (StatementRow row : ledger.stream().sorted(StatementRow.KEYSET).toList()) {
+                if (StatementRow.KEYSET.compare(row, after) > 0 && items.size() < limit) {
+                    items.add(mapper.mapRow(row.resultSet(), items.size()));
+                }
+            }
+            return items;
+        });
+    }
+
+    private static UUID id(long n) {
+        return new UUID(0L, n);
+    }
+
+    private record StatementRow(LocalDateTime date, int txnOrder, UUID rowId, String type, String amount) {
+
+        static final Comparator<StatementRow> KEYSET = Comparator.comparing(StatementRow::date)
+                .thenComparingInt(StatementRow::txnOrder)
+                .thenComparing(StatementRow::rowId);
+
+        ResultSet resultSet() throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            lenient().when(rs.getTimestamp("transaction_date")).thenReturn(Timestamp.valueOf(date));
+            lenient().when(rs.getInt("txn_order")).thenReturn(txnOrder);
+            lenient().when(rs.getObject("row_id", UUID.class)).thenReturn(rowId);
+            lenient().when(rs.getString("module")).thenReturn("SAVINGS");
+            lenient().when(rs.getString("transaction_type")).thenReturn(type);
+            lenient().when(rs.getBigDecimal("amount")).thenReturn(new BigDecimal(amount));
+            return rs;
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.jaytechwave.sacco.modules.reports.job;
+
+import com.jaytechwave.sacco.modules.reports.domain.service.MemberFinancialReadModelService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemberFinancialReadModelJob")
+class MemberFinancialReadModelJobTest {
+
+    @Mock
+    private MemberFinancialReadModelService readModelService;
+
+    @InjectMocks
+    private MemberFinancialReadModelJob job;
+
+    @Test
+    @DisplayName("each run asks the service whether a refresh is due")
+    void delegatesToService() {
+        when(readModelService.refreshIfDue()).thenReturn(true, false);
+
+        job.refreshIfDue();
+        job.refreshIfDue();
+
+        verify(readModelService, times(2)).refreshIfDue();
+    }
+
+    @Test
+    @DisplayName("a failed refresh is logged, not thrown, so the next run still happens")
+    void failureDoesNotEscape() {
+        when(readModelService.refreshIfDue()).thenThrow(new DataAccessResourceFailureException("database unavailable"));
+
+        assertThatCode(job::refreshIfDue).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,163 @@
+package com.jaytechwave.sacco.modules.settings.domain.service;
+
+import com.jaytechwave.sacco.modules.settings.domain.entity.SaccoSettings;
+import com.jaytechwave.sacco.modules.settings.domain.event.SaccoSettingsChangedEvent;
+import com.jaytechwave.sacco.modules.settings.domain.repository.SaccoSettingsRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reloads of the settings snapshot, with the change broadcast going through a
+ * real Redis (skipped without Docker).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("SaccoSettingsSnapshot")
+class SaccoSettingsSnapshotTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static final OffsetDateTime V1 = OffsetDateTime.parse("2026-09-01T08:00:00+03:00");
+    private static final OffsetDateTime V2 = OffsetDateTime.parse("2026-09-15T10:30:00+03:00");
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redis;
+
+    private RedisMessageListenerContainer listenerContainer;
+    private SaccoSettingsRepository repository;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        repository = mock(SaccoSettingsRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    private SaccoSettingsSnapshot node() {
+        return new SaccoSettingsSnapshot(repository, redis, listenerContainer);
+    }
+
+    private void givenRow(OffsetDateTime updatedAt) {
+        SaccoSettings settings = SaccoSettings.builder().id(UUID.randomUUID()).build();
+        settings.setUpdatedAt(updatedAt);
+        when(repository.findAll()).thenReturn(List.of(settings));
+    }
+
+    private static DefaultMessage broadcast(String body) {
+        return new DefaultMessage(SaccoSettingsSnapshot.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("a read before the first load loads the row once")
+    void readBeforeLoad() {
+        givenRow(V1);
+        SaccoSettingsSnapshot snapshot = node();
+
+        assertThat(snapshot.get()).isPresent();
+        assertThat(snapshot.get()).isPresent();
+
+        assertThat(snapshot.version()).isEqualTo(V1.toInstant().toEpochMilli());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("an unconfigured platform reads as empty at version 0")
+    void readBeforeConfigured() {
+        when(repository.findAll()).thenReturn(List.of());
+        SaccoSettingsSnapshot snapshot = node();
+
+        assertThat(snapshot.get()).isEmpty();
+        assertThat(snapshot.version()).isZero();
+    }
+
+    @Test
+    @DisplayName("a settings change reloads this node and reaches the other nodes")
+    void changeReloadsAndBroadcasts() throws InterruptedException {
+        givenRow(V1);
+        SaccoSettingsSnapshot writer = node();
+        SaccoSettingsSnapshot other = node();
+        writer.warm();
+        other.warm();
+
+        givenRow(V2);
+        long v2 = V2.toInstant().toEpochMilli();
+        // The subscription is set up asynchronously; re-announce until it is live
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (other.version() != v2 && System.currentTimeMillis() < deadline) {
+            writer.onSettingsChanged(new SaccoSettingsChangedEvent("general"));
+            Thread.sleep(50);
+        }
+
+        assertThat(writer.version()).isEqualTo(v2);
+        assertThat(other.version()).isEqualTo(v2);
+    }
+
+    @Test
+    @DisplayName("a broadcast version that is not newer than ours is ignored")
+    void ignoresOlderBroadcast() {
+        givenRow(V2);
+        SaccoSettingsSnapshot snapshot = node();
+        snapshot.warm();
+        long v2 = V2.toInstant().toEpochMilli();
+
+        snapshot.onMessage(broadcast(Long.toString(V1.toInstant().toEpochMilli())), null);
+        snapshot.onMessage(broadcast(Long.toString(v2)), null);
+        snapshot.onMessage(broadcast("not-a-version"), null);
+        verify(repository, times(1)).findAll();
+
+        snapshot.onMessage(broadcast(Long.toString(v2 + 1)), null);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("the scheduled reload picks up a change whose broadcast was missed")
+    void scheduledReload() {
+        givenRow(V1);
+        SaccoSettingsSnapshot snapshot = node();
+        snapshot.warm();
+
+        givenRow(V2);
+        snapshot.scheduledReload();
+
+        assertThat(snapshot.version()).isEqualTo(V2.toInstant().toEpochMilli());
+    }
+}
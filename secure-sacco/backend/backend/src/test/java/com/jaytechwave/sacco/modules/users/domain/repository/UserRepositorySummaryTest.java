@@ -0,0 +1,94 @@
+package com.jaytechwave.sacco.modules.users.domain.repository;
+
+import com.jaytechwave.sacco.modules.users.domain.entity.User;
+import com.jaytechwave.sacco.modules.users.domain.entity.UserStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@link UserRepository#findActiveSummaries()}: active, non-deleted users only,
+ * read without the encrypted phone number or the eagerly fetched roles.
+ *
+ * <p>Runs against the same PostgreSQL as the other {@code test}-profile tests
+ * (schema via ddl-auto create-drop).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.jaytechwave.sacco.modules.users.domain.repository.UserRepositorySummaryTest$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("UserRepository — summary projection")
+class UserRepositorySummaryTest {
+
+    /** Slice configuration: the application class pulls in Redis-backed sessions. */
+    @SpringBootConfiguration
+    @EntityScan("com.jaytechwave.sacco.modules")
+    @EnableJpaRepositories("com.jaytechwave.sacco.modules")
+    static class JpaSliceConfig {
+    }
+
+    /** Records the SQL Hibernate sends; registered via hibernate.session_factory.statement_inspector. */
+    public static class SqlCapture implements StatementInspector {
+        static final Queue<String> SQL = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired UserRepository userRepository;
+
+    @Test
+    @DisplayName("returns active, non-deleted users and never reads phone numbers or roles")
+    void activeSummaries() {
+        User active  = user("Jane", "Wanjiru", UserStatus.ACTIVE, false);
+        User locked  = user("Peter", "Otieno", UserStatus.LOCKED, false);
+        User deleted = user("John", "Kamau", UserStatus.ACTIVE, true);
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.SQL.clear();
+
+        // The shared test database may hold other tests' users
+        Set<UUID> ours = Set.of(active.getId(), locked.getId(), deleted.getId());
+        assertThat(userRepository.findActiveSummaries())
+                .filteredOn(summary -> ours.contains(summary.id()))
+                .extracting(UserSummary::id, UserSummary::email, UserSummary::firstName, UserSummary::lastName)
+                .containsExactly(tuple(active.getId(), active.getEmail(), "Jane", "Wanjiru"));
+
+        assertThat(SqlCapture.SQL).singleElement().satisfies(sql -> assertThat(sql)
+                .doesNotContain("phone_number")
+                .doesNotContain("user_roles"));
+    }
+
+    private User user(String firstName, String lastName, UserStatus status, boolean deleted) {
+        return entityManager.persist(User.builder()
+                .firstName(firstName).lastName(lastName)
+                .email(firstName.toLowerCase() + "." + UUID.randomUUID() + "@sacco.co.ke")
+                .phoneNumber("+254712345678")
+                .passwordHash("{noop}secret")
+                .status(status)
+                .isDeleted(deleted)
+                .build());
+    }
+}